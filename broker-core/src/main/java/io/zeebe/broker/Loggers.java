@@ -31,6 +31,7 @@ public class Loggers {
 
   public static final Logger WORKFLOW_PROCESSOR_LOGGER = new ZbLogger("io.zeebe.broker.workflow");
   public static final Logger EXPORTER_LOGGER = new ZbLogger("io.zeebe.broker.exporter");
+  public static final Logger COMMAND_TRACE_LOGGER = new ZbLogger("io.zeebe.broker.tracing");
 
   public static final Logger getExporterLogger(String exporterId) {
     final String loggerName = String.format("io.zeebe.broker.exporter.%s", exporterId);
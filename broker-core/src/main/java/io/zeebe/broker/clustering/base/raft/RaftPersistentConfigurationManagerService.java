@@ -58,7 +58,10 @@ public class RaftPersistentConfigurationManagerService
         new StorageConfigurationManager(
             configuration.getData().getDirectories(),
             configuration.getData().getDefaultLogSegmentSize(),
-            configuration.getData().getIndexBlockSize());
+            configuration.getData().getIndexBlockSize(),
+            configuration.getData().getLogBlockCompression(),
+            configuration.getData().getLogBlockCompressionThreshold(),
+            configuration.getData().getLogReadCacheSize());
 
     /* A temp solution so that DistributedLogstream primitive can create logs in this directory */
     LogstreamConfig.putConfig(String.valueOf(configuration.getCluster().getNodeId()), service);
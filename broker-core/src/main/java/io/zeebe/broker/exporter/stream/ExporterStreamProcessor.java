@@ -27,6 +27,7 @@ import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.AsyncExporter;
 import io.zeebe.exporter.api.spi.Exporter;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventProcessor;
@@ -35,17 +36,24 @@ import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 
 public class ExporterStreamProcessor implements StreamProcessor {
 
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
+  private static final Duration ASYNC_EXPORT_RETRY_DELAY = Duration.ofSeconds(1);
 
   private final RecordMetadata rawMetadata = new RecordMetadata();
 
@@ -57,6 +65,7 @@ public class ExporterStreamProcessor implements StreamProcessor {
   private final ExporterRecordProcessor exporterRecordProcessor = new ExporterRecordProcessor();
 
   private ActorControl actorControl;
+  private StreamProcessorContext streamProcessorContext;
 
   public ExporterStreamProcessor(
       ZeebeDb<ExporterColumnFamilies> zeebeDb,
@@ -95,9 +104,20 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
   @Override
   public void onOpen(StreamProcessorContext context) {
+    streamProcessorContext = context;
     actorControl = context.getActorControl();
 
+    final MetricsManager metricsManager = context.getActorScheduler().getMetricsManager();
+
     for (final ExporterContainer container : containers) {
+      container.exportDuration =
+          metricsManager
+              .newHistogram("exporter_export_duration_ns")
+              .description("time an exporter takes to export a record")
+              .label("exporter", container.getId())
+              .label("partition", String.valueOf(partitionId))
+              .create();
+
       container.exporter.configure(container.context);
     }
   }
@@ -139,18 +159,32 @@ public class ExporterStreamProcessor implements StreamProcessor {
   @Override
   public void onClose() {
     for (final ExporterContainer container : containers) {
+      // records which are still in flight are exported again after a restart
+      container.inFlightExports.clear();
+      container.waitingExport = null;
+      container.isClosed = true;
+
       try {
         container.exporter.close();
       } catch (final Exception e) {
         container.context.getLogger().error("Error on close", e);
       }
+
+      if (container.exportDuration != null) {
+        container.exportDuration.close();
+      }
     }
   }
 
   private class ExporterContainer implements Controller {
     private final ExporterContext context;
     private final Exporter exporter;
+    private final Deque<InFlightExport> inFlightExports = new ArrayDeque<>();
+    // the record which is exported once a record in flight is exported
+    private InFlightExport waitingExport;
     private long position;
+    private Histogram exportDuration;
+    private boolean isClosed;
 
     ExporterContainer(ExporterDescriptor descriptor) {
       context =
@@ -161,11 +195,7 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
     @Override
     public void updateLastExportedRecordPosition(final long position) {
-      actorControl.run(
-          () -> {
-            state.setPosition(getId(), position);
-            this.position = position;
-          });
+      actorControl.run(() -> setPosition(position));
     }
 
     @Override
@@ -173,9 +203,112 @@ public class ExporterStreamProcessor implements StreamProcessor {
       actorControl.runDelayed(delay, task);
     }
 
+    private void setPosition(final long position) {
+      state.setPosition(getId(), position);
+      this.position = position;
+    }
+
     private String getId() {
       return context.getConfiguration().getId();
     }
+
+    private boolean isAsync() {
+      return exporter instanceof AsyncExporter;
+    }
+
+    /**
+     * Exports the record asynchronously. If too many records are in flight, the record waits until
+     * one of them is exported and the stream processor is suspended in the meantime, so that no
+     * further records are read.
+     */
+    private void submitExport(final Record record) {
+      final InFlightExport export = new InFlightExport(record);
+
+      if (isInFlightWindowFull()) {
+        waitingExport = export;
+        streamProcessorContext.suspendController();
+      } else {
+        inFlightExports.add(export);
+        exportAsync(export);
+      }
+    }
+
+    private boolean isInFlightWindowFull() {
+      return inFlightExports.size() >= ((AsyncExporter) exporter).getMaxInFlightRecords();
+    }
+
+    private void exportAsync(final InFlightExport export) {
+      if (isClosed) {
+        return;
+      }
+
+      final long startTime = System.nanoTime();
+
+      CompletionStage<Void> stage;
+      try {
+        stage = ((AsyncExporter) exporter).exportAsync(export.record);
+      } catch (final Exception e) {
+        final CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(e);
+        stage = failedFuture;
+      }
+
+      stage.whenComplete(
+          (v, failure) -> actorControl.run(() -> onExported(export, startTime, failure)));
+    }
+
+    private void onExported(
+        final InFlightExport export, final long startTime, final Throwable failure) {
+      if (isClosed) {
+        return;
+      }
+
+      if (failure != null) {
+        context.getLogger().error("Error exporting record {}", export.record, failure);
+        actorControl.runDelayed(ASYNC_EXPORT_RETRY_DELAY, () -> exportAsync(export));
+        return;
+      }
+
+      exportDuration.record(System.nanoTime() - startTime);
+      export.isExported = true;
+
+      // only acknowledge the position once all records before it are exported as well
+      long exportedPosition = -1L;
+      while (!inFlightExports.isEmpty() && inFlightExports.peekFirst().isExported) {
+        exportedPosition = inFlightExports.pollFirst().record.getPosition();
+      }
+
+      if (exportedPosition >= 0) {
+        setPosition(exportedPosition);
+      }
+
+      if (waitingExport != null && !isInFlightWindowFull()) {
+        final InFlightExport nextExport = waitingExport;
+        waitingExport = null;
+        inFlightExports.add(nextExport);
+        exportAsync(nextExport);
+
+        resumeIfNoExportIsWaiting();
+      }
+    }
+  }
+
+  private void resumeIfNoExportIsWaiting() {
+    for (final ExporterContainer container : containers) {
+      if (container.waitingExport != null) {
+        return;
+      }
+    }
+    streamProcessorContext.resumeController();
+  }
+
+  private static class InFlightExport {
+    private final Record record;
+    private boolean isExported;
+
+    InFlightExport(final Record record) {
+      this.record = record;
+    }
   }
 
   private class ExporterRecordProcessor implements EventProcessor {
@@ -231,7 +364,13 @@ public class ExporterStreamProcessor implements StreamProcessor {
 
         try {
           if (container.position < record.getPosition()) {
-            container.exporter.export(record);
+            if (container.isAsync()) {
+              container.submitExport(record);
+            } else {
+              final long startTime = System.nanoTime();
+              container.exporter.export(record);
+              container.exportDuration.record(System.nanoTime() - startTime);
+            }
           }
 
           exporterIndex++;
@@ -21,6 +21,7 @@ import io.zeebe.broker.logstreams.state.UnpackedObjectValue;
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbByte;
 import io.zeebe.db.impl.DbCompositeKey;
@@ -29,7 +30,9 @@ import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.collection.DeadlineQueue;
 import java.util.function.BiFunction;
+import java.util.function.LongConsumer;
 import org.agrona.DirectBuffer;
 
 public class JobState {
@@ -55,7 +58,14 @@ public class JobState {
   // timeout => key
   private final DbLong deadlineKey;
   private final DbCompositeKey<DbLong, DbLong> deadlineJobKey;
-  private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlinesColumnFamily;
+  private final QueueColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlinesColumnFamily;
+
+  // in-memory index of the deadlines column family, to find the next deadline without a scan. The
+  // entries are not removed with the deadline, since the transaction can be rolled back. Instead,
+  // the entries are checked against the column family when they are due.
+  private final DeadlineQueue deadlineIndex = new DeadlineQueue();
+  private int removedDeadlines;
+  private LongConsumer deadlineListener = deadline -> {};
 
   public JobState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
 
@@ -80,8 +90,10 @@ public class JobState {
     deadlineKey = new DbLong();
     deadlineJobKey = new DbCompositeKey<>(deadlineKey, jobKey);
     deadlinesColumnFamily =
-        zeebeDb.createColumnFamily(
+        zeebeDb.createQueueColumnFamily(
             ZbColumnFamilies.JOB_DEADLINES, dbContext, deadlineJobKey, DbNil.INSTANCE);
+
+    rebuildDeadlineIndex();
   }
 
   public void create(final long key, final JobRecord record) {
@@ -115,6 +127,9 @@ public class JobState {
 
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.put(deadlineJobKey, DbNil.INSTANCE);
+
+    deadlineIndex.add(deadline, key);
+    deadlineListener.accept(deadline);
   }
 
   public void timeout(final long key, final JobRecord record) {
@@ -171,19 +186,77 @@ public class JobState {
     makeJobActivatable(type);
   }
 
+  /**
+   * Visits the activated jobs which deadline is before the given upper bound, ordered by their
+   * deadline. A visited job is removed from the deadline index, unless the callback returns false.
+   * Then, the iteration stops and the job is visited again on the next call.
+   */
   public void forEachTimedOutEntry(
       final long upperBound, final BiFunction<Long, JobRecord, Boolean> callback) {
 
-    deadlinesColumnFamily.whileTrue(
-        (compositeKey, zbNil) -> {
-          final long deadline = compositeKey.getFirst().getValue();
-          final boolean isDue = deadline < upperBound;
-          if (isDue) {
-            final long jobKey = compositeKey.getSecond().getValue();
-            return visitJob(jobKey, callback);
-          }
-          return false;
-        });
+    while (deadlineIndex.peekDeadline() < upperBound) {
+      final long deadline = deadlineIndex.peekDeadline();
+      final long jobKey = deadlineIndex.peekKey();
+
+      if (hasDeadline(jobKey, deadline) && !visitJob(jobKey, callback)) {
+        return;
+      }
+
+      // the same deadline can be added multiple times if the job was activated again
+      while (deadlineIndex.peekDeadline() == deadline && deadlineIndex.peekKey() == jobKey) {
+        deadlineIndex.poll();
+      }
+    }
+  }
+
+  /**
+   * Adds the deadline of the given job to the deadline index again, e.g. if its time out command
+   * could not be written.
+   */
+  public void addDeadlineToIndex(final long jobKey, final long deadline) {
+    deadlineIndex.add(deadline, jobKey);
+  }
+
+  /** @return the earliest deadline of the activated jobs, or {@link Long#MAX_VALUE} if none */
+  public long getNextDeadline() {
+    return deadlineIndex.peekDeadline();
+  }
+
+  /**
+   * Sets the listener which is called when a job is activated with the deadline of the job, e.g. to
+   * schedule the next time out check.
+   */
+  public void setDeadlineListener(final LongConsumer deadlineListener) {
+    this.deadlineListener = deadlineListener;
+  }
+
+  /**
+   * Rebuilds the deadline index from the column family if it contains more removed than current
+   * deadlines, and removes the removed deadlines from the head of the column family. It must not be
+   * called while a transaction is in progress, since the removals could be rolled back.
+   */
+  public void compactDeadlineIndex() {
+    if (removedDeadlines > deadlineIndex.size() / 2) {
+      rebuildDeadlineIndex();
+    }
+
+    deadlinesColumnFamily.compactHead();
+  }
+
+  private void rebuildDeadlineIndex() {
+    deadlineIndex.clear();
+    removedDeadlines = 0;
+
+    deadlinesColumnFamily.forEach(
+        (compositeKey, nil) ->
+            deadlineIndex.add(
+                compositeKey.getFirst().getValue(), compositeKey.getSecond().getValue()));
+  }
+
+  private boolean hasDeadline(final long key, final long deadline) {
+    jobKey.wrapLong(key);
+    deadlineKey.wrapLong(deadline);
+    return deadlinesColumnFamily.exists(deadlineJobKey);
   }
 
   public boolean exists(long jobKey) {
@@ -299,5 +372,9 @@ public class JobState {
   private void removeJobDeadline(long deadline) {
     deadlineKey.wrapLong(deadline);
     deadlinesColumnFamily.delete(deadlineJobKey);
+
+    if (deadline > 0) {
+      removedDeadlines += 1;
+    }
   }
 }
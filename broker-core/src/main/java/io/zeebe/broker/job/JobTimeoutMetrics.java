@@ -0,0 +1,59 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.job;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class JobTimeoutMetrics implements AutoCloseable {
+  private final Metric timedOutJobs;
+  private final Metric timeOutLag;
+
+  public JobTimeoutMetrics(final MetricsManager metricsManager, final int partitionId) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    timedOutJobs =
+        metricsManager
+            .newMetric("job_time_out_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .create();
+
+    timeOutLag =
+        metricsManager
+            .newMetric("job_time_out_lag_millis")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+  }
+
+  /**
+   * @param count the count of jobs which time out commands were written
+   * @param lag the maximum time between the deadline of a job and writing its time out command
+   */
+  public void recordTimedOutJobs(final int count, final long lag) {
+    timedOutJobs.getAndAddOrdered(count);
+    timeOutLag.setOrdered(lag);
+  }
+
+  @Override
+  public void close() {
+    timedOutJobs.close();
+    timeOutLag.close();
+  }
+}
@@ -17,22 +17,40 @@
  */
 package io.zeebe.broker.job;
 
-import static io.zeebe.util.sched.clock.ActorClock.currentTimeMillis;
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_LENGTH;
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_SIZE;
 
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler;
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.CheckResult;
 import io.zeebe.broker.logstreams.processor.StreamProcessorLifecycleAware;
 import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
-import io.zeebe.util.sched.ScheduledTimer;
 import java.time.Duration;
+import org.agrona.collections.LongArrayList;
 
+/**
+ * Writes the time out commands of the activated jobs when their deadline is elapsed. The check is
+ * scheduled for the next deadline of the job state, or at the latest after the polling interval.
+ * The commands are written in batches, and the processing can continue between the batches.
+ */
 public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
+  /** The maximum interval between two checks for timed out jobs. */
   public static final Duration TIME_OUT_POLLING_INTERVAL = Duration.ofSeconds(30);
+
   private final JobState state;
 
-  private ScheduledTimer timer;
+  private final LongArrayList batchJobKeys = new LongArrayList();
+  private final LongArrayList batchDeadlines = new LongArrayList();
+  private int batchLength;
+  private boolean isBatchFull;
+
   private TypedCommandWriter writer;
+  private JobTimeoutMetrics metrics;
+  private DeadlineCheckScheduler scheduler;
 
   public JobTimeoutTrigger(final JobState state) {
     this.state = state;
@@ -40,34 +58,109 @@ public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
 
   @Override
   public void onRecovered(final TypedStreamProcessor streamProcessor) {
-    timer =
-        streamProcessor
-            .getActor()
-            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
+    final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
+    metrics =
+        new JobTimeoutMetrics(
+            context.getActorScheduler().getMetricsManager(),
+            context.getLogStream().getPartitionId());
+
     writer = streamProcessor.getEnvironment().buildCommandWriter();
+    scheduler =
+        new DeadlineCheckScheduler(
+            streamProcessor.getActor(),
+            TIME_OUT_POLLING_INTERVAL,
+            state::getNextDeadline,
+            this::deactivateTimedOutJobs);
+
+    state.setDeadlineListener(scheduler::onDeadlineAdded);
+    scheduler.scheduleNextCheck();
   }
 
   @Override
   public void onClose() {
-    if (timer != null) {
-      timer.cancel();
-      timer = null;
+    state.setDeadlineListener(deadline -> {});
+
+    if (scheduler != null) {
+      scheduler.close();
+    }
+
+    if (metrics != null) {
+      metrics.close();
+      metrics = null;
     }
   }
 
   void deactivateTimedOutJobs() {
-    final long now = currentTimeMillis();
-    state.forEachTimedOutEntry(
-        now,
-        (key, record) -> {
-          writer.appendFollowUpCommand(
-              key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
-
-          final boolean flushed = writer.flush() >= 0;
-          if (!flushed) {
-            writer.reset();
-          }
-          return flushed;
-        });
+    scheduler.check();
+  }
+
+  private CheckResult deactivateTimedOutJobs(final long now) {
+    // there is no transaction in progress between the processing of two events
+    state.compactDeadlineIndex();
+
+    final boolean isBatchFull = appendTimedOutJobs(now);
+
+    if (!flushBatch(now)) {
+      return CheckResult.FLUSH_FAILED;
+    } else if (isBatchFull) {
+      return CheckResult.BATCH_FULL;
+    } else {
+      return CheckResult.DONE;
+    }
+  }
+
+  /** @return true, if the batch is full and more jobs may be timed out */
+  private boolean appendTimedOutJobs(final long now) {
+    isBatchFull = false;
+    state.forEachTimedOutEntry(now, this::appendTimedOutJob);
+    return isBatchFull;
+  }
+
+  private boolean appendTimedOutJob(final long key, final JobRecord record) {
+    final int length = record.getLength();
+    if (!batchJobKeys.isEmpty()
+        && (batchJobKeys.size() >= MAX_BATCH_SIZE || batchLength + length > MAX_BATCH_LENGTH)) {
+      isBatchFull = true;
+      return false;
+    }
+
+    writer.appendFollowUpCommand(
+        key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
+
+    batchJobKeys.addLong(key);
+    batchDeadlines.addLong(record.getDeadline());
+    batchLength += length;
+    return true;
+  }
+
+  /** @return false, if the batch could not be written */
+  private boolean flushBatch(final long now) {
+    final int batchSize = batchJobKeys.size();
+    if (batchSize == 0) {
+      return true;
+    }
+
+    final boolean flushed = writer.flush() >= 0;
+    if (flushed) {
+      long maxLag = 0;
+      for (int i = 0; i < batchSize; i++) {
+        maxLag = Math.max(maxLag, now - batchDeadlines.getLong(i));
+      }
+      metrics.recordTimedOutJobs(batchSize, maxLag);
+
+    } else {
+      writer.reset();
+
+      // the jobs were removed from the deadline index on visiting
+      for (int i = 0; i < batchSize; i++) {
+        state.addDeadlineToIndex(batchJobKeys.getLong(i), batchDeadlines.getLong(i));
+      }
+    }
+
+    batchJobKeys.clear();
+    batchDeadlines.clear();
+    batchLength = 0;
+
+    return flushed;
   }
 }
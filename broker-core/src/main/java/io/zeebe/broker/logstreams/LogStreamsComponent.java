@@ -22,6 +22,7 @@ import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.LEADE
 import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.TOPOLOGY_MANAGER_SERVICE;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.STREAM_PROCESSOR_SERVICE_FACTORY;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.ZB_STREAM_PROCESSOR_SERVICE_NAME;
+import static io.zeebe.broker.transport.TransportServiceNames.CLIENT_API_MESSAGE_HANDLER;
 import static io.zeebe.broker.transport.TransportServiceNames.CLIENT_API_SERVER_NAME;
 import static io.zeebe.broker.transport.TransportServiceNames.serverTransport;
 
@@ -45,7 +46,8 @@ public class LogStreamsComponent implements Component {
     final int maxSnapshots = brokerConfiguration.getData().getMaxSnapshots();
 
     final StreamProcessorServiceFactory streamProcessorFactory =
-        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod, maxSnapshots);
+        new StreamProcessorServiceFactory(
+            serviceContainer, snapshotPeriod, maxSnapshots, brokerConfiguration.getThreads());
     serviceContainer
         .createService(STREAM_PROCESSOR_SERVICE_FACTORY, streamProcessorFactory)
         .install();
@@ -57,6 +59,8 @@ public class LogStreamsComponent implements Component {
         .dependency(
             serverTransport(CLIENT_API_SERVER_NAME),
             streamProcessorService.getClientApiTransportInjector())
+        .dependency(
+            CLIENT_API_MESSAGE_HANDLER, streamProcessorService.getClientApiMessageHandlerInjector())
         .dependency(TOPOLOGY_MANAGER_SERVICE, streamProcessorService.getTopologyManagerInjector())
         .dependency(
             STREAM_PROCESSOR_SERVICE_FACTORY,
@@ -22,15 +22,18 @@ import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.incident.processor.IncidentEventProcessors;
 import io.zeebe.broker.job.JobEventProcessors;
+import io.zeebe.broker.logstreams.processor.ErrorEventFailedPositionResolver;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory.Builder;
 import io.zeebe.broker.logstreams.processor.TypedEventStreamProcessorBuilder;
 import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.broker.logstreams.state.StateCompactionTrigger;
 import io.zeebe.broker.logstreams.state.ZeebeState;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
 import io.zeebe.broker.subscription.message.processor.MessageEventProcessors;
 import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.broker.transport.clientapi.ClientApiMessageHandler;
 import io.zeebe.broker.workflow.deployment.distribute.processor.DeploymentDistributeProcessor;
 import io.zeebe.broker.workflow.processor.BpmnStepProcessor;
 import io.zeebe.broker.workflow.processor.CatchEventBehavior;
@@ -49,6 +52,7 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerTransport;
 
 public class ZbStreamProcessorService implements Service<ZbStreamProcessorService> {
@@ -56,6 +60,8 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
   public static final String PROCESSOR_NAME = "zb-stream-processor";
 
   private final Injector<ServerTransport> clientApiTransportInjector = new Injector<>();
+  private final Injector<ClientApiMessageHandler> clientApiMessageHandlerInjector =
+      new Injector<>();
   private final Injector<TopologyManager> topologyManagerInjector = new Injector<>();
   private final Injector<StreamProcessorServiceFactory> streamProcessorServiceFactoryInjector =
       new Injector<>();
@@ -64,6 +70,7 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
   private final ClusterCfg clusterCfg;
   private StreamProcessorServiceFactory streamProcessorServiceFactory;
   private ServerTransport clientApiTransport;
+  private ClientApiMessageHandler clientApiMessageHandler;
   private TopologyManager topologyManager;
   private Atomix atomix;
   private final ServiceGroupReference<Partition> partitionsGroupReference =
@@ -78,6 +85,7 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
   @Override
   public void start(final ServiceStartContext serviceContext) {
     this.clientApiTransport = clientApiTransportInjector.getValue();
+    this.clientApiMessageHandler = clientApiMessageHandlerInjector.getValue();
     this.streamProcessorServiceFactory = streamProcessorServiceFactoryInjector.getValue();
     this.topologyManager = topologyManagerInjector.getValue();
     this.atomix = atomixInjector.getValue();
@@ -98,12 +106,20 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
         .streamProcessorFactory(
             (zeebeDb, dbContext) -> {
               final ZeebeState zeebeState = new ZeebeState(partitionId, zeebeDb, dbContext);
+              final ServerOutput trackingOutput =
+                  clientApiMessageHandler
+                      .getRequestLatencyTracker()
+                      .trackingOutput(clientApiTransport.getOutput());
+              final ServerOutput output =
+                  clientApiMessageHandler
+                      .getBatchResponseCollector()
+                      .collectingOutput(trackingOutput);
               final TypedStreamEnvironment streamEnvironment =
-                  new TypedStreamEnvironment(
-                      partition.getLogStream(), clientApiTransport.getOutput());
+                  new TypedStreamEnvironment(partition.getLogStream(), output);
 
               return createTypedStreamProcessor(partitionId, streamEnvironment, zeebeState);
             })
+        .failedPositionResolver(new ErrorEventFailedPositionResolver())
         .deleteDataOnSnapshot(true)
         .build();
   }
@@ -120,6 +136,7 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
     addIncidentProcessors(zeebeState, stepProcessor, typedProcessorBuilder);
     addJobProcessors(zeebeState, typedProcessorBuilder);
     addMessageProcessors(zeebeState, typedProcessorBuilder);
+    typedProcessorBuilder.withListener(new StateCompactionTrigger(zeebeState));
 
     return typedProcessorBuilder.build();
   }
@@ -204,6 +221,10 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
     return clientApiTransportInjector;
   }
 
+  public Injector<ClientApiMessageHandler> getClientApiMessageHandlerInjector() {
+    return clientApiMessageHandlerInjector;
+  }
+
   public ServiceGroupReference<Partition> getPartitionsGroupReference() {
     return partitionsGroupReference;
   }
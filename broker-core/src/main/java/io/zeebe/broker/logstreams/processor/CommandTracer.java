@@ -0,0 +1,168 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.processor;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.impl.record.CommandTrace;
+import io.zeebe.protocol.impl.record.CommandTrace.Stage;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
+import org.agrona.concurrent.HighResolutionClock;
+import org.slf4j.Logger;
+
+/**
+ * Reports how long a sampled command spent in each stage from the gateway until its processing is
+ * completed. The stages before the log are stamped into the trace of the command, the stages in the
+ * log are looked up in the append history of the log storage appender.
+ *
+ * <p>The durations are recorded as metrics and, if the logger {@code io.zeebe.broker.tracing} is on
+ * debug level, logged for each traced command.
+ */
+public class CommandTracer {
+  private static final Logger LOG = Loggers.COMMAND_TRACE_LOGGER;
+
+  private static final long NO_POSITION = -1L;
+  private static final long UNKNOWN_DURATION = -1L;
+  private static final TraceStage[] STAGES = TraceStage.values();
+
+  private final LogStream logStream;
+  private final Histogram[] stageDurations = new Histogram[STAGES.length];
+  private final long[] durations = new long[STAGES.length];
+  private final long[] appendTimes = new long[2];
+
+  private final CommandTrace trace = new CommandTrace();
+  private long tracedPosition = NO_POSITION;
+  private long readTime;
+
+  public CommandTracer(final MetricsManager metricsManager, final LogStream logStream) {
+    this.logStream = logStream;
+
+    final String partition = Integer.toString(logStream.getPartitionId());
+    for (TraceStage stage : STAGES) {
+      stageDurations[stage.ordinal()] =
+          metricsManager
+              .newHistogram("command_trace_stage_duration_ns")
+              .description("time a sampled command spent in a stage until it was processed")
+              .label("partition", partition)
+              .label("stage", stage.label)
+              .create();
+    }
+  }
+
+  /** Starts tracing the command at the given position, if it is sampled. */
+  public void onCommandRead(final long position, final RecordMetadata metadata) {
+    final CommandTrace commandTrace = metadata.getTrace();
+
+    if (commandTrace.isSampled()) {
+      commandTrace.copyTo(trace);
+      tracedPosition = position;
+      readTime = HighResolutionClock.epochMicros();
+    }
+  }
+
+  /** Reports the stages of the command at the given position, if it is traced. */
+  public void onCommandProcessed(final long position) {
+    if (position != tracedPosition) {
+      return;
+    }
+
+    tracedPosition = NO_POSITION;
+    final long processedTime = HighResolutionClock.epochMicros();
+
+    final long gatewayReceived = trace.getTimestamp(Stage.GATEWAY_RECEIVED);
+    final long gatewaySent = trace.getTimestamp(Stage.GATEWAY_SENT);
+    final long brokerReceived = trace.getTimestamp(Stage.BROKER_RECEIVED);
+
+    record(TraceStage.GATEWAY, gatewayReceived, gatewaySent);
+    record(TraceStage.TRANSPORT, gatewaySent, brokerReceived);
+
+    final LogStorageAppender appender = logStream.getLogStorageAppender();
+    if (appender != null && appender.getAppendHistory().lookup(position, appendTimes)) {
+      record(TraceStage.WRITE_BUFFER, brokerReceived, appendTimes[0]);
+      record(TraceStage.APPEND, appendTimes[0], appendTimes[1]);
+      record(TraceStage.PROCESSING_QUEUE, appendTimes[1], readTime);
+    } else {
+      durations[TraceStage.WRITE_BUFFER.ordinal()] = UNKNOWN_DURATION;
+      durations[TraceStage.APPEND.ordinal()] = UNKNOWN_DURATION;
+      durations[TraceStage.PROCESSING_QUEUE.ordinal()] = UNKNOWN_DURATION;
+    }
+
+    record(TraceStage.PROCESSING, readTime, processedTime);
+    record(TraceStage.TOTAL, gatewayReceived, processedTime);
+
+    if (LOG.isDebugEnabled()) {
+      logTrace(position);
+    }
+  }
+
+  private void record(final TraceStage stage, final long startTime, final long endTime) {
+    // a stage may be unknown or, across hosts, skewed by the clocks
+    if (startTime > 0 && endTime >= startTime) {
+      final long duration = endTime - startTime;
+      durations[stage.ordinal()] = duration;
+      stageDurations[stage.ordinal()].record(duration * 1_000);
+    } else {
+      durations[stage.ordinal()] = UNKNOWN_DURATION;
+    }
+  }
+
+  private void logTrace(final long position) {
+    final StringBuilder builder = new StringBuilder();
+    for (TraceStage stage : STAGES) {
+      final long duration = durations[stage.ordinal()];
+      builder.append(' ').append(stage.label).append('=');
+      if (duration != UNKNOWN_DURATION) {
+        builder.append(duration).append("us");
+      } else {
+        builder.append('?');
+      }
+    }
+
+    LOG.debug(
+        "Traced command {} at position {} on partition {}:{}",
+        Long.toHexString(trace.getTraceId()),
+        position,
+        logStream.getPartitionId(),
+        builder);
+  }
+
+  public void close() {
+    for (Histogram histogram : stageDurations) {
+      histogram.close();
+    }
+  }
+
+  private enum TraceStage {
+    GATEWAY("gateway"),
+    TRANSPORT("transport"),
+    WRITE_BUFFER("write_buffer"),
+    APPEND("append"),
+    PROCESSING_QUEUE("processing_queue"),
+    PROCESSING("processing"),
+    TOTAL("total");
+
+    private final String label;
+
+    TraceStage(final String label) {
+      this.label = label;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.processor;
+
+import static io.zeebe.util.sched.clock.ActorClock.currentTimeMillis;
+
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Schedules the check for elapsed deadlines, like the time outs of jobs. The check is scheduled for
+ * the next deadline, or at the latest after the maximum check interval. A check writes its commands
+ * in batches - if the batch is full, the next check runs after the pending events are processed. If
+ * the batch could not be written, the check is retried after a short delay.
+ *
+ * <p>All methods must be called from the stream processor actor.
+ */
+public class DeadlineCheckScheduler {
+  public static final Duration FLUSH_RETRY_DELAY = Duration.ofMillis(100);
+
+  /** The maximum count of commands which a check writes in one batch. */
+  public static final int MAX_BATCH_SIZE = 100;
+  /**
+   * The maximum length of a batch, since the batch must fit into one frame of the log write buffer.
+   */
+  public static final int MAX_BATCH_LENGTH = 32 * 1024;
+
+  public enum CheckResult {
+    /** All elapsed deadlines are handled. */
+    DONE,
+    /** The batch is full and more deadlines may be elapsed. */
+    BATCH_FULL,
+    /** The batch could not be written. */
+    FLUSH_FAILED
+  }
+
+  @FunctionalInterface
+  public interface DeadlineCheck {
+    /**
+     * Handles the deadlines which are elapsed at the given time.
+     *
+     * @param now the current time
+     * @return the result of the check
+     */
+    CheckResult check(long now);
+  }
+
+  private final ActorControl actor;
+  private final Duration maxCheckInterval;
+  private final LongSupplier nextDeadlineSupplier;
+  private final DeadlineCheck deadlineCheck;
+
+  private ScheduledTimer timer;
+  private long nextCheckTime = Long.MAX_VALUE;
+
+  /**
+   * @param actor the actor of the stream processor
+   * @param maxCheckInterval the maximum interval between two checks
+   * @param nextDeadlineSupplier returns the next deadline, or {@link Long#MAX_VALUE} if no deadline
+   *     exists
+   * @param deadlineCheck the check which handles the elapsed deadlines
+   */
+  public DeadlineCheckScheduler(
+      final ActorControl actor,
+      final Duration maxCheckInterval,
+      final LongSupplier nextDeadlineSupplier,
+      final DeadlineCheck deadlineCheck) {
+    this.actor = actor;
+    this.maxCheckInterval = maxCheckInterval;
+    this.nextDeadlineSupplier = nextDeadlineSupplier;
+    this.deadlineCheck = deadlineCheck;
+  }
+
+  /** Schedules the check for the next deadline. */
+  public void scheduleNextCheck() {
+    scheduleNextCheck(currentTimeMillis());
+  }
+
+  /**
+   * Schedules the check for the given deadline, if it is before the scheduled check.
+   *
+   * @param deadline the added deadline
+   */
+  public void onDeadlineAdded(final long deadline) {
+    // a deadline is elapsed if it is before the current time
+    final long checkTime = deadline + 1;
+    if (checkTime < nextCheckTime) {
+      scheduleCheckAt(checkTime);
+    }
+  }
+
+  /** Runs the check immediately and schedules the next one. */
+  public void check() {
+    timer = null;
+    nextCheckTime = Long.MAX_VALUE;
+
+    final long now = currentTimeMillis();
+    final CheckResult result = deadlineCheck.check(now);
+
+    switch (result) {
+      case FLUSH_FAILED:
+        // the log write buffer is full - try again later
+        scheduleCheckAt(now + FLUSH_RETRY_DELAY.toMillis());
+        break;
+
+      case BATCH_FULL:
+        // write the next batch after the pending events are processed
+        nextCheckTime = now;
+        actor.submit(this::check);
+        break;
+
+      default:
+        scheduleNextCheck(now);
+        break;
+    }
+  }
+
+  /** Cancels the scheduled check. */
+  public void close() {
+    cancelTimer();
+  }
+
+  private void scheduleNextCheck(final long now) {
+    final long nextDeadline = nextDeadlineSupplier.getAsLong();
+    final long maxCheckTime = now + maxCheckInterval.toMillis();
+    final long checkTime =
+        nextDeadline < Long.MAX_VALUE ? Math.min(nextDeadline + 1, maxCheckTime) : maxCheckTime;
+
+    scheduleCheckAt(checkTime);
+  }
+
+  private void scheduleCheckAt(final long checkTime) {
+    cancelTimer();
+
+    nextCheckTime = checkTime;
+    final long delay = Math.max(0, checkTime - currentTimeMillis());
+    timer = actor.runDelayed(Duration.ofMillis(delay), this::check);
+  }
+
+  private void cancelTimer() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+    nextCheckTime = Long.MAX_VALUE;
+  }
+}
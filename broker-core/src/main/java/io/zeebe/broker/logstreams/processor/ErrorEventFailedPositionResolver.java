@@ -0,0 +1,43 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.processor;
+
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.processor.FailedPositionResolver;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
+
+/** Returns the position of the failed event which is referenced by an error event. */
+public class ErrorEventFailedPositionResolver implements FailedPositionResolver {
+
+  private final RecordMetadata metadata = new RecordMetadata();
+  private final ErrorRecord errorRecord = new ErrorRecord();
+
+  @Override
+  public long getFailedPosition(LoggedEvent event) {
+    metadata.reset();
+    event.readMetadata(metadata);
+
+    if (metadata.getValueType() == ValueType.ERROR) {
+      event.readValue(errorRecord);
+      return errorRecord.getErrorEventPosition();
+    }
+    return -1;
+  }
+}
@@ -18,11 +18,13 @@
 package io.zeebe.broker.logstreams.processor;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.system.configuration.ThreadsCfg;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.impl.service.StreamProcessorService;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.processor.EventFilter;
+import io.zeebe.logstreams.processor.FailedPositionResolver;
 import io.zeebe.logstreams.processor.StreamProcessorFactory;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.protocol.Protocol;
@@ -42,13 +44,18 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
   private final int maxSnapshots;
+  private final ThreadsCfg threadsCfg;
   private ActorScheduler actorScheduler;
 
   public StreamProcessorServiceFactory(
-      ServiceContainer serviceContainer, Duration snapshotPeriod, int maxSnapshots) {
+      ServiceContainer serviceContainer,
+      Duration snapshotPeriod,
+      int maxSnapshots,
+      ThreadsCfg threadsCfg) {
     this.serviceContainer = serviceContainer;
     this.snapshotPeriod = snapshotPeriod;
     this.maxSnapshots = maxSnapshots;
+    this.threadsCfg = threadsCfg;
   }
 
   @Override
@@ -76,6 +83,7 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
     protected MetadataFilter customEventFilter;
     private StreamProcessorFactory streamProcessorFactory;
     private boolean enableDeleteData;
+    private FailedPositionResolver failedPositionResolver;
 
     public Builder(Partition partition, ServiceName<Partition> serviceName) {
       this.logStream = partition.getLogStream();
@@ -107,6 +115,15 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
       return this;
     }
 
+    /**
+     * @param failedPositionResolver may be null; if set, the log is scanned for reprocessing while
+     *     the state is recovered from the snapshot
+     */
+    public Builder failedPositionResolver(final FailedPositionResolver failedPositionResolver) {
+      this.failedPositionResolver = failedPositionResolver;
+      return this;
+    }
+
     public ActorFuture<StreamProcessorService> build() {
       EnsureUtil.ensureNotNull("stream processor factory", streamProcessorFactory);
       EnsureUtil.ensureNotNullOrEmpty("processor name", processorName);
@@ -126,9 +143,11 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
           .maxSnapshots(maxSnapshots)
           .logStream(logStream)
           .eventFilter(eventFilter)
+          .failedPositionResolver(failedPositionResolver)
           .additionalDependencies(additionalDependencies)
           .streamProcessorFactory(streamProcessorFactory)
           .deleteDataOnSnapshot(enableDeleteData)
+          .threadAffinity(threadsCfg.getPartitionThreadAffinity(logStream.getPartitionId()))
           .build();
     }
   }
@@ -53,7 +53,8 @@ public class TypedStreamProcessor implements StreamProcessor {
   protected final List<StreamProcessorLifecycleAware> lifecycleListeners = new ArrayList<>();
   protected final ZeebeState zeebeState;
 
-  private final ErrorRecord errorRecord = new ErrorRecord();
+  private final ErrorEventFailedPositionResolver failedPositionResolver =
+      new ErrorEventFailedPositionResolver();
   protected final RecordMetadata metadata = new RecordMetadata();
   protected final EnumMap<ValueType, Class<? extends UnpackedObject>> eventRegistry;
   protected final EnumMap<ValueType, UnpackedObject> eventCache;
@@ -65,6 +66,7 @@ public class TypedStreamProcessor implements StreamProcessor {
   private ActorControl actor;
   private StreamProcessorContext streamProcessorContext;
   private TypedStreamWriterImpl streamWriter;
+  private CommandTracer commandTracer;
 
   public TypedStreamProcessor(
       final ServerOutput output,
@@ -91,9 +93,12 @@ public class TypedStreamProcessor implements StreamProcessor {
   public void onOpen(final StreamProcessorContext context) {
     final LogStream logStream = context.getLogStream();
     this.streamWriter = new TypedStreamWriterImpl(logStream, eventRegistry);
+    this.commandTracer =
+        new CommandTracer(context.getActorScheduler().getMetricsManager(), logStream);
 
     this.eventProcessorWrapper =
-        new DelegatingEventProcessor(context.getId(), output, logStream, streamWriter, zeebeState);
+        new DelegatingEventProcessor(
+            context.getId(), output, logStream, streamWriter, zeebeState, commandTracer);
 
     this.actor = context.getActorControl();
     this.streamProcessorContext = context;
@@ -108,6 +113,7 @@ public class TypedStreamProcessor implements StreamProcessor {
   @Override
   public void onClose() {
     lifecycleListeners.forEach(e -> e.onClose());
+    commandTracer.close();
   }
 
   @Override
@@ -117,14 +123,7 @@ public class TypedStreamProcessor implements StreamProcessor {
 
   @Override
   public long getFailedPosition(LoggedEvent currentEvent) {
-    metadata.reset();
-    currentEvent.readMetadata(metadata);
-
-    if (metadata.getValueType() == ValueType.ERROR) {
-      currentEvent.readValue(errorRecord);
-      return errorRecord.getErrorEventPosition();
-    }
-    return -1;
+    return failedPositionResolver.getFailedPosition(currentEvent);
   }
 
   @Override
@@ -143,6 +142,7 @@ public class TypedStreamProcessor implements StreamProcessor {
       event.readValue(value);
 
       typedEvent.wrap(event, metadata, value);
+      commandTracer.onCommandRead(position, metadata);
       eventProcessorWrapper.wrap(currentProcessor, typedEvent, position);
       return eventProcessorWrapper;
     } else {
@@ -161,6 +161,7 @@ public class TypedStreamProcessor implements StreamProcessor {
     protected final TypedStreamWriterImpl writer;
     protected final TypedResponseWriterImpl responseWriter;
     private final ZeebeState zeebeState;
+    private final CommandTracer commandTracer;
 
     TypedRecordProcessor<?> eventProcessor;
     protected TypedEventImpl event;
@@ -172,12 +173,14 @@ public class TypedStreamProcessor implements StreamProcessor {
         final ServerOutput output,
         final LogStream logStream,
         final TypedStreamWriterImpl writer,
-        final ZeebeState zeebeState) {
+        final ZeebeState zeebeState,
+        final CommandTracer commandTracer) {
       this.streamProcessorId = streamProcessorId;
       this.logStream = logStream;
       this.writer = writer;
       this.responseWriter = new TypedResponseWriterImpl(output, logStream.getPartitionId());
       this.zeebeState = zeebeState;
+      this.commandTracer = commandTracer;
     }
 
     public void wrap(
@@ -208,6 +211,7 @@ public class TypedStreamProcessor implements StreamProcessor {
     @Override
     public void onError(Throwable exception) {
       resetOutput();
+      zeebeState.onTransactionRolledBack();
 
       writeRejectionOnCommand(exception);
       errorRecord.initErrorRecord(exception, event.getPosition());
@@ -273,7 +277,11 @@ public class TypedStreamProcessor implements StreamProcessor {
 
     @Override
     public boolean executeSideEffects() {
-      return sideEffectProducer.flush();
+      final boolean isFlushed = sideEffectProducer.flush();
+      if (isFlushed) {
+        commandTracer.onCommandProcessed(position);
+      }
+      return isFlushed;
     }
 
     @Override
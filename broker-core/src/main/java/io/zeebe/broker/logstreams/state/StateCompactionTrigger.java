@@ -0,0 +1,76 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.state;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.logstreams.processor.StreamProcessorLifecycleAware;
+import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.time.Duration;
+import org.slf4j.Logger;
+
+/**
+ * Compacts the heads of the queues which were removed by the checkers of the stream processor. The
+ * compaction runs on a blocking task, since it can take long and would stall all actors on the
+ * thread of the stream processor otherwise.
+ */
+public class StateCompactionTrigger implements StreamProcessorLifecycleAware {
+  public static final Duration COMPACTION_INTERVAL = Duration.ofSeconds(10);
+
+  private static final Logger LOG = Loggers.STREAM_PROCESSING;
+
+  private final ZeebeState state;
+
+  private ActorControl actor;
+  private ScheduledTimer timer;
+  private boolean isCompacting;
+
+  public StateCompactionTrigger(final ZeebeState state) {
+    this.state = state;
+  }
+
+  @Override
+  public void onRecovered(final TypedStreamProcessor streamProcessor) {
+    actor = streamProcessor.getActor();
+    timer = actor.runAtFixedRate(COMPACTION_INTERVAL, this::compactDeletedRanges);
+  }
+
+  @Override
+  public void onClose() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  void compactDeletedRanges() {
+    if (!isCompacting && state.hasDeletedRanges()) {
+      isCompacting = true;
+      actor.runBlocking(state::compactDeletedRanges, this::onCompacted);
+    }
+  }
+
+  private void onCompacted(final Throwable failure) {
+    isCompacting = false;
+
+    if (failure != null) {
+      LOG.warn("Failed to compact the removed heads of the queues", failure);
+    }
+  }
+}
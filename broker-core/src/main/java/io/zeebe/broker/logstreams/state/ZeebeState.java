@@ -48,6 +48,7 @@ public class ZeebeState {
 
   private static final Logger LOG = Loggers.STREAM_PROCESSING;
 
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
   private final KeyState keyState;
   private final WorkflowState workflowState;
   private final DeploymentsState deploymentState;
@@ -68,6 +69,7 @@ public class ZeebeState {
   }
 
   public ZeebeState(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+    this.zeebeDb = zeebeDb;
     keyState = new KeyState(partitionId, zeebeDb, dbContext);
     workflowState = new WorkflowState(zeebeDb, dbContext, keyState);
     deploymentState = new DeploymentsState(zeebeDb, dbContext);
@@ -123,6 +125,16 @@ public class ZeebeState {
     return keyState;
   }
 
+  /** @return true, if the head of a queue was removed and is not compacted yet */
+  public boolean hasDeletedRanges() {
+    return zeebeDb.hasDeletedRanges();
+  }
+
+  /** Compacts the removed heads of the queues. It blocks the caller until it is done. */
+  public void compactDeletedRanges() {
+    zeebeDb.compactDeletedRanges();
+  }
+
   public void blacklist(long workflowInstanceKey) {
     if (workflowInstanceKey >= 0) {
       LOG.warn(BLACKLIST_INSTANCE_MESSAGE, workflowInstanceKey);
@@ -141,6 +153,17 @@ public class ZeebeState {
     return false;
   }
 
+  /**
+   * Must be called after the transaction of a record is rolled back, to discard the changes of the
+   * in-memory structures which are derived from the state.
+   */
+  public void onTransactionRolledBack() {
+    messageState.rebuildCorrelationKeyFilter();
+    messageSubscriptionState.rebuildCorrelationKeyFilter();
+    messageSubscriptionState.resetPendingSubscriptionCount();
+    workflowInstanceSubscriptionState.resetPendingSubscriptionCount();
+  }
+
   public void markAsProcessed(long position) {
     lastProcessedEventPosition.wrapLong(position);
     lastProcessedRecordPositionColumnFamily.put(lastProcessedEventKey, lastProcessedEventPosition);
@@ -0,0 +1,29 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+/** Is notified when a pending subscription command doesn't need to be sent again. */
+@FunctionalInterface
+public interface SubscriptionAcknowledgementListener {
+
+  /**
+   * @param partitionId the partition which the command was sent to
+   * @param commandSentTime the time when the command was sent the last time
+   */
+  void onAcknowledged(int partitionId, long commandSentTime);
+}
@@ -25,10 +25,11 @@ import io.zeebe.broker.subscription.CorrelateWorkflowInstanceSubscriptionDecoder
 import io.zeebe.broker.subscription.MessageHeaderDecoder;
 import io.zeebe.broker.subscription.OpenMessageSubscriptionDecoder;
 import io.zeebe.broker.subscription.OpenWorkflowInstanceSubscriptionDecoder;
+import io.zeebe.broker.subscription.SubscriptionCommandBatchDecoder;
 import io.zeebe.broker.subscription.message.data.MessageSubscriptionRecord;
 import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRecord;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
-import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.RecordType;
@@ -44,6 +45,10 @@ import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Writes the received subscription commands to the log stream of the partition. The commands of a
+ * {@link SubscriptionCommandBatch} are written with one batch write per partition.
+ */
 public class SubscriptionApiCommandMessageHandler
     implements Function<byte[], CompletableFuture<Void>> {
 
@@ -68,7 +73,10 @@ public class SubscriptionApiCommandMessageHandler
   private final CloseWorkflowInstanceSubscriptionCommand closeWorkflowInstanceSubscriptionCommand =
       new CloseWorkflowInstanceSubscriptionCommand();
 
-  private final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  private final SubscriptionCommandBatch commandBatch = new SubscriptionCommandBatch();
+
+  private final LogStreamBatchWriter logStreamBatchWriter = new LogStreamBatchWriterImpl();
+  private int batchPartitionId = -1;
   private final RecordMetadata recordMetadata = new RecordMetadata();
 
   private final MessageSubscriptionRecord messageSubscriptionRecord =
@@ -98,35 +106,56 @@ public class SubscriptionApiCommandMessageHandler
 
           if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
 
-            switch (messageHeaderDecoder.templateId()) {
-              case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
-                onOpenMessageSubscription(buffer, offset, length);
-                break;
-              case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onOpenWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCloseMessageSubscription(buffer, offset, length);
-                break;
-              case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCloseWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              default:
-                break;
+            if (messageHeaderDecoder.templateId() == SubscriptionCommandBatchDecoder.TEMPLATE_ID) {
+              onCommandBatch(buffer, offset, length);
+            } else {
+              onCommand(buffer, offset, length);
             }
+
+            flushCommands();
           }
           future.complete(null);
         });
     return future;
   }
 
-  private boolean onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCommandBatch(DirectBuffer buffer, int offset, int length) {
+    commandBatch.wrap(buffer, offset, length);
+
+    for (int i = 0; i < commandBatch.getCommandCount(); i++) {
+      final DirectBuffer command = commandBatch.getCommand(i);
+      messageHeaderDecoder.wrap(command, 0);
+
+      onCommand(command, 0, command.capacity());
+    }
+  }
+
+  private void onCommand(DirectBuffer buffer, int offset, int length) {
+    switch (messageHeaderDecoder.templateId()) {
+      case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
+        onOpenMessageSubscription(buffer, offset, length);
+        break;
+      case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+        onOpenWorkflowInstanceSubscription(buffer, offset, length);
+        break;
+      case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+        onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
+        break;
+      case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+        onCorrelateMessageSubscription(buffer, offset, length);
+        break;
+      case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
+        onCloseMessageSubscription(buffer, offset, length);
+        break;
+      case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+        onCloseWorkflowInstanceSubscription(buffer, offset, length);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
     openMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord
@@ -136,14 +165,14 @@ public class SubscriptionApiCommandMessageHandler
         .setCorrelationKey(openMessageSubscriptionCommand.getCorrelationKey())
         .setCloseOnCorrelate(openMessageSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         openMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.OPEN,
         messageSubscriptionRecord);
   }
 
-  private boolean onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     openWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -159,14 +188,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageName(openWorkflowInstanceSubscriptionCommand.getMessageName())
         .setCloseOnCorrelate(openWorkflowInstanceSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.OPEN,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateWorkflowInstanceSubscription(
+  private void onCorrelateWorkflowInstanceSubscription(
       DirectBuffer buffer, int offset, int length) {
     correlateWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
@@ -182,14 +211,14 @@ public class SubscriptionApiCommandMessageHandler
         .setMessageName(correlateWorkflowInstanceSubscriptionCommand.getMessageName())
         .setVariables(correlateWorkflowInstanceSubscriptionCommand.getVariables());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CORRELATE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
     correlateMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -198,14 +227,14 @@ public class SubscriptionApiCommandMessageHandler
         .setElementInstanceKey(correlateMessageSubscriptionCommand.getElementInstanceKey())
         .setMessageName(correlateMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         correlateMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CORRELATE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
     closeMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -214,14 +243,14 @@ public class SubscriptionApiCommandMessageHandler
         .setElementInstanceKey(closeMessageSubscriptionCommand.getElementInstanceKey())
         .setMessageName(closeMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         closeMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CLOSE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     closeWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -236,29 +265,41 @@ public class SubscriptionApiCommandMessageHandler
         .setElementInstanceKey(closeWorkflowInstanceSubscriptionCommand.getElementInstanceKey())
         .setMessageName(closeWorkflowInstanceSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CLOSE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean writeCommand(
+  private void writeCommand(
       int partitionId, ValueType valueType, Intent intent, UnpackedObject command) {
 
-    final Partition partition = leaderPartitions.get(partitionId);
-    if (partition == null) {
-      // ignore message if you are not the leader of the partition
-      return true;
-    }
+    if (partitionId != batchPartitionId) {
+      flushCommands();
+
+      final Partition partition = leaderPartitions.get(partitionId);
+      if (partition == null) {
+        // ignore message if you are not the leader of the partition
+        return;
+      }
 
-    logStreamWriter.wrap(partition.getLogStream());
+      logStreamBatchWriter.wrap(partition.getLogStream());
+      batchPartitionId = partitionId;
+    }
 
     recordMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
 
-    final long position =
-        logStreamWriter.key(-1).metadataWriter(recordMetadata).valueWriter(command).tryWrite();
+    logStreamBatchWriter.event().key(-1).metadataWriter(recordMetadata).valueWriter(command).done();
+  }
+
+  private void flushCommands() {
+    if (batchPartitionId >= 0) {
+      // the commands are send again if the write fails
+      logStreamBatchWriter.tryWrite();
+      logStreamBatchWriter.reset();
 
-    return position > 0;
+      batchPartitionId = -1;
+    }
   }
 }
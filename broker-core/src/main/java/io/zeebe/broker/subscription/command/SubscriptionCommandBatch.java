@@ -0,0 +1,140 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import static io.zeebe.broker.subscription.SubscriptionCommandBatchDecoder.CommandsDecoder.commandHeaderLength;
+
+import io.zeebe.broker.subscription.SubscriptionCommandBatchDecoder;
+import io.zeebe.broker.subscription.SubscriptionCommandBatchDecoder.CommandsDecoder;
+import io.zeebe.broker.subscription.SubscriptionCommandBatchEncoder;
+import io.zeebe.broker.subscription.SubscriptionCommandBatchEncoder.CommandsEncoder;
+import io.zeebe.broker.util.SbeBufferWriterReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * An envelope of subscription commands which are sent to the same partition. The commands are
+ * written into a reusable buffer when they are added, so that the batch can be encoded without
+ * allocating per command.
+ */
+public class SubscriptionCommandBatch
+    extends SbeBufferWriterReader<
+        SubscriptionCommandBatchEncoder, SubscriptionCommandBatchDecoder> {
+
+  public static final int MAX_COMMAND_COUNT = 254;
+  public static final int MAX_COMMAND_LENGTH = 65534;
+
+  private final SubscriptionCommandBatchEncoder encoder = new SubscriptionCommandBatchEncoder();
+  private final SubscriptionCommandBatchDecoder decoder = new SubscriptionCommandBatchDecoder();
+
+  private final ExpandableArrayBuffer commandsBuffer = new ExpandableArrayBuffer();
+  private int commandsBufferLength;
+  private int encodedCommandsLength;
+
+  private final IntArrayList commandOffsets = new IntArrayList();
+  private final IntArrayList commandLengths = new IntArrayList();
+
+  private DirectBuffer commandSource = commandsBuffer;
+  private final UnsafeBuffer commandView = new UnsafeBuffer(0, 0);
+
+  @Override
+  protected SubscriptionCommandBatchEncoder getBodyEncoder() {
+    return encoder;
+  }
+
+  @Override
+  protected SubscriptionCommandBatchDecoder getBodyDecoder() {
+    return decoder;
+  }
+
+  @Override
+  public int getLength() {
+    return super.getLength() + CommandsEncoder.sbeHeaderSize() + encodedCommandsLength;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    super.write(buffer, offset);
+
+    final CommandsEncoder commandsEncoder = encoder.commandsCount(commandOffsets.size());
+    for (int i = 0; i < commandOffsets.size(); i++) {
+      commandsEncoder
+          .next()
+          .putCommand(commandSource, commandOffsets.getInt(i), commandLengths.getInt(i));
+    }
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    super.wrap(buffer, offset, length);
+
+    commandSource = buffer;
+
+    for (final CommandsDecoder command : decoder.commands()) {
+      final int commandLength = command.commandLength();
+      final int commandOffset = decoder.limit() + commandHeaderLength();
+
+      commandOffsets.addInt(commandOffset);
+      commandLengths.addInt(commandLength);
+      encodedCommandsLength += commandHeaderLength() + commandLength;
+
+      decoder.limit(commandOffset + commandLength);
+    }
+  }
+
+  @Override
+  public void reset() {
+    commandSource = commandsBuffer;
+    commandsBufferLength = 0;
+    encodedCommandsLength = 0;
+    commandOffsets.clear();
+    commandLengths.clear();
+  }
+
+  /**
+   * Appends the given command to the batch. The command is copied, so the writer can be reused
+   * afterwards.
+   */
+  public void addCommand(BufferWriter command) {
+    final int length = command.getLength();
+    command.write(commandsBuffer, commandsBufferLength);
+
+    commandOffsets.addInt(commandsBufferLength);
+    commandLengths.addInt(length);
+    commandsBufferLength += length;
+    encodedCommandsLength += commandHeaderLength() + length;
+  }
+
+  public int getCommandCount() {
+    return commandOffsets.size();
+  }
+
+  public boolean isEmpty() {
+    return commandOffsets.isEmpty();
+  }
+
+  /** @return a view of the command with the given index, which is valid until the next call */
+  public DirectBuffer getCommand(int index) {
+    commandView.wrap(commandSource, commandOffsets.getInt(index), commandLengths.getInt(index));
+    return commandView;
+  }
+}
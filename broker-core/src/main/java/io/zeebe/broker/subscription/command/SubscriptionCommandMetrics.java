@@ -0,0 +1,80 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class SubscriptionCommandMetrics implements AutoCloseable {
+  private final Metric pendingSubscriptions;
+  private final Metric resentCommands;
+  private final Metric roundTripTime;
+
+  /**
+   * @param subscriptionType the type of the subscriptions which commands are sent, e.g. "message"
+   */
+  public SubscriptionCommandMetrics(
+      final MetricsManager metricsManager, final int partitionId, final String subscriptionType) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    pendingSubscriptions =
+        metricsManager
+            .newMetric("subscription_pending_count")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .label("type", subscriptionType)
+            .create();
+
+    resentCommands =
+        metricsManager
+            .newMetric("subscription_command_resent_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", subscriptionType)
+            .create();
+
+    roundTripTime =
+        metricsManager
+            .newMetric("subscription_command_round_trip_millis")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .label("type", subscriptionType)
+            .create();
+  }
+
+  /** @param count the count of subscriptions which wait for the acknowledgement of a command */
+  public void setPendingSubscriptions(final long count) {
+    pendingSubscriptions.setOrdered(count);
+  }
+
+  public void incrementResentCommands() {
+    resentCommands.incrementOrdered();
+  }
+
+  /** @param time the time between sending a command and processing its acknowledgement */
+  public void recordRoundTripTime(final long time) {
+    roundTripTime.setOrdered(time);
+  }
+
+  @Override
+  public void close() {
+    pendingSubscriptions.close();
+    resentCommands.close();
+    roundTripTime.close();
+  }
+}
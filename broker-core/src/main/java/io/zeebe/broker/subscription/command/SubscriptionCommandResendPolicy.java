@@ -0,0 +1,145 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.agrona.collections.Int2ObjectHashMap;
+
+/**
+ * Decides when a pending subscription command is sent again. Each target partition has its own
+ * resend timeout. The timeout starts with the minimum timeout and is doubled (up to the maximum
+ * timeout) after each resend round, until the partition acknowledges a command. The next round is
+ * delayed by the timeout plus a random jitter, so that a partition which is not reachable (e.g.
+ * during a leader change) is not flooded with resends.
+ *
+ * <p>The count of resent commands which are in flight to a partition is bounded. A resent command
+ * is in flight until the partition acknowledges a command, or until the maximum timeout is elapsed
+ * after the round without an acknowledgement, since the command is considered lost then. An
+ * acknowledgement can't be related to a resent command, so each acknowledgement releases one
+ * resend.
+ */
+public class SubscriptionCommandResendPolicy implements SubscriptionAcknowledgementListener {
+
+  /** The maximum number of resent commands which are in flight to a partition. */
+  public static final int MAX_IN_FLIGHT_RESENDS = 100;
+
+  /** The maximum number of overdue subscriptions which are visited per check. */
+  public static final int MAX_VISITED_SUBSCRIPTIONS = 10_000;
+
+  /** The maximum jitter which is added to the delay of the next resend round. */
+  private static final double MAX_JITTER = 0.25;
+
+  private final Int2ObjectHashMap<TargetPartition> targetPartitions = new Int2ObjectHashMap<>();
+
+  private final long minTimeout;
+  private final long maxTimeout;
+  private final SubscriptionCommandMetrics metrics;
+
+  public SubscriptionCommandResendPolicy(
+      final Duration minTimeout,
+      final Duration maxTimeout,
+      final SubscriptionCommandMetrics metrics) {
+    this.minTimeout = minTimeout.toMillis();
+    this.maxTimeout = maxTimeout.toMillis();
+    this.metrics = metrics;
+  }
+
+  /** @return the time after which a command can be resent, if the partition acknowledges */
+  public long getMinTimeout() {
+    return minTimeout;
+  }
+
+  public boolean shouldResend(final int partitionId, final long commandSentTime, final long now) {
+    final TargetPartition target = getTargetPartition(partitionId);
+
+    if (target.inFlightDeadline > 0 && now >= target.inFlightDeadline) {
+      // the resends of the previous rounds were not acknowledged in time
+      target.inFlightResends = 0;
+      target.inFlightDeadline = 0;
+    }
+
+    return now >= target.nextRoundTime
+        && now - commandSentTime >= target.timeout
+        && target.inFlightResends < MAX_IN_FLIGHT_RESENDS;
+  }
+
+  public void onResent(final int partitionId) {
+    final TargetPartition target = getTargetPartition(partitionId);
+    target.inFlightResends += 1;
+    target.hasResentInRound = true;
+
+    metrics.incrementResentCommands();
+  }
+
+  /**
+   * Completes the resend round of all partitions which commands were resent in the check.
+   *
+   * @param now the time of the check
+   * @param pendingSubscriptions the count of the subscriptions which wait for an acknowledgement
+   */
+  public void onCheckCompleted(final long now, final long pendingSubscriptions) {
+    for (final TargetPartition target : targetPartitions.values()) {
+      if (target.hasResentInRound) {
+        target.timeout = Math.min(target.timeout * 2, maxTimeout);
+
+        final long jitter =
+            (long) (target.timeout * MAX_JITTER * ThreadLocalRandom.current().nextDouble());
+        target.nextRoundTime = now + target.timeout + jitter;
+        target.inFlightDeadline = now + maxTimeout;
+        target.hasResentInRound = false;
+      }
+    }
+
+    metrics.setPendingSubscriptions(pendingSubscriptions);
+  }
+
+  @Override
+  public void onAcknowledged(final int partitionId, final long commandSentTime) {
+    final TargetPartition target = getTargetPartition(partitionId);
+    target.timeout = minTimeout;
+    target.nextRoundTime = 0;
+    if (target.inFlightResends > 0) {
+      target.inFlightResends -= 1;
+    }
+
+    metrics.recordRoundTripTime(ActorClock.currentTimeMillis() - commandSentTime);
+  }
+
+  private TargetPartition getTargetPartition(final int partitionId) {
+    TargetPartition target = targetPartitions.get(partitionId);
+    if (target == null) {
+      target = new TargetPartition(minTimeout);
+      targetPartitions.put(partitionId, target);
+    }
+    return target;
+  }
+
+  private static final class TargetPartition {
+    private long timeout;
+    private long nextRoundTime;
+    private int inFlightResends;
+    private long inFlightDeadline;
+    private boolean hasResentInRound;
+
+    TargetPartition(final long timeout) {
+      this.timeout = timeout;
+    }
+  }
+}
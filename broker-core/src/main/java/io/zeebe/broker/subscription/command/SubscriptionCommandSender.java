@@ -26,8 +26,9 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.time.Duration;
 import org.agrona.DirectBuffer;
-import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -35,6 +36,9 @@ import org.agrona.concurrent.UnsafeBuffer;
  * Send commands via the subscription endpoint. The commands are send as single messages (instead of request-response).
  * To ensure that a command is received, each command has an ACK command which is send by the receiver.
  *
+ * <p>Commands to the same partition are coalesced into a {@link SubscriptionCommandBatch}. A batch is
+ * send when it is full or when the linger time is over, whatever happens first.
+ *
  * <pre>
  *+---------------------------------------------------------------------------------------------------------------------------------------+
  *|                                                       Message Partition                                                               |
@@ -54,6 +58,12 @@ import org.agrona.concurrent.UnsafeBuffer;
  */
 public class SubscriptionCommandSender {
 
+  public static final Duration BATCH_LINGER_TIME = Duration.ofMillis(1);
+  public static final int MAX_BATCH_SIZE = 100;
+  public static final int MAX_BATCH_LENGTH = 32 * 1024;
+
+  private static final String SUBSCRIPTION_TOPIC = "subscription";
+
   private final OpenMessageSubscriptionCommand openMessageSubscriptionCommand =
       new OpenMessageSubscriptionCommand();
 
@@ -73,10 +83,16 @@ public class SubscriptionCommandSender {
   private final CloseWorkflowInstanceSubscriptionCommand closeWorkflowInstanceSubscriptionCommand =
       new CloseWorkflowInstanceSubscriptionCommand();
 
+  private final Int2ObjectHashMap<SubscriptionCommandBatch> pendingBatches =
+      new Int2ObjectHashMap<>();
+  private final UnsafeBuffer sendBuffer = new UnsafeBuffer(0, 0);
+
   private final Atomix atomix;
 
   private int partitionId;
   private TopologyPartitionListenerImpl partitionListener;
+  private ActorControl actor;
+  private ScheduledTimer lingerTimer;
 
   public SubscriptionCommandSender(Atomix atomix) {
     this.atomix = atomix;
@@ -85,6 +101,7 @@ public class SubscriptionCommandSender {
   public void init(
       final TopologyManager topologyManager, final ActorControl actor, final LogStream logStream) {
     this.partitionId = logStream.getPartitionId();
+    this.actor = actor;
 
     this.partitionListener = new TopologyPartitionListenerImpl(actor);
     topologyManager.addTopologyPartitionListener(partitionListener);
@@ -187,23 +204,94 @@ public class SubscriptionCommandSender {
         workflowInstancePartitionId, closeWorkflowInstanceSubscriptionCommand);
   }
 
+  /** Sends all pending batches and cancels the linger timer. */
+  public void close() {
+    flushPendingBatches();
+  }
+
   private boolean sendSubscriptionCommand(
       final int receiverPartitionId, final BufferWriter command) {
 
-    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
-    final NodeInfo partitionLeader = partitionLeaders.get(receiverPartitionId);
+    final NodeInfo partitionLeader = getPartitionLeader(receiverPartitionId);
     if (partitionLeader == null) {
       // retry when no leader is known
       return true;
     }
 
-    final byte bytes[] = new byte[command.getLength()];
-    final MutableDirectBuffer buffer = new UnsafeBuffer(bytes);
-    command.write(buffer, 0);
+    final int commandLength = command.getLength();
+    if (commandLength > SubscriptionCommandBatch.MAX_COMMAND_LENGTH) {
+      // keep the order of the commands
+      flushPendingBatch(receiverPartitionId);
+
+      final byte[] bytes = new byte[commandLength];
+      sendBuffer.wrap(bytes);
+      command.write(sendBuffer, 0);
+      send(partitionLeader, bytes);
+      return true;
+    }
+
+    SubscriptionCommandBatch batch = pendingBatches.get(receiverPartitionId);
+    if (batch == null) {
+      batch = new SubscriptionCommandBatch();
+      pendingBatches.put(receiverPartitionId, batch);
+    }
+
+    batch.addCommand(command);
+
+    if (batch.getCommandCount() >= MAX_BATCH_SIZE || batch.getLength() >= MAX_BATCH_LENGTH) {
+      flushPendingBatch(receiverPartitionId);
+
+    } else if (lingerTimer == null) {
+      lingerTimer = actor.runDelayed(BATCH_LINGER_TIME, this::onLingerTimeOver);
+    }
+
+    return true;
+  }
+
+  private void onLingerTimeOver() {
+    lingerTimer = null;
+    flushPendingBatches();
+  }
+
+  private void flushPendingBatches() {
+    if (lingerTimer != null) {
+      lingerTimer.cancel();
+      lingerTimer = null;
+    }
+
+    final Int2ObjectHashMap<SubscriptionCommandBatch>.KeyIterator partitionIds =
+        pendingBatches.keySet().iterator();
+    while (partitionIds.hasNext()) {
+      flushPendingBatch(partitionIds.nextInt());
+    }
+  }
+
+  private void flushPendingBatch(final int receiverPartitionId) {
+    final SubscriptionCommandBatch batch = pendingBatches.get(receiverPartitionId);
+    if (batch == null || batch.isEmpty()) {
+      return;
+    }
+
+    // the leader may have changed since the commands were added
+    final NodeInfo partitionLeader = getPartitionLeader(receiverPartitionId);
+    if (partitionLeader != null) {
+      final byte[] bytes = new byte[batch.getLength()];
+      sendBuffer.wrap(bytes);
+      batch.write(sendBuffer, 0);
+      send(partitionLeader, bytes);
+    }
+
+    batch.reset();
+  }
 
+  private NodeInfo getPartitionLeader(final int receiverPartitionId) {
+    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
+    return partitionLeaders.get(receiverPartitionId);
+  }
+
+  private void send(final NodeInfo partitionLeader, final byte[] bytes) {
     atomix
         .getCommunicationService()
-        .send("subscription", bytes, MemberId.from("" + partitionLeader.getNodeId()));
-    return true;
+        .send(SUBSCRIPTION_TOPIC, bytes, MemberId.from("" + partitionLeader.getNodeId()));
   }
 }
@@ -18,28 +18,49 @@
 package io.zeebe.broker.subscription.message.processor;
 
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler;
 import io.zeebe.broker.logstreams.processor.StreamProcessorLifecycleAware;
 import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.broker.subscription.command.SubscriptionCommandMetrics;
+import io.zeebe.broker.subscription.command.SubscriptionCommandResendPolicy;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
+import io.zeebe.broker.subscription.message.state.CorrelationKeyFilterMetrics;
 import io.zeebe.broker.subscription.message.state.MessageState;
 import io.zeebe.broker.subscription.message.state.MessageSubscriptionState;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
 import java.time.Duration;
 
 public class MessageObserver implements StreamProcessorLifecycleAware {
 
+  /**
+   * The maximum interval between two checks for expired messages. The check is scheduled for the
+   * next deadline of the messages.
+   */
   public static final Duration MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL = Duration.ofSeconds(60);
 
-  public static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(10);
-  public static final Duration SUBSCRIPTION_CHECK_INTERVAL = Duration.ofSeconds(30);
+  /**
+   * The time after which a pending subscription command is sent again. The time is doubled for a
+   * partition which doesn't acknowledge the commands, up to the maximum timeout.
+   */
+  public static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(2);
+
+  public static final Duration SUBSCRIPTION_MAX_TIMEOUT = Duration.ofSeconds(32);
+  public static final Duration SUBSCRIPTION_CHECK_INTERVAL = Duration.ofSeconds(1);
 
   private final TopologyManager topologyManager;
   private final SubscriptionCommandSender subscriptionCommandSender;
   private final MessageState messageState;
   private final MessageSubscriptionState subscriptionState;
 
+  private DeadlineCheckScheduler timeToLiveScheduler;
+  private SubscriptionCommandMetrics subscriptionCommandMetrics;
+  private CorrelationKeyFilterMetrics messageFilterMetrics;
+  private CorrelationKeyFilterMetrics subscriptionFilterMetrics;
+
   public MessageObserver(
       MessageState messageState,
       MessageSubscriptionState subscriptionState,
@@ -60,15 +81,76 @@ public class MessageObserver implements StreamProcessorLifecycleAware {
 
     subscriptionCommandSender.init(topologyManager, actor, logStream);
 
-    final MessageTimeToLiveChecker timeToLiveChecker =
-        new MessageTimeToLiveChecker(env.buildCommandWriter(), messageState);
-    streamProcessor
-        .getActor()
-        .runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
+    final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
+    final MetricsManager metricsManager = context.getActorScheduler().getMetricsManager();
+    subscriptionCommandMetrics =
+        new SubscriptionCommandMetrics(metricsManager, logStream.getPartitionId(), "message");
+
+    // the filters are not part of the snapshot - build them before the records are reprocessed
+    messageFilterMetrics =
+        new CorrelationKeyFilterMetrics(metricsManager, logStream.getPartitionId(), "message");
+    messageState.setCorrelationKeyFilterMetrics(messageFilterMetrics);
+    messageState.rebuildCorrelationKeyFilter();
+
+    subscriptionFilterMetrics =
+        new CorrelationKeyFilterMetrics(
+            metricsManager, logStream.getPartitionId(), "message-subscription");
+    subscriptionState.setCorrelationKeyFilterMetrics(subscriptionFilterMetrics);
+    subscriptionState.rebuildCorrelationKeyFilter();
+
+    final SubscriptionCommandResendPolicy resendPolicy =
+        new SubscriptionCommandResendPolicy(
+            SUBSCRIPTION_TIMEOUT, SUBSCRIPTION_MAX_TIMEOUT, subscriptionCommandMetrics);
+    subscriptionState.setAcknowledgementListener(resendPolicy);
 
     final PendingMessageSubscriptionChecker pendingSubscriptionChecker =
         new PendingMessageSubscriptionChecker(
-            subscriptionCommandSender, subscriptionState, SUBSCRIPTION_TIMEOUT.toMillis());
+            subscriptionCommandSender, subscriptionState, resendPolicy);
     actor.runAtFixedRate(SUBSCRIPTION_CHECK_INTERVAL, pendingSubscriptionChecker);
   }
+
+  @Override
+  public void onRecovered(TypedStreamProcessor streamProcessor) {
+    final MessageTimeToLiveChecker timeToLiveChecker =
+        new MessageTimeToLiveChecker(
+            streamProcessor.getEnvironment().buildCommandWriter(), messageState);
+
+    timeToLiveScheduler =
+        new DeadlineCheckScheduler(
+            streamProcessor.getActor(),
+            MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL,
+            timeToLiveChecker::getNextDeadline,
+            timeToLiveChecker::deleteExpiredMessages);
+
+    messageState.setDeadlineListener(timeToLiveScheduler::onDeadlineAdded);
+
+    // check if messages are expired after restart
+    timeToLiveScheduler.check();
+  }
+
+  @Override
+  public void onClose() {
+    messageState.setDeadlineListener(deadline -> {});
+    subscriptionState.setAcknowledgementListener((partitionId, commandSentTime) -> {});
+    subscriptionCommandSender.close();
+
+    if (subscriptionCommandMetrics != null) {
+      subscriptionCommandMetrics.close();
+    }
+
+    messageState.setCorrelationKeyFilterMetrics(null);
+    subscriptionState.setCorrelationKeyFilterMetrics(null);
+
+    if (messageFilterMetrics != null) {
+      messageFilterMetrics.close();
+    }
+
+    if (subscriptionFilterMetrics != null) {
+      subscriptionFilterMetrics.close();
+    }
+
+    if (timeToLiveScheduler != null) {
+      timeToLiveScheduler.close();
+    }
+  }
 }
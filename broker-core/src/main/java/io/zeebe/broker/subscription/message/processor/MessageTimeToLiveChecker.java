@@ -17,33 +17,80 @@
  */
 package io.zeebe.broker.subscription.message.processor;
 
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_LENGTH;
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_SIZE;
+
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.CheckResult;
 import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
 import io.zeebe.broker.subscription.message.state.Message;
 import io.zeebe.broker.subscription.message.state.MessageState;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.intent.MessageIntent;
-import io.zeebe.util.sched.clock.ActorClock;
 
-public class MessageTimeToLiveChecker implements Runnable {
+/**
+ * Writes the delete commands of the messages which time to live is elapsed. The commands are
+ * written in batches. The messages are removed from the state when the commands are processed, so
+ * the messages of the previous batches are skipped until all expired messages are visited.
+ */
+public class MessageTimeToLiveChecker {
 
   private final TypedCommandWriter writer;
   private final MessageState messageState;
 
   private final MessageRecord deleteMessageCommand = new MessageRecord();
 
+  private int batchSize;
+  private int batchLength;
+  private boolean isBatchFull;
+  private long batchLastDeadline = -1L;
+  private long batchLastMessageKey = -1L;
+
+  // the last message of the previous batches
+  private long lastDeadline = -1L;
+  private long lastMessageKey = -1L;
+
+  private long nextDeadline = Long.MAX_VALUE;
+
   public MessageTimeToLiveChecker(
       final TypedCommandWriter writer, final MessageState messageState) {
     this.writer = writer;
     this.messageState = messageState;
   }
 
-  @Override
-  public void run() {
-    messageState.visitMessagesWithDeadlineBefore(
-        ActorClock.currentTimeMillis(), this::writeDeleteMessageCommand);
+  /** @return the deadline of the next message which is not expired yet */
+  public long getNextDeadline() {
+    return nextDeadline;
+  }
+
+  public CheckResult deleteExpiredMessages(final long now) {
+    // there is no transaction in progress between the processing of two events
+    messageState.compactDeadlines();
+
+    isBatchFull = false;
+    final long stopDeadline =
+        messageState.visitMessagesWithDeadlineBefore(now, this::writeDeleteMessageCommand);
+
+    if (!flushBatch()) {
+      return CheckResult.FLUSH_FAILED;
+
+    } else if (isBatchFull) {
+      return CheckResult.BATCH_FULL;
+
+    } else {
+      lastDeadline = -1L;
+      lastMessageKey = -1L;
+
+      nextDeadline = stopDeadline > 0 ? stopDeadline : Long.MAX_VALUE;
+      return CheckResult.DONE;
+    }
   }
 
   private boolean writeDeleteMessageCommand(final Message message) {
+    if (isBeforeOrEqualLastMessage(message)) {
+      // the delete command is written by a previous batch
+      return true;
+    }
+
     deleteMessageCommand.reset();
     deleteMessageCommand
         .setName(message.getName())
@@ -55,9 +102,45 @@ public class MessageTimeToLiveChecker implements Runnable {
       deleteMessageCommand.setMessageId(message.getId());
     }
 
+    final int length = deleteMessageCommand.getLength();
+    if (batchSize > 0 && (batchSize >= MAX_BATCH_SIZE || batchLength + length > MAX_BATCH_LENGTH)) {
+      isBatchFull = true;
+      return false;
+    }
+
     writer.appendFollowUpCommand(message.getKey(), MessageIntent.DELETE, deleteMessageCommand);
 
-    final long position = writer.flush();
-    return position > 0;
+    batchSize += 1;
+    batchLength += length;
+    batchLastDeadline = message.getDeadline();
+    batchLastMessageKey = message.getKey();
+    return true;
+  }
+
+  private boolean isBeforeOrEqualLastMessage(final Message message) {
+    final long deadline = message.getDeadline();
+    return deadline < lastDeadline
+        || (deadline == lastDeadline && message.getKey() <= lastMessageKey);
+  }
+
+  /** @return false, if the batch could not be written */
+  private boolean flushBatch() {
+    if (batchSize == 0) {
+      return true;
+    }
+
+    final boolean flushed = writer.flush() >= 0;
+    if (flushed) {
+      lastDeadline = batchLastDeadline;
+      lastMessageKey = batchLastMessageKey;
+    } else {
+      writer.reset();
+      isBatchFull = false;
+    }
+
+    batchSize = 0;
+    batchLength = 0;
+
+    return flushed;
   }
 }
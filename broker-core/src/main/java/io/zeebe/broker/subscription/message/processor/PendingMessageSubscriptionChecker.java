@@ -17,9 +17,11 @@
  */
 package io.zeebe.broker.subscription.message.processor;
 
+import io.zeebe.broker.subscription.command.SubscriptionCommandResendPolicy;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
 import io.zeebe.broker.subscription.message.state.MessageSubscription;
 import io.zeebe.broker.subscription.message.state.MessageSubscriptionState;
+import io.zeebe.protocol.Protocol;
 import io.zeebe.util.sched.clock.ActorClock;
 
 public class PendingMessageSubscriptionChecker implements Runnable {
@@ -27,21 +29,45 @@ public class PendingMessageSubscriptionChecker implements Runnable {
   private final SubscriptionCommandSender commandSender;
   private final MessageSubscriptionState subscriptionState;
 
-  private final long subscriptionTimeout;
+  private final SubscriptionCommandResendPolicy resendPolicy;
+
+  private long now;
+  private int visitedSubscriptions;
 
   public PendingMessageSubscriptionChecker(
       SubscriptionCommandSender commandSender,
       MessageSubscriptionState subscriptionState,
-      long subscriptionTimeout) {
+      SubscriptionCommandResendPolicy resendPolicy) {
     this.commandSender = commandSender;
     this.subscriptionState = subscriptionState;
-    this.subscriptionTimeout = subscriptionTimeout;
+    this.resendPolicy = resendPolicy;
   }
 
   @Override
   public void run() {
+    now = ActorClock.currentTimeMillis();
+    visitedSubscriptions = 0;
+
+    subscriptionState.compactSentTimes();
     subscriptionState.visitSubscriptionBefore(
-        ActorClock.currentTimeMillis() - subscriptionTimeout, this::sendCommand);
+        now - resendPolicy.getMinTimeout(), this::resendCommand);
+
+    resendPolicy.onCheckCompleted(now, subscriptionState.getPendingSubscriptionCount());
+  }
+
+  private boolean resendCommand(MessageSubscription subscription) {
+    visitedSubscriptions += 1;
+
+    final int workflowInstancePartitionId =
+        Protocol.decodePartitionId(subscription.getWorkflowInstanceKey());
+
+    if (resendPolicy.shouldResend(
+            workflowInstancePartitionId, subscription.getCommandSentTime(), now)
+        && sendCommand(subscription)) {
+      resendPolicy.onResent(workflowInstancePartitionId);
+    }
+
+    return visitedSubscriptions < SubscriptionCommandResendPolicy.MAX_VISITED_SUBSCRIPTIONS;
   }
 
   private boolean sendCommand(MessageSubscription subscription) {
@@ -53,7 +79,7 @@ public class PendingMessageSubscriptionChecker implements Runnable {
             subscription.getMessageVariables());
 
     if (success) {
-      subscriptionState.updateSentTimeInTransaction(subscription, ActorClock.currentTimeMillis());
+      subscriptionState.updateSentTimeInTransaction(subscription, now);
     }
 
     return success;
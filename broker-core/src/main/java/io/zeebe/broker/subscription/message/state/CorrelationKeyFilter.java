@@ -0,0 +1,106 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.message.state;
+
+import io.zeebe.util.collection.CountingBloomFilter;
+import org.agrona.DirectBuffer;
+
+/**
+ * An in-memory filter over the pairs of message name and correlation key which are stored in a
+ * column family. If the filter doesn't contain a pair then the column family doesn't contain it
+ * either and the lookup can be skipped. The filter can contain pairs which are not stored (false
+ * positive).
+ *
+ * <p>The filter is not part of the snapshot. It must be rebuilt after the state is recovered and
+ * after a transaction is rolled back. Until it is built, it contains all pairs.
+ */
+public class CorrelationKeyFilter {
+
+  private static final int SIZE = 1 << 20;
+  private static final int HASH_FUNCTIONS = 3;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final CountingBloomFilter filter = new CountingBloomFilter(SIZE, HASH_FUNCTIONS);
+  private boolean isBuilt = false;
+
+  private CorrelationKeyFilterMetrics metrics;
+
+  public void add(final DirectBuffer messageName, final DirectBuffer correlationKey) {
+    filter.add(hash(messageName, correlationKey));
+  }
+
+  public void remove(final DirectBuffer messageName, final DirectBuffer correlationKey) {
+    filter.remove(hash(messageName, correlationKey));
+  }
+
+  /** @return false if the pair is not stored, true if it may be stored */
+  public boolean mightContain(final DirectBuffer messageName, final DirectBuffer correlationKey) {
+    final boolean mightContain = !isBuilt || filter.mightContain(hash(messageName, correlationKey));
+
+    if (metrics != null) {
+      metrics.recordLookup(mightContain);
+    }
+    return mightContain;
+  }
+
+  /** Should be called if the filter contained a pair but the lookup found nothing. */
+  public void onFalsePositive() {
+    if (metrics != null && isBuilt) {
+      metrics.recordFalsePositive();
+    }
+  }
+
+  /** Clears the filter, so it must be built again by adding all stored pairs. */
+  public void clear() {
+    filter.clear();
+  }
+
+  /** Marks the filter as built, so that it can skip lookups. */
+  public void setBuilt() {
+    isBuilt = true;
+  }
+
+  public void setMetrics(final CorrelationKeyFilterMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  private static long hash(final DirectBuffer messageName, final DirectBuffer correlationKey) {
+    long hash = FNV_OFFSET_BASIS;
+    hash = hash(hash, messageName);
+    // separate the name from the correlation key
+    hash = (hash ^ messageName.capacity()) * FNV_PRIME;
+    hash = hash(hash, correlationKey);
+
+    // finalizer of MurmurHash3 to spread the bits over the whole value
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private static long hash(long hash, final DirectBuffer buffer) {
+    for (int i = 0; i < buffer.capacity(); i++) {
+      hash = (hash ^ buffer.getByte(i)) * FNV_PRIME;
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.message.state;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class CorrelationKeyFilterMetrics implements AutoCloseable {
+  private final Metric lookups;
+  private final Metric skippedLookups;
+  private final Metric falsePositives;
+
+  /** @param filterType the type of the filtered pairs, e.g. "message" */
+  public CorrelationKeyFilterMetrics(
+      final MetricsManager metricsManager, final int partitionId, final String filterType) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    lookups =
+        metricsManager
+            .newMetric("correlation_key_filter_lookup_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", filterType)
+            .create();
+
+    skippedLookups =
+        metricsManager
+            .newMetric("correlation_key_filter_skipped_lookup_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", filterType)
+            .create();
+
+    falsePositives =
+        metricsManager
+            .newMetric("correlation_key_filter_false_positive_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("type", filterType)
+            .create();
+  }
+
+  /** @param mightContain false if the lookup in the state was skipped */
+  public void recordLookup(final boolean mightContain) {
+    lookups.incrementOrdered();
+
+    if (!mightContain) {
+      skippedLookups.incrementOrdered();
+    }
+  }
+
+  public void recordFalsePositive() {
+    falsePositives.incrementOrdered();
+  }
+
+  @Override
+  public void close() {
+    lookups.close();
+    skippedLookups.close();
+    falsePositives.close();
+  }
+}
@@ -20,11 +20,14 @@ package io.zeebe.broker.subscription.message.state;
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 import org.agrona.DirectBuffer;
 
 public class MessageState {
@@ -58,7 +61,7 @@ public class MessageState {
   private final DbLong deadline;
 
   private final DbCompositeKey<DbLong, DbLong> deadlineMessageKey;
-  private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlineColumnFamily;
+  private final QueueColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlineColumnFamily;
 
   /**
    * <pre>name | correlation key | message id -> []
@@ -80,6 +83,11 @@ public class MessageState {
   private final DbLong workflowInstanceKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> correlatedMessageColumnFamily;
 
+  private final CorrelationKeyFilter correlationKeyFilter = new CorrelationKeyFilter();
+  private boolean hasVisitedMessage;
+
+  private LongConsumer deadlineListener = deadline -> {};
+
   public MessageState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     messageKey = new DbLong();
     message = new Message();
@@ -97,7 +105,7 @@ public class MessageState {
     deadline = new DbLong();
     deadlineMessageKey = new DbCompositeKey<>(deadline, messageKey);
     deadlineColumnFamily =
-        zeebeDb.createColumnFamily(
+        zeebeDb.createQueueColumnFamily(
             ZbColumnFamilies.MESSAGE_DEADLINES, dbContext, deadlineMessageKey, DbNil.INSTANCE);
 
     messageId = new DbString();
@@ -120,6 +128,7 @@ public class MessageState {
     messageName.wrapBuffer(message.getName());
     correlationKey.wrapBuffer(message.getCorrelationKey());
     nameCorrelationMessageColumnFamily.put(nameCorrelationMessageKey, DbNil.INSTANCE);
+    correlationKeyFilter.add(message.getName(), message.getCorrelationKey());
 
     deadline.wrapLong(message.getDeadline());
     deadlineColumnFamily.put(deadlineMessageKey, DbNil.INSTANCE);
@@ -129,6 +138,8 @@ public class MessageState {
       this.messageId.wrapBuffer(messageId);
       messageIdColumnFamily.put(nameCorrelationMessageIdKey, DbNil.INSTANCE);
     }
+
+    deadlineListener.accept(message.getDeadline());
   }
 
   public void putMessageCorrelation(long messageKey, long workflowInstanceKey) {
@@ -147,16 +158,27 @@ public class MessageState {
   public void visitMessages(
       final DirectBuffer name, final DirectBuffer correlationKey, final MessageVisitor visitor) {
 
+    if (!correlationKeyFilter.mightContain(name, correlationKey)) {
+      return;
+    }
+
     messageName.wrapBuffer(name);
     this.correlationKey.wrapBuffer(correlationKey);
+    hasVisitedMessage = false;
 
     nameCorrelationMessageColumnFamily.whileEqualPrefix(
         nameAndCorrelationKey,
         (compositeKey, nil) -> {
+          hasVisitedMessage = true;
+
           final long messageKey = compositeKey.getSecond().getValue();
           final Message message = getMessage(messageKey);
           return visitor.visit(message);
         });
+
+    if (!hasVisitedMessage) {
+      correlationKeyFilter.onFalsePositive();
+    }
   }
 
   private Message getMessage(long messageKey) {
@@ -164,17 +186,47 @@ public class MessageState {
     return messageColumnFamily.get(this.messageKey);
   }
 
-  public void visitMessagesWithDeadlineBefore(final long timestamp, MessageVisitor visitor) {
+  /**
+   * Visits the messages with a deadline before or equal to the given timestamp, ordered by the
+   * deadline.
+   *
+   * @return the deadline of the message at which the visiting stopped, or -1 if all messages were
+   *     visited
+   */
+  public long visitMessagesWithDeadlineBefore(final long timestamp, MessageVisitor visitor) {
+    final AtomicLong nextDeadline = new AtomicLong(-1L);
+
     deadlineColumnFamily.whileTrue(
         ((compositeKey, zbNil) -> {
           final long deadline = compositeKey.getFirst().getValue();
           if (deadline <= timestamp) {
             final long messageKey = compositeKey.getSecond().getValue();
             final Message message = getMessage(messageKey);
-            return visitor.visit(message);
+            if (visitor.visit(message)) {
+              return true;
+            }
           }
+          nextDeadline.set(deadline);
           return false;
         }));
+
+    return nextDeadline.get();
+  }
+
+  /**
+   * Sets the listener which is called when a message is published with the deadline of the message,
+   * e.g. to schedule the next time to live check.
+   */
+  public void setDeadlineListener(final LongConsumer deadlineListener) {
+    this.deadlineListener = deadlineListener;
+  }
+
+  /**
+   * Removes the deadlines of the deleted messages from the head of the deadline column family.
+   * Should be called between the processing of two events.
+   */
+  public void compactDeadlines() {
+    deadlineColumnFamily.compactHead();
   }
 
   public boolean exist(
@@ -199,6 +251,7 @@ public class MessageState {
     this.correlationKey.wrapBuffer(message.getCorrelationKey());
 
     nameCorrelationMessageColumnFamily.delete(nameCorrelationMessageKey);
+    correlationKeyFilter.remove(message.getName(), message.getCorrelationKey());
 
     final DirectBuffer messageId = message.getId();
     if (messageId.capacity() > 0) {
@@ -216,6 +269,29 @@ public class MessageState {
         }));
   }
 
+  /**
+   * Builds the in-memory filter of the stored message names and correlation keys. Must be called
+   * after the state is recovered and after a transaction is rolled back, since the filter is not
+   * part of the state.
+   */
+  public void rebuildCorrelationKeyFilter() {
+    correlationKeyFilter.clear();
+
+    nameCorrelationMessageColumnFamily.forEach(
+        (compositeKey, nil) -> {
+          final DbCompositeKey<DbString, DbString> nameAndCorrelationKey = compositeKey.getFirst();
+          correlationKeyFilter.add(
+              nameAndCorrelationKey.getFirst().getBuffer(),
+              nameAndCorrelationKey.getSecond().getBuffer());
+        });
+
+    correlationKeyFilter.setBuilt();
+  }
+
+  public void setCorrelationKeyFilterMetrics(final CorrelationKeyFilterMetrics metrics) {
+    correlationKeyFilter.setMetrics(metrics);
+  }
+
   @FunctionalInterface
   public interface MessageVisitor {
     boolean visit(Message message);
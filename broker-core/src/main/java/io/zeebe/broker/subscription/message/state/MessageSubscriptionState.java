@@ -18,13 +18,16 @@
 package io.zeebe.broker.subscription.message.state;
 
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
+import io.zeebe.broker.subscription.command.SubscriptionAcknowledgementListener;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
+import io.zeebe.protocol.Protocol;
 import org.agrona.DirectBuffer;
 
 public class MessageSubscriptionState {
@@ -42,7 +45,7 @@ public class MessageSubscriptionState {
   // (sentTime, elementInstanceKey, messageName) => \0
   private final DbLong sentTime;
   private final DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>> sentTimeCompositeKey;
-  private final ColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>>, DbNil>
+  private final QueueColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>>, DbNil>
       sentTimeColumnFamily;
 
   // (messageName, correlationKey, elementInstanceKey) => \0
@@ -53,6 +56,15 @@ public class MessageSubscriptionState {
   private final ColumnFamily<DbCompositeKey<DbCompositeKey<DbString, DbString>, DbLong>, DbNil>
       messageNameAndCorrelationKeyColumnFamily;
 
+  private final CorrelationKeyFilter correlationKeyFilter = new CorrelationKeyFilter();
+  private boolean hasVisitedSubscription;
+
+  // the count of the entries in the sent time column family, or -1 if it is not counted yet
+  private long pendingSubscriptionCount = -1;
+
+  private SubscriptionAcknowledgementListener acknowledgementListener =
+      (partitionId, commandSentTime) -> {};
+
   public MessageSubscriptionState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     this.dbContext = dbContext;
 
@@ -70,7 +82,7 @@ public class MessageSubscriptionState {
     sentTime = new DbLong();
     sentTimeCompositeKey = new DbCompositeKey<>(sentTime, elementKeyAndMessageName);
     sentTimeColumnFamily =
-        zeebeDb.createColumnFamily(
+        zeebeDb.createQueueColumnFamily(
             ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_SENT_TIME,
             dbContext,
             sentTimeCompositeKey,
@@ -102,6 +114,7 @@ public class MessageSubscriptionState {
     correlationKey.wrapBuffer(subscription.getCorrelationKey());
     messageNameAndCorrelationKeyColumnFamily.put(
         nameCorrelationAndElementInstanceKey, DbNil.INSTANCE);
+    correlationKeyFilter.add(subscription.getMessageName(), subscription.getCorrelationKey());
   }
 
   public void visitSubscriptions(
@@ -109,14 +122,24 @@ public class MessageSubscriptionState {
       final DirectBuffer correlationKey,
       MessageSubscriptionVisitor visitor) {
 
+    if (!correlationKeyFilter.mightContain(messageName, correlationKey)) {
+      return;
+    }
+
     this.messageName.wrapBuffer(messageName);
     this.correlationKey.wrapBuffer(correlationKey);
+    hasVisitedSubscription = false;
 
     messageNameAndCorrelationKeyColumnFamily.whileEqualPrefix(
         nameAndCorrelationKey,
         (compositeKey, nil) -> {
+          hasVisitedSubscription = true;
           return visitMessageSubscription(elementKeyAndMessageName, visitor);
         });
+
+    if (!hasVisitedSubscription) {
+      correlationKeyFilter.onFalsePositive();
+    }
   }
 
   private Boolean visitMessageSubscription(
@@ -142,6 +165,7 @@ public class MessageSubscriptionState {
   }
 
   public void resetSentTime(MessageSubscription subscription) {
+    notifyAcknowledged(subscription);
     updateSentTime(subscription, 0);
   }
 
@@ -161,9 +185,18 @@ public class MessageSubscriptionState {
     if (sentTime > 0) {
       this.sentTime.wrapLong(subscription.getCommandSentTime());
       sentTimeColumnFamily.put(sentTimeCompositeKey, DbNil.INSTANCE);
+      onPendingSubscriptionCountChanged(1);
     }
   }
 
+  /**
+   * Removes the outdated sent times from the head of the sent time column family. Should be called
+   * between the processing of two events.
+   */
+  public void compactSentTimes() {
+    sentTimeColumnFamily.compactHead();
+  }
+
   public void visitSubscriptionBefore(final long deadline, MessageSubscriptionVisitor visitor) {
     sentTimeColumnFamily.whileTrue(
         (compositeKey, nil) -> {
@@ -175,6 +208,27 @@ public class MessageSubscriptionState {
         });
   }
 
+  /**
+   * Returns the count of the subscriptions which wait for the acknowledgement of a command. The
+   * count is kept in memory and is only counted from the state on the first call, or after {@link
+   * #resetPendingSubscriptionCount()}.
+   */
+  public long getPendingSubscriptionCount() {
+    if (pendingSubscriptionCount < 0) {
+      pendingSubscriptionCount = 0;
+      sentTimeColumnFamily.forEach((compositeKey, nil) -> pendingSubscriptionCount += 1);
+    }
+    return pendingSubscriptionCount;
+  }
+
+  /**
+   * Discards the in-memory count of the pending subscriptions, so that it is counted from the state
+   * again. Must be called after a transaction is rolled back.
+   */
+  public void resetPendingSubscriptionCount() {
+    pendingSubscriptionCount = -1;
+  }
+
   public boolean existSubscriptionForElementInstance(
       long elementInstanceKey, DirectBuffer messageName) {
     this.elementInstanceKey.wrapLong(elementInstanceKey);
@@ -203,14 +257,62 @@ public class MessageSubscriptionState {
     messageName.wrapBuffer(subscription.getMessageName());
     correlationKey.wrapBuffer(subscription.getCorrelationKey());
     messageNameAndCorrelationKeyColumnFamily.delete(nameCorrelationAndElementInstanceKey);
+    correlationKeyFilter.remove(subscription.getMessageName(), subscription.getCorrelationKey());
 
+    notifyAcknowledged(subscription);
     removeSubscriptionFromSentTimeColumnFamily(subscription);
   }
 
+  /**
+   * Sets the listener which is notified when a pending subscription is acknowledged by the workflow
+   * instance partition, i.e. its command doesn't need to be sent again.
+   */
+  public void setAcknowledgementListener(SubscriptionAcknowledgementListener listener) {
+    this.acknowledgementListener = listener;
+  }
+
+  /**
+   * Builds the in-memory filter of the message names and correlation keys of the stored
+   * subscriptions. Must be called after the state is recovered and after a transaction is rolled
+   * back, since the filter is not part of the state.
+   */
+  public void rebuildCorrelationKeyFilter() {
+    correlationKeyFilter.clear();
+
+    messageNameAndCorrelationKeyColumnFamily.forEach(
+        (compositeKey, nil) -> {
+          final DbCompositeKey<DbString, DbString> nameAndCorrelationKey = compositeKey.getFirst();
+          correlationKeyFilter.add(
+              nameAndCorrelationKey.getFirst().getBuffer(),
+              nameAndCorrelationKey.getSecond().getBuffer());
+        });
+
+    correlationKeyFilter.setBuilt();
+  }
+
+  public void setCorrelationKeyFilterMetrics(final CorrelationKeyFilterMetrics metrics) {
+    correlationKeyFilter.setMetrics(metrics);
+  }
+
+  private void notifyAcknowledged(MessageSubscription subscription) {
+    if (subscription.getCommandSentTime() > 0) {
+      acknowledgementListener.onAcknowledged(
+          Protocol.decodePartitionId(subscription.getWorkflowInstanceKey()),
+          subscription.getCommandSentTime());
+    }
+  }
+
   private void removeSubscriptionFromSentTimeColumnFamily(MessageSubscription subscription) {
     if (subscription.getCommandSentTime() > 0) {
       sentTime.wrapLong(subscription.getCommandSentTime());
       sentTimeColumnFamily.delete(sentTimeCompositeKey);
+      onPendingSubscriptionCountChanged(-1);
+    }
+  }
+
+  private void onPendingSubscriptionCountChanged(final int delta) {
+    if (pendingSubscriptionCount >= 0) {
+      pendingSubscriptionCount += delta;
     }
   }
 
@@ -18,9 +18,11 @@
 package io.zeebe.broker.subscription.message.state;
 
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
+import io.zeebe.broker.subscription.command.SubscriptionAcknowledgementListener;
 import io.zeebe.broker.workflow.state.WorkflowInstanceSubscription;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
@@ -43,9 +45,15 @@ public class WorkflowInstanceSubscriptionState {
   // (sentTime, elementInstanceKey, messageName) => \0
   private final DbLong sentTime;
   private final DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>> sentTimeCompositeKey;
-  private final ColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>>, DbNil>
+  private final QueueColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbString>>, DbNil>
       sentTimeColumnFamily;
 
+  // the count of the entries in the sent time column family, or -1 if it is not counted yet
+  private long pendingSubscriptionCount = -1;
+
+  private SubscriptionAcknowledgementListener acknowledgementListener =
+      (partitionId, commandSentTime) -> {};
+
   public WorkflowInstanceSubscriptionState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     this.dbContext = dbContext;
 
@@ -64,7 +72,7 @@ public class WorkflowInstanceSubscriptionState {
     sentTime = new DbLong();
     sentTimeCompositeKey = new DbCompositeKey<>(sentTime, elementKeyAndMessageName);
     sentTimeColumnFamily =
-        zeebeDb.createColumnFamily(
+        zeebeDb.createQueueColumnFamily(
             ZbColumnFamilies.WORKFLOW_SUBSCRIPTION_BY_SENT_TIME,
             dbContext,
             sentTimeCompositeKey,
@@ -78,6 +86,7 @@ public class WorkflowInstanceSubscriptionState {
 
     sentTime.wrapLong(subscription.getCommandSentTime());
     sentTimeColumnFamily.put(sentTimeCompositeKey, DbNil.INSTANCE);
+    onPendingSubscriptionCountChanged(1);
   }
 
   public WorkflowInstanceSubscription getSubscription(
@@ -101,6 +110,14 @@ public class WorkflowInstanceSubscriptionState {
         });
   }
 
+  /**
+   * Removes the outdated sent times from the head of the sent time column family. Should be called
+   * between the processing of two events.
+   */
+  public void compactSentTimes() {
+    sentTimeColumnFamily.compactHead();
+  }
+
   public void visitSubscriptionBefore(
       final long deadline, WorkflowInstanceSubscriptionVisitor visitor) {
 
@@ -119,6 +136,8 @@ public class WorkflowInstanceSubscriptionState {
 
   public void updateToOpenedState(
       final WorkflowInstanceSubscription subscription, int subscriptionPartitionId) {
+    notifyAcknowledged(subscription);
+
     subscription.setOpened();
     subscription.setSubscriptionPartitionId(subscriptionPartitionId);
     updateSentTime(subscription, 0);
@@ -140,6 +159,7 @@ public class WorkflowInstanceSubscriptionState {
     if (subscription.getCommandSentTime() > 0) {
       this.sentTime.wrapLong(subscription.getCommandSentTime());
       sentTimeColumnFamily.delete(sentTimeCompositeKey);
+      onPendingSubscriptionCountChanged(-1);
     }
 
     subscription.setCommandSentTime(sentTime);
@@ -148,9 +168,31 @@ public class WorkflowInstanceSubscriptionState {
     if (sentTime > 0) {
       this.sentTime.wrapLong(sentTime);
       sentTimeColumnFamily.put(sentTimeCompositeKey, DbNil.INSTANCE);
+      onPendingSubscriptionCountChanged(1);
     }
   }
 
+  /**
+   * Returns the count of the subscriptions which wait for the acknowledgement of a command. The
+   * count is kept in memory and is only counted from the state on the first call, or after {@link
+   * #resetPendingSubscriptionCount()}.
+   */
+  public long getPendingSubscriptionCount() {
+    if (pendingSubscriptionCount < 0) {
+      pendingSubscriptionCount = 0;
+      sentTimeColumnFamily.forEach((compositeKey, nil) -> pendingSubscriptionCount += 1);
+    }
+    return pendingSubscriptionCount;
+  }
+
+  /**
+   * Discards the in-memory count of the pending subscriptions, so that it is counted from the state
+   * again. Must be called after a transaction is rolled back.
+   */
+  public void resetPendingSubscriptionCount() {
+    pendingSubscriptionCount = -1;
+  }
+
   public boolean existSubscriptionForElementInstance(
       long elementInstanceKey, DirectBuffer messageName) {
     wrapSubscriptionKeys(elementInstanceKey, messageName);
@@ -173,8 +215,34 @@ public class WorkflowInstanceSubscriptionState {
 
     subscriptionColumnFamily.delete(elementKeyAndMessageName);
 
+    notifyAcknowledged(subscription);
+
     sentTime.wrapLong(subscription.getCommandSentTime());
     sentTimeColumnFamily.delete(sentTimeCompositeKey);
+    if (subscription.getCommandSentTime() > 0) {
+      onPendingSubscriptionCountChanged(-1);
+    }
+  }
+
+  /**
+   * Sets the listener which is notified when a pending subscription is acknowledged by the message
+   * partition, i.e. its command doesn't need to be sent again.
+   */
+  public void setAcknowledgementListener(SubscriptionAcknowledgementListener listener) {
+    this.acknowledgementListener = listener;
+  }
+
+  private void notifyAcknowledged(WorkflowInstanceSubscription subscription) {
+    if (subscription.getCommandSentTime() > 0) {
+      acknowledgementListener.onAcknowledged(
+          subscription.getSubscriptionPartitionId(), subscription.getCommandSentTime());
+    }
+  }
+
+  private void onPendingSubscriptionCountChanged(final int delta) {
+    if (pendingSubscriptionCount >= 0) {
+      pendingSubscriptionCount += delta;
+    }
   }
 
   @FunctionalInterface
@@ -160,13 +160,22 @@ public class SystemContext implements AutoCloseable {
     final int ioThreads = cfg.getIoThreadCount();
 
     Loggers.SYSTEM_LOGGER.info(
-        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}}.", cpuThreads, ioThreads);
+        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}, cpu idle strategy: {}, io idle strategy: {}, max blocking tasks: {}}.",
+        cpuThreads,
+        ioThreads,
+        cfg.getCpuIdleStrategy().getStrategy(),
+        cfg.getIoIdleStrategy().getStrategy(),
+        cfg.getMaxBlockingTaskThreads());
 
     return ActorScheduler.newActorScheduler()
         .setActorClock(clock)
         .setMetricsManager(metricsManager)
         .setCpuBoundActorThreadCount(cpuThreads)
         .setIoBoundActorThreadCount(ioThreads)
+        .setCpuBoundIdleStrategy(cfg.getCpuIdleStrategy().createIdleStrategySupplier())
+        .setIoBoundIdleStrategy(cfg.getIoIdleStrategy().createIdleStrategySupplier())
+        .setBlockingTasksMaxThreads(cfg.getMaxBlockingTaskThreads())
+        .setBlockingTasksVirtualThreads(cfg.isVirtualBlockingTaskThreads())
         .setSchedulerName(brokerId)
         .build();
   }
@@ -31,6 +31,12 @@ public class DataCfg implements ConfigurationEntry {
 
   private String indexBlockSize = "4M";
 
+  private String logBlockCompression = "none";
+
+  private String logBlockCompressionThreshold = "4K";
+
+  private String logReadCacheSize = "8M";
+
   private String snapshotPeriod = "15m";
 
   private String snapshotReplicationPeriod = "5m";
@@ -71,6 +77,30 @@ public class DataCfg implements ConfigurationEntry {
     this.indexBlockSize = indexBlockSize;
   }
 
+  public String getLogBlockCompression() {
+    return logBlockCompression;
+  }
+
+  public void setLogBlockCompression(final String logBlockCompression) {
+    this.logBlockCompression = logBlockCompression;
+  }
+
+  public String getLogBlockCompressionThreshold() {
+    return logBlockCompressionThreshold;
+  }
+
+  public void setLogBlockCompressionThreshold(final String logBlockCompressionThreshold) {
+    this.logBlockCompressionThreshold = logBlockCompressionThreshold;
+  }
+
+  public String getLogReadCacheSize() {
+    return logReadCacheSize;
+  }
+
+  public void setLogReadCacheSize(final String logReadCacheSize) {
+    this.logReadCacheSize = logReadCacheSize;
+  }
+
   public String getSnapshotPeriod() {
     return snapshotPeriod;
   }
@@ -106,6 +136,15 @@ public class DataCfg implements ConfigurationEntry {
         + ", indexBlockSize='"
         + indexBlockSize
         + '\''
+        + ", logBlockCompression='"
+        + logBlockCompression
+        + '\''
+        + ", logBlockCompressionThreshold='"
+        + logBlockCompressionThreshold
+        + '\''
+        + ", logReadCacheSize='"
+        + logReadCacheSize
+        + '\''
         + ", snapshotPeriod='"
         + snapshotPeriod
         + '\''
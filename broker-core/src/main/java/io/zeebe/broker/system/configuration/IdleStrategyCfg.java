@@ -0,0 +1,136 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.util.DurationUtil;
+import io.zeebe.util.sched.idle.ActorAdaptiveIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBackoffIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBusySpinIdleStrategy;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import java.util.function.Supplier;
+
+public class IdleStrategyCfg implements ConfigurationEntry {
+  public static final String BUSY_SPIN = "busySpin";
+  public static final String BACKOFF = "backoff";
+  public static final String ADAPTIVE = "adaptive";
+
+  private String strategy = BACKOFF;
+  private long maxSpins = 100;
+  private long maxYields = 100;
+  private String minParkPeriod = "1ns";
+  private String maxParkPeriod = "1ms";
+  private String targetWakeUpLatency = "50us";
+
+  public String getStrategy() {
+    return strategy;
+  }
+
+  public void setStrategy(String strategy) {
+    this.strategy = strategy;
+  }
+
+  public long getMaxSpins() {
+    return maxSpins;
+  }
+
+  public void setMaxSpins(long maxSpins) {
+    this.maxSpins = maxSpins;
+  }
+
+  public long getMaxYields() {
+    return maxYields;
+  }
+
+  public void setMaxYields(long maxYields) {
+    this.maxYields = maxYields;
+  }
+
+  public String getMinParkPeriod() {
+    return minParkPeriod;
+  }
+
+  public void setMinParkPeriod(String minParkPeriod) {
+    this.minParkPeriod = minParkPeriod;
+  }
+
+  public String getMaxParkPeriod() {
+    return maxParkPeriod;
+  }
+
+  public void setMaxParkPeriod(String maxParkPeriod) {
+    this.maxParkPeriod = maxParkPeriod;
+  }
+
+  public String getTargetWakeUpLatency() {
+    return targetWakeUpLatency;
+  }
+
+  public void setTargetWakeUpLatency(String targetWakeUpLatency) {
+    this.targetWakeUpLatency = targetWakeUpLatency;
+  }
+
+  /**
+   * @return a supplier which creates a new idle strategy for each actor thread
+   * @throws IllegalArgumentException if the configured strategy is unknown
+   */
+  public Supplier<ActorIdleStrategy> createIdleStrategySupplier() {
+    final long spins = maxSpins;
+    final long yields = maxYields;
+    final long minParkPeriodNs = DurationUtil.parse(minParkPeriod).toNanos();
+    final long maxParkPeriodNs = DurationUtil.parse(maxParkPeriod).toNanos();
+
+    switch (strategy) {
+      case BUSY_SPIN:
+        return ActorBusySpinIdleStrategy::new;
+      case BACKOFF:
+        return () -> new ActorBackoffIdleStrategy(spins, yields, minParkPeriodNs, maxParkPeriodNs);
+      case ADAPTIVE:
+        final long targetWakeUpLatencyNs = DurationUtil.parse(targetWakeUpLatency).toNanos();
+        return () ->
+            new ActorAdaptiveIdleStrategy(
+                spins, yields, minParkPeriodNs, maxParkPeriodNs, targetWakeUpLatencyNs);
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Unknown idle strategy '%s', must be one of: %s, %s, %s",
+                strategy, BUSY_SPIN, BACKOFF, ADAPTIVE));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IdleStrategyCfg{"
+        + "strategy='"
+        + strategy
+        + '\''
+        + ", maxSpins="
+        + maxSpins
+        + ", maxYields="
+        + maxYields
+        + ", minParkPeriod='"
+        + minParkPeriod
+        + '\''
+        + ", maxParkPeriod='"
+        + maxParkPeriod
+        + '\''
+        + ", targetWakeUpLatency='"
+        + targetWakeUpLatency
+        + '\''
+        + '}';
+  }
+}
@@ -17,9 +17,37 @@
  */
 package io.zeebe.broker.system.configuration;
 
+import io.zeebe.util.Environment;
+import io.zeebe.util.sched.SchedulingHints;
+import java.util.ArrayList;
+import java.util.List;
+
 public class ThreadsCfg implements ConfigurationEntry {
+  /**
+   * The minimum count of blocking task threads. The transports poll on long-lived blocking tasks
+   * which occupy their thread while the broker runs, so with fewer threads the service start and
+   * stop tasks can queue behind them forever.
+   */
+  public static final int MIN_BLOCKING_TASK_THREADS = 16;
+
   private int cpuThreadCount = 2;
   private int ioThreadCount = 2;
+  private boolean partitionAffinity = false;
+  private List<Integer> partitionThreads = new ArrayList<>();
+  private IdleStrategyCfg cpuIdleStrategy = new IdleStrategyCfg();
+  private IdleStrategyCfg ioIdleStrategy = new IdleStrategyCfg();
+  private int maxBlockingTaskThreads = 256;
+  private boolean virtualBlockingTaskThreads = false;
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    if (maxBlockingTaskThreads < MIN_BLOCKING_TASK_THREADS) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected maxBlockingTaskThreads to be at least %d, but was %d",
+              MIN_BLOCKING_TASK_THREADS, maxBlockingTaskThreads));
+    }
+  }
 
   public int getCpuThreadCount() {
     return cpuThreadCount;
@@ -37,6 +65,71 @@ public class ThreadsCfg implements ConfigurationEntry {
     this.ioThreadCount = ioThreads;
   }
 
+  public boolean isPartitionAffinity() {
+    return partitionAffinity;
+  }
+
+  public void setPartitionAffinity(boolean partitionAffinity) {
+    this.partitionAffinity = partitionAffinity;
+  }
+
+  public List<Integer> getPartitionThreads() {
+    return partitionThreads;
+  }
+
+  public void setPartitionThreads(List<Integer> partitionThreads) {
+    this.partitionThreads = partitionThreads;
+  }
+
+  public IdleStrategyCfg getCpuIdleStrategy() {
+    return cpuIdleStrategy;
+  }
+
+  public void setCpuIdleStrategy(IdleStrategyCfg cpuIdleStrategy) {
+    this.cpuIdleStrategy = cpuIdleStrategy;
+  }
+
+  public IdleStrategyCfg getIoIdleStrategy() {
+    return ioIdleStrategy;
+  }
+
+  public void setIoIdleStrategy(IdleStrategyCfg ioIdleStrategy) {
+    this.ioIdleStrategy = ioIdleStrategy;
+  }
+
+  public int getMaxBlockingTaskThreads() {
+    return maxBlockingTaskThreads;
+  }
+
+  public void setMaxBlockingTaskThreads(int maxBlockingTaskThreads) {
+    this.maxBlockingTaskThreads = maxBlockingTaskThreads;
+  }
+
+  public boolean isVirtualBlockingTaskThreads() {
+    return virtualBlockingTaskThreads;
+  }
+
+  public void setVirtualBlockingTaskThreads(boolean virtualBlockingTaskThreads) {
+    this.virtualBlockingTaskThreads = virtualBlockingTaskThreads;
+  }
+
+  /**
+   * Places the partitions round robin on the configured partition threads, or on all cpu threads if
+   * none are configured.
+   *
+   * @return the cpu thread the actors of the given partition prefer, or {@link
+   *     SchedulingHints#NO_THREAD_AFFINITY} if partition affinity is disabled
+   */
+  public int getPartitionThreadAffinity(int partitionId) {
+    if (!partitionAffinity) {
+      return SchedulingHints.NO_THREAD_AFFINITY;
+    } else if (partitionThreads == null || partitionThreads.isEmpty()) {
+      return partitionId % cpuThreadCount;
+    } else {
+      return partitionThreads.get(partitionId % partitionThreads.size());
+    }
+  }
+
   @Override
   public String toString() {
     return "ThreadsCfg{"
@@ -44,6 +137,18 @@ public class ThreadsCfg implements ConfigurationEntry {
         + cpuThreadCount
         + ", ioThreadCount="
         + ioThreadCount
+        + ", partitionAffinity="
+        + partitionAffinity
+        + ", partitionThreads="
+        + partitionThreads
+        + ", cpuIdleStrategy="
+        + cpuIdleStrategy
+        + ", ioIdleStrategy="
+        + ioIdleStrategy
+        + ", maxBlockingTaskThreads="
+        + maxBlockingTaskThreads
+        + ", virtualBlockingTaskThreads="
+        + virtualBlockingTaskThreads
         + '}';
   }
 }
@@ -22,6 +22,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.metrics.ActorAccounting;
 
 public class MetricsHttpServer implements AutoCloseable {
 
@@ -29,7 +30,8 @@ public class MetricsHttpServer implements AutoCloseable {
   private final NioEventLoopGroup workerGroup;
   private final Channel channel;
 
-  public MetricsHttpServer(MetricsManager metricsManager, String host, int port) {
+  public MetricsHttpServer(
+      MetricsManager metricsManager, ActorAccounting actorAccounting, String host, int port) {
     bossGroup = new NioEventLoopGroup(1);
     workerGroup = new NioEventLoopGroup();
 
@@ -37,7 +39,7 @@ public class MetricsHttpServer implements AutoCloseable {
         new ServerBootstrap()
             .group(bossGroup, workerGroup)
             .channel(NioServerSocketChannel.class)
-            .childHandler(new MetricsHttpServerInitializer(metricsManager))
+            .childHandler(new MetricsHttpServerInitializer(metricsManager, actorAccounting))
             .bind(host, port)
             .syncUninterruptibly()
             .channel();
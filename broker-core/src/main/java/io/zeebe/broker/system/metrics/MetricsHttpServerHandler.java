@@ -28,18 +28,29 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.metrics.ActorAccounting;
+import io.zeebe.util.sched.metrics.ActorLoad;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 import org.agrona.ExpandableDirectByteBuffer;
 import org.agrona.MutableDirectBuffer;
 
 public class MetricsHttpServerHandler extends ChannelInboundHandlerAdapter {
 
+  public static final String ACTORS_PATH = "/actors";
+  public static final String LIMIT_PARAMETER = "limit";
+  public static final int DEFAULT_ACTORS_LIMIT = 10;
+
   private final MutableDirectBuffer metricsBuffer = new ExpandableDirectByteBuffer();
   private final MetricsManager metricsManager;
+  private final ActorAccounting actorAccounting;
 
-  public MetricsHttpServerHandler(MetricsManager metricsManager) {
+  public MetricsHttpServerHandler(MetricsManager metricsManager, ActorAccounting actorAccounting) {
     this.metricsManager = metricsManager;
+    this.actorAccounting = actorAccounting;
   }
 
   @Override
@@ -63,18 +74,71 @@ public class MetricsHttpServerHandler extends ChannelInboundHandlerAdapter {
       return;
     }
 
-    final int length = metricsManager.dump(metricsBuffer, 0, Instant.now().toEpochMilli());
+    final QueryStringDecoder decoder = new QueryStringDecoder(request.uri());
+    final long now = Instant.now().toEpochMilli();
+
+    final DefaultFullHttpResponse response;
+    if (ACTORS_PATH.equals(decoder.path())) {
+      final int limit = parseLimit(decoder);
+      if (limit < 0) {
+        ctx.writeAndFlush(
+            new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.BAD_REQUEST));
+        return;
+      }
 
-    final DefaultFullHttpResponse response =
-        new DefaultFullHttpResponse(
-            HttpVersion.HTTP_1_1,
-            HttpResponseStatus.OK,
-            Unpooled.copiedBuffer(metricsBuffer.byteBuffer()).slice(0, length));
+      final byte[] ranking = writeActorRanking(limit, now);
+      response =
+          new DefaultFullHttpResponse(
+              HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(ranking));
+    } else {
+      final int length = metricsManager.dump(metricsBuffer, 0, now);
+      response =
+          new DefaultFullHttpResponse(
+              HttpVersion.HTTP_1_1,
+              HttpResponseStatus.OK,
+              Unpooled.copiedBuffer(metricsBuffer.byteBuffer()).slice(0, length));
+    }
 
     response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
-    response.headers().set(HttpHeaderNames.CONTENT_LENGTH, length);
+    response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
     HttpUtil.setKeepAlive(response, HttpUtil.isKeepAlive(request));
 
     ctx.writeAndFlush(response);
   }
+
+  private static int parseLimit(QueryStringDecoder decoder) {
+    final List<String> values = decoder.parameters().get(LIMIT_PARAMETER);
+    if (values == null || values.isEmpty()) {
+      return DEFAULT_ACTORS_LIMIT;
+    }
+
+    try {
+      return Integer.parseInt(values.get(0));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private byte[] writeActorRanking(int limit, long now) {
+    final StringBuilder builder = new StringBuilder();
+    builder
+        .append("# hottest actors over the last ")
+        .append(actorAccounting.getWindow().getSeconds())
+        .append("s\n")
+        .append("# actor execution_time_ns job_count queue_wait_time_ns\n");
+
+    for (ActorLoad load : actorAccounting.getHottestActors(limit, now)) {
+      builder
+          .append(load.getActorName())
+          .append(' ')
+          .append(load.getExecutionTimeNs())
+          .append(' ')
+          .append(load.getJobCount())
+          .append(' ')
+          .append(load.getQueueWaitTimeNs())
+          .append('\n');
+    }
+
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
 }
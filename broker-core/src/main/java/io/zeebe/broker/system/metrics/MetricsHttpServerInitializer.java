@@ -21,19 +21,23 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.metrics.ActorAccounting;
 
 public class MetricsHttpServerInitializer extends ChannelInitializer<SocketChannel> {
 
   private final MetricsManager metricsManager;
+  private final ActorAccounting actorAccounting;
 
-  public MetricsHttpServerInitializer(MetricsManager metricsManager) {
+  public MetricsHttpServerInitializer(
+      MetricsManager metricsManager, ActorAccounting actorAccounting) {
     this.metricsManager = metricsManager;
+    this.actorAccounting = actorAccounting;
   }
 
   @Override
   protected void initChannel(SocketChannel ch) throws Exception {
     ch.pipeline()
         .addLast("codec", new HttpServerCodec())
-        .addLast("request", new MetricsHttpServerHandler(metricsManager));
+        .addLast("request", new MetricsHttpServerHandler(metricsManager, actorAccounting));
   }
 }
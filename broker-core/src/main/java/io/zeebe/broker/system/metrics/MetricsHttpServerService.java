@@ -22,6 +22,7 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.metrics.ActorAccounting;
 
 public class MetricsHttpServerService implements Service<MetricsHttpServer> {
 
@@ -35,12 +36,16 @@ public class MetricsHttpServerService implements Service<MetricsHttpServer> {
   @Override
   public void start(ServiceStartContext startContext) {
     final MetricsManager metricsManager = startContext.getScheduler().getMetricsManager();
+    final ActorAccounting actorAccounting = startContext.getScheduler().getActorAccounting();
 
     startContext.run(
         () -> {
           metricsHttpServer =
               new MetricsHttpServer(
-                  metricsManager, configuration.getHost(), configuration.getPort());
+                  metricsManager,
+                  actorAccounting,
+                  configuration.getHost(),
+                  configuration.getPort());
         });
   }
 
@@ -25,7 +25,7 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.BufferingServerTransport;
 import io.zeebe.transport.Transports;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.io.Closeable;
@@ -59,7 +59,7 @@ public class BufferingServerTransportService implements Service<BufferingServerT
         Transports.newServerTransport()
             .name(readableName)
             .bindAddress(bindAddress)
-            .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
+            .messageMemoryPool(new SlabMemoryPool(sendBufferSize))
             .scheduler(scheduler)
             .buildBuffering(receiveBuffer);
 
@@ -24,7 +24,7 @@ import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.transport.Transports;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.collection.IntTuple;
@@ -56,7 +56,7 @@ public class ClientTransportService implements Service<ClientTransport> {
 
     transport =
         transportBuilder
-            .messageMemoryPool(new NonBlockingMemoryPool(messageBufferSize))
+            .messageMemoryPool(new SlabMemoryPool(messageBufferSize))
             // client transport in broker should no do any high volume interactions using
             // request/resp
             .requestMemoryPool(new UnboundedMemoryPool())
@@ -26,7 +26,7 @@ import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.Transports;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.io.Closeable;
@@ -63,7 +63,7 @@ public class ServerTransportService implements Service<ServerTransport> {
             .name(readableName)
             .bindAddress(bindAddress)
             .scheduler(scheduler)
-            .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
+            .messageMemoryPool(new SlabMemoryPool(sendBufferSize))
             .build(messageHandler, requestHandler);
 
     LOG.info("Bound {} to {}", readableName, bindAddress);
@@ -19,14 +19,20 @@ package io.zeebe.broker.transport.clientapi;
 
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder;
 import io.zeebe.protocol.clientapi.ExecuteCommandRequestDecoder;
 import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
 import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.record.CommandTrace.Stage;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
@@ -41,6 +47,8 @@ import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.clock.ActorClock;
 import java.util.EnumMap;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
@@ -62,11 +70,29 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
   protected final RecordMetadata eventMetadata = new RecordMetadata();
   protected final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
 
+  private final ExecuteCommandBatchRequest batchRequest = new ExecuteCommandBatchRequest();
+  private final MessageHeaderDecoder batchCommandHeaderDecoder = new MessageHeaderDecoder();
+  private final LogStreamBatchWriter logStreamBatchWriter = new LogStreamBatchWriterImpl();
+  private final CommandBatchResponseCollector batchResponseCollector =
+      new CommandBatchResponseCollector();
+  private final RequestLatencyTracker requestLatencyTracker;
+
   protected final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
 
   protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
 
   public ClientApiMessageHandler() {
+    this(new MetricsManager());
+  }
+
+  public ClientApiMessageHandler(final MetricsManager metricsManager) {
+    requestLatencyTracker =
+        new RequestLatencyTracker(
+            metricsManager
+                .newHistogram("client_api_request_latency_ns")
+                .description("time from receiving a client request until sending its response")
+                .create());
+
     initEventTypeMap();
   }
 
@@ -137,6 +163,18 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
     eventMetadata.valueType(eventType);
 
+    // the trace is empty if the command is not sampled or the client uses a previous version
+    final int traceOffset = eventOffset + eventLength;
+    executeCommandRequestDecoder.limit(traceOffset);
+    final int traceLength = executeCommandRequestDecoder.traceLength();
+    if (traceLength > 0) {
+      eventMetadata
+          .getTrace()
+          .wrap(
+              buffer, traceOffset + ExecuteCommandRequestDecoder.traceHeaderLength(), traceLength);
+      eventMetadata.getTrace().stamp(Stage.BROKER_RECEIVED);
+    }
+
     logStreamWriter.wrap(partition.getLogStream());
 
     if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
@@ -154,6 +192,133 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     return eventPosition >= 0;
   }
 
+  private boolean handleExecuteCommandBatchRequest(
+      final ServerOutput output,
+      final RemoteAddress requestAddress,
+      final long requestId,
+      final RecordMetadata eventMetadata,
+      final DirectBuffer buffer,
+      final int messageOffset,
+      final int messageLength) {
+    batchRequest.wrap(buffer, messageOffset, messageLength);
+
+    final int partitionId = batchRequest.getPartitionId();
+    final int commandCount = batchRequest.getCommandCount();
+
+    final Partition partition = leaderPartitions.get(partitionId);
+
+    if (partition == null) {
+      return errorResponseWriter
+          .partitionLeaderMismatch(partitionId)
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    if (commandCount == 0) {
+      return errorResponseWriter
+          .malformedRequest(new IllegalArgumentException("Expected at least one command"))
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    final long batchId =
+        batchResponseCollector.registerBatch(
+            requestAddress.getStreamId(),
+            requestId,
+            partitionId,
+            commandCount,
+            ActorClock.currentTimeMillis());
+
+    logStreamBatchWriter.wrap(partition.getLogStream());
+
+    for (int i = 0; i < commandCount; i++) {
+      final DirectBuffer command = batchRequest.getCommand(i);
+      batchCommandHeaderDecoder.wrap(command, 0);
+      executeCommandRequestDecoder.wrap(
+          command,
+          batchCommandHeaderDecoder.encodedLength(),
+          batchCommandHeaderDecoder.blockLength(),
+          batchCommandHeaderDecoder.version());
+
+      final ValueType eventType = executeCommandRequestDecoder.valueType();
+      final short intent = executeCommandRequestDecoder.intent();
+      final long key = executeCommandRequestDecoder.key();
+      final UnpackedObject event = recordsByType.get(eventType);
+
+      if (event == null) {
+        batchResponseCollector.removeBatch(batchId);
+        logStreamBatchWriter.reset();
+
+        return errorResponseWriter
+            .unsupportedMessage(eventType.name(), recordsByType.keySet().toArray())
+            .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
+
+      final int eventOffset =
+          executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
+      final int eventLength = executeCommandRequestDecoder.valueLength();
+
+      event.reset();
+
+      try {
+        // verify that the command is valid
+        event.wrap(command, eventOffset, eventLength);
+      } catch (RuntimeException e) {
+        LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
+
+        batchResponseCollector.removeBatch(batchId);
+        logStreamBatchWriter.reset();
+
+        return errorResponseWriter
+            .malformedRequest(e)
+            .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
+
+      eventMetadata.recordType(RecordType.COMMAND);
+      eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
+      eventMetadata.valueType(eventType);
+      eventMetadata.requestId(CommandBatchResponseCollector.getCommandRequestId(batchId, i));
+
+      final LogEntryBuilder entryBuilder = logStreamBatchWriter.event();
+
+      if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
+        entryBuilder.key(key);
+      } else {
+        entryBuilder.keyNull();
+      }
+
+      entryBuilder.metadataWriter(eventMetadata).value(command, eventOffset, eventLength).done();
+    }
+
+    final long position = logStreamBatchWriter.tryWrite();
+
+    if (position < 0) {
+      batchResponseCollector.removeBatch(batchId);
+      logStreamBatchWriter.reset();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the collector of the responses of batched commands, which must be used by the stream
+   *     processors to send their responses
+   */
+  public CommandBatchResponseCollector getBatchResponseCollector() {
+    return batchResponseCollector;
+  }
+
+  /**
+   * @return the tracker of the request latencies, which must be used by the stream processors to
+   *     send their responses
+   */
+  public RequestLatencyTracker getRequestLatencyTracker() {
+    return requestLatencyTracker;
+  }
+
+  public void close() {
+    requestLatencyTracker.close();
+  }
+
   public void addPartition(final Partition partition) {
     cmdQueue.add(() -> leaderPartitions.put(partition.getPartitionId(), partition));
   }
@@ -188,13 +353,21 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
     eventMetadata.requestId(requestId);
     eventMetadata.requestStreamId(remoteAddress.getStreamId());
 
+    requestLatencyTracker.onRequest(remoteAddress.getStreamId(), requestId, System.nanoTime());
+
     if (templateId == ExecuteCommandRequestDecoder.TEMPLATE_ID) {
       return handleExecuteCommandRequest(
           output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
+    } else if (templateId == ExecuteCommandBatchRequestDecoder.TEMPLATE_ID) {
+      return handleExecuteCommandBatchRequest(
+          output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
     }
 
     return errorResponseWriter
-        .invalidMessageTemplate(templateId, ExecuteCommandRequestDecoder.TEMPLATE_ID)
+        .invalidMessageTemplate(
+            templateId,
+            ExecuteCommandRequestDecoder.TEMPLATE_ID,
+            ExecuteCommandBatchRequestDecoder.TEMPLATE_ID)
         .tryWriteResponse(output, remoteAddress.getStreamId(), requestId);
   }
 
@@ -34,12 +34,12 @@ public class ClientApiMessageHandlerService implements Service<ClientApiMessageH
 
   @Override
   public void start(ServiceStartContext startContext) {
-    service = new ClientApiMessageHandler();
+    service = new ClientApiMessageHandler(startContext.getScheduler().getMetricsManager());
   }
 
   @Override
   public void stop(ServiceStopContext arg0) {
-    // nothing to do
+    service.close();
   }
 
   @Override
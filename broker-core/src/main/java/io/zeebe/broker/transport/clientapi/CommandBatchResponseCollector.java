@@ -0,0 +1,233 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Collects the responses of the commands of an {@link ExecuteCommandBatchRequest} and sends them as
+ * one {@link ExecuteCommandBatchResponse} when the last command is processed.
+ *
+ * <p>Each command of a batch is written with its own request id, which identifies the batch and the
+ * index of the command. The responses are sent by the stream processor of the partition through the
+ * output which is returned by {@link #collectingOutput(ServerOutput)}.
+ *
+ * <p>A batch is registered by the client API and completed by the stream processor, so the pending
+ * batches are shared between the threads. A batch which doesn't receive all responses (e.g. because
+ * the partition lost its leadership) is discarded after the timeout, the client retries or times
+ * out the request in this case.
+ */
+public class CommandBatchResponseCollector {
+
+  public static final Duration BATCH_TIMEOUT = Duration.ofMinutes(1);
+
+  // the request ids of batched commands have the highest bit set; regular request ids are positive
+  private static final long BATCH_REQUEST_ID_FLAG = Long.MIN_VALUE;
+  private static final int INDEX_BITS = 8;
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+  private final Map<Long, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+  private final AtomicLong nextBatchId = new AtomicLong();
+  private final long timeoutMillis;
+
+  public CommandBatchResponseCollector() {
+    this(BATCH_TIMEOUT);
+  }
+
+  public CommandBatchResponseCollector(Duration timeout) {
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  /**
+   * Registers a new batch of commands which are answered by one response.
+   *
+   * @return the id of the batch, which is used to create the request ids of the commands
+   */
+  public long registerBatch(
+      int requestStreamId, long requestId, int partitionId, int commandCount, long now) {
+    removeExpiredBatches(now);
+
+    final long batchId = nextBatchId.getAndIncrement();
+    pendingBatches.put(
+        batchId, new PendingBatch(requestStreamId, requestId, partitionId, commandCount, now));
+    return batchId;
+  }
+
+  /** Removes the batch, e.g. if its commands could not be written. */
+  public void removeBatch(long batchId) {
+    pendingBatches.remove(batchId);
+  }
+
+  /** @return the request id of the command with the given index of the batch */
+  public static long getCommandRequestId(long batchId, int index) {
+    return BATCH_REQUEST_ID_FLAG | (batchId << INDEX_BITS) | index;
+  }
+
+  /** @return true if the given request id belongs to a command of a batch */
+  public static boolean isBatchedCommandRequestId(long requestId) {
+    // -1 is the null value of the request id
+    return requestId != -1 && (requestId & BATCH_REQUEST_ID_FLAG) != 0;
+  }
+
+  public int getPendingBatchCount() {
+    return pendingBatches.size();
+  }
+
+  /**
+   * @return an output which collects the responses of batched commands and passes all other
+   *     responses and messages to the given output
+   */
+  public ServerOutput collectingOutput(ServerOutput output) {
+    return new CollectingServerOutput(output);
+  }
+
+  private boolean collectResponse(ServerOutput output, ServerResponse response) {
+    final long commandRequestId = response.getRequestId();
+    final long batchId = (commandRequestId & ~BATCH_REQUEST_ID_FLAG) >>> INDEX_BITS;
+    final int index = (int) (commandRequestId & INDEX_MASK);
+
+    final PendingBatch batch = pendingBatches.get(batchId);
+    if (batch == null) {
+      // the batch expired or was removed - nobody waits for the response anymore
+      return true;
+    }
+
+    batch.addResponse(index, response.getWriter());
+
+    if (batch.isComplete()) {
+      if (!batch.trySend(output)) {
+        // the stream processor retries to send the response
+        batch.removeResponse(index);
+        return false;
+      }
+
+      pendingBatches.remove(batchId);
+    }
+
+    return true;
+  }
+
+  private void removeExpiredBatches(long now) {
+    final Iterator<PendingBatch> iterator = pendingBatches.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().createdTime + timeoutMillis < now) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private static final class PendingBatch {
+    private final int requestStreamId;
+    private final long requestId;
+    private final int partitionId;
+    private final long createdTime;
+
+    private final ExpandableArrayBuffer responsesBuffer = new ExpandableArrayBuffer();
+    private int responsesBufferLength;
+    private final int[] responseOffsets;
+    private final int[] responseLengths;
+    private int responseCount;
+
+    PendingBatch(
+        int requestStreamId, long requestId, int partitionId, int commandCount, long createdTime) {
+      this.requestStreamId = requestStreamId;
+      this.requestId = requestId;
+      this.partitionId = partitionId;
+      this.createdTime = createdTime;
+
+      responseOffsets = new int[commandCount];
+      responseLengths = new int[commandCount];
+      Arrays.fill(responseOffsets, -1);
+    }
+
+    void addResponse(int index, BufferWriter writer) {
+      if (responseOffsets[index] < 0) {
+        responseCount += 1;
+      }
+
+      final int length = writer.getLength();
+      writer.write(responsesBuffer, responsesBufferLength);
+
+      responseOffsets[index] = responsesBufferLength;
+      responseLengths[index] = length;
+      responsesBufferLength += length;
+    }
+
+    void removeResponse(int index) {
+      responsesBufferLength = responseOffsets[index];
+      responseOffsets[index] = -1;
+      responseCount -= 1;
+    }
+
+    boolean isComplete() {
+      return responseCount == responseOffsets.length;
+    }
+
+    boolean trySend(ServerOutput output) {
+      final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+      batchResponse.setPartitionId(partitionId);
+
+      final DirectBufferWriter responseWriter = new DirectBufferWriter();
+      for (int i = 0; i < responseOffsets.length; i++) {
+        batchResponse.addResponse(
+            responseWriter.wrap(responsesBuffer, responseOffsets[i], responseLengths[i]));
+      }
+
+      final ServerResponse response =
+          new ServerResponse()
+              .remoteStreamId(requestStreamId)
+              .requestId(requestId)
+              .writer(batchResponse);
+      return output.sendResponse(response);
+    }
+  }
+
+  private final class CollectingServerOutput implements ServerOutput {
+    private final ServerOutput output;
+
+    CollectingServerOutput(ServerOutput output) {
+      this.output = output;
+    }
+
+    @Override
+    public boolean sendMessage(int streamId, BufferWriter writer) {
+      return output.sendMessage(streamId, writer);
+    }
+
+    @Override
+    public boolean sendResponse(ServerResponse response) {
+      if (isBatchedCommandRequestId(response.getRequestId())) {
+        return collectResponse(output, response);
+      } else {
+        return output.sendResponse(response);
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.metrics.Histogram;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the latency of client requests, from receiving the request until sending its response.
+ *
+ * <p>The client API registers the receive time of a request, the response is sent by the stream
+ * processor of the partition through the output which is returned by {@link
+ * #trackingOutput(ServerOutput)}. The receive times are kept in a fixed size table which is shared
+ * between the threads without locks. If two pending requests map to the same slot, the older one is
+ * not recorded.
+ */
+public class RequestLatencyTracker {
+
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  // two entries per slot: the key of the request and its receive time
+  private final AtomicLongArray slots;
+  private final int mask;
+  private final Histogram latency;
+
+  public RequestLatencyTracker(Histogram latency) {
+    this(latency, DEFAULT_CAPACITY);
+  }
+
+  /** @param capacity the number of tracked requests, must be a power of two */
+  public RequestLatencyTracker(Histogram latency, int capacity) {
+    this.latency = latency;
+    this.mask = capacity - 1;
+    this.slots = new AtomicLongArray(2 * capacity);
+
+    for (int i = 0; i < capacity; i++) {
+      slots.set(2 * i, EMPTY);
+    }
+  }
+
+  public void onRequest(int requestStreamId, long requestId, long nanoTime) {
+    final long key = key(requestStreamId, requestId);
+    final int slot = slot(key);
+
+    // keep the time of the first attempt if the request is retried on backpressure
+    if (slots.get(slot) != key) {
+      slots.set(slot + 1, nanoTime);
+      slots.lazySet(slot, key);
+    }
+  }
+
+  public void onResponse(int requestStreamId, long requestId, long nanoTime) {
+    final long key = key(requestStreamId, requestId);
+    final int slot = slot(key);
+
+    if (slots.get(slot) == key) {
+      final long requestTime = slots.get(slot + 1);
+
+      if (slots.compareAndSet(slot, key, EMPTY)) {
+        latency.record(nanoTime - requestTime);
+      }
+    }
+  }
+
+  /** @return an output which records the latency of the responses sent by the given output */
+  public ServerOutput trackingOutput(ServerOutput output) {
+    return new TrackingServerOutput(output);
+  }
+
+  public void close() {
+    latency.close();
+  }
+
+  private static long key(int requestStreamId, long requestId) {
+    return (requestId << 16) ^ requestStreamId;
+  }
+
+  private int slot(long key) {
+    final long hash = key * 0x9E3779B97F4A7C15L;
+    return 2 * ((int) (hash >>> 32) & mask);
+  }
+
+  private final class TrackingServerOutput implements ServerOutput {
+    private final ServerOutput output;
+
+    TrackingServerOutput(ServerOutput output) {
+      this.output = output;
+    }
+
+    @Override
+    public boolean sendMessage(int streamId, BufferWriter writer) {
+      return output.sendMessage(streamId, writer);
+    }
+
+    @Override
+    public boolean sendResponse(ServerResponse response) {
+      final boolean sent = output.sendResponse(response);
+
+      if (sent) {
+        onResponse(response.getRemoteStreamId(), response.getRequestId(), System.nanoTime());
+      }
+
+      return sent;
+    }
+  }
+}
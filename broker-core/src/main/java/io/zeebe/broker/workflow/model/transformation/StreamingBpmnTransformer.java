@@ -0,0 +1,706 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.model.transformation;
+
+import static io.zeebe.broker.Broker.LOG;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.zeebe.broker.workflow.model.element.AbstractFlowElement;
+import io.zeebe.broker.workflow.model.element.ExecutableActivity;
+import io.zeebe.broker.workflow.model.element.ExecutableBoundaryEvent;
+import io.zeebe.broker.workflow.model.element.ExecutableCatchEventElement;
+import io.zeebe.broker.workflow.model.element.ExecutableEventBasedGateway;
+import io.zeebe.broker.workflow.model.element.ExecutableExclusiveGateway;
+import io.zeebe.broker.workflow.model.element.ExecutableFlowElementContainer;
+import io.zeebe.broker.workflow.model.element.ExecutableFlowNode;
+import io.zeebe.broker.workflow.model.element.ExecutableMessage;
+import io.zeebe.broker.workflow.model.element.ExecutableReceiveTask;
+import io.zeebe.broker.workflow.model.element.ExecutableSequenceFlow;
+import io.zeebe.broker.workflow.model.element.ExecutableServiceTask;
+import io.zeebe.broker.workflow.model.element.ExecutableWorkflow;
+import io.zeebe.broker.workflow.model.transformation.transformer.ActivityTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.CatchEventTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.EventBasedGatewayTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.ExclusiveGatewayTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.FlowNodeTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.IntermediateCatchEventTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.ParallelGatewayTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.ProcessTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.ReceiveTaskTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.SequenceFlowTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.ServiceTaskTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.StartEventTransformer;
+import io.zeebe.broker.workflow.model.transformation.transformer.SubProcessTransformer;
+import io.zeebe.model.bpmn.impl.BpmnModelConstants;
+import io.zeebe.model.bpmn.impl.ZeebeConstants;
+import io.zeebe.model.bpmn.instance.zeebe.ZeebeTaskDefinition;
+import io.zeebe.msgpack.el.JsonConditionFactory;
+import io.zeebe.msgpack.jsonpath.JsonPathQueryCompiler;
+import io.zeebe.msgpack.mapping.MappingBuilder;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.protocol.BpmnElementType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.io.DirectBufferInputStream;
+
+/**
+ * Transforms BPMN XML into executable workflows in a single pass over the XML, without building a
+ * DOM and a model instance on top of it, and without validating the XML against the schema.
+ *
+ * <p>The resulting workflows are the same as the ones of the {@link BpmnTransformer}, but only the
+ * elements which Zeebe can execute are understood. If a resource contains anything else, an {@link
+ * UnsupportedBpmnException} is thrown and the resource must be transformed with the {@link
+ * BpmnTransformer}. Since nothing is validated, only resources which were validated on deployment
+ * must be transformed with this transformer.
+ */
+public class StreamingBpmnTransformer {
+  private static final String BPMN_NS = BpmnModelConstants.BPMN20_NS;
+  private static final String ZEEBE_NS = BpmnModelConstants.ZEEBE_NS;
+
+  private static final int INITIAL_SIZE_KEY_VALUE_PAIR = 128;
+
+  private static final Map<String, Function<String, AbstractFlowElement>> ELEMENT_FACTORIES;
+
+  /** BPMN elements which are not relevant for the execution, together with their children. */
+  private static final Set<String> IGNORED_ELEMENTS =
+      new HashSet<>(
+          Arrays.asList(
+              "documentation",
+              "incoming",
+              "outgoing",
+              "laneSet",
+              "textAnnotation",
+              "association",
+              "eventDefinitionRef"));
+
+  static {
+    ELEMENT_FACTORIES = new HashMap<>();
+    ELEMENT_FACTORIES.put("boundaryEvent", ExecutableBoundaryEvent::new);
+    ELEMENT_FACTORIES.put("endEvent", ExecutableFlowNode::new);
+    ELEMENT_FACTORIES.put("eventBasedGateway", ExecutableEventBasedGateway::new);
+    ELEMENT_FACTORIES.put("exclusiveGateway", ExecutableExclusiveGateway::new);
+    ELEMENT_FACTORIES.put("intermediateCatchEvent", ExecutableCatchEventElement::new);
+    ELEMENT_FACTORIES.put("parallelGateway", ExecutableFlowNode::new);
+    ELEMENT_FACTORIES.put("sequenceFlow", ExecutableSequenceFlow::new);
+    ELEMENT_FACTORIES.put("serviceTask", ExecutableServiceTask::new);
+    ELEMENT_FACTORIES.put("receiveTask", ExecutableReceiveTask::new);
+    ELEMENT_FACTORIES.put("startEvent", ExecutableCatchEventElement::new);
+    ELEMENT_FACTORIES.put("subProcess", ExecutableFlowElementContainer::new);
+  }
+
+  private final XMLInputFactory inputFactory;
+  private final JsonPathQueryCompiler jsonPathQueryCompiler = new JsonPathQueryCompiler();
+  private final MappingBuilder mappingBuilder = new MappingBuilder();
+  private final MsgPackWriter msgPackWriter = new MsgPackWriter();
+
+  public StreamingBpmnTransformer() {
+    inputFactory = XMLInputFactory.newFactory();
+    inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  public List<ExecutableWorkflow> transformDefinitions(DirectBuffer resource) {
+    final TransformContext context = new TransformContext();
+    context.setJsonPathQueryCompiler(jsonPathQueryCompiler);
+
+    final List<ParsedElement> processes = new ArrayList<>();
+
+    XMLStreamReader reader = null;
+    try {
+      reader = inputFactory.createXMLStreamReader(new DirectBufferInputStream(resource));
+      readDefinitions(reader, context, processes);
+    } catch (XMLStreamException | NumberFormatException e) {
+      throw new UnsupportedBpmnException("Failed to read BPMN XML: " + e.getMessage(), e);
+    } finally {
+      closeQuietly(reader);
+    }
+
+    // link the elements in the order in which the model walker of the BpmnTransformer visits them,
+    // so that the transformations which depend on already linked elements yield the same result
+    for (final ParsedElement process : processes) {
+      final List<ParsedElement> elements = new ArrayList<>();
+      collectInVisitingOrder(process, elements);
+
+      final ExecutableWorkflow workflow = (ExecutableWorkflow) process.element;
+      for (final ParsedElement element : elements) {
+        linkElement(element, workflow, context);
+      }
+      for (final ParsedElement element : elements) {
+        if (element.element instanceof ExecutableEventBasedGateway) {
+          final ExecutableEventBasedGateway gateway = (ExecutableEventBasedGateway) element.element;
+          gateway.setEvents(EventBasedGatewayTransformer.getConnectedCatchEvents(gateway));
+          EventBasedGatewayTransformer.bindLifecycle(gateway);
+        }
+      }
+    }
+
+    return context.getWorkflows();
+  }
+
+  private void readDefinitions(
+      XMLStreamReader reader, TransformContext context, List<ParsedElement> processes)
+      throws XMLStreamException {
+    if (!nextChildElement(reader) || !isBpmnElement(reader, "definitions")) {
+      throw new UnsupportedBpmnException("Expected BPMN definitions as root element");
+    }
+
+    while (nextChildElement(reader)) {
+      if (isBpmnElement(reader, "process")) {
+        processes.add(readProcess(reader, context));
+      } else if (isBpmnElement(reader, "message")) {
+        readMessage(reader, context);
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private ParsedElement readProcess(XMLStreamReader reader, TransformContext context)
+      throws XMLStreamException {
+    final ExecutableWorkflow workflow = new ExecutableWorkflow(requireAttribute(reader, "id"));
+    workflow.setElementType(BpmnElementType.bpmnElementTypeFor(reader.getLocalName()));
+    ProcessTransformer.bindLifecycle(workflow);
+    context.addWorkflow(workflow);
+
+    final ParsedElement process = new ParsedElement(workflow, null);
+    readFlowElements(reader, workflow, process);
+
+    return process;
+  }
+
+  /** Reads the children of a process or sub process. */
+  private void readFlowElements(
+      XMLStreamReader reader, ExecutableWorkflow workflow, ParsedElement container)
+      throws XMLStreamException {
+    while (nextChildElement(reader)) {
+      final String localName = reader.getLocalName();
+      final Function<String, AbstractFlowElement> elementFactory = ELEMENT_FACTORIES.get(localName);
+
+      if (!BPMN_NS.equals(reader.getNamespaceURI()) || IGNORED_ELEMENTS.contains(localName)) {
+        skipElement(reader);
+      } else if (elementFactory != null) {
+        final AbstractFlowElement element = elementFactory.apply(requireAttribute(reader, "id"));
+        element.setElementType(BpmnElementType.bpmnElementTypeFor(localName));
+        workflow.addFlowElement(element);
+
+        final ParsedElement parsedElement = new ParsedElement(element, container);
+        container.children.add(parsedElement);
+        readFlowElement(reader, workflow, parsedElement);
+      } else if (localName.equals("extensionElements")) {
+        if (container.element instanceof ExecutableWorkflow) {
+          skipElement(reader);
+        } else {
+          readExtensionElements(reader, container);
+        }
+      } else {
+        throw new UnsupportedBpmnException(
+            String.format("Unsupported element '%s' in '%s'", localName, container.getId()));
+      }
+    }
+  }
+
+  private void readFlowElement(
+      XMLStreamReader reader, ExecutableWorkflow workflow, ParsedElement parsedElement)
+      throws XMLStreamException {
+    final AbstractFlowElement element = parsedElement.element;
+
+    parsedElement.name = reader.getAttributeValue(null, "name");
+    parsedElement.sourceRef = reader.getAttributeValue(null, "sourceRef");
+    parsedElement.targetRef = reader.getAttributeValue(null, "targetRef");
+    parsedElement.attachedToRef = reader.getAttributeValue(null, "attachedToRef");
+    parsedElement.defaultFlowRef = reader.getAttributeValue(null, "default");
+    parsedElement.messageRef = stripPrefix(reader.getAttributeValue(null, "messageRef"));
+
+    if (element instanceof ExecutableBoundaryEvent) {
+      final String cancelActivity = reader.getAttributeValue(null, "cancelActivity");
+      ((ExecutableBoundaryEvent) element)
+          .setCancelActivity(cancelActivity == null || Boolean.parseBoolean(cancelActivity));
+    }
+
+    if (element instanceof ExecutableFlowElementContainer) {
+      readFlowElements(reader, workflow, parsedElement);
+    } else {
+      boolean hasEventDefinition = false;
+
+      while (nextChildElement(reader)) {
+        final String localName = reader.getLocalName();
+
+        if (!BPMN_NS.equals(reader.getNamespaceURI()) || IGNORED_ELEMENTS.contains(localName)) {
+          skipElement(reader);
+        } else if (localName.equals("extensionElements")) {
+          readExtensionElements(reader, parsedElement);
+        } else if (localName.equals("conditionExpression")
+            && element instanceof ExecutableSequenceFlow) {
+          ((ExecutableSequenceFlow) element)
+              .setCondition(JsonConditionFactory.createCondition(reader.getElementText()));
+        } else if (localName.endsWith("EventDefinition")) {
+          // like the BpmnTransformer, only the first event definition of a catch event is used
+          if (!hasEventDefinition && element instanceof ExecutableCatchEventElement) {
+            readEventDefinition(reader, parsedElement);
+          } else {
+            skipElement(reader);
+          }
+          hasEventDefinition = true;
+        } else {
+          throw new UnsupportedBpmnException(
+              String.format("Unsupported element '%s' in '%s'", localName, parsedElement.getId()));
+        }
+      }
+    }
+
+    if (element instanceof ExecutableServiceTask && !parsedElement.hasTaskDefinition) {
+      throw new UnsupportedBpmnException(
+          String.format("Expected service task '%s' to have a task definition", element.getId()));
+    }
+  }
+
+  private void readEventDefinition(XMLStreamReader reader, ParsedElement parsedElement)
+      throws XMLStreamException {
+    final ExecutableCatchEventElement element = (ExecutableCatchEventElement) parsedElement.element;
+
+    if (isBpmnElement(reader, "messageEventDefinition")) {
+      final String messageRef = stripPrefix(reader.getAttributeValue(null, "messageRef"));
+      if (messageRef == null) {
+        throw new UnsupportedBpmnException(
+            String.format("Expected message event '%s' to refer a message", parsedElement.getId()));
+      }
+      parsedElement.messageRef = messageRef;
+      skipElement(reader);
+    } else if (isBpmnElement(reader, "timerEventDefinition")) {
+      String duration = null;
+      String cycle = null;
+      String timeDate = null;
+
+      while (nextChildElement(reader)) {
+        if (isBpmnElement(reader, "timeDuration")) {
+          duration = reader.getElementText();
+        } else if (isBpmnElement(reader, "timeCycle")) {
+          cycle = reader.getElementText();
+        } else if (isBpmnElement(reader, "timeDate")) {
+          timeDate = reader.getElementText();
+        } else {
+          skipElement(reader);
+        }
+      }
+
+      if (duration == null && cycle == null && timeDate == null) {
+        throw new UnsupportedBpmnException(
+            String.format("Expected timer event '%s' to define a timer", parsedElement.getId()));
+      }
+      element.setTimer(CatchEventTransformer.createTimer(duration, cycle, timeDate));
+    } else {
+      skipElement(reader);
+    }
+  }
+
+  private void readExtensionElements(XMLStreamReader reader, ParsedElement parsedElement)
+      throws XMLStreamException {
+    final AbstractFlowElement element = parsedElement.element;
+
+    while (nextChildElement(reader)) {
+      if (!ZEEBE_NS.equals(reader.getNamespaceURI())) {
+        skipElement(reader);
+        continue;
+      }
+
+      switch (reader.getLocalName()) {
+        case ZeebeConstants.ELEMENT_IO_MAPPING:
+          if (element instanceof ExecutableFlowNode) {
+            readIoMapping(reader, (ExecutableFlowNode) element);
+          } else {
+            skipElement(reader);
+          }
+          break;
+        case ZeebeConstants.ELEMENT_TASK_DEFINITION:
+          if (element instanceof ExecutableServiceTask) {
+            readTaskDefinition(reader, (ExecutableServiceTask) element);
+            parsedElement.hasTaskDefinition = true;
+          } else {
+            skipElement(reader);
+          }
+          break;
+        case ZeebeConstants.ELEMENT_TASK_HEADERS:
+          if (element instanceof ExecutableServiceTask) {
+            readTaskHeaders(reader, parsedElement);
+          } else {
+            skipElement(reader);
+          }
+          break;
+        default:
+          skipElement(reader);
+          break;
+      }
+    }
+  }
+
+  private void readIoMapping(XMLStreamReader reader, ExecutableFlowNode element)
+      throws XMLStreamException {
+    final List<String[]> inputs = new ArrayList<>();
+    final List<String[]> outputs = new ArrayList<>();
+
+    while (nextChildElement(reader)) {
+      final String source = getAttribute(reader, ZeebeConstants.ATTRIBUTE_SOURCE);
+      final String target = getAttribute(reader, ZeebeConstants.ATTRIBUTE_TARGET);
+
+      if (isZeebeElement(reader, ZeebeConstants.ELEMENT_INPUT)) {
+        inputs.add(new String[] {source, target});
+      } else if (isZeebeElement(reader, ZeebeConstants.ELEMENT_OUTPUT)) {
+        outputs.add(new String[] {source, target});
+      }
+      skipElement(reader);
+    }
+
+    inputs.forEach(i -> mappingBuilder.mapping(i[0], i[1]));
+    element.setInputMappings(mappingBuilder.build());
+
+    outputs.forEach(o -> mappingBuilder.mapping(o[0], o[1]));
+    element.setOutputMappings(mappingBuilder.build());
+  }
+
+  private void readTaskDefinition(XMLStreamReader reader, ExecutableServiceTask element)
+      throws XMLStreamException {
+    final String type = getAttribute(reader, ZeebeConstants.ATTRIBUTE_TYPE);
+    final String retries = getAttribute(reader, ZeebeConstants.ATTRIBUTE_RETRIES);
+
+    if (type == null) {
+      throw new UnsupportedBpmnException(
+          String.format(
+              "Expected service task '%s' to have a type", bufferAsString(element.getId())));
+    }
+
+    element.setType(type);
+    element.setRetries(
+        retries != null ? Integer.parseInt(retries) : ZeebeTaskDefinition.DEFAULT_RETRIES);
+
+    skipElement(reader);
+  }
+
+  private void readTaskHeaders(XMLStreamReader reader, ParsedElement parsedElement)
+      throws XMLStreamException {
+    final List<String[]> validHeaders = new ArrayList<>();
+    int headerCount = 0;
+
+    while (nextChildElement(reader)) {
+      if (isZeebeElement(reader, ZeebeConstants.ELEMENT_HEADER)) {
+        headerCount++;
+
+        final String key = getAttribute(reader, ZeebeConstants.ATTRIBUTE_KEY);
+        final String value = getAttribute(reader, ZeebeConstants.ATTRIBUTE_VALUE);
+        if (key != null && !key.isEmpty() && value != null && !value.isEmpty()) {
+          validHeaders.add(new String[] {key, value});
+        }
+      }
+      skipElement(reader);
+    }
+
+    if (validHeaders.size() < headerCount) {
+      LOG.warn(
+          "Ignoring invalid headers for task '{}'. Must have non-empty key and value.",
+          parsedElement.name);
+    }
+
+    if (!validHeaders.isEmpty()) {
+      ((ExecutableServiceTask) parsedElement.element).setEncodedHeaders(encode(validHeaders));
+    }
+  }
+
+  private DirectBuffer encode(List<String[]> headers) {
+    final ExpandableArrayBuffer expandableBuffer =
+        new ExpandableArrayBuffer(INITIAL_SIZE_KEY_VALUE_PAIR * headers.size());
+    msgPackWriter.wrap(expandableBuffer, 0);
+    msgPackWriter.writeMapHeader(headers.size());
+
+    for (final String[] header : headers) {
+      msgPackWriter.writeString(wrapString(header[0]));
+      msgPackWriter.writeString(wrapString(header[1]));
+    }
+
+    return new UnsafeBuffer(expandableBuffer.byteArray(), 0, msgPackWriter.getOffset());
+  }
+
+  private void readMessage(XMLStreamReader reader, TransformContext context)
+      throws XMLStreamException {
+    final ExecutableMessage message = new ExecutableMessage(requireAttribute(reader, "id"));
+    final String name = reader.getAttributeValue(null, "name");
+
+    while (nextChildElement(reader)) {
+      if (isBpmnElement(reader, "extensionElements")) {
+        boolean hasSubscription = false;
+
+        while (nextChildElement(reader)) {
+          if (isZeebeElement(reader, ZeebeConstants.ELEMENT_SUBSCRIPTION)) {
+            final String correlationKey =
+                getAttribute(reader, ZeebeConstants.ATTRIBUTE_CORRELATION_KEY);
+            if (correlationKey == null) {
+              break;
+            }
+            message.setCorrelationKey(jsonPathQueryCompiler.compile(correlationKey));
+            hasSubscription = true;
+          }
+          skipElement(reader);
+        }
+
+        if (!hasSubscription) {
+          throw new UnsupportedBpmnException(
+              String.format(
+                  "Expected message '%s' to have a subscription", bufferAsString(message.getId())));
+        }
+      } else {
+        skipElement(reader);
+      }
+    }
+
+    if (name != null) {
+      message.setMessageName(wrapString(name));
+      context.addMessage(message);
+    }
+  }
+
+  private void linkElement(
+      ParsedElement parsedElement, ExecutableWorkflow workflow, TransformContext context) {
+    final AbstractFlowElement element = parsedElement.element;
+
+    if (element instanceof ExecutableSequenceFlow) {
+      final ExecutableSequenceFlow sequenceFlow = (ExecutableSequenceFlow) element;
+      final ExecutableFlowNode source = requireFlowNode(workflow, parsedElement.sourceRef);
+      final ExecutableFlowNode target = requireFlowNode(workflow, parsedElement.targetRef);
+
+      source.addOutgoing(sequenceFlow);
+      target.addIncoming(sequenceFlow);
+      sequenceFlow.setTarget(target);
+      sequenceFlow.setSource(source);
+
+      SequenceFlowTransformer.bindLifecycle(sequenceFlow);
+      return;
+    }
+
+    if (!(element instanceof ExecutableFlowNode) || element instanceof ExecutableWorkflow) {
+      return;
+    }
+
+    // the bindings are applied from the super type to the concrete type, like in the
+    // BpmnTransformer, so that the bindings of the concrete type take precedence
+    FlowNodeTransformer.bindLifecycle((ExecutableFlowNode) element);
+
+    if (element instanceof ExecutableActivity) {
+      ActivityTransformer.bindLifecycle((ExecutableActivity) element);
+    }
+
+    if (element instanceof ExecutableCatchEventElement) {
+      final ExecutableCatchEventElement catchEvent = (ExecutableCatchEventElement) element;
+      CatchEventTransformer.bindLifecycle(catchEvent);
+
+      if (parsedElement.messageRef != null) {
+        catchEvent.setMessage(context.getMessage(parsedElement.messageRef));
+      }
+    }
+
+    switch (element.getElementType()) {
+      case BOUNDARY_EVENT:
+        final ExecutableActivity attachedTo =
+            workflow.getElementById(parsedElement.attachedToRef, ExecutableActivity.class);
+        if (attachedTo == null) {
+          throw new UnsupportedBpmnException(
+              String.format(
+                  "Expected boundary event '%s' to be attached to an activity",
+                  parsedElement.getId()));
+        }
+        attachedTo.attach((ExecutableBoundaryEvent) element);
+        break;
+      case INTERMEDIATE_CATCH_EVENT:
+        final ExecutableCatchEventElement catchEvent = (ExecutableCatchEventElement) element;
+        if (!IntermediateCatchEventTransformer.isAttachedToEventBasedGateway(catchEvent)) {
+          IntermediateCatchEventTransformer.bindLifecycle(catchEvent);
+        }
+        break;
+      case EXCLUSIVE_GATEWAY:
+        final ExecutableExclusiveGateway gateway = (ExecutableExclusiveGateway) element;
+        if (parsedElement.defaultFlowRef != null) {
+          gateway.setDefaultFlow(
+              workflow.getElementById(parsedElement.defaultFlowRef, ExecutableSequenceFlow.class));
+        }
+        ExclusiveGatewayTransformer.bindLifecycle(gateway);
+        break;
+      case PARALLEL_GATEWAY:
+        ParallelGatewayTransformer.bindLifecycle((ExecutableFlowNode) element);
+        break;
+      case RECEIVE_TASK:
+        final ExecutableReceiveTask receiveTask = (ExecutableReceiveTask) element;
+        if (parsedElement.messageRef == null) {
+          throw new UnsupportedBpmnException(
+              String.format(
+                  "Expected receive task '%s' to refer a message", parsedElement.getId()));
+        }
+        receiveTask.setMessage(context.getMessage(parsedElement.messageRef));
+        ReceiveTaskTransformer.bindLifecycle(receiveTask);
+        break;
+      case SERVICE_TASK:
+        ServiceTaskTransformer.bindLifecycle((ExecutableServiceTask) element);
+        break;
+      case START_EVENT:
+        final ExecutableCatchEventElement startEvent = (ExecutableCatchEventElement) element;
+        ((ExecutableFlowElementContainer) parsedElement.scope.element).addStartEvent(startEvent);
+        StartEventTransformer.bindLifecycle(startEvent);
+        break;
+      case SUB_PROCESS:
+        SubProcessTransformer.bindLifecycle((ExecutableFlowElementContainer) element);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static ExecutableFlowNode requireFlowNode(ExecutableWorkflow workflow, String id) {
+    final ExecutableFlowNode flowNode =
+        id != null ? workflow.getElementById(id, ExecutableFlowNode.class) : null;
+    if (flowNode == null) {
+      throw new UnsupportedBpmnException(
+          String.format("Expected sequence flow to connect existing flow nodes, but got '%s'", id));
+    }
+    return flowNode;
+  }
+
+  /**
+   * The model walker visits an element before its children, and the children in reverse document
+   * order.
+   */
+  private static void collectInVisitingOrder(ParsedElement element, List<ParsedElement> elements) {
+    elements.add(element);
+    for (int i = element.children.size() - 1; i >= 0; i--) {
+      collectInVisitingOrder(element.children.get(i), elements);
+    }
+  }
+
+  /**
+   * Moves the reader to the next child element of the current element.
+   *
+   * @return true if the reader is at the start of the next child element, false if it is at the end
+   *     of the current element
+   */
+  private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        return true;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** Moves the reader to the end of the current element. */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private static boolean isBpmnElement(XMLStreamReader reader, String localName) {
+    return BPMN_NS.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+  }
+
+  private static boolean isZeebeElement(XMLStreamReader reader, String localName) {
+    return ZEEBE_NS.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+  }
+
+  /** @return the value of the attribute, which may or may not be qualified with a namespace */
+  private static String getAttribute(XMLStreamReader reader, String localName) {
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      if (localName.equals(reader.getAttributeLocalName(i))) {
+        return reader.getAttributeValue(i);
+      }
+    }
+    return null;
+  }
+
+  private static String requireAttribute(XMLStreamReader reader, String localName) {
+    final String value = reader.getAttributeValue(null, localName);
+    if (value == null) {
+      throw new UnsupportedBpmnException(
+          String.format(
+              "Expected element '%s' to have the attribute '%s'",
+              reader.getLocalName(), localName));
+    }
+    return value;
+  }
+
+  /** References to root elements are qualified names, but the elements are registered by id. */
+  private static String stripPrefix(String reference) {
+    if (reference == null) {
+      return null;
+    }
+    final int separator = reference.indexOf(':');
+    return separator >= 0 ? reference.substring(separator + 1) : reference;
+  }
+
+  private static void closeQuietly(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // ignore, the reader only wraps the buffer
+      }
+    }
+  }
+
+  private static class ParsedElement {
+    private final AbstractFlowElement element;
+    private final ParsedElement scope;
+    private final List<ParsedElement> children = new ArrayList<>();
+
+    private String name;
+    private String sourceRef;
+    private String targetRef;
+    private String attachedToRef;
+    private String defaultFlowRef;
+    private String messageRef;
+    private boolean hasTaskDefinition;
+
+    ParsedElement(AbstractFlowElement element, ParsedElement scope) {
+      this.element = element;
+      this.scope = scope;
+    }
+
+    String getId() {
+      return bufferAsString(element.getId());
+    }
+  }
+}
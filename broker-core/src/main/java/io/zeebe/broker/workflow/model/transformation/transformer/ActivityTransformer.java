@@ -37,6 +37,10 @@ public class ActivityTransformer implements ModelElementTransformer<Activity> {
     final ExecutableActivity activity =
         workflow.getElementById(element.getId(), ExecutableActivity.class);
 
+    bindLifecycle(activity);
+  }
+
+  public static void bindLifecycle(final ExecutableActivity activity) {
     activity.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATING, BpmnStep.ACTIVITY_ELEMENT_ACTIVATING);
     activity.bindLifecycleState(
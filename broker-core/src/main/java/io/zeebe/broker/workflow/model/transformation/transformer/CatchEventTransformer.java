@@ -46,14 +46,18 @@ public class CatchEventTransformer implements ModelElementTransformer<CatchEvent
     final ExecutableCatchEventElement executableElement =
         workflow.getElementById(element.getId(), ExecutableCatchEventElement.class);
 
-    executableElement.bindLifecycleState(
-        WorkflowInstanceIntent.ELEMENT_COMPLETED, BpmnStep.FLOWOUT_ELEMENT_COMPLETED);
+    bindLifecycle(executableElement);
 
     if (!element.getEventDefinitions().isEmpty()) {
       transformEventDefinition(element, context, executableElement);
     }
   }
 
+  public static void bindLifecycle(final ExecutableCatchEventElement executableElement) {
+    executableElement.bindLifecycleState(
+        WorkflowInstanceIntent.ELEMENT_COMPLETED, BpmnStep.FLOWOUT_ELEMENT_COMPLETED);
+  }
+
   private void transformEventDefinition(
       CatchEvent element, TransformContext context, ExecutableCatchEventElement executableElement) {
     final EventDefinition eventDefinition = element.getEventDefinitions().iterator().next();
@@ -78,19 +82,32 @@ public class CatchEventTransformer implements ModelElementTransformer<CatchEvent
   private void transformTimerEventDefinition(
       final ExecutableCatchEventElement executableElement,
       final TimerEventDefinition timerEventDefinition) {
-    final Timer timer;
+    final String duration =
+        timerEventDefinition.getTimeDuration() != null
+            ? timerEventDefinition.getTimeDuration().getTextContent()
+            : null;
+    final String cycle =
+        timerEventDefinition.getTimeCycle() != null
+            ? timerEventDefinition.getTimeCycle().getTextContent()
+            : null;
+    final String timeDate =
+        timerEventDefinition.getTimeDate() != null
+            ? timerEventDefinition.getTimeDate().getTextContent()
+            : null;
 
-    if (timerEventDefinition.getTimeDuration() != null) {
-      final String duration = timerEventDefinition.getTimeDuration().getTextContent();
-      timer = new RepeatingInterval(1, Interval.parse(duration));
-    } else if (timerEventDefinition.getTimeCycle() != null) {
-      final String cycle = timerEventDefinition.getTimeCycle().getTextContent();
-      timer = RepeatingInterval.parse(cycle);
+    final Timer timer = createTimer(duration, cycle, timeDate);
+    executableElement.setTimer(timer);
+  }
+
+  /** Creates the timer of the first given definition, in the order duration, cycle, date. */
+  public static Timer createTimer(
+      final String duration, final String cycle, final String timeDate) {
+    if (duration != null) {
+      return new RepeatingInterval(1, Interval.parse(duration));
+    } else if (cycle != null) {
+      return RepeatingInterval.parse(cycle);
     } else {
-      final String timeDate = timerEventDefinition.getTimeDate().getTextContent();
-      timer = TimeDateTimer.parse(timeDate);
+      return TimeDateTimer.parse(timeDate);
     }
-
-    executableElement.setTimer(timer);
   }
 }
@@ -47,14 +47,14 @@ public class EventBasedGatewayTransformer implements ModelElementTransformer<Eve
     bindLifecycle(gateway);
   }
 
-  private List<ExecutableCatchEvent> getConnectedCatchEvents(
+  public static List<ExecutableCatchEvent> getConnectedCatchEvents(
       final ExecutableEventBasedGateway gateway) {
     return gateway.getOutgoing().stream()
         .map(e -> (ExecutableCatchEvent) e.getTarget())
         .collect(Collectors.toList());
   }
 
-  private void bindLifecycle(final ExecutableEventBasedGateway gateway) {
+  public static void bindLifecycle(final ExecutableEventBasedGateway gateway) {
     gateway.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATING, BpmnStep.EVENT_BASED_GATEWAY_ELEMENT_ACTIVATING);
     gateway.bindLifecycleState(
@@ -45,7 +45,7 @@ public class ExclusiveGatewayTransformer implements ModelElementTransformer<Excl
     bindLifecycle(gateway);
   }
 
-  private void bindLifecycle(final ExecutableExclusiveGateway gateway) {
+  public static void bindLifecycle(final ExecutableExclusiveGateway gateway) {
     final Collection<ExecutableSequenceFlow> outgoingFlows = gateway.getOutgoing();
     final boolean hasNoOutgoingFlows = outgoingFlows.size() == 0;
     final boolean hasSingleNonConditionalOutgoingFlow =
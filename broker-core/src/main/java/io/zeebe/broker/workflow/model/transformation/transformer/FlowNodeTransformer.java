@@ -50,7 +50,7 @@ public class FlowNodeTransformer implements ModelElementTransformer<FlowNode> {
     bindLifecycle(element);
   }
 
-  private void bindLifecycle(ExecutableFlowNode element) {
+  public static void bindLifecycle(ExecutableFlowNode element) {
     element.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATING, BpmnStep.ELEMENT_ACTIVATING);
     element.bindLifecycleState(
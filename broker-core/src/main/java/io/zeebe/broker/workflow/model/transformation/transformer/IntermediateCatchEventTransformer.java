@@ -50,7 +50,7 @@ public class IntermediateCatchEventTransformer
     }
   }
 
-  private boolean isAttachedToEventBasedGateway(ExecutableCatchEventElement element) {
+  public static boolean isAttachedToEventBasedGateway(ExecutableCatchEventElement element) {
     final List<ExecutableSequenceFlow> incoming = element.getIncoming();
     if (!incoming.isEmpty()) {
       final ExecutableFlowNode source = incoming.get(0).getSource();
@@ -60,7 +60,7 @@ public class IntermediateCatchEventTransformer
     return false;
   }
 
-  private void bindLifecycle(ExecutableCatchEventElement executableElement) {
+  public static void bindLifecycle(ExecutableCatchEventElement executableElement) {
     executableElement.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATING,
         BpmnStep.INTERMEDIATE_CATCH_EVENT_ELEMENT_ACTIVATING);
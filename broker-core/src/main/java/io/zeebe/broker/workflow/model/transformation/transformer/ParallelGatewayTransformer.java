@@ -38,6 +38,10 @@ public class ParallelGatewayTransformer implements ModelElementTransformer<Paral
     final ExecutableFlowNode gateway =
         workflow.getElementById(element.getId(), ExecutableFlowNode.class);
 
+    bindLifecycle(gateway);
+  }
+
+  public static void bindLifecycle(final ExecutableFlowNode gateway) {
     gateway.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_COMPLETED, BpmnStep.FLOWOUT_ELEMENT_COMPLETED);
   }
@@ -42,6 +42,10 @@ public class ProcessTransformer implements ModelElementTransformer<Process> {
     context.addWorkflow(workflow);
     context.setCurrentWorkflow(workflow);
 
+    bindLifecycle(workflow);
+  }
+
+  public static void bindLifecycle(final ExecutableWorkflow workflow) {
     workflow.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATING, BpmnStep.ELEMENT_ACTIVATING);
     workflow.bindLifecycleState(
@@ -48,7 +48,7 @@ public class ReceiveTaskTransformer implements ModelElementTransformer<ReceiveTa
     bindLifecycle(executableElement);
   }
 
-  private void bindLifecycle(final ExecutableReceiveTask executableElement) {
+  public static void bindLifecycle(final ExecutableReceiveTask executableElement) {
     executableElement.bindLifecycleState(
         WorkflowInstanceIntent.EVENT_OCCURRED, BpmnStep.RECEIVE_TASK_EVENT_OCCURRED);
   }
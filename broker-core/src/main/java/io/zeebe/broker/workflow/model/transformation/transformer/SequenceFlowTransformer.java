@@ -47,7 +47,7 @@ public class SequenceFlowTransformer implements ModelElementTransformer<Sequence
     bindLifecycle(sequenceFlow);
   }
 
-  private void bindLifecycle(final ExecutableSequenceFlow sequenceFlow) {
+  public static void bindLifecycle(final ExecutableSequenceFlow sequenceFlow) {
     final ExecutableFlowNode target = sequenceFlow.getTarget();
     if (target.getElementType() == BpmnElementType.PARALLEL_GATEWAY) {
       sequenceFlow.bindLifecycleState(
@@ -63,7 +63,7 @@ public class ServiceTaskTransformer implements ModelElementTransformer<ServiceTa
     bindLifecycle(serviceTask);
   }
 
-  private void bindLifecycle(final ExecutableServiceTask serviceTask) {
+  public static void bindLifecycle(final ExecutableServiceTask serviceTask) {
     serviceTask.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATED, BpmnStep.SERVICE_TASK_ELEMENT_ACTIVATED);
     serviceTask.bindLifecycleState(
@@ -54,7 +54,7 @@ public class StartEventTransformer implements ModelElementTransformer<StartEvent
     bindLifecycle(startEvent);
   }
 
-  private void bindLifecycle(final ExecutableCatchEventElement startEvent) {
+  public static void bindLifecycle(final ExecutableCatchEventElement startEvent) {
     startEvent.bindLifecycleState(
         WorkflowInstanceIntent.EVENT_OCCURRED, BpmnStep.START_EVENT_EVENT_OCCURRED);
   }
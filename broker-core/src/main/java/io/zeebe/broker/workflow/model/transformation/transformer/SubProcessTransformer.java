@@ -39,6 +39,10 @@ public class SubProcessTransformer implements ModelElementTransformer<SubProcess
     final ExecutableFlowElementContainer subprocess =
         currentWorkflow.getElementById(element.getId(), ExecutableFlowElementContainer.class);
 
+    bindLifecycle(subprocess);
+  }
+
+  public static void bindLifecycle(final ExecutableFlowElementContainer subprocess) {
     subprocess.bindLifecycleState(
         WorkflowInstanceIntent.ELEMENT_ACTIVATED, BpmnStep.CONTAINER_ELEMENT_ACTIVATED);
     subprocess.bindLifecycleState(
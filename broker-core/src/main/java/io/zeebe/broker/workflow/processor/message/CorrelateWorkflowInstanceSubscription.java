@@ -26,6 +26,8 @@ import io.zeebe.broker.logstreams.processor.TypedResponseWriter;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
 import io.zeebe.broker.logstreams.processor.TypedStreamWriter;
 import io.zeebe.broker.logstreams.state.ZeebeState;
+import io.zeebe.broker.subscription.command.SubscriptionCommandMetrics;
+import io.zeebe.broker.subscription.command.SubscriptionCommandResendPolicy;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
 import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRecord;
 import io.zeebe.broker.subscription.message.state.WorkflowInstanceSubscriptionState;
@@ -33,6 +35,7 @@ import io.zeebe.broker.workflow.state.ElementInstance;
 import io.zeebe.broker.workflow.state.WorkflowInstanceSubscription;
 import io.zeebe.broker.workflow.state.WorkflowState;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.intent.WorkflowInstanceIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceSubscriptionIntent;
@@ -44,8 +47,9 @@ import java.util.function.Consumer;
 public final class CorrelateWorkflowInstanceSubscription
     implements TypedRecordProcessor<WorkflowInstanceSubscriptionRecord> {
 
-  private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(10);
-  private static final Duration SUBSCRIPTION_CHECK_INTERVAL = Duration.ofSeconds(30);
+  private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(2);
+  private static final Duration SUBSCRIPTION_MAX_TIMEOUT = Duration.ofSeconds(32);
+  private static final Duration SUBSCRIPTION_CHECK_INTERVAL = Duration.ofSeconds(1);
   private static final String NO_EVENT_OCCURRED_MESSAGE =
       "Expected to correlate a workflow instance subscription with element key '%d' and message name '%s', "
           + "but the subscription is not active anymore";
@@ -63,6 +67,7 @@ public final class CorrelateWorkflowInstanceSubscription
   private final KeyGenerator keyGenerator;
 
   private WorkflowInstanceSubscriptionRecord subscriptionRecord;
+  private SubscriptionCommandMetrics subscriptionCommandMetrics;
 
   public CorrelateWorkflowInstanceSubscription(
       final TopologyManager topologyManager,
@@ -83,14 +88,33 @@ public final class CorrelateWorkflowInstanceSubscription
 
     subscriptionCommandSender.init(topologyManager, actor, logStream);
 
+    final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
+    subscriptionCommandMetrics =
+        new SubscriptionCommandMetrics(
+            context.getActorScheduler().getMetricsManager(),
+            logStream.getPartitionId(),
+            "workflow-instance");
+
+    final SubscriptionCommandResendPolicy resendPolicy =
+        new SubscriptionCommandResendPolicy(
+            SUBSCRIPTION_TIMEOUT, SUBSCRIPTION_MAX_TIMEOUT, subscriptionCommandMetrics);
+    subscriptionState.setAcknowledgementListener(resendPolicy);
+
     final PendingWorkflowInstanceSubscriptionChecker pendingSubscriptionChecker =
         new PendingWorkflowInstanceSubscriptionChecker(
-            subscriptionCommandSender, subscriptionState, SUBSCRIPTION_TIMEOUT.toMillis());
+            subscriptionCommandSender, subscriptionState, resendPolicy);
     actor.runAtFixedRate(SUBSCRIPTION_CHECK_INTERVAL, pendingSubscriptionChecker);
   }
 
   @Override
-  public void onClose() {}
+  public void onClose() {
+    subscriptionState.setAcknowledgementListener((partitionId, commandSentTime) -> {});
+    subscriptionCommandSender.close();
+
+    if (subscriptionCommandMetrics != null) {
+      subscriptionCommandMetrics.close();
+    }
+  }
 
   @Override
   public void processRecord(
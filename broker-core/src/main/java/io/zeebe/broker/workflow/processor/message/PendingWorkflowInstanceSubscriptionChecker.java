@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.workflow.processor.message;
 
+import io.zeebe.broker.subscription.command.SubscriptionCommandResendPolicy;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
 import io.zeebe.broker.subscription.message.state.WorkflowInstanceSubscriptionState;
 import io.zeebe.broker.workflow.state.WorkflowInstanceSubscription;
@@ -27,22 +28,43 @@ public class PendingWorkflowInstanceSubscriptionChecker implements Runnable {
   private final SubscriptionCommandSender commandSender;
   private final WorkflowInstanceSubscriptionState subscriptionState;
 
-  private final long subscriptionTimeout;
+  private final SubscriptionCommandResendPolicy resendPolicy;
+
+  private long now;
+  private int visitedSubscriptions;
 
   public PendingWorkflowInstanceSubscriptionChecker(
       SubscriptionCommandSender commandSender,
       WorkflowInstanceSubscriptionState subscriptionState,
-      long subscriptionTimeout) {
+      SubscriptionCommandResendPolicy resendPolicy) {
     this.commandSender = commandSender;
     this.subscriptionState = subscriptionState;
-    this.subscriptionTimeout = subscriptionTimeout;
+    this.resendPolicy = resendPolicy;
   }
 
   @Override
   public void run() {
+    now = ActorClock.currentTimeMillis();
+    visitedSubscriptions = 0;
 
+    subscriptionState.compactSentTimes();
     subscriptionState.visitSubscriptionBefore(
-        ActorClock.currentTimeMillis() - subscriptionTimeout, this::sendCommand);
+        now - resendPolicy.getMinTimeout(), this::resendCommand);
+
+    resendPolicy.onCheckCompleted(now, subscriptionState.getPendingSubscriptionCount());
+  }
+
+  private boolean resendCommand(WorkflowInstanceSubscription subscription) {
+    visitedSubscriptions += 1;
+
+    final int subscriptionPartitionId = subscription.getSubscriptionPartitionId();
+
+    if (resendPolicy.shouldResend(subscriptionPartitionId, subscription.getCommandSentTime(), now)
+        && sendCommand(subscription)) {
+      resendPolicy.onResent(subscriptionPartitionId);
+    }
+
+    return visitedSubscriptions < SubscriptionCommandResendPolicy.MAX_VISITED_SUBSCRIPTIONS;
   }
 
   private boolean sendCommand(WorkflowInstanceSubscription subscription) {
@@ -56,7 +78,7 @@ public class PendingWorkflowInstanceSubscriptionChecker implements Runnable {
     }
 
     if (success) {
-      subscriptionState.updateSentTimeInTransaction(subscription, ActorClock.currentTimeMillis());
+      subscriptionState.updateSentTimeInTransaction(subscription, now);
     }
 
     return success;
@@ -17,12 +17,17 @@
  */
 package io.zeebe.broker.workflow.processor.timer;
 
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.FLUSH_RETRY_DELAY;
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_LENGTH;
+import static io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.MAX_BATCH_SIZE;
+
 import io.zeebe.broker.logstreams.processor.StreamProcessorLifecycleAware;
-import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
+import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
-import io.zeebe.broker.logstreams.processor.TypedStreamWriterImpl;
 import io.zeebe.broker.workflow.state.TimerInstance;
+import io.zeebe.broker.workflow.state.TimerInstanceState;
 import io.zeebe.broker.workflow.state.WorkflowState;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
 import io.zeebe.protocol.intent.TimerIntent;
 import io.zeebe.util.sched.ActorControl;
@@ -30,19 +35,39 @@ import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
 
+/**
+ * Writes the trigger commands of the timers when their due date is reached. The commands of one
+ * check are written in batches with a single append per batch, and the processing can continue
+ * between the batches.
+ */
 public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
 
-  private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
+  // the timers may be triggered later by this resolution, which allows to coalesce the actor timers
+  private static final Duration TIMER_RESOLUTION = Duration.ofMillis(100);
 
   private final TimerRecord timerRecord = new TimerRecord();
 
   private final WorkflowState workflowState;
   private ActorControl actor;
-  private TypedStreamWriterImpl streamWriter;
+  private TypedCommandWriter commandWriter;
+  private TimerMetrics metrics;
 
   private ScheduledTimer scheduledTimer;
   private long nextDueDate = -1L;
 
+  // the timers are triggered in batches - the triggered timers are not removed from the state
+  // until the trigger commands are processed, so they are skipped by the following batches
+  private boolean isTriggering;
+  private boolean isRescanRequired;
+  private final TimerPosition lastTriggeredTimer = new TimerPosition();
+  private final TimerPosition lastBatchTimer = new TimerPosition();
+
+  private int batchSize;
+  private int batchLength;
+  private long batchMaxLag;
+  private boolean isBatchFull;
+  private long now;
+
   public DueDateTimerChecker(final WorkflowState workflowState) {
     this.workflowState = workflowState;
   }
@@ -55,40 +80,91 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
     // executed then the runnable is canceled and re-scheduled with the new duration.
     // - Otherwise, we don't need to cancel the runnable. It will be rescheduled when it is
     // executed.
+    // - While the timers are triggered in batches, the new timer is found by the next batch or
+    // by the rescheduling. Only if it is ordered before the already triggered timers then the
+    // timers must be checked again.
+
+    if (isTriggering) {
+      if (lastTriggeredTimer.isAfter(timer)) {
+        isRescanRequired = true;
+      }
+      return;
+    }
 
     final Duration duration =
         Duration.ofMillis(timer.getDueDate() - ActorClock.currentTimeMillis());
 
     if (scheduledTimer == null) {
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+      scheduledTimer = actor.runDelayed(duration, TIMER_RESOLUTION, this::triggerTimers);
       nextDueDate = timer.getDueDate();
 
-    } else if (nextDueDate - timer.getDueDate() > TIMER_RESOLUTION) {
+    } else if (nextDueDate - timer.getDueDate() > TIMER_RESOLUTION.toMillis()) {
       scheduledTimer.cancel();
 
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+      scheduledTimer = actor.runDelayed(duration, TIMER_RESOLUTION, this::triggerTimers);
       nextDueDate = timer.getDueDate();
     }
   }
 
-  private void triggerTimers() {
-    nextDueDate =
-        workflowState
-            .getTimerState()
-            .findTimersWithDueDateBefore(ActorClock.currentTimeMillis(), this::triggerTimer);
+  void triggerTimers() {
+    scheduledTimer = null;
+    isTriggering = true;
+
+    // there is no transaction in progress between the processing of two events
+    workflowState.getTimerState().compactDueDates();
+
+    now = ActorClock.currentTimeMillis();
+    nextDueDate = findDueTimers();
 
-    // reschedule the runnable if there are timers left
+    if (!flushBatch()) {
+      // the log write buffer is full - try again later
+      scheduledTimer = actor.runDelayed(FLUSH_RETRY_DELAY, this::triggerTimers);
 
-    if (nextDueDate > 0) {
-      final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+    } else if (isBatchFull) {
+      // write the next batch after the pending events are processed
+      isBatchFull = false;
+      actor.submit(this::triggerTimers);
+
+    } else if (isRescanRequired) {
+      // a new timer is due which is ordered before the already triggered timers
+      isRescanRequired = false;
+      lastTriggeredTimer.reset();
+      actor.submit(this::triggerTimers);
 
     } else {
-      scheduledTimer = null;
+      isTriggering = false;
+      lastTriggeredTimer.reset();
+
+      // reschedule the runnable if there are timers left
+      if (nextDueDate > 0) {
+        final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
+        scheduledTimer = actor.runDelayed(duration, TIMER_RESOLUTION, this::triggerTimers);
+      }
+    }
+  }
+
+  private long findDueTimers() {
+    final TimerInstanceState timerState = workflowState.getTimerState();
+
+    if (lastTriggeredTimer.isSet()) {
+      // continue after the timers of the previous batches, instead of visiting them again
+      return timerState.findTimersWithDueDateBefore(
+          now,
+          lastTriggeredTimer.dueDate,
+          lastTriggeredTimer.elementInstanceKey,
+          lastTriggeredTimer.timerKey,
+          this::triggerTimer);
+    } else {
+      return timerState.findTimersWithDueDateBefore(now, this::triggerTimer);
     }
   }
 
   private boolean triggerTimer(TimerInstance timer) {
+    if (!lastTriggeredTimer.isBefore(timer)) {
+      // the timer is already triggered by a previous batch
+      return true;
+    }
+
     timerRecord.reset();
     timerRecord
         .setElementInstanceKey(timer.getElementInstanceKey())
@@ -98,22 +174,127 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
         .setRepetitions(timer.getRepetitions())
         .setWorkflowKey(timer.getWorkflowKey());
 
-    streamWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
+    final int length = timerRecord.getLength();
+    if (batchSize > 0 && (batchSize >= MAX_BATCH_SIZE || batchLength + length > MAX_BATCH_LENGTH)) {
+      isBatchFull = true;
+      return false;
+    }
 
-    return streamWriter.flush() > 0;
+    commandWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
+
+    batchSize += 1;
+    batchLength += length;
+    batchMaxLag = Math.max(batchMaxLag, now - timer.getDueDate());
+    lastBatchTimer.set(timer);
+
+    return true;
+  }
+
+  /** @return false, if the batch could not be written */
+  private boolean flushBatch() {
+    if (batchSize == 0) {
+      return true;
+    }
+
+    final boolean flushed = commandWriter.flush() >= 0;
+    if (flushed) {
+      lastTriggeredTimer.set(lastBatchTimer);
+      metrics.recordTriggeredTimers(batchSize, batchMaxLag);
+
+    } else {
+      commandWriter.reset();
+      isBatchFull = false;
+    }
+
+    batchSize = 0;
+    batchLength = 0;
+    batchMaxLag = 0;
+
+    return flushed;
   }
 
   @Override
   public void onOpen(final TypedStreamProcessor streamProcessor) {
     this.actor = streamProcessor.getActor();
 
-    final TypedStreamEnvironment env = streamProcessor.getEnvironment();
-    streamWriter = new TypedStreamWriterImpl(env.getStream(), env.getEventRegistry());
+    commandWriter = streamProcessor.getEnvironment().buildCommandWriter();
+
+    final StreamProcessorContext context = streamProcessor.getStreamProcessorContext();
+    metrics =
+        new TimerMetrics(
+            context.getActorScheduler().getMetricsManager(),
+            context.getLogStream().getPartitionId());
   }
 
   @Override
   public void onRecovered(final TypedStreamProcessor streamProcessor) {
     // check if timers are due after restart
+    cancelScheduledTimer();
     triggerTimers();
   }
+
+  @Override
+  public void onClose() {
+    cancelScheduledTimer();
+
+    if (metrics != null) {
+      metrics.close();
+      metrics = null;
+    }
+  }
+
+  private void cancelScheduledTimer() {
+    if (scheduledTimer != null) {
+      scheduledTimer.cancel();
+      scheduledTimer = null;
+    }
+  }
+
+  /** The position of a timer in the order of the due date column family. */
+  private static final class TimerPosition {
+    private long dueDate = -1L;
+    private long elementInstanceKey = -1L;
+    private long timerKey = -1L;
+
+    void set(final TimerInstance timer) {
+      dueDate = timer.getDueDate();
+      elementInstanceKey = timer.getElementInstanceKey();
+      timerKey = timer.getKey();
+    }
+
+    void set(final TimerPosition other) {
+      dueDate = other.dueDate;
+      elementInstanceKey = other.elementInstanceKey;
+      timerKey = other.timerKey;
+    }
+
+    void reset() {
+      dueDate = -1L;
+      elementInstanceKey = -1L;
+      timerKey = -1L;
+    }
+
+    boolean isSet() {
+      return dueDate >= 0;
+    }
+
+    boolean isBefore(final TimerInstance timer) {
+      return compareTo(timer) < 0;
+    }
+
+    boolean isAfter(final TimerInstance timer) {
+      return compareTo(timer) > 0;
+    }
+
+    private int compareTo(final TimerInstance timer) {
+      int result = Long.compare(dueDate, timer.getDueDate());
+      if (result == 0) {
+        result = Long.compare(elementInstanceKey, timer.getElementInstanceKey());
+      }
+      if (result == 0) {
+        result = Long.compare(timerKey, timer.getKey());
+      }
+      return result;
+    }
+  }
 }
@@ -0,0 +1,59 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.processor.timer;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class TimerMetrics implements AutoCloseable {
+  private final Metric triggeredTimers;
+  private final Metric triggerLag;
+
+  public TimerMetrics(final MetricsManager metricsManager, final int partitionId) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    triggeredTimers =
+        metricsManager
+            .newMetric("timer_triggered_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .create();
+
+    triggerLag =
+        metricsManager
+            .newMetric("timer_trigger_lag_millis")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+  }
+
+  /**
+   * @param count the count of timers which trigger commands were written
+   * @param lag the maximum time between the due date of a timer and writing its trigger command
+   */
+  public void recordTriggeredTimers(final int count, final long lag) {
+    triggeredTimers.getAndAddOrdered(count);
+    triggerLag.setOrdered(lag);
+  }
+
+  @Override
+  public void close() {
+    triggeredTimers.close();
+    triggerLag.close();
+  }
+}
@@ -20,6 +20,7 @@ package io.zeebe.broker.workflow.state;
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
@@ -35,7 +36,7 @@ public class TimerInstanceState {
   private final DbLong elementInstanceKey;
   private final DbCompositeKey<DbLong, DbLong> elementAndTimerKey;
 
-  private final ColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbLong>>, DbNil>
+  private final QueueColumnFamily<DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbLong>>, DbNil>
       dueDateColumnFamily;
   private final DbLong dueDateKey;
   private final DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbLong>> dueDateCompositeKey;
@@ -54,7 +55,7 @@ public class TimerInstanceState {
     dueDateKey = new DbLong();
     dueDateCompositeKey = new DbCompositeKey<>(dueDateKey, elementAndTimerKey);
     dueDateColumnFamily =
-        zeebeDb.createColumnFamily(
+        zeebeDb.createQueueColumnFamily(
             ZbColumnFamilies.TIMER_DUE_DATES, dbContext, dueDateCompositeKey, DbNil.INSTANCE);
   }
 
@@ -71,26 +72,60 @@ public class TimerInstanceState {
   public long findTimersWithDueDateBefore(final long timestamp, TimerVisitor consumer) {
     nextDueDate = -1L;
 
-    dueDateColumnFamily.whileTrue(
-        (key, nil) -> {
-          final DbLong dueDate = key.getFirst();
-
-          boolean consumed = false;
-          if (dueDate.getValue() <= timestamp) {
-            final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
-            final TimerInstance timerInstance = timerInstanceColumnFamily.get(elementAndTimerKey);
-            consumed = consumer.visit(timerInstance);
-          }
-
-          if (!consumed) {
-            nextDueDate = dueDate.getValue();
-          }
-          return consumed;
-        });
+    dueDateColumnFamily.whileTrue((key, nil) -> visitDueDate(key, timestamp, consumer));
 
     return nextDueDate;
   }
 
+  /**
+   * Like {@link #findTimersWithDueDateBefore(long, TimerVisitor)}, but starts at the given timer
+   * instead of the first one, to continue after the timers which were visited before.
+   */
+  public long findTimersWithDueDateBefore(
+      final long timestamp,
+      final long startDueDate,
+      final long startElementInstanceKey,
+      final long startTimerKey,
+      TimerVisitor consumer) {
+    nextDueDate = -1L;
+
+    dueDateKey.wrapLong(startDueDate);
+    elementInstanceKey.wrapLong(startElementInstanceKey);
+    timerKey.wrapLong(startTimerKey);
+
+    dueDateColumnFamily.whileTrueFrom(
+        dueDateCompositeKey, (key, nil) -> visitDueDate(key, timestamp, consumer));
+
+    return nextDueDate;
+  }
+
+  private boolean visitDueDate(
+      final DbCompositeKey<DbLong, DbCompositeKey<DbLong, DbLong>> key,
+      final long timestamp,
+      final TimerVisitor consumer) {
+    final DbLong dueDate = key.getFirst();
+
+    boolean consumed = false;
+    if (dueDate.getValue() <= timestamp) {
+      final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
+      final TimerInstance timerInstance = timerInstanceColumnFamily.get(elementAndTimerKey);
+      consumed = consumer.visit(timerInstance);
+    }
+
+    if (!consumed) {
+      nextDueDate = dueDate.getValue();
+    }
+    return consumed;
+  }
+
+  /**
+   * Removes the due dates of the triggered timers from the head of the due date column family.
+   * Should be called between the processing of two events.
+   */
+  public void compactDueDates() {
+    dueDateColumnFamily.compactHead();
+  }
+
   /**
    * NOTE: the timer instance given to the consumer is shared and will be mutated on the next
    * iteration.
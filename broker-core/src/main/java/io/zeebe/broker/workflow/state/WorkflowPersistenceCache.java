@@ -17,9 +17,12 @@
  */
 package io.zeebe.broker.workflow.state;
 
+import io.zeebe.broker.Loggers;
 import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
 import io.zeebe.broker.workflow.model.element.ExecutableWorkflow;
 import io.zeebe.broker.workflow.model.transformation.BpmnTransformer;
+import io.zeebe.broker.workflow.model.transformation.StreamingBpmnTransformer;
+import io.zeebe.broker.workflow.model.transformation.UnsupportedBpmnException;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
@@ -45,6 +48,7 @@ import org.agrona.io.DirectBufferInputStream;
 
 public class WorkflowPersistenceCache {
   private final BpmnTransformer transformer = new BpmnTransformer();
+  private final StreamingBpmnTransformer streamingTransformer = new StreamingBpmnTransformer();
 
   private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
       workflowsByProcessIdAndVersion = new HashMap<>();
@@ -139,9 +143,7 @@ public class WorkflowPersistenceCache {
     final PersistedWorkflow copiedWorkflow = new PersistedWorkflow();
     copiedWorkflow.wrap(buffer, 0, persistedWorkflow.getLength());
 
-    final BpmnModelInstance modelInstance =
-        readModelInstanceFromBuffer(copiedWorkflow.getResource());
-    final List<ExecutableWorkflow> definitions = transformer.transformDefinitions(modelInstance);
+    final List<ExecutableWorkflow> definitions = transformResource(copiedWorkflow);
 
     final ExecutableWorkflow executableWorkflow =
         definitions.stream()
@@ -157,6 +159,22 @@ public class WorkflowPersistenceCache {
     return deployedWorkflow;
   }
 
+  private List<ExecutableWorkflow> transformResource(PersistedWorkflow workflow) {
+    // the resource was validated on deployment, so it is not necessary to build and validate the
+    // complete model again - unless it contains elements which are not supported by streaming
+    try {
+      return streamingTransformer.transformDefinitions(workflow.getResource());
+    } catch (UnsupportedBpmnException e) {
+      Loggers.WORKFLOW_REPOSITORY_LOGGER.debug(
+          "Failed to stream resource '{}', fall back to read the complete model: {}",
+          BufferUtil.bufferAsString(workflow.getResourceName()),
+          e.getMessage());
+
+      final BpmnModelInstance modelInstance = readModelInstanceFromBuffer(workflow.getResource());
+      return transformer.transformDefinitions(modelInstance);
+    }
+  }
+
   private BpmnModelInstance readModelInstanceFromBuffer(DirectBuffer buffer) {
     try (DirectBufferInputStream stream = new DirectBufferInputStream(buffer)) {
       return Bpmn.readModelFromStream(stream);
@@ -35,6 +35,7 @@ import io.zeebe.broker.util.StreamProcessorControl;
 import io.zeebe.broker.util.StreamProcessorRule;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.api.spi.AsyncExporter;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.intent.DeploymentIntent;
 import java.time.Duration;
@@ -43,6 +44,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -361,8 +365,85 @@ public class ExporterStreamProcessorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  @Test
+  public void shouldUpdatePositionOnceAsyncExportsCompleted() {
+    // given
+    final AsyncTestExporter exporter = new AsyncTestExporter();
+    final ExporterDescriptor descriptor =
+        spy(new ExporterDescriptor(EXPORTER_ID_1, AsyncTestExporter.class, Collections.emptyMap()));
+    doAnswer(c -> exporter).when(descriptor).newInstance();
+
+    startStreamProcessor(Collections.singletonList(descriptor));
+
+    // when
+    writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // both records are in flight at the same time
+    waitUntil(() -> exporter.pendingExports.size() == 2);
+
+    exporter.pendingExports.get(1).complete(null);
+    exporter.pendingExports.get(0).complete(null);
+
+    // then
+    waitUntil(() -> state.getPosition(EXPORTER_ID_1) == eventPosition2);
+  }
+
+  @Test
+  public void shouldExportRecordsOnceInFlightRecordsAreExported() {
+    // given
+    final AsyncTestExporter exporter = new AsyncTestExporter(1);
+    final ExporterDescriptor descriptor =
+        spy(new ExporterDescriptor(EXPORTER_ID_1, AsyncTestExporter.class, Collections.emptyMap()));
+    doAnswer(c -> exporter).when(descriptor).newInstance();
+
+    startStreamProcessor(Collections.singletonList(descriptor));
+
+    // when
+    writeEvent();
+    writeEvent();
+    final long eventPosition3 = writeEvent();
+
+    // then the next record is exported once the record in flight is exported
+    waitUntil(() -> exporter.pendingExports.size() == 1);
+    exporter.pendingExports.get(0).complete(null);
+
+    waitUntil(() -> exporter.pendingExports.size() == 2);
+    exporter.pendingExports.get(1).complete(null);
+
+    waitUntil(() -> exporter.pendingExports.size() == 3);
+    exporter.pendingExports.get(2).complete(null);
+
+    waitUntil(() -> state.getPosition(EXPORTER_ID_1) == eventPosition3);
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
   }
+
+  public static class AsyncTestExporter implements AsyncExporter {
+    private final List<CompletableFuture<Void>> pendingExports = new CopyOnWriteArrayList<>();
+    private final int maxInFlightRecords;
+
+    public AsyncTestExporter() {
+      this(32);
+    }
+
+    public AsyncTestExporter(final int maxInFlightRecords) {
+      this.maxInFlightRecords = maxInFlightRecords;
+    }
+
+    @Override
+    public int getMaxInFlightRecords() {
+      return maxInFlightRecords;
+    }
+
+    @Override
+    public CompletionStage<Void> exportAsync(final Record record) {
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      pendingExports.add(future);
+      return future;
+    }
+  }
 }
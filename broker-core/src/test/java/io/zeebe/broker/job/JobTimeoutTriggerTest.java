@@ -18,18 +18,26 @@
 package io.zeebe.broker.job;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler;
 import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
 import io.zeebe.broker.logstreams.processor.TypedStreamWriter;
 import io.zeebe.broker.util.ZeebeStateRule;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorScheduler;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -59,6 +67,13 @@ public class JobTimeoutTriggerTest {
     when(environment.buildCommandWriter()).thenReturn(typedStreamWriter);
     when(streamProcessor.getEnvironment()).thenReturn(environment);
 
+    final StreamProcessorContext context = mock(StreamProcessorContext.class);
+    final ActorScheduler actorScheduler = mock(ActorScheduler.class);
+    when(actorScheduler.getMetricsManager()).thenReturn(new MetricsManager());
+    when(context.getActorScheduler()).thenReturn(actorScheduler);
+    when(context.getLogStream()).thenReturn(mock(LogStream.class));
+    when(streamProcessor.getStreamProcessorContext()).thenReturn(context);
+
     jobTimeoutTrigger.onRecovered(streamProcessor);
 
     jobState.activate(0, newJobRecord());
@@ -77,12 +92,13 @@ public class JobTimeoutTriggerTest {
   }
 
   @Test
-  public void shouldNotWriteAgainAfterFlushFailed() {
+  public void shouldWriteTimedOutJobsInOneBatch() {
     // given
-    when(typedStreamWriter.flush()).thenReturn(1L, -1L);
+    when(typedStreamWriter.flush()).thenReturn(1L);
 
     // when
     jobTimeoutTrigger.deactivateTimedOutJobs();
+    jobTimeoutTrigger.deactivateTimedOutJobs();
 
     // then
     final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
@@ -90,12 +106,62 @@ public class JobTimeoutTriggerTest {
     inOrder
         .verify(typedStreamWriter)
         .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
-    inOrder.verify(typedStreamWriter).flush();
     inOrder
         .verify(typedStreamWriter)
         .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(2L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldWriteBatchAgainAfterFlushFailed() {
+    // given
+    when(typedStreamWriter.flush()).thenReturn(-1L, 1L);
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder
+        .verify(typedStreamWriter, times(3))
+        .appendFollowUpCommand(anyLong(), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
     inOrder.verify(typedStreamWriter).flush();
     inOrder.verify(typedStreamWriter).reset();
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(2L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).flush();
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void shouldSplitTimedOutJobsIntoBatches() {
+    // given
+    final JobState jobState = stateRule.getZeebeState().getJobState();
+    for (int i = 3; i < DeadlineCheckScheduler.MAX_BATCH_SIZE + 3; i++) {
+      jobState.activate(i, newJobRecord());
+    }
+    when(typedStreamWriter.flush()).thenReturn(1L);
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    verify(typedStreamWriter, times(DeadlineCheckScheduler.MAX_BATCH_SIZE))
+        .appendFollowUpCommand(anyLong(), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    verify(typedStreamWriter).flush();
+    verify(someActor).submit(any(Runnable.class));
+  }
 }
@@ -46,6 +46,7 @@ import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceSubscriptionIntent;
 import io.zeebe.transport.ServerOutput;
+import io.zeebe.util.metrics.MetricsManager;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -236,7 +237,12 @@ public class BlacklistInstanceTest {
     initMocks(this);
     delegatingEventProcessor =
         new DelegatingEventProcessor(
-            0, output, logStream, typedStreamWriter, zeebeStateRule.getZeebeState());
+            0,
+            output,
+            logStream,
+            typedStreamWriter,
+            zeebeStateRule.getZeebeState(),
+            new CommandTracer(new MetricsManager(), logStream));
     workflowInstanceKey = KEY_GENERATOR.getAndIncrement();
   }
 
@@ -0,0 +1,100 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.state;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.util.sched.ActorControl;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class StateCompactionTriggerTest {
+
+  private final ZeebeState state = mock(ZeebeState.class);
+  private final ActorControl actor = mock(ActorControl.class);
+
+  private StateCompactionTrigger trigger;
+
+  @Before
+  public void setUp() {
+    final TypedStreamProcessor streamProcessor = mock(TypedStreamProcessor.class);
+    when(streamProcessor.getActor()).thenReturn(actor);
+
+    trigger = new StateCompactionTrigger(state);
+    trigger.onRecovered(streamProcessor);
+  }
+
+  @Test
+  public void shouldNotCompactWithoutDeletedRanges() {
+    // given
+    when(state.hasDeletedRanges()).thenReturn(false);
+
+    // when
+    trigger.compactDeletedRanges();
+
+    // then
+    verify(actor, never()).runBlocking(any(), any());
+  }
+
+  @Test
+  public void shouldCompactOnBlockingTask() {
+    // given
+    when(state.hasDeletedRanges()).thenReturn(true);
+
+    // when
+    trigger.compactDeletedRanges();
+
+    // then
+    final ArgumentCaptor<Runnable> compaction = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor).runBlocking(compaction.capture(), any());
+    verify(state, never()).compactDeletedRanges();
+
+    compaction.getValue().run();
+    verify(state).compactDeletedRanges();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotCompactConcurrently() {
+    // given
+    when(state.hasDeletedRanges()).thenReturn(true);
+    trigger.compactDeletedRanges();
+
+    // when
+    trigger.compactDeletedRanges();
+
+    // then
+    final ArgumentCaptor<Consumer<Throwable>> onCompacted = ArgumentCaptor.forClass(Consumer.class);
+    verify(actor, times(1)).runBlocking(any(), onCompacted.capture());
+
+    // when
+    onCompacted.getValue().accept(null);
+    trigger.compactDeletedRanges();
+
+    // then
+    verify(actor, times(2)).runBlocking(any(), any());
+  }
+}
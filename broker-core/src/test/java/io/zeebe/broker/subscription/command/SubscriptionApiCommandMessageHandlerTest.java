@@ -0,0 +1,148 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.dispatcher.ClaimedFragment;
+import io.zeebe.dispatcher.ClaimedFragmentBatch;
+import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.util.sched.ActorControl;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SubscriptionApiCommandMessageHandlerTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final int OTHER_PARTITION_ID = 2;
+  private static final int UNKNOWN_PARTITION_ID = 3;
+
+  private final Int2ObjectHashMap<Partition> leaderPartitions = new Int2ObjectHashMap<>();
+  private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
+  private Dispatcher writeBuffer;
+  private Dispatcher otherWriteBuffer;
+  private SubscriptionApiCommandMessageHandler messageHandler;
+
+  @Before
+  public void setUp() {
+    final ActorControl actor = mock(ActorControl.class);
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(actor)
+        .call(any(Runnable.class));
+
+    writeBuffer = addLeaderPartition(PARTITION_ID);
+    otherWriteBuffer = addLeaderPartition(OTHER_PARTITION_ID);
+
+    messageHandler = new SubscriptionApiCommandMessageHandler(actor, leaderPartitions);
+  }
+
+  @Test
+  public void shouldWriteCommandsOfBatchWithOneWrite() {
+    // given
+    addOpenMessageSubscription(PARTITION_ID, 1L);
+    addOpenMessageSubscription(PARTITION_ID, 2L);
+    addOpenMessageSubscription(PARTITION_ID, 3L);
+
+    // when
+    messageHandler.apply(writeBatch());
+
+    // then all commands are claimed at once
+    verify(writeBuffer).claim(any(ClaimedFragmentBatch.class), eq(3), anyInt());
+    verify(writeBuffer, never()).claim(any(ClaimedFragment.class), anyInt());
+    verify(writeBuffer, never()).claim(any(ClaimedFragment.class), anyInt(), anyInt());
+  }
+
+  @Test
+  public void shouldWriteOneBatchPerPartition() {
+    // given
+    addOpenMessageSubscription(PARTITION_ID, 1L);
+    addOpenMessageSubscription(PARTITION_ID, 2L);
+    addOpenMessageSubscription(OTHER_PARTITION_ID, 3L);
+
+    // when
+    messageHandler.apply(writeBatch());
+
+    // then
+    verify(writeBuffer).claim(any(ClaimedFragmentBatch.class), eq(2), anyInt());
+    verify(otherWriteBuffer).claim(any(ClaimedFragmentBatch.class), eq(1), anyInt());
+  }
+
+  @Test
+  public void shouldIgnoreCommandsForPartitionWithoutLeader() {
+    // given
+    addOpenMessageSubscription(UNKNOWN_PARTITION_ID, 1L);
+    addOpenMessageSubscription(PARTITION_ID, 2L);
+
+    // when
+    messageHandler.apply(writeBatch());
+
+    // then
+    verify(writeBuffer).claim(any(ClaimedFragmentBatch.class), eq(1), anyInt());
+    verify(otherWriteBuffer, never()).claim(any(ClaimedFragmentBatch.class), anyInt(), anyInt());
+  }
+
+  private Dispatcher addLeaderPartition(final int partitionId) {
+    final Dispatcher dispatcher = mock(Dispatcher.class);
+    // the write fails, the sender resends the commands
+    when(dispatcher.claim(any(ClaimedFragmentBatch.class), anyInt(), anyInt())).thenReturn(-1L);
+
+    final LogStream logStream = mock(LogStream.class);
+    when(logStream.getPartitionId()).thenReturn(partitionId);
+    when(logStream.getWriteBuffer()).thenReturn(dispatcher);
+
+    final Partition partition = mock(Partition.class);
+    when(partition.getLogStream()).thenReturn(logStream);
+    leaderPartitions.put(partitionId, partition);
+
+    return dispatcher;
+  }
+
+  private void addOpenMessageSubscription(final int partitionId, final long elementInstanceKey) {
+    final OpenMessageSubscriptionCommand command = new OpenMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(partitionId);
+    command.setWorkflowInstanceKey(1L);
+    command.setElementInstanceKey(elementInstanceKey);
+    command.getMessageName().wrap(wrapString("message"));
+    command.getCorrelationKey().wrap(wrapString("correlation-key"));
+
+    batch.addCommand(command);
+  }
+
+  private byte[] writeBatch() {
+    final byte[] bytes = new byte[batch.getLength()];
+    batch.write(new UnsafeBuffer(bytes), 0);
+    return bytes;
+  }
+}
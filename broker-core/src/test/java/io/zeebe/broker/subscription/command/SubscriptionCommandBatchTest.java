@@ -0,0 +1,90 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class SubscriptionCommandBatchTest {
+
+  private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
+  @Test
+  public void shouldWriteAndReadCommands() {
+    // given
+    final OpenMessageSubscriptionCommand openCommand = new OpenMessageSubscriptionCommand();
+    openCommand.setSubscriptionPartitionId(1);
+    openCommand.setWorkflowInstanceKey(2L);
+    openCommand.setElementInstanceKey(3L);
+    openCommand.getMessageName().wrap(wrapString("message"));
+    openCommand.getCorrelationKey().wrap(wrapString("key"));
+    batch.addCommand(openCommand);
+
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setSubscriptionPartitionId(1);
+    closeCommand.setWorkflowInstanceKey(4L);
+    closeCommand.setElementInstanceKey(5L);
+    closeCommand.setMessageName(wrapString("other"));
+    batch.addCommand(closeCommand);
+
+    // when
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[batch.getLength()]);
+    batch.write(buffer, 0);
+
+    final SubscriptionCommandBatch readBatch = new SubscriptionCommandBatch();
+    readBatch.wrap(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(readBatch.getCommandCount()).isEqualTo(2);
+    assertThat(readBatch.getLength()).isEqualTo(buffer.capacity());
+
+    final OpenMessageSubscriptionCommand readOpenCommand = new OpenMessageSubscriptionCommand();
+    final DirectBuffer firstCommand = readBatch.getCommand(0);
+    readOpenCommand.wrap(firstCommand, 0, firstCommand.capacity());
+    assertThat(readOpenCommand.getWorkflowInstanceKey()).isEqualTo(2L);
+    assertThat(readOpenCommand.getElementInstanceKey()).isEqualTo(3L);
+    assertThat(readOpenCommand.getMessageName()).isEqualTo(wrapString("message"));
+    assertThat(readOpenCommand.getCorrelationKey()).isEqualTo(wrapString("key"));
+
+    final CloseMessageSubscriptionCommand readCloseCommand = new CloseMessageSubscriptionCommand();
+    final DirectBuffer secondCommand = readBatch.getCommand(1);
+    readCloseCommand.wrap(secondCommand, 0, secondCommand.capacity());
+    assertThat(readCloseCommand.getWorkflowInstanceKey()).isEqualTo(4L);
+    assertThat(readCloseCommand.getElementInstanceKey()).isEqualTo(5L);
+    assertThat(readCloseCommand.getMessageName()).isEqualTo(wrapString("other"));
+  }
+
+  @Test
+  public void shouldResetCommands() {
+    // given
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setMessageName(wrapString("message"));
+    batch.addCommand(closeCommand);
+
+    // when
+    batch.reset();
+
+    // then
+    assertThat(batch.isEmpty()).isTrue();
+    assertThat(batch.getCommandCount()).isEqualTo(0);
+  }
+}
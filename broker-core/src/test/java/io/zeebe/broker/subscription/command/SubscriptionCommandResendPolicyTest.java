@@ -0,0 +1,144 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.metrics.MetricsManager;
+import java.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SubscriptionCommandResendPolicyTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final int OTHER_PARTITION_ID = 2;
+
+  private SubscriptionCommandMetrics metrics;
+  private SubscriptionCommandResendPolicy resendPolicy;
+
+  @Before
+  public void setUp() {
+    metrics = new SubscriptionCommandMetrics(new MetricsManager(), 0, "test");
+    resendPolicy =
+        new SubscriptionCommandResendPolicy(
+            Duration.ofMillis(1_000), Duration.ofMillis(4_000), metrics);
+  }
+
+  @After
+  public void tearDown() {
+    metrics.close();
+  }
+
+  @Test
+  public void shouldResendAfterTimeout() {
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 1_000, 1_999)).isFalse();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 1_000, 2_000)).isTrue();
+  }
+
+  @Test
+  public void shouldBackOffIfNotAcknowledged() {
+    // given
+    resendPolicy.onResent(PARTITION_ID);
+    resendPolicy.onCheckCompleted(2_000, 1);
+
+    // then the timeout is doubled and the next round is delayed by the timeout plus jitter
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 3_999)).isFalse();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 4_500)).isTrue();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 2_000, 3_999)).isFalse();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 2_000, 4_500)).isTrue();
+
+    // and the other partitions are not affected
+    assertThat(resendPolicy.shouldResend(OTHER_PARTITION_ID, 0, 2_000)).isTrue();
+  }
+
+  @Test
+  public void shouldLimitBackOffToMaxTimeout() {
+    // given
+    long now = 0;
+    for (int i = 0; i < 5; i++) {
+      resendPolicy.onResent(PARTITION_ID);
+      resendPolicy.onCheckCompleted(now, 1);
+      now += 10_000;
+    }
+
+    // then
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, now - 4_000, now)).isTrue();
+  }
+
+  @Test
+  public void shouldResetBackOffIfAcknowledged() {
+    // given
+    resendPolicy.onResent(PARTITION_ID);
+    resendPolicy.onCheckCompleted(2_000, 1);
+
+    // when
+    resendPolicy.onAcknowledged(PARTITION_ID, 2_000);
+
+    // then
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 2_000, 3_000)).isTrue();
+  }
+
+  @Test
+  public void shouldLimitInFlightResends() {
+    // given
+    for (int i = 0; i < SubscriptionCommandResendPolicy.MAX_IN_FLIGHT_RESENDS; i++) {
+      assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 2_000)).isTrue();
+      resendPolicy.onResent(PARTITION_ID);
+    }
+
+    // then
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 2_000)).isFalse();
+    assertThat(resendPolicy.shouldResend(OTHER_PARTITION_ID, 0, 2_000)).isTrue();
+  }
+
+  @Test
+  public void shouldKeepInFlightResendsForNextRound() {
+    // given
+    resendInFlightLimit(2_000);
+    resendPolicy.onCheckCompleted(2_000, 1);
+
+    // then the next round doesn't resend until the in-flight resends are considered as lost
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 4_500)).isFalse();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 5_999)).isFalse();
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 6_000)).isTrue();
+  }
+
+  @Test
+  public void shouldReleaseInFlightResendIfAcknowledged() {
+    // given
+    resendInFlightLimit(2_000);
+    resendPolicy.onCheckCompleted(2_000, 1);
+
+    // when
+    resendPolicy.onAcknowledged(PARTITION_ID, 2_000);
+
+    // then
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 3_000)).isTrue();
+    resendPolicy.onResent(PARTITION_ID);
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, 3_000)).isFalse();
+  }
+
+  private void resendInFlightLimit(final long now) {
+    for (int i = 0; i < SubscriptionCommandResendPolicy.MAX_IN_FLIGHT_RESENDS; i++) {
+      resendPolicy.onResent(PARTITION_ID);
+    }
+    assertThat(resendPolicy.shouldResend(PARTITION_ID, 0, now)).isFalse();
+  }
+}
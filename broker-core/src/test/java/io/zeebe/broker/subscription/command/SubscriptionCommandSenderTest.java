@@ -0,0 +1,184 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.core.Atomix;
+import io.zeebe.broker.clustering.base.topology.NodeInfo;
+import io.zeebe.broker.clustering.base.topology.TopologyManager;
+import io.zeebe.broker.clustering.base.topology.TopologyPartitionListener;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class SubscriptionCommandSenderTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final int RECEIVER_PARTITION_ID = 2;
+  private static final int RECEIVER_NODE_ID = 3;
+
+  @Mock private Atomix atomix;
+  @Mock private ClusterCommunicationService communicationService;
+  @Mock private TopologyManager topologyManager;
+  @Mock private ActorControl actor;
+  @Mock private ScheduledTimer lingerTimer;
+  @Mock private LogStream logStream;
+
+  private SubscriptionCommandSender sender;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    when(atomix.getCommunicationService()).thenReturn(communicationService);
+    when(logStream.getPartitionId()).thenReturn(PARTITION_ID);
+    when(actor.runDelayed(any(), any(Runnable.class))).thenReturn(lingerTimer);
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(actor)
+        .submit(any(Runnable.class));
+
+    sender = new SubscriptionCommandSender(atomix);
+    sender.init(topologyManager, actor, logStream);
+
+    final ArgumentCaptor<TopologyPartitionListener> listenerCaptor =
+        ArgumentCaptor.forClass(TopologyPartitionListener.class);
+    verify(topologyManager).addTopologyPartitionListener(listenerCaptor.capture());
+
+    final NodeInfo receiver = new NodeInfo(RECEIVER_NODE_ID, new SocketAddress("localhost", 0));
+    receiver.addLeader(RECEIVER_PARTITION_ID);
+    listenerCaptor.getValue().onPartitionUpdated(RECEIVER_PARTITION_ID, receiver);
+  }
+
+  @Test
+  public void shouldSendBatchWhenLingerTimeIsOver() {
+    // given
+    openMessageSubscription(1L);
+    openMessageSubscription(2L);
+
+    final ArgumentCaptor<Runnable> lingerTimeOver = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor)
+        .runDelayed(eq(SubscriptionCommandSender.BATCH_LINGER_TIME), lingerTimeOver.capture());
+    verify(communicationService, never()).send(any(), any(), any(MemberId.class));
+
+    // when
+    lingerTimeOver.getValue().run();
+
+    // then
+    final List<SubscriptionCommandBatch> sentBatches = getSentBatches(1);
+    assertThat(sentBatches.get(0).getCommandCount()).isEqualTo(2);
+    assertThat(getElementInstanceKey(sentBatches.get(0), 0)).isEqualTo(1L);
+    assertThat(getElementInstanceKey(sentBatches.get(0), 1)).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldSendBatchWhenMaxBatchSizeIsReached() {
+    // when
+    for (int i = 0; i < SubscriptionCommandSender.MAX_BATCH_SIZE + 1; i++) {
+      openMessageSubscription(i);
+    }
+
+    // then the full batch is sent without waiting for the linger time
+    final List<SubscriptionCommandBatch> sentBatches = getSentBatches(1);
+    assertThat(sentBatches.get(0).getCommandCount())
+        .isEqualTo(SubscriptionCommandSender.MAX_BATCH_SIZE);
+
+    // and the remaining command is sent when the linger time is over
+    final ArgumentCaptor<Runnable> lingerTimeOver = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor)
+        .runDelayed(eq(SubscriptionCommandSender.BATCH_LINGER_TIME), lingerTimeOver.capture());
+    lingerTimeOver.getValue().run();
+
+    final SubscriptionCommandBatch lastBatch = getSentBatches(2).get(1);
+    assertThat(lastBatch.getCommandCount()).isEqualTo(1);
+    assertThat(getElementInstanceKey(lastBatch, 0))
+        .isEqualTo(SubscriptionCommandSender.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldSendPendingBatchOnClose() {
+    // given
+    openMessageSubscription(1L);
+
+    // when
+    sender.close();
+
+    // then
+    assertThat(getSentBatches(1).get(0).getCommandCount()).isEqualTo(1);
+    verify(lingerTimer).cancel();
+  }
+
+  private void openMessageSubscription(final long elementInstanceKey) {
+    sender.openMessageSubscription(
+        RECEIVER_PARTITION_ID,
+        1L,
+        elementInstanceKey,
+        wrapString("message"),
+        wrapString("correlation-key"),
+        true);
+  }
+
+  private List<SubscriptionCommandBatch> getSentBatches(final int count) {
+    final ArgumentCaptor<byte[]> messageCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(communicationService, times(count))
+        .send(
+            eq("subscription"),
+            messageCaptor.capture(),
+            eq(MemberId.from(String.valueOf(RECEIVER_NODE_ID))));
+
+    return messageCaptor.getAllValues().stream()
+        .map(
+            bytes -> {
+              final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+              batch.wrap(new UnsafeBuffer(bytes), 0, bytes.length);
+              return batch;
+            })
+        .collect(Collectors.toList());
+  }
+
+  private long getElementInstanceKey(final SubscriptionCommandBatch batch, final int index) {
+    final OpenMessageSubscriptionCommand command = new OpenMessageSubscriptionCommand();
+    final DirectBuffer buffer = batch.getCommand(index);
+    command.wrap(buffer, 0, buffer.capacity());
+    return command.getElementInstanceKey();
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.subscription.message.processor;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler;
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler.CheckResult;
+import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
+import io.zeebe.broker.subscription.message.state.Message;
+import io.zeebe.broker.subscription.message.state.MessageState;
+import io.zeebe.broker.util.ZeebeStateRule;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.intent.MessageIntent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+public class MessageTimeToLiveCheckerTest {
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  @Mock private TypedCommandWriter commandWriter;
+
+  private MessageState messageState;
+  private MessageTimeToLiveChecker timeToLiveChecker;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    messageState = stateRule.getZeebeState().getMessageState();
+    timeToLiveChecker = new MessageTimeToLiveChecker(commandWriter, messageState);
+
+    putMessage(1, 1_000);
+    putMessage(2, 2_000);
+    putMessage(3, 3_000);
+  }
+
+  private void putMessage(final long key, final long deadline) {
+    final Message message =
+        new Message(
+            key,
+            wrapString("name"),
+            wrapString("correlationKey"),
+            wrapString("{}"),
+            wrapString("id-" + key),
+            deadline,
+            deadline);
+    messageState.put(message);
+  }
+
+  @Test
+  public void shouldWriteExpiredMessagesInOneBatch() {
+    // given
+    when(commandWriter.flush()).thenReturn(1L);
+
+    // when
+    final CheckResult result = timeToLiveChecker.deleteExpiredMessages(2_000);
+
+    // then
+    assertThat(result).isEqualTo(CheckResult.DONE);
+    assertThat(timeToLiveChecker.getNextDeadline()).isEqualTo(3_000);
+
+    final InOrder inOrder = Mockito.inOrder(commandWriter);
+    inOrder
+        .verify(commandWriter)
+        .appendFollowUpCommand(eq(1L), eq(MessageIntent.DELETE), any(MessageRecord.class));
+    inOrder
+        .verify(commandWriter)
+        .appendFollowUpCommand(eq(2L), eq(MessageIntent.DELETE), any(MessageRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldWriteBatchAgainAfterFlushFailed() {
+    // given
+    when(commandWriter.flush()).thenReturn(-1L, 1L);
+
+    // when
+    final CheckResult firstResult = timeToLiveChecker.deleteExpiredMessages(3_000);
+    final CheckResult secondResult = timeToLiveChecker.deleteExpiredMessages(3_000);
+
+    // then
+    assertThat(firstResult).isEqualTo(CheckResult.FLUSH_FAILED);
+    assertThat(secondResult).isEqualTo(CheckResult.DONE);
+    assertThat(timeToLiveChecker.getNextDeadline()).isEqualTo(Long.MAX_VALUE);
+
+    final InOrder inOrder = Mockito.inOrder(commandWriter);
+    inOrder
+        .verify(commandWriter, times(3))
+        .appendFollowUpCommand(anyLong(), eq(MessageIntent.DELETE), any(MessageRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verify(commandWriter).reset();
+    inOrder
+        .verify(commandWriter, times(3))
+        .appendFollowUpCommand(anyLong(), eq(MessageIntent.DELETE), any(MessageRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldSkipMessagesOfPreviousBatches() {
+    // given
+    for (int i = 4; i < DeadlineCheckScheduler.MAX_BATCH_SIZE + 4; i++) {
+      putMessage(i, 4_000);
+    }
+    when(commandWriter.flush()).thenReturn(1L);
+
+    // when
+    final CheckResult firstResult = timeToLiveChecker.deleteExpiredMessages(5_000);
+    final CheckResult secondResult = timeToLiveChecker.deleteExpiredMessages(5_000);
+
+    // then
+    assertThat(firstResult).isEqualTo(CheckResult.BATCH_FULL);
+    assertThat(secondResult).isEqualTo(CheckResult.DONE);
+
+    verify(commandWriter, times(DeadlineCheckScheduler.MAX_BATCH_SIZE + 3))
+        .appendFollowUpCommand(anyLong(), eq(MessageIntent.DELETE), any(MessageRecord.class));
+    verify(commandWriter, times(2)).flush();
+  }
+}
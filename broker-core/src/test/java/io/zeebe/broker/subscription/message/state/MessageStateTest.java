@@ -19,9 +19,16 @@ package io.zeebe.broker.subscription.message.state;
 
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
 import io.zeebe.broker.logstreams.state.ZeebeState;
 import io.zeebe.broker.util.ZeebeStateRule;
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.util.ArrayList;
 import java.util.List;
@@ -135,6 +142,102 @@ public class MessageStateTest {
     assertThat(keys).hasSize(2).containsExactly(1L, 2L);
   }
 
+  @Test
+  public void shouldVisitMessagesAfterFilterIsRebuilt() {
+    // given
+    final Message message = createMessage(1L, "name", "correlationKey");
+    messageState.put(message);
+    messageState.rebuildCorrelationKeyFilter();
+
+    final Message message2 = createMessage(2L, "name", "correlationKey");
+    messageState.put(message2);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    messageState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+
+    // then
+    assertThat(keys).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldNotVisitRemovedMessagesAfterFilterIsRebuilt() {
+    // given
+    final CorrelationKeyFilterMetrics metrics = mock(CorrelationKeyFilterMetrics.class);
+    messageState.setCorrelationKeyFilterMetrics(metrics);
+    messageState.rebuildCorrelationKeyFilter();
+
+    final Message message = createMessage(1L, "name", "correlationKey");
+    messageState.put(message);
+    messageState.remove(message.getKey());
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    messageState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+
+    // then the lookup is skipped by the filter
+    assertThat(keys).isEmpty();
+    verify(metrics).recordLookup(false);
+    verify(metrics, never()).recordLookup(true);
+  }
+
+  @Test
+  public void shouldVisitRecoveredMessagesAfterFilterIsRebuilt() {
+    // given
+    final ZeebeDb<ZbColumnFamilies> db = stateRule.createNewDb();
+    new ZeebeState(db, db.createContext())
+        .getMessageState()
+        .put(createMessage(1L, "name", "correlationKey"));
+
+    final MessageState recoveredState = new ZeebeState(db, db.createContext()).getMessageState();
+    final CorrelationKeyFilterMetrics metrics = mock(CorrelationKeyFilterMetrics.class);
+    recoveredState.setCorrelationKeyFilterMetrics(metrics);
+
+    // when
+    recoveredState.rebuildCorrelationKeyFilter();
+
+    final List<Long> keys = new ArrayList<>();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("otherCorrelationKey"), m -> keys.add(m.getKey()));
+
+    // then the filter contains the stored pair only
+    assertThat(keys).containsExactly(1L);
+    verify(metrics).recordLookup(true);
+    verify(metrics).recordLookup(false);
+    verify(metrics, never()).recordFalsePositive();
+  }
+
+  @Test
+  public void shouldVisitMessagesAfterTransactionIsRolledBack() throws Exception {
+    // given
+    final ZeebeDb<ZbColumnFamilies> db = stateRule.createNewDb();
+    final DbContext dbContext = db.createContext();
+    final ZeebeState state = new ZeebeState(db, dbContext);
+    final MessageState messageState = state.getMessageState();
+    messageState.rebuildCorrelationKeyFilter();
+
+    final Message message = createMessage(1L, "name", "correlationKey");
+    messageState.put(message);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> messageState.remove(message.getKey()));
+    transaction.rollback();
+
+    // when
+    state.onTransactionRolledBack();
+
+    // then the filter doesn't keep the rolled back remove
+    final List<Long> keys = new ArrayList<>();
+    messageState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+
+    assertThat(keys).containsExactly(1L);
+  }
+
   @Test
   public void shouldVisitMessagesUntilStop() {
     // given
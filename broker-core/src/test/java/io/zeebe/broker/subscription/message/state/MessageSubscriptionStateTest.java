@@ -338,6 +338,32 @@ public class MessageSubscriptionStateTest {
     assertThat(keys).hasSize(1).contains(1L);
   }
 
+  @Test
+  public void shouldCountPendingSubscriptions() {
+    // given
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(0);
+
+    final MessageSubscription subscription1 = subscriptionWithElementInstanceKey(1L);
+    state.put(subscription1);
+    state.updateSentTime(subscription1, 1_000);
+    final MessageSubscription subscription2 = subscriptionWithElementInstanceKey(2L);
+    state.put(subscription2);
+    state.updateSentTime(subscription2, 1_000);
+    final MessageSubscription subscription3 = subscriptionWithElementInstanceKey(3L);
+    state.put(subscription3);
+
+    // when
+    state.resetSentTime(subscription1);
+    state.updateSentTime(subscription2, 2_000);
+    state.remove(subscription3);
+
+    // then
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(1);
+
+    state.resetPendingSubscriptionCount();
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(1);
+  }
+
   private MessageSubscription subscriptionWithElementInstanceKey(long elementInstanceKey) {
     return subscription("messageName", "correlationKey", elementInstanceKey);
   }
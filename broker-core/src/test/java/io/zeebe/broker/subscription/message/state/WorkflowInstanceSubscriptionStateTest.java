@@ -281,6 +281,30 @@ public class WorkflowInstanceSubscriptionStateTest {
             new Tuple<>(1L, wrapString("message1")), new Tuple<>(1L, wrapString("message2")));
   }
 
+  @Test
+  public void shouldCountPendingSubscriptions() {
+    // given
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(0);
+
+    final WorkflowInstanceSubscription subscription1 = subscriptionWithElementInstanceKey(1L);
+    state.put(subscription1);
+    final WorkflowInstanceSubscription subscription2 = subscriptionWithElementInstanceKey(2L);
+    state.put(subscription2);
+    final WorkflowInstanceSubscription subscription3 = subscriptionWithElementInstanceKey(3L);
+    state.put(subscription3);
+
+    // when
+    state.updateToOpenedState(subscription1, 1);
+    state.updateSentTime(subscription2, 2_000);
+    state.remove(subscription3);
+
+    // then
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(1);
+
+    state.resetPendingSubscriptionCount();
+    assertThat(state.getPendingSubscriptionCount()).isEqualTo(1);
+  }
+
   private WorkflowInstanceSubscription subscriptionWithElementInstanceKey(long elementInstanceKey) {
     return subscription("handler", "messageName", "correlationKey", elementInstanceKey);
   }
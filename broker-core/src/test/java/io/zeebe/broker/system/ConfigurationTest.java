@@ -43,15 +43,24 @@ import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.EmbeddedGatewayCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
+import io.zeebe.broker.system.configuration.IdleStrategyCfg;
 import io.zeebe.broker.system.configuration.MetricsCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
 import io.zeebe.broker.system.configuration.SocketBindingAtomixCfg;
 import io.zeebe.broker.system.configuration.SocketBindingClientApiCfg;
+import io.zeebe.broker.system.configuration.ThreadsCfg;
 import io.zeebe.util.Environment;
 import io.zeebe.util.TomlConfigurationReader;
+import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.idle.ActorAdaptiveIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBackoffIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBusySpinIdleStrategy;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -454,6 +463,122 @@ public class ConfigurationTest {
     assertThat(metricsCfg.isEnableHttpServer()).isTrue();
   }
 
+  @Test
+  public void shouldNotPinPartitionsByDefault() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("default").getThreads();
+
+    // then
+    assertThat(threadsCfg.isPartitionAffinity()).isFalse();
+    assertThat(threadsCfg.getPartitionThreadAffinity(1))
+        .isEqualTo(SchedulingHints.NO_THREAD_AFFINITY);
+  }
+
+  @Test
+  public void shouldPlacePartitionsOnConfiguredThreads() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("partition-affinity").getThreads();
+
+    // then
+    assertThat(threadsCfg.isPartitionAffinity()).isTrue();
+    assertThat(threadsCfg.getPartitionThreadAffinity(0)).isEqualTo(1);
+    assertThat(threadsCfg.getPartitionThreadAffinity(1)).isEqualTo(3);
+    assertThat(threadsCfg.getPartitionThreadAffinity(2)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPlacePartitionsOnAllCpuThreads() {
+    // given
+    final ThreadsCfg threadsCfg = readConfig("partition-affinity").getThreads();
+
+    // when
+    threadsCfg.setPartitionThreads(new ArrayList<>());
+
+    // then
+    assertThat(threadsCfg.getPartitionThreadAffinity(0)).isEqualTo(0);
+    assertThat(threadsCfg.getPartitionThreadAffinity(3)).isEqualTo(3);
+    assertThat(threadsCfg.getPartitionThreadAffinity(5)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldUseBackoffIdleStrategyByDefault() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("default").getThreads();
+
+    // then
+    assertThat(threadsCfg.getCpuIdleStrategy().getStrategy()).isEqualTo(IdleStrategyCfg.BACKOFF);
+    assertThat(threadsCfg.getIoIdleStrategy().getStrategy()).isEqualTo(IdleStrategyCfg.BACKOFF);
+    assertThat(threadsCfg.getCpuIdleStrategy().createIdleStrategySupplier().get())
+        .isInstanceOf(ActorBackoffIdleStrategy.class);
+  }
+
+  @Test
+  public void shouldReadIdleStrategyPerThreadGroup() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("idle-strategy").getThreads();
+
+    // then
+    final IdleStrategyCfg cpuIdleStrategy = threadsCfg.getCpuIdleStrategy();
+    assertThat(cpuIdleStrategy.getStrategy()).isEqualTo(IdleStrategyCfg.ADAPTIVE);
+    assertThat(cpuIdleStrategy.getMaxSpins()).isEqualTo(10);
+    assertThat(cpuIdleStrategy.getMaxYields()).isEqualTo(20);
+    assertThat(cpuIdleStrategy.getMinParkPeriod()).isEqualTo("10us");
+    assertThat(cpuIdleStrategy.getMaxParkPeriod()).isEqualTo("2ms");
+    assertThat(cpuIdleStrategy.getTargetWakeUpLatency()).isEqualTo("100us");
+
+    final ActorIdleStrategy adaptiveStrategy = cpuIdleStrategy.createIdleStrategySupplier().get();
+    assertThat(adaptiveStrategy).isInstanceOf(ActorAdaptiveIdleStrategy.class);
+    assertThat(((ActorAdaptiveIdleStrategy) adaptiveStrategy).getParkPeriodLimitNs())
+        .isEqualTo(Duration.ofMillis(2).toNanos());
+
+    assertThat(threadsCfg.getIoIdleStrategy().createIdleStrategySupplier().get())
+        .isInstanceOf(ActorBusySpinIdleStrategy.class);
+  }
+
+  @Test
+  public void shouldUseBoundedBlockingTaskThreadsByDefault() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("default").getThreads();
+
+    // then
+    assertThat(threadsCfg.getMaxBlockingTaskThreads()).isEqualTo(256);
+    assertThat(threadsCfg.isVirtualBlockingTaskThreads()).isFalse();
+  }
+
+  @Test
+  public void shouldReadBlockingTaskThreads() {
+    // when
+    final ThreadsCfg threadsCfg = readConfig("blocking-tasks").getThreads();
+
+    // then
+    assertThat(threadsCfg.getMaxBlockingTaskThreads()).isEqualTo(16);
+    assertThat(threadsCfg.isVirtualBlockingTaskThreads()).isTrue();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectTooFewBlockingTaskThreads() {
+    // given
+    final BrokerCfg brokerCfg = new BrokerCfg();
+
+    // when
+    brokerCfg.getThreads().setMaxBlockingTaskThreads(ThreadsCfg.MIN_BLOCKING_TASK_THREADS - 1);
+
+    // then
+    brokerCfg.init(BROKER_BASE, new Environment(environment));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectUnknownIdleStrategy() {
+    // given
+    final IdleStrategyCfg idleStrategyCfg = new IdleStrategyCfg();
+
+    // when
+    idleStrategyCfg.setStrategy("sleep");
+
+    // then
+    idleStrategyCfg.createIdleStrategySupplier();
+  }
+
   private BrokerCfg readConfig(final String name) {
     final String configPath = "/system/" + name + ".toml";
     final InputStream resourceAsStream = ConfigurationTest.class.getResourceAsStream(configPath);
@@ -374,7 +374,8 @@ public class ClientApiMessageHandlerTest {
         .partitionId(partitionId)
         .valueType(eventTypeToWrite)
         .intent(intent.value())
-        .putValue(JOB_EVENT, 0, JOB_EVENT.length);
+        .putValue(JOB_EVENT, 0, JOB_EVENT.length)
+        .putTrace(new byte[0], 0, 0);
 
     return headerEncoder.encodedLength() + commandRequestEncoder.encodedLength();
   }
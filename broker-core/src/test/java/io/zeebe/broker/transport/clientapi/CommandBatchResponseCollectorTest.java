@@ -0,0 +1,152 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandResponse;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandBatchResponseCollectorTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final int REQUEST_STREAM_ID = 2;
+  private static final long REQUEST_ID = 3L;
+
+  private final BufferingServerOutput serverOutput = new BufferingServerOutput();
+
+  private CommandBatchResponseCollector collector;
+  private ServerOutput collectingOutput;
+
+  @Before
+  public void setUp() {
+    collector = new CommandBatchResponseCollector(Duration.ofSeconds(10));
+    collectingOutput = collector.collectingOutput(serverOutput);
+  }
+
+  @Test
+  public void shouldSendBatchResponseWhenAllCommandsAreProcessed() {
+    // given
+    final long batchId = collector.registerBatch(REQUEST_STREAM_ID, REQUEST_ID, PARTITION_ID, 2, 0);
+
+    // when
+    sendCommandResponse(batchId, 0, 10L);
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+
+    sendCommandResponse(batchId, 1, 11L);
+
+    // then
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+    assertThat(collector.getPendingBatchCount()).isEqualTo(0);
+
+    final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+    serverOutput.wrapResponse(0, batchResponse);
+    assertThat(batchResponse.getPartitionId()).isEqualTo(PARTITION_ID);
+    assertThat(batchResponse.getResponseCount()).isEqualTo(2);
+
+    final ExecuteCommandResponse response = new ExecuteCommandResponse();
+    response.wrap(batchResponse.getResponse(1), 0, batchResponse.getResponse(1).capacity());
+    assertThat(response.getKey()).isEqualTo(11L);
+    assertThat(response.getIntent()).isEqualTo(MessageIntent.PUBLISHED);
+  }
+
+  @Test
+  public void shouldPassThroughResponsesOfSingleCommands() {
+    // when
+    collectingOutput.sendResponse(
+        new ServerResponse()
+            .remoteStreamId(REQUEST_STREAM_ID)
+            .requestId(REQUEST_ID)
+            .writer(newCommandResponse(10L)));
+
+    // then
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+  }
+
+  @Test
+  public void shouldRetrySendingBatchResponse() {
+    // given
+    final long batchId = collector.registerBatch(REQUEST_STREAM_ID, REQUEST_ID, PARTITION_ID, 1, 0);
+
+    final ServerOutput failingOutput =
+        collector.collectingOutput(
+            new BufferingServerOutput() {
+              @Override
+              public boolean sendResponse(ServerResponse response) {
+                return false;
+              }
+            });
+
+    // when
+    final boolean sent =
+        failingOutput.sendResponse(
+            new ServerResponse()
+                .remoteStreamId(REQUEST_STREAM_ID)
+                .requestId(CommandBatchResponseCollector.getCommandRequestId(batchId, 0))
+                .writer(newCommandResponse(10L)));
+
+    sendCommandResponse(batchId, 0, 10L);
+
+    // then
+    assertThat(sent).isFalse();
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+  }
+
+  @Test
+  public void shouldDiscardExpiredBatches() {
+    // given
+    final long batchId = collector.registerBatch(REQUEST_STREAM_ID, REQUEST_ID, PARTITION_ID, 2, 0);
+
+    // when
+    collector.registerBatch(REQUEST_STREAM_ID, REQUEST_ID + 1, PARTITION_ID, 1, 20_000);
+    final boolean sent = sendCommandResponse(batchId, 0, 10L);
+
+    // then
+    assertThat(sent).isTrue();
+    assertThat(collector.getPendingBatchCount()).isEqualTo(1);
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+  }
+
+  private boolean sendCommandResponse(long batchId, int index, long key) {
+    return collectingOutput.sendResponse(
+        new ServerResponse()
+            .remoteStreamId(REQUEST_STREAM_ID)
+            .requestId(CommandBatchResponseCollector.getCommandRequestId(batchId, index))
+            .writer(newCommandResponse(key)));
+  }
+
+  private CommandResponseWriter newCommandResponse(long key) {
+    return new CommandResponseWriter(null)
+        .partitionId(PARTITION_ID)
+        .key(key)
+        .recordType(RecordType.EVENT)
+        .valueType(ValueType.MESSAGE)
+        .intent(MessageIntent.PUBLISHED)
+        .valueWriter(new DirectBufferWriter().wrap(wrapString("message")));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestLatencyTrackerTest {
+
+  private static final int REQUEST_STREAM_ID = 2;
+  private static final long REQUEST_ID = 3L;
+
+  private Histogram latency;
+  private RequestLatencyTracker tracker;
+
+  @Before
+  public void setUp() {
+    latency = new MetricsManager().newHistogram("latency").create();
+    tracker = new RequestLatencyTracker(latency, 16);
+  }
+
+  @Test
+  public void shouldRecordLatencyOfResponse() {
+    // given
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, 1_000);
+
+    // when
+    tracker.onResponse(REQUEST_STREAM_ID, REQUEST_ID, 5_000);
+
+    // then
+    assertThat(latency.getCount()).isEqualTo(1);
+    assertThat(latency.getSum()).isEqualTo(4_000);
+  }
+
+  @Test
+  public void shouldRecordLatencyOnlyOnce() {
+    // given
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, 1_000);
+    tracker.onResponse(REQUEST_STREAM_ID, REQUEST_ID, 5_000);
+
+    // when
+    tracker.onResponse(REQUEST_STREAM_ID, REQUEST_ID, 6_000);
+
+    // then
+    assertThat(latency.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepTimeOfFirstAttempt() {
+    // given
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, 1_000);
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, 2_000);
+
+    // when
+    tracker.onResponse(REQUEST_STREAM_ID, REQUEST_ID, 5_000);
+
+    // then
+    assertThat(latency.getSum()).isEqualTo(4_000);
+  }
+
+  @Test
+  public void shouldNotRecordUnknownResponse() {
+    // given
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, 1_000);
+
+    // when
+    tracker.onResponse(REQUEST_STREAM_ID + 1, REQUEST_ID, 5_000);
+    tracker.onResponse(REQUEST_STREAM_ID, REQUEST_ID + 1, 5_000);
+
+    // then
+    assertThat(latency.getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRecordResponsesSentThroughTrackingOutput() {
+    // given
+    final BufferingServerOutput serverOutput = new BufferingServerOutput();
+    final ServerOutput trackingOutput = tracker.trackingOutput(serverOutput);
+    tracker.onRequest(REQUEST_STREAM_ID, REQUEST_ID, System.nanoTime());
+
+    // when
+    trackingOutput.sendResponse(
+        new ServerResponse()
+            .remoteStreamId(REQUEST_STREAM_ID)
+            .requestId(REQUEST_ID)
+            .writer(new DirectBufferWriter().wrap(wrapString("response"))));
+
+    // then
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+    assertThat(latency.getCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.model.transformation;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsHexString;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.broker.workflow.model.element.AbstractFlowElement;
+import io.zeebe.broker.workflow.model.element.ExecutableActivity;
+import io.zeebe.broker.workflow.model.element.ExecutableBoundaryEvent;
+import io.zeebe.broker.workflow.model.element.ExecutableCatchEvent;
+import io.zeebe.broker.workflow.model.element.ExecutableEventBasedGateway;
+import io.zeebe.broker.workflow.model.element.ExecutableExclusiveGateway;
+import io.zeebe.broker.workflow.model.element.ExecutableFlowElement;
+import io.zeebe.broker.workflow.model.element.ExecutableFlowElementContainer;
+import io.zeebe.broker.workflow.model.element.ExecutableFlowNode;
+import io.zeebe.broker.workflow.model.element.ExecutableMessage;
+import io.zeebe.broker.workflow.model.element.ExecutableSequenceFlow;
+import io.zeebe.broker.workflow.model.element.ExecutableServiceTask;
+import io.zeebe.broker.workflow.model.element.ExecutableWorkflow;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnModelInstance;
+import io.zeebe.model.bpmn.instance.FlowElement;
+import io.zeebe.model.bpmn.instance.Process;
+import io.zeebe.model.bpmn.util.time.Timer;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class StreamingBpmnTransformerTest {
+
+  @Parameter(0)
+  public String name;
+
+  @Parameter(1)
+  public BpmnModelInstance modelInstance;
+
+  @Parameters(name = "{0}")
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {
+        "service tasks",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .serviceTask(
+                "task1",
+                b ->
+                    b.name("first")
+                        .zeebeTaskType("type1")
+                        .zeebeTaskRetries(5)
+                        .zeebeTaskHeader("key", "value")
+                        .zeebeTaskHeader("other", "")
+                        .zeebeInput("$.foo", "$.bar")
+                        .zeebeOutput("$.bar", "$.baz"))
+            .serviceTask("task2", b -> b.zeebeTaskType("type2").zeebeInput("$.a", "$.b"))
+            .endEvent("end")
+            .done()
+      },
+      {
+        "exclusive gateway",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .exclusiveGateway("xor")
+            .sequenceFlowId("flow1")
+            .condition("$.foo < 5")
+            .endEvent("end1")
+            .moveToLastExclusiveGateway()
+            .sequenceFlowId("flow2")
+            .defaultFlow()
+            .endEvent("end2")
+            .done()
+      },
+      {
+        "parallel gateway",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .parallelGateway("fork")
+            .serviceTask("task1", b -> b.zeebeTaskType("type1"))
+            .parallelGateway("join")
+            .endEvent("end")
+            .moveToNode("fork")
+            .serviceTask("task2", b -> b.zeebeTaskType("type2"))
+            .connectTo("join")
+            .done()
+      },
+      {
+        "event-based gateway",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .eventBasedGateway("gateway")
+            .intermediateCatchEvent("timer", c -> c.timerWithDuration("PT10S"))
+            .endEvent("end1")
+            .moveToLastGateway()
+            .intermediateCatchEvent(
+                "message", c -> c.message(m -> m.name("msg").zeebeCorrelationKey("$.key")))
+            .endEvent("end2")
+            .done()
+      },
+      {
+        "catch events",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .timerWithCycle("R2/PT1S")
+            .intermediateCatchEvent("timer", c -> c.timerWithDate("2019-01-01T12:00:00Z"))
+            .intermediateCatchEvent(
+                "message",
+                c ->
+                    c.message(m -> m.name("msg").zeebeCorrelationKey("$.key"))
+                        .zeebeOutput("$.foo", "$.bar"))
+            .receiveTask("receive")
+            .message(m -> m.name("other").zeebeCorrelationKey("$.other"))
+            .endEvent("end")
+            .done()
+      },
+      {
+        "boundary events",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .serviceTask("task", b -> b.zeebeTaskType("type"))
+            .boundaryEvent("timer", b -> b.cancelActivity(false))
+            .timerWithCycle("R/PT1S")
+            .endEvent("end1")
+            .moveToActivity("task")
+            .boundaryEvent("message")
+            .message(m -> m.name("msg").zeebeCorrelationKey("$.key"))
+            .endEvent("end2")
+            .moveToActivity("task")
+            .endEvent("end3")
+            .done()
+      },
+      {
+        "sub process",
+        Bpmn.createExecutableProcess("process")
+            .startEvent("start")
+            .subProcess("subProcess", s -> s.zeebeInput("$.foo", "$.bar"))
+            .embeddedSubProcess()
+            .startEvent("subProcessStart")
+            .serviceTask("subProcessTask", b -> b.zeebeTaskType("type"))
+            .endEvent("subProcessEnd")
+            .subProcessDone()
+            .boundaryEvent("timer")
+            .timerWithDuration("PT1S")
+            .endEvent("end1")
+            .moveToActivity("subProcess")
+            .endEvent("end2")
+            .done()
+      },
+      {
+        "collaboration",
+        Bpmn.readModelFromStream(
+            StreamingBpmnTransformerTest.class.getResourceAsStream("/workflows/collaboration.bpmn"))
+      },
+    };
+  }
+
+  private final BpmnTransformer transformer = new BpmnTransformer();
+  private final StreamingBpmnTransformer streamingTransformer = new StreamingBpmnTransformer();
+
+  @Test
+  public void shouldTransformLikeBpmnTransformer() {
+    // given
+    final DirectBuffer resource = wrapString(Bpmn.convertToString(modelInstance));
+
+    // when
+    final List<ExecutableWorkflow> expected = transformer.transformDefinitions(modelInstance);
+    final List<ExecutableWorkflow> actual = streamingTransformer.transformDefinitions(resource);
+
+    // then
+    assertThat(describe(actual)).isEqualTo(describe(expected));
+  }
+
+  @Test
+  public void shouldRejectUnsupportedElement() {
+    // given
+    final String xml =
+        Bpmn.convertToString(modelInstance)
+            .replaceFirst("(<([a-z]+:)?process [^>]*>)", "$1<$2userTask id=\"unsupported\"/>");
+
+    // then
+    assertThatThrownBy(() -> streamingTransformer.transformDefinitions(wrapString(xml)))
+        .isInstanceOf(UnsupportedBpmnException.class)
+        .hasMessageContaining("userTask");
+  }
+
+  @Test
+  public void shouldRejectMalformedXml() {
+    // given
+    final String xml = Bpmn.convertToString(modelInstance);
+    final String truncated = xml.substring(0, xml.length() / 2);
+
+    // then
+    assertThatThrownBy(() -> streamingTransformer.transformDefinitions(wrapString(truncated)))
+        .isInstanceOf(UnsupportedBpmnException.class);
+  }
+
+  private Map<String, String> describe(List<ExecutableWorkflow> workflows) {
+    final Map<String, String> description = new TreeMap<>();
+
+    for (final ExecutableWorkflow workflow : workflows) {
+      final String workflowId = bufferAsString(workflow.getId());
+      final Process process = modelInstance.getModelElementById(workflowId);
+
+      description.put(workflowId, describe(workflow));
+      for (final FlowElement element : process.getChildElementsByType(FlowElement.class)) {
+        describeRecursively(workflow, element, description);
+      }
+    }
+
+    return description;
+  }
+
+  private void describeRecursively(
+      ExecutableWorkflow workflow, FlowElement element, Map<String, String> description) {
+    description.put(
+        element.getId(),
+        describe((AbstractFlowElement) workflow.getElementById(wrapString(element.getId()))));
+
+    for (final FlowElement child : element.getChildElementsByType(FlowElement.class)) {
+      describeRecursively(workflow, child, description);
+    }
+  }
+
+  private static String describe(AbstractFlowElement element) {
+    final StringBuilder builder = new StringBuilder();
+    builder.append(element.getClass().getSimpleName()).append(' ').append(element.getElementType());
+
+    for (final WorkflowInstanceIntent intent : WorkflowInstanceIntent.values()) {
+      if (element.getStep(intent) != null) {
+        builder.append(' ').append(intent).append('=').append(element.getStep(intent));
+      }
+    }
+
+    if (element instanceof ExecutableFlowNode) {
+      final ExecutableFlowNode flowNode = (ExecutableFlowNode) element;
+      builder.append(" incoming=").append(ids(flowNode.getIncoming()));
+      builder.append(" outgoing=").append(ids(flowNode.getOutgoing()));
+      builder.append(" inputs=").append(Arrays.toString(flowNode.getInputMappings()));
+      builder.append(" outputs=").append(Arrays.toString(flowNode.getOutputMappings()));
+    }
+
+    if (element instanceof ExecutableCatchEvent) {
+      final ExecutableCatchEvent catchEvent = (ExecutableCatchEvent) element;
+      builder.append(" timer=").append(describe(catchEvent.getTimer()));
+      builder.append(" message=").append(describe(catchEvent.getMessage()));
+    }
+
+    if (element instanceof ExecutableActivity) {
+      builder
+          .append(" boundaryEvents=")
+          .append(ids(((ExecutableActivity) element).getBoundaryEvents()));
+    }
+
+    if (element instanceof ExecutableFlowElementContainer) {
+      builder
+          .append(" startEvents=")
+          .append(ids(((ExecutableFlowElementContainer) element).getStartEvents()));
+    }
+
+    if (element instanceof ExecutableServiceTask) {
+      final ExecutableServiceTask serviceTask = (ExecutableServiceTask) element;
+      builder.append(" type=").append(bufferAsString(serviceTask.getType()));
+      builder.append(" retries=").append(serviceTask.getRetries());
+      builder.append(" headers=").append(bufferAsHexString(serviceTask.getEncodedHeaders()));
+    }
+
+    if (element instanceof ExecutableBoundaryEvent) {
+      builder
+          .append(" cancelActivity=")
+          .append(((ExecutableBoundaryEvent) element).cancelActivity());
+    }
+
+    if (element instanceof ExecutableExclusiveGateway) {
+      final ExecutableSequenceFlow defaultFlow =
+          ((ExecutableExclusiveGateway) element).getDefaultFlow();
+      builder
+          .append(" default=")
+          .append(defaultFlow != null ? bufferAsString(defaultFlow.getId()) : null);
+    }
+
+    if (element instanceof ExecutableEventBasedGateway) {
+      builder.append(" events=").append(ids(((ExecutableEventBasedGateway) element).getEvents()));
+    }
+
+    if (element instanceof ExecutableSequenceFlow) {
+      final ExecutableSequenceFlow sequenceFlow = (ExecutableSequenceFlow) element;
+      builder.append(" source=").append(bufferAsString(sequenceFlow.getSource().getId()));
+      builder.append(" target=").append(bufferAsString(sequenceFlow.getTarget().getId()));
+      builder
+          .append(" condition=")
+          .append(
+              sequenceFlow.getCondition() != null
+                  ? sequenceFlow.getCondition().getExpression()
+                  : null);
+    }
+
+    return builder.toString();
+  }
+
+  private static String describe(Timer timer) {
+    if (timer == null) {
+      return null;
+    }
+    return timer.getClass().getSimpleName()
+        + "("
+        + timer.getRepetitions()
+        + ", "
+        + timer.getDueDate(0)
+        + ")";
+  }
+
+  private static String describe(ExecutableMessage message) {
+    if (message == null) {
+      return null;
+    }
+    return bufferAsString(message.getId())
+        + "("
+        + bufferAsString(message.getMessageName())
+        + ", "
+        + bufferAsString(message.getCorrelationKey().getExpression())
+        + ")";
+  }
+
+  private static String ids(List<? extends ExecutableFlowElement> elements) {
+    return elements.stream()
+        .map(e -> bufferAsString(e.getId()))
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+}
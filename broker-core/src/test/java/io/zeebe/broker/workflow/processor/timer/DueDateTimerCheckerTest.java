@@ -0,0 +1,216 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.processor.timer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.broker.logstreams.processor.DeadlineCheckScheduler;
+import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
+import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
+import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.broker.util.ZeebeStateRule;
+import io.zeebe.broker.workflow.state.TimerInstance;
+import io.zeebe.broker.workflow.state.TimerInstanceState;
+import io.zeebe.broker.workflow.state.WorkflowState;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
+import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
+import io.zeebe.protocol.intent.TimerIntent;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorScheduler;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+public class DueDateTimerCheckerTest {
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  @Mock private ActorControl someActor;
+
+  @Mock private TypedCommandWriter commandWriter;
+  private TimerInstanceState timerState;
+  private DueDateTimerChecker timerChecker;
+  private TypedStreamProcessor streamProcessor;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    timerState = stateRule.getZeebeState().getWorkflowState().getTimerState();
+    timerChecker = new DueDateTimerChecker(stateRule.getZeebeState().getWorkflowState());
+
+    streamProcessor = mock(TypedStreamProcessor.class);
+    when(streamProcessor.getActor()).thenReturn(someActor);
+    final TypedStreamEnvironment environment = mock(TypedStreamEnvironment.class);
+    when(environment.buildCommandWriter()).thenReturn(commandWriter);
+    when(streamProcessor.getEnvironment()).thenReturn(environment);
+
+    final StreamProcessorContext context = mock(StreamProcessorContext.class);
+    final ActorScheduler actorScheduler = mock(ActorScheduler.class);
+    when(actorScheduler.getMetricsManager()).thenReturn(new MetricsManager());
+    when(context.getActorScheduler()).thenReturn(actorScheduler);
+    when(context.getLogStream()).thenReturn(mock(LogStream.class));
+    when(streamProcessor.getStreamProcessorContext()).thenReturn(context);
+
+    timerChecker.onOpen(streamProcessor);
+
+    putTimer(0, 1000L);
+    putTimer(1, 2000L);
+    putTimer(2, 3000L);
+  }
+
+  private void putTimer(final long key, final long dueDate) {
+    final TimerInstance timer = new TimerInstance();
+    timer.setKey(key);
+    timer.setElementInstanceKey(key);
+    timer.setDueDate(dueDate);
+    timerState.put(timer);
+  }
+
+  @Test
+  public void shouldWriteDueTimersInOneBatch() {
+    // given
+    when(commandWriter.flush()).thenReturn(1L);
+
+    // when
+    timerChecker.triggerTimers();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(commandWriter);
+
+    inOrder
+        .verify(commandWriter)
+        .appendFollowUpCommand(eq(0L), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    inOrder
+        .verify(commandWriter)
+        .appendFollowUpCommand(eq(1L), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    inOrder
+        .verify(commandWriter)
+        .appendFollowUpCommand(eq(2L), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldWriteBatchAgainAfterFlushFailed() {
+    // given
+    when(commandWriter.flush()).thenReturn(-1L, 1L);
+
+    // when
+    timerChecker.triggerTimers();
+    timerChecker.triggerTimers();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(commandWriter, someActor);
+
+    inOrder
+        .verify(commandWriter, times(3))
+        .appendFollowUpCommand(anyLong(), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verify(commandWriter).reset();
+    inOrder
+        .verify(someActor)
+        .runDelayed(eq(DeadlineCheckScheduler.FLUSH_RETRY_DELAY), any(Runnable.class));
+    inOrder
+        .verify(commandWriter, times(3))
+        .appendFollowUpCommand(anyLong(), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    inOrder.verify(commandWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldSplitDueTimersIntoBatches() {
+    // given
+    for (int i = 3; i < DeadlineCheckScheduler.MAX_BATCH_SIZE + 3; i++) {
+      putTimer(i, 4000L);
+    }
+    when(commandWriter.flush()).thenReturn(1L);
+
+    // when
+    timerChecker.triggerTimers();
+
+    // then
+    verify(commandWriter, times(DeadlineCheckScheduler.MAX_BATCH_SIZE))
+        .appendFollowUpCommand(anyLong(), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    verify(commandWriter).flush();
+    verify(someActor).submit(any(Runnable.class));
+  }
+
+  @Test
+  public void shouldNotTriggerTimersOfPreviousBatchAgain() {
+    // given
+    for (int i = 3; i < DeadlineCheckScheduler.MAX_BATCH_SIZE + 3; i++) {
+      putTimer(i, 4000L);
+    }
+    when(commandWriter.flush()).thenReturn(1L);
+    timerChecker.triggerTimers();
+
+    // when
+    timerChecker.triggerTimers();
+
+    // then
+    verify(commandWriter, times(DeadlineCheckScheduler.MAX_BATCH_SIZE + 3))
+        .appendFollowUpCommand(anyLong(), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+    verify(commandWriter, times(2)).flush();
+    verify(someActor).submit(any(Runnable.class));
+    verify(someActor, never()).runDelayed(any(Duration.class), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldContinueNextBatchAfterLastTriggeredTimer() {
+    // given
+    for (int i = 3; i < DeadlineCheckScheduler.MAX_BATCH_SIZE + 3; i++) {
+      putTimer(i, 4000L);
+    }
+    when(commandWriter.flush()).thenReturn(1L);
+
+    final TimerInstanceState timerStateSpy = spy(timerState);
+    final WorkflowState workflowState = mock(WorkflowState.class);
+    when(workflowState.getTimerState()).thenReturn(timerStateSpy);
+
+    timerChecker = new DueDateTimerChecker(workflowState);
+    timerChecker.onOpen(streamProcessor);
+    timerChecker.triggerTimers();
+
+    // when
+    timerChecker.triggerTimers();
+
+    // then
+    final long lastKeyOfFirstBatch = DeadlineCheckScheduler.MAX_BATCH_SIZE - 1;
+    verify(timerStateSpy)
+        .findTimersWithDueDateBefore(
+            anyLong(), eq(4000L), eq(lastKeyOfFirstBatch), eq(lastKeyOfFirstBatch), any());
+    verify(commandWriter, times(DeadlineCheckScheduler.MAX_BATCH_SIZE + 3))
+        .appendFollowUpCommand(anyLong(), eq(TimerIntent.TRIGGER), any(TimerRecord.class));
+  }
+}
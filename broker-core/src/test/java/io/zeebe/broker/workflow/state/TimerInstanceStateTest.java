@@ -228,6 +228,35 @@ public class TimerInstanceStateTest {
     assertThat(nextDueDate).isEqualTo(timer1.getDueDate());
   }
 
+  @Test
+  public void shouldFindTimersWithDueDateStartingAtTimer() {
+    // given
+    for (long key = 1; key <= 4; key++) {
+      final TimerInstance timer = new TimerInstance();
+      timer.setElementInstanceKey(key);
+      timer.setKey(key);
+      timer.setDueDate(key * 1000L);
+      state.put(timer);
+    }
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    final long nextDueDate =
+        state.findTimersWithDueDateBefore(
+            3000L,
+            2000L,
+            2L,
+            2L,
+            t -> {
+              keys.add(t.getKey());
+              return true;
+            });
+
+    // then
+    assertThat(keys).containsExactly(2L, 3L);
+    assertThat(nextDueDate).isEqualTo(4000L);
+  }
+
   @Test
   public void shouldListAllTimersByElementInstanceKey() {
     // given
@@ -0,0 +1,73 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.bpmn;
+
+import io.zeebe.broker.workflow.model.transformation.BpmnTransformer;
+import io.zeebe.broker.workflow.model.transformation.StreamingBpmnTransformer;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.builder.AbstractFlowNodeBuilder;
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BpmnTransformationContext {
+
+  /** The number of service tasks of the workflow, to compare small and large deployments. */
+  @Param({"10", "100", "1000"})
+  public int taskCount;
+
+  private final BpmnTransformer transformer = new BpmnTransformer();
+  private final StreamingBpmnTransformer streamingTransformer = new StreamingBpmnTransformer();
+
+  private DirectBuffer resource;
+
+  @Setup
+  public void setUp() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+
+    for (int i = 0; i < taskCount; i++) {
+      final String type = "type-" + i;
+      builder =
+          builder.serviceTask(
+              "task-" + i,
+              b ->
+                  b.zeebeTaskType(type)
+                      .zeebeTaskHeader("key", "value")
+                      .zeebeInput("$.foo", "$.bar")
+                      .zeebeOutput("$.bar", "$.foo"));
+    }
+
+    resource = BufferUtil.wrapString(Bpmn.convertToString(builder.endEvent().done()));
+  }
+
+  public DirectBuffer getResource() {
+    return resource;
+  }
+
+  public BpmnTransformer getTransformer() {
+    return transformer;
+  }
+
+  public StreamingBpmnTransformer getStreamingTransformer() {
+    return streamingTransformer;
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.benchmarks.timer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
+import io.zeebe.broker.logstreams.processor.TypedStreamEnvironment;
+import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
+import io.zeebe.broker.logstreams.state.DefaultZeebeDbFactory;
+import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
+import io.zeebe.broker.logstreams.state.ZeebeState;
+import io.zeebe.broker.workflow.processor.timer.DueDateTimerChecker;
+import io.zeebe.broker.workflow.state.TimerInstance;
+import io.zeebe.broker.workflow.state.TimerInstanceState;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.processor.StreamProcessorContext;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.FileUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorScheduler;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+public class TimerExpiryContext {
+
+  @Param({"10000", "50000"})
+  protected int timerCount;
+
+  private final Queue<Runnable> submittedJobs = new ArrayDeque<>();
+  private final CountingCommandWriter commandWriter = new CountingCommandWriter();
+
+  private File dbDirectory;
+  private ZeebeDb<ZbColumnFamilies> db;
+  private DueDateTimerChecker timerChecker;
+  private TypedStreamProcessor streamProcessor;
+
+  @Setup
+  public void setUp() throws Exception {
+    dbDirectory = Files.createTempDirectory("timer-benchmark").toFile();
+    db = DefaultZeebeDbFactory.DEFAULT_DB_FACTORY.createDb(dbDirectory);
+    final ZeebeState zeebeState =
+        new ZeebeState(Protocol.DEPLOYMENT_PARTITION, db, db.createContext());
+
+    // all timers are due - they are not removed since the trigger commands are not processed
+    final TimerInstanceState timerState = zeebeState.getWorkflowState().getTimerState();
+    final TimerInstance timer = new TimerInstance();
+    timer.setHandlerNodeId(BufferUtil.wrapString("timer"));
+    for (int i = 0; i < timerCount; i++) {
+      timer.setKey(i);
+      timer.setElementInstanceKey(i);
+      timer.setWorkflowInstanceKey(i);
+      timer.setDueDate(1000L + i);
+      timerState.put(timer);
+    }
+
+    timerChecker = new DueDateTimerChecker(zeebeState.getWorkflowState());
+    streamProcessor = mockStreamProcessor();
+    timerChecker.onOpen(streamProcessor);
+  }
+
+  private TypedStreamProcessor mockStreamProcessor() {
+    final ActorControl actor = mock(ActorControl.class);
+    doAnswer(
+            invocation -> {
+              submittedJobs.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(actor)
+        .submit(any(Runnable.class));
+
+    final TypedStreamProcessor streamProcessor = mock(TypedStreamProcessor.class);
+    when(streamProcessor.getActor()).thenReturn(actor);
+    final TypedStreamEnvironment environment = mock(TypedStreamEnvironment.class);
+    when(environment.buildCommandWriter()).thenReturn(commandWriter);
+    when(streamProcessor.getEnvironment()).thenReturn(environment);
+
+    final StreamProcessorContext context = mock(StreamProcessorContext.class);
+    final ActorScheduler actorScheduler = mock(ActorScheduler.class);
+    when(actorScheduler.getMetricsManager()).thenReturn(new MetricsManager());
+    when(context.getActorScheduler()).thenReturn(actorScheduler);
+    when(context.getLogStream()).thenReturn(mock(LogStream.class));
+    when(streamProcessor.getStreamProcessorContext()).thenReturn(context);
+
+    return streamProcessor;
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    timerChecker.onClose();
+    db.close();
+    FileUtil.deleteFolder(dbDirectory.getAbsolutePath());
+  }
+
+  /** Triggers all due timers, including the batches which are submitted to the actor. */
+  public int triggerDueTimers() {
+    timerChecker.onRecovered(streamProcessor);
+
+    Runnable job;
+    while ((job = submittedJobs.poll()) != null) {
+      job.run();
+    }
+
+    return commandWriter.flushCount;
+  }
+
+  /** Serializes the appended records, like the log stream writer. */
+  private static final class CountingCommandWriter implements TypedCommandWriter {
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[64 * 1024]);
+    private int batchLength;
+    private int flushCount;
+
+    @Override
+    public void appendNewCommand(final Intent intent, final UnpackedObject value) {
+      append(value);
+    }
+
+    @Override
+    public void appendFollowUpCommand(
+        final long key, final Intent intent, final UnpackedObject value) {
+      append(value);
+    }
+
+    @Override
+    public void appendFollowUpCommand(
+        final long key,
+        final Intent intent,
+        final UnpackedObject value,
+        final Consumer<RecordMetadata> metadata) {
+      append(value);
+    }
+
+    private void append(final UnpackedObject value) {
+      value.write(buffer, batchLength);
+      batchLength += value.getLength();
+    }
+
+    @Override
+    public void reset() {
+      batchLength = 0;
+    }
+
+    @Override
+    public long flush() {
+      batchLength = 0;
+      return ++flushCount;
+    }
+  }
+}
@@ -16,11 +16,13 @@
 package io.zeebe.client.api.clients;
 
 import io.zeebe.client.api.commands.CompleteJobCommandStep1;
+import io.zeebe.client.api.commands.CompleteJobsCommandStep1;
 import io.zeebe.client.api.commands.FailJobCommandStep1;
 
 /**
  * A client with access to all job-related operation:
  * <li>complete a job
+ * <li>complete multiple jobs at once
  * <li>mark a job as failed
  * <li>update the retries of a job
  */
@@ -46,6 +48,25 @@ public interface JobClient {
    */
   CompleteJobCommandStep1 newCompleteCommand(long jobKey);
 
+  /**
+   * Command to complete multiple jobs at once.
+   *
+   * <pre>
+   * jobClient
+   *  .newCompleteCommands()
+   *  .job(jobKey1, json)
+   *  .job(jobKey2)
+   *  .send();
+   * </pre>
+   *
+   * <p>The jobs are grouped by their partitions, and the jobs of a partition are completed with one
+   * request to the broker. Each job is completed independently of the others: the response contains
+   * a result for each job which tells if it was completed.
+   *
+   * @return a builder for the command
+   */
+  CompleteJobsCommandStep1 newCompleteCommands();
+
   /**
    * Command to mark a job as failed.
    *
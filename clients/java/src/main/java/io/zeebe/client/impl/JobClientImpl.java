@@ -18,8 +18,10 @@ package io.zeebe.client.impl;
 import io.zeebe.client.ZeebeClientConfiguration;
 import io.zeebe.client.api.clients.JobClient;
 import io.zeebe.client.api.commands.CompleteJobCommandStep1;
+import io.zeebe.client.api.commands.CompleteJobsCommandStep1;
 import io.zeebe.client.api.commands.FailJobCommandStep1;
 import io.zeebe.client.impl.job.CompleteJobCommandImpl;
+import io.zeebe.client.impl.job.CompleteJobsCommandImpl;
 import io.zeebe.client.impl.job.FailJobCommandImpl;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.util.CloseableSilently;
@@ -52,6 +54,11 @@ public class JobClientImpl implements JobClient {
     return new CompleteJobCommandImpl(asyncStub, objectMapper, jobKey);
   }
 
+  @Override
+  public CompleteJobsCommandStep1 newCompleteCommands() {
+    return new CompleteJobsCommandImpl(asyncStub, objectMapper);
+  }
+
   @Override
   public FailJobCommandStep1 newFailCommand(long jobKey) {
     return new FailJobCommandImpl(asyncStub, jobKey);
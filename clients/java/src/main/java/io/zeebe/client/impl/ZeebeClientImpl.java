@@ -24,6 +24,7 @@ import io.zeebe.client.api.clients.JobClient;
 import io.zeebe.client.api.commands.ActivateJobsCommandStep1;
 import io.zeebe.client.api.commands.CancelWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.CompleteJobCommandStep1;
+import io.zeebe.client.api.commands.CompleteJobsCommandStep1;
 import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.DeployWorkflowCommandStep1;
 import io.zeebe.client.api.commands.FailJobCommandStep1;
@@ -199,6 +200,11 @@ public class ZeebeClientImpl implements ZeebeClient {
     return jobClient.newCompleteCommand(jobKey);
   }
 
+  @Override
+  public CompleteJobsCommandStep1 newCompleteCommands() {
+    return jobClient.newCompleteCommands();
+  }
+
   @Override
   public FailJobCommandStep1 newFailCommand(long jobKey) {
     return jobClient.newFailCommand(jobKey);
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.job;
+
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.commands.CompleteJobsCommandStep1.CompleteJobsCommandStep2;
+import io.zeebe.client.api.response.CompleteJobsResponse;
+import io.zeebe.client.impl.ArgumentUtil;
+import io.zeebe.client.impl.ZeebeClientFutureImpl;
+import io.zeebe.client.impl.ZeebeObjectMapper;
+import io.zeebe.client.impl.response.CompleteJobsResponseImpl;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest.Builder;
+import java.io.InputStream;
+import java.util.Map;
+
+public class CompleteJobsCommandImpl implements CompleteJobsCommandStep2 {
+
+  private final GatewayStub asyncStub;
+  private final ZeebeObjectMapper objectMapper;
+  private final Builder builder;
+
+  public CompleteJobsCommandImpl(GatewayStub asyncStub, ZeebeObjectMapper objectMapper) {
+    this.asyncStub = asyncStub;
+    this.objectMapper = objectMapper;
+    builder = CompleteJobsRequest.newBuilder();
+  }
+
+  @Override
+  public CompleteJobsCommandStep2 job(final long jobKey) {
+    builder.addJobs(CompleteJobRequest.newBuilder().setJobKey(jobKey));
+    return this;
+  }
+
+  @Override
+  public CompleteJobsCommandStep2 job(final long jobKey, final InputStream variables) {
+    ArgumentUtil.ensureNotNull("variables", variables);
+    return addJob(jobKey, objectMapper.validateJson("variables", variables));
+  }
+
+  @Override
+  public CompleteJobsCommandStep2 job(final long jobKey, final String variables) {
+    ArgumentUtil.ensureNotNull("variables", variables);
+    return addJob(jobKey, objectMapper.validateJson("variables", variables));
+  }
+
+  @Override
+  public CompleteJobsCommandStep2 job(final long jobKey, final Map<String, Object> variables) {
+    ArgumentUtil.ensureNotNull("variables", variables);
+    return job(jobKey, (Object) variables);
+  }
+
+  @Override
+  public CompleteJobsCommandStep2 job(final long jobKey, final Object variables) {
+    ArgumentUtil.ensureNotNull("variables", variables);
+    return addJob(jobKey, objectMapper.toJson(variables));
+  }
+
+  private CompleteJobsCommandStep2 addJob(final long jobKey, final String variables) {
+    builder.addJobs(CompleteJobRequest.newBuilder().setJobKey(jobKey).setVariables(variables));
+    return this;
+  }
+
+  @Override
+  public ZeebeFuture<CompleteJobsResponse> send() {
+    final CompleteJobsRequest request = builder.build();
+
+    final ZeebeClientFutureImpl<CompleteJobsResponse, GatewayOuterClass.CompleteJobsResponse>
+        future =
+            new ZeebeClientFutureImpl<>(
+                response -> new CompleteJobsResponseImpl(request, response));
+
+    asyncStub.completeJobs(request, future);
+    return future;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.response;
+
+import io.zeebe.client.api.response.CompleteJobResult;
+import io.zeebe.client.api.response.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompleteJobsResponseImpl implements CompleteJobsResponse {
+
+  private final List<CompleteJobResult> results;
+
+  public CompleteJobsResponseImpl(
+      CompleteJobsRequest request, GatewayOuterClass.CompleteJobsResponse response) {
+    final int resultCount = response.getResultsCount();
+    if (resultCount != request.getJobsCount()) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected to receive %d results for the completed jobs, but received %d",
+              request.getJobsCount(), resultCount));
+    }
+
+    results = new ArrayList<>(resultCount);
+    for (int i = 0; i < resultCount; i++) {
+      results.add(
+          new CompleteJobResultImpl(request.getJobs(i).getJobKey(), response.getResults(i)));
+    }
+  }
+
+  @Override
+  public List<CompleteJobResult> getResults() {
+    return results;
+  }
+
+  @Override
+  public String toString() {
+    return "CompleteJobsResponseImpl{" + "results=" + results + '}';
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.grpc.Status.Code;
+import io.zeebe.client.api.response.CompleteJobResult;
+import io.zeebe.client.api.response.CompleteJobsResponse;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.gateway.protocol.GatewayOuterClass;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.test.util.JsonUtil;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+public class CompleteJobsTest extends ClientTest {
+
+  @Test
+  public void shouldCompleteJobs() {
+    // given
+    final String json = JsonUtil.toJson(Collections.singletonMap("key", "val"));
+    final Map<String, Object> map = Collections.singletonMap("foo", "bar");
+
+    // when
+    client.newCompleteCommands().job(12).job(13, json).job(14, map).send().join();
+
+    // then
+    final CompleteJobsRequest request = gatewayService.getLastRequest();
+    assertThat(request.getJobsCount()).isEqualTo(3);
+
+    assertThat(request.getJobs(0).getJobKey()).isEqualTo(12);
+    assertThat(request.getJobs(0).getVariables()).isEmpty();
+
+    assertThat(request.getJobs(1).getJobKey()).isEqualTo(13);
+    JsonUtil.assertEquality(request.getJobs(1).getVariables(), json);
+
+    assertThat(request.getJobs(2).getJobKey()).isEqualTo(14);
+    JsonUtil.assertEquality(request.getJobs(2).getVariables(), JsonUtil.toJson(map));
+  }
+
+  @Test
+  public void shouldReturnResultPerJob() {
+    // given
+    gatewayService.onCompleteJobsRequest(
+        GatewayOuterClass.CompleteJobResult.newBuilder().setCode(Code.OK.value()).build(),
+        GatewayOuterClass.CompleteJobResult.newBuilder()
+            .setCode(Code.NOT_FOUND.value())
+            .setMessage("job not found")
+            .build());
+
+    // when
+    final CompleteJobsResponse response =
+        client.newCompleteCommands().job(12).job(13).send().join();
+
+    // then
+    assertThat(response.getResults())
+        .extracting(
+            CompleteJobResult::getJobKey,
+            CompleteJobResult::isCompleted,
+            CompleteJobResult::getErrorMessage)
+        .containsExactly(tuple(12L, true, ""), tuple(13L, false, "job not found"));
+  }
+}
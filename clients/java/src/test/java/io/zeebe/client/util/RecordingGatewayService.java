@@ -28,6 +28,9 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
@@ -79,6 +82,15 @@ public class RecordingGatewayService extends GatewayImplBase {
         UpdateJobRetriesRequest.class, r -> UpdateJobRetriesResponse.getDefaultInstance());
     addRequestHandler(FailJobRequest.class, r -> FailJobResponse.getDefaultInstance());
     addRequestHandler(CompleteJobRequest.class, r -> CompleteJobResponse.getDefaultInstance());
+    addRequestHandler(
+        CompleteJobsRequest.class,
+        r -> {
+          final CompleteJobsResponse.Builder response = CompleteJobsResponse.newBuilder();
+          for (int i = 0; i < ((CompleteJobsRequest) r).getJobsCount(); i++) {
+            response.addResults(CompleteJobResult.getDefaultInstance());
+          }
+          return response.build();
+        });
     addRequestHandler(ActivateJobsRequest.class, r -> ActivateJobsResponse.getDefaultInstance());
     addRequestHandler(
         ResolveIncidentRequest.class, r -> ResolveIncidentResponse.getDefaultInstance());
@@ -173,6 +185,12 @@ public class RecordingGatewayService extends GatewayImplBase {
     handle(request, responseObserver);
   }
 
+  @Override
+  public void completeJobs(
+      CompleteJobsRequest request, StreamObserver<CompleteJobsResponse> responseObserver) {
+    handle(request, responseObserver);
+  }
+
   @Override
   public void activateJobs(
       ActivateJobsRequest request, StreamObserver<ActivateJobsResponse> responseObserver) {
@@ -228,6 +246,12 @@ public class RecordingGatewayService extends GatewayImplBase {
             ActivateJobsResponse.newBuilder().addAllJobs(Arrays.asList(activatedJobs)).build());
   }
 
+  public void onCompleteJobsRequest(CompleteJobResult... results) {
+    addRequestHandler(
+        CompleteJobsRequest.class,
+        request -> CompleteJobsResponse.newBuilder().addAllResults(Arrays.asList(results)).build());
+  }
+
   public void errorOnRequest(
       Class<? extends GeneratedMessageV3> requestClass, Supplier<Exception> errorSupplier) {
     addRequestHandler(
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.api.spi;
+
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.exporter.api.record.Record;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Variant of {@link Exporter} for exporters which export records asynchronously, e.g. using a
+ * non-blocking client or a thread pool of their own.
+ *
+ * <p>Instead of blocking the broker until a record is exported, {@link #exportAsync(Record)}
+ * returns a stage which completes once the record is exported. The broker hands further records to
+ * the exporter in the meantime, up to {@link #getMaxInFlightRecords()} records which are not
+ * exported yet. Once all records up to a position are exported, the broker updates the last
+ * exported record position itself, i.e. implementations do not have to call {@link
+ * Controller#updateLastExportedRecordPosition(long)}.
+ *
+ * <p>If the stage completes exceptionally, the broker exports the record again until it succeeds.
+ * Therefore, records which are retried may be exported after records with a higher position.
+ */
+public interface AsyncExporter extends Exporter {
+
+  /**
+   * Called at least once for every record to be exported. Must not block.
+   *
+   * @param record the record to export
+   * @return a stage which completes once the record is exported
+   */
+  CompletionStage<Void> exportAsync(Record record);
+
+  /** Blocks until the record is exported. Only used if the exporter is called synchronously. */
+  @Override
+  default void export(final Record record) {
+    exportAsync(record).toCompletableFuture().join();
+  }
+
+  /** @return the maximum number of records which are handed to the exporter but not exported yet */
+  default int getMaxInFlightRecords() {
+    return 32;
+  }
+}
@@ -19,17 +19,23 @@ import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import io.zeebe.gateway.ResponseMapper.BrokerResponseMapper;
+import io.zeebe.gateway.ResponseMapper.BrokerResultMapper;
 import io.zeebe.gateway.cmd.BrokerErrorException;
 import io.zeebe.gateway.cmd.BrokerRejectionException;
 import io.zeebe.gateway.cmd.ClientOutOfMemoryException;
 import io.zeebe.gateway.cmd.GrpcStatusException;
 import io.zeebe.gateway.cmd.GrpcStatusExceptionImpl;
 import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.BrokerRequestManager;
+import io.zeebe.gateway.impl.broker.RequestDispatchStrategy;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.job.ActivateJobsHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
@@ -40,8 +46,12 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
@@ -50,6 +60,8 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.Partition;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition.PartitionBrokerRole;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
@@ -59,10 +71,15 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesResponse;
 import io.zeebe.msgpack.MsgpackPropertyException;
+import io.zeebe.protocol.Protocol;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.IntArrayList;
 
 public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
@@ -170,6 +187,29 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void publishMessages(
+      PublishMessagesRequest request, StreamObserver<PublishMessagesResponse> responseObserver) {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology == null) {
+      responseObserver.onError(
+          Status.UNAVAILABLE.augmentDescription("No brokers available").asRuntimeException());
+      return;
+    }
+
+    sendBatchRequest(
+        request.getMessagesList(),
+        RequestMapper::toPublishMessageRequest,
+        (index, brokerRequest) -> {
+          BrokerRequestManager.determinePartitionIdForPublishMessageRequest(
+              brokerRequest, topology);
+          return brokerRequest.getPartitionId();
+        },
+        ResponseMapper::toPublishMessageResult,
+        ResponseMapper::toPublishMessagesResponse,
+        responseObserver);
+  }
+
   @Override
   public void updateJobRetries(
       UpdateJobRetriesRequest request, StreamObserver<UpdateJobRetriesResponse> responseObserver) {
@@ -191,6 +231,28 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void createWorkflowInstances(
+      CreateWorkflowInstancesRequest request,
+      StreamObserver<CreateWorkflowInstancesResponse> responseObserver) {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology == null) {
+      responseObserver.onError(
+          Status.UNAVAILABLE.augmentDescription("No brokers available").asRuntimeException());
+      return;
+    }
+
+    // the instances are not bound to a partition, distribute them like single requests
+    final RequestDispatchStrategy dispatchStrategy = brokerClient.getDispatchStrategy();
+    streamBatchRequest(
+        request.getInstancesList(),
+        RequestMapper::toCreateWorkflowInstanceRequest,
+        (index, brokerRequest) -> dispatchStrategy.determinePartition(),
+        ResponseMapper::toCreateWorkflowInstanceResult,
+        ResponseMapper::toCreateWorkflowInstancesResponse,
+        responseObserver);
+  }
+
   @Override
   public void cancelWorkflowInstance(
       CancelWorkflowInstanceRequest request,
@@ -231,6 +293,18 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void completeJobs(
+      CompleteJobsRequest request, StreamObserver<CompleteJobsResponse> responseObserver) {
+    sendBatchRequest(
+        request.getJobsList(),
+        RequestMapper::toCompleteJobRequest,
+        (index, brokerRequest) -> Protocol.decodePartitionId(brokerRequest.getKey()),
+        ResponseMapper::toCompleteJobResult,
+        ResponseMapper::toCompleteJobsResponse,
+        responseObserver);
+  }
+
   @Override
   public void activateJobs(
       ActivateJobsRequest request, StreamObserver<ActivateJobsResponse> responseObserver) {
@@ -277,6 +351,197 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         error -> streamObserver.onError(convertThrowable(error)));
   }
 
+  /**
+   * Sends the given requests grouped by partition, with as few batch requests as possible. The
+   * response contains one result per request, in the order of the requests. The call only fails as
+   * a whole if a request can't be mapped; failures of single commands or batches are reported in
+   * the results of the affected requests.
+   */
+  private <
+          GrpcRequestT,
+          BrokerRequestT extends BrokerExecuteCommand<BrokerResponseT>,
+          BrokerResponseT,
+          GrpcResultT,
+          GrpcResponseT>
+      void sendBatchRequest(
+          final List<GrpcRequestT> grpcRequests,
+          final Function<GrpcRequestT, BrokerRequestT> requestMapper,
+          final PartitionIdSelector<BrokerRequestT> partitionIdSelector,
+          final BrokerResultMapper<BrokerResponseT, GrpcResultT> resultMapper,
+          final Function<List<GrpcResultT>, GrpcResponseT> responseMapper,
+          final StreamObserver<GrpcResponseT> streamObserver) {
+
+    final List<BrokerRequestT> brokerRequests =
+        mapBatchRequests(grpcRequests, requestMapper, streamObserver);
+
+    if (brokerRequests != null) {
+      sendBatches(
+          brokerRequests,
+          partitionIdSelector,
+          resultMapper,
+          new AggregatingResultCollector<>(brokerRequests.size(), responseMapper, streamObserver));
+    }
+  }
+
+  /**
+   * Like {@link #sendBatchRequest}, but streams the results of each batch back as soon as they are
+   * available, instead of collecting all results for one response.
+   */
+  private <
+          GrpcRequestT,
+          BrokerRequestT extends BrokerExecuteCommand<BrokerResponseT>,
+          BrokerResponseT,
+          GrpcResultT,
+          GrpcResponseT>
+      void streamBatchRequest(
+          final List<GrpcRequestT> grpcRequests,
+          final Function<GrpcRequestT, BrokerRequestT> requestMapper,
+          final PartitionIdSelector<BrokerRequestT> partitionIdSelector,
+          final BrokerResultMapper<BrokerResponseT, GrpcResultT> resultMapper,
+          final BiFunction<IntArrayList, List<GrpcResultT>, GrpcResponseT> responseMapper,
+          final StreamObserver<GrpcResponseT> streamObserver) {
+
+    final List<BrokerRequestT> brokerRequests =
+        mapBatchRequests(grpcRequests, requestMapper, streamObserver);
+
+    if (brokerRequests != null) {
+      sendBatches(
+          brokerRequests,
+          partitionIdSelector,
+          resultMapper,
+          new StreamingResultCollector<>(brokerRequests.size(), responseMapper, streamObserver));
+    }
+  }
+
+  /** @return the mapped requests, or null if the call was failed because of invalid requests */
+  private <GrpcRequestT, BrokerRequestT> List<BrokerRequestT> mapBatchRequests(
+      final List<GrpcRequestT> grpcRequests,
+      final Function<GrpcRequestT, BrokerRequestT> requestMapper,
+      final StreamObserver<?> streamObserver) {
+
+    final List<BrokerRequestT> brokerRequests = new ArrayList<>(grpcRequests.size());
+    try {
+      for (GrpcRequestT grpcRequest : grpcRequests) {
+        brokerRequests.add(requestMapper.apply(grpcRequest));
+      }
+    } catch (MsgpackPropertyException e) {
+      streamObserver.onError(
+          convertThrowable(
+              new GrpcStatusExceptionImpl(e.getMessage(), Status.INVALID_ARGUMENT, e)));
+      return null;
+    } catch (Exception e) {
+      streamObserver.onError(convertThrowable(e));
+      return null;
+    }
+
+    if (brokerRequests.isEmpty()) {
+      streamObserver.onError(
+          Status.INVALID_ARGUMENT
+              .augmentDescription("Expected to send at least one command, but none given")
+              .asRuntimeException());
+      return null;
+    }
+
+    return brokerRequests;
+  }
+
+  private <
+          BrokerRequestT extends BrokerExecuteCommand<BrokerResponseT>,
+          BrokerResponseT,
+          GrpcResultT>
+      void sendBatches(
+          final List<BrokerRequestT> brokerRequests,
+          final PartitionIdSelector<BrokerRequestT> partitionIdSelector,
+          final BrokerResultMapper<BrokerResponseT, GrpcResultT> resultMapper,
+          final BatchResultCollector<GrpcResultT> resultCollector) {
+
+    final Int2ObjectHashMap<PendingBatch<BrokerResponseT>> pendingBatches =
+        new Int2ObjectHashMap<>();
+
+    for (int i = 0; i < brokerRequests.size(); i++) {
+      final BrokerRequestT brokerRequest = brokerRequests.get(i);
+      final int partitionId = partitionIdSelector.selectPartitionId(i, brokerRequest);
+
+      PendingBatch<BrokerResponseT> pendingBatch = pendingBatches.get(partitionId);
+      if (pendingBatch == null) {
+        pendingBatch = new PendingBatch<>(partitionId);
+        pendingBatches.put(partitionId, pendingBatch);
+      }
+
+      if (!pendingBatch.tryAdd(i, brokerRequest)) {
+        if (!pendingBatch.isEmpty()) {
+          sendBatch(pendingBatch, resultMapper, resultCollector);
+
+          pendingBatch = new PendingBatch<>(partitionId);
+          pendingBatches.put(partitionId, pendingBatch);
+        }
+
+        if (!pendingBatch.tryAdd(i, brokerRequest)) {
+          // too big to be sent in a batch
+          sendCommand(i, brokerRequest, resultMapper, resultCollector);
+        }
+      }
+    }
+
+    for (PendingBatch<BrokerResponseT> pendingBatch : pendingBatches.values()) {
+      if (!pendingBatch.isEmpty()) {
+        sendBatch(pendingBatch, resultMapper, resultCollector);
+      }
+    }
+  }
+
+  private <BrokerResponseT, GrpcResultT> void sendBatch(
+      final PendingBatch<BrokerResponseT> pendingBatch,
+      final BrokerResultMapper<BrokerResponseT, GrpcResultT> resultMapper,
+      final BatchResultCollector<GrpcResultT> resultCollector) {
+    final IntArrayList indexes = pendingBatch.indexes;
+
+    brokerClient.sendRequest(
+        pendingBatch.batch,
+        (key, responses) -> {
+          final List<GrpcResultT> results = new ArrayList<>(responses.size());
+
+          for (BrokerResponse<BrokerResponseT> response : responses) {
+            if (response.isResponse()) {
+              results.add(resultMapper.apply(Status.OK, response.getKey(), response.getResponse()));
+            } else if (response.isRejection()) {
+              results.add(
+                  resultMapper.apply(mapRejectionToStatus(response.getRejection()), -1, null));
+            } else {
+              results.add(
+                  resultMapper.apply(mapBrokerErrorToStatus(response.getError()), -1, null));
+            }
+          }
+
+          resultCollector.setResults(indexes, results);
+        },
+        error -> {
+          final GrpcResultT result =
+              resultMapper.apply(convertThrowable(error).getStatus(), -1, null);
+          resultCollector.setResults(indexes, Collections.nCopies(indexes.size(), result));
+        });
+  }
+
+  private <BrokerResponseT, GrpcResultT> void sendCommand(
+      final int index,
+      final BrokerExecuteCommand<BrokerResponseT> command,
+      final BrokerResultMapper<BrokerResponseT, GrpcResultT> resultMapper,
+      final BatchResultCollector<GrpcResultT> resultCollector) {
+    final IntArrayList indexes = new IntArrayList();
+    indexes.addInt(index);
+
+    brokerClient.sendRequest(
+        command,
+        (key, response) ->
+            resultCollector.setResults(
+                indexes, Collections.singletonList(resultMapper.apply(Status.OK, key, response))),
+        error ->
+            resultCollector.setResults(
+                indexes,
+                Collections.singletonList(
+                    resultMapper.apply(convertThrowable(error).getStatus(), -1, null))));
+  }
+
   private StatusRuntimeException convertThrowable(Throwable cause) {
     Status status = Status.INTERNAL;
 
@@ -340,4 +605,107 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
     return status.augmentDescription(description);
   }
+
+  private static final class PendingBatch<BrokerResponseT> {
+    private final BrokerExecuteCommandBatch<BrokerResponseT> batch;
+    private final IntArrayList indexes = new IntArrayList();
+
+    PendingBatch(int partitionId) {
+      batch = new BrokerExecuteCommandBatch<>(partitionId);
+    }
+
+    boolean tryAdd(int index, BrokerExecuteCommand<BrokerResponseT> command) {
+      final boolean added = batch.tryAddCommand(command);
+      if (added) {
+        indexes.addInt(index);
+      }
+      return added;
+    }
+
+    boolean isEmpty() {
+      return batch.isEmpty();
+    }
+  }
+
+  @FunctionalInterface
+  private interface PartitionIdSelector<BrokerRequestT> {
+    int selectPartitionId(int index, BrokerRequestT brokerRequest);
+  }
+
+  /**
+   * Collects the results of the requests of a batch call. The results are set by the callbacks of
+   * the broker client, once per sent batch or single command.
+   */
+  private abstract static class BatchResultCollector<GrpcResultT> {
+    private int remainingResults;
+
+    BatchResultCollector(int resultCount) {
+      this.remainingResults = resultCount;
+    }
+
+    synchronized void setResults(IntArrayList indexes, List<GrpcResultT> results) {
+      remainingResults -= results.size();
+      onResults(indexes, results, remainingResults == 0);
+    }
+
+    protected abstract void onResults(
+        IntArrayList indexes, List<GrpcResultT> results, boolean isComplete);
+  }
+
+  /** Sends one response with the results of all requests, when the last result is set. */
+  private static final class AggregatingResultCollector<GrpcResultT, GrpcResponseT>
+      extends BatchResultCollector<GrpcResultT> {
+    private final List<GrpcResultT> results;
+    private final Function<List<GrpcResultT>, GrpcResponseT> responseMapper;
+    private final StreamObserver<GrpcResponseT> streamObserver;
+
+    AggregatingResultCollector(
+        int resultCount,
+        Function<List<GrpcResultT>, GrpcResponseT> responseMapper,
+        StreamObserver<GrpcResponseT> streamObserver) {
+      super(resultCount);
+      this.results = new ArrayList<>(Collections.nCopies(resultCount, null));
+      this.responseMapper = responseMapper;
+      this.streamObserver = streamObserver;
+    }
+
+    @Override
+    protected void onResults(
+        IntArrayList indexes, List<GrpcResultT> batchResults, boolean isComplete) {
+      for (int i = 0; i < indexes.size(); i++) {
+        results.set(indexes.getInt(i), batchResults.get(i));
+      }
+
+      if (isComplete) {
+        streamObserver.onNext(responseMapper.apply(results));
+        streamObserver.onCompleted();
+      }
+    }
+  }
+
+  /** Streams one response per sent batch, and completes the call when the last result is set. */
+  private static final class StreamingResultCollector<GrpcResultT, GrpcResponseT>
+      extends BatchResultCollector<GrpcResultT> {
+    private final BiFunction<IntArrayList, List<GrpcResultT>, GrpcResponseT> responseMapper;
+    private final StreamObserver<GrpcResponseT> streamObserver;
+
+    StreamingResultCollector(
+        int resultCount,
+        BiFunction<IntArrayList, List<GrpcResultT>, GrpcResponseT> responseMapper,
+        StreamObserver<GrpcResponseT> streamObserver) {
+      super(resultCount);
+      this.responseMapper = responseMapper;
+      this.streamObserver = streamObserver;
+    }
+
+    @Override
+    protected void onResults(
+        IntArrayList indexes, List<GrpcResultT> batchResults, boolean isComplete) {
+      streamObserver.onNext(responseMapper.apply(indexes, batchResults));
+
+      if (isComplete) {
+        streamObserver.onCompleted();
+      }
+    }
+  }
 }
@@ -18,16 +18,23 @@ package io.zeebe.gateway;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
+import io.grpc.Status;
 import io.zeebe.gateway.impl.data.MsgPackConverter;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.JobHeaders;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesResponse;
@@ -40,7 +47,9 @@ import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import java.util.Iterator;
+import java.util.List;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.IntArrayList;
 
 public class ResponseMapper {
 
@@ -69,6 +78,19 @@ public class ResponseMapper {
     return PublishMessageResponse.getDefaultInstance();
   }
 
+  public static PublishMessageResult toPublishMessageResult(
+      Status status, long key, Void brokerResponse) {
+    return PublishMessageResult.newBuilder()
+        .setCode(status.getCode().value())
+        .setMessage(getDescription(status))
+        .build();
+  }
+
+  public static PublishMessagesResponse toPublishMessagesResponse(
+      List<PublishMessageResult> results) {
+    return PublishMessagesResponse.newBuilder().addAllResults(results).build();
+  }
+
   public static UpdateJobRetriesResponse toUpdateJobRetriesResponse(
       long key, JobRecord brokerResponse) {
     return UpdateJobRetriesResponse.getDefaultInstance();
@@ -82,6 +104,18 @@ public class ResponseMapper {
     return CompleteJobResponse.getDefaultInstance();
   }
 
+  public static CompleteJobResult toCompleteJobResult(
+      Status status, long key, JobRecord brokerResponse) {
+    return CompleteJobResult.newBuilder()
+        .setCode(status.getCode().value())
+        .setMessage(getDescription(status))
+        .build();
+  }
+
+  public static CompleteJobsResponse toCompleteJobsResponse(List<CompleteJobResult> results) {
+    return CompleteJobsResponse.newBuilder().addAllResults(results).build();
+  }
+
   public static CreateWorkflowInstanceResponse toCreateWorkflowInstanceResponse(
       long key, WorkflowInstanceCreationRecord brokerResponse) {
     return CreateWorkflowInstanceResponse.newBuilder()
@@ -92,6 +126,32 @@ public class ResponseMapper {
         .build();
   }
 
+  public static CreateWorkflowInstanceResult toCreateWorkflowInstanceResult(
+      Status status, long key, WorkflowInstanceCreationRecord brokerResponse) {
+    final CreateWorkflowInstanceResult.Builder resultBuilder =
+        CreateWorkflowInstanceResult.newBuilder()
+            .setCode(status.getCode().value())
+            .setMessage(getDescription(status));
+
+    if (status.isOk()) {
+      resultBuilder.setInstance(toCreateWorkflowInstanceResponse(key, brokerResponse));
+    }
+
+    return resultBuilder.build();
+  }
+
+  public static CreateWorkflowInstancesResponse toCreateWorkflowInstancesResponse(
+      IntArrayList indexes, List<CreateWorkflowInstanceResult> results) {
+    final CreateWorkflowInstancesResponse.Builder responseBuilder =
+        CreateWorkflowInstancesResponse.newBuilder();
+
+    for (int i = 0; i < results.size(); i++) {
+      responseBuilder.addResults(results.get(i).toBuilder().setIndex(indexes.getInt(i)));
+    }
+
+    return responseBuilder.build();
+  }
+
   public static CancelWorkflowInstanceResponse toCancelWorkflowInstanceResponse(
       long key, WorkflowInstanceRecord brokerResponse) {
     return CancelWorkflowInstanceResponse.getDefaultInstance();
@@ -147,6 +207,11 @@ public class ResponseMapper {
         .build();
   }
 
+  private static String getDescription(Status status) {
+    final String description = status.getDescription();
+    return description != null ? description : "";
+  }
+
   private static String bufferAsJson(DirectBuffer customHeaders) {
     return MSG_PACK_CONVERTER.convertToJson(bufferAsArray(customHeaders));
   }
@@ -155,4 +220,13 @@ public class ResponseMapper {
   public interface BrokerResponseMapper<BrokerResponseDto, GrpcResponse> {
     GrpcResponse apply(long key, BrokerResponseDto responseDto);
   }
+
+  /**
+   * Maps the outcome of a single command of a batch request. The status is OK if the command was
+   * processed successfully, otherwise key is -1 and the response is null.
+   */
+  @FunctionalInterface
+  public interface BrokerResultMapper<BrokerResponseDto, GrpcResult> {
+    GrpcResult apply(Status status, long key, BrokerResponseDto responseDto);
+  }
 }
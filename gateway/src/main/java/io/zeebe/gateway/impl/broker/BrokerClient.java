@@ -33,4 +33,7 @@ public interface BrokerClient extends AutoCloseable {
       Consumer<Throwable> throwableConsumer);
 
   BrokerTopologyManager getTopologyManager();
+
+  /** @return the strategy which selects the partition of requests that are not bound to one */
+  RequestDispatchStrategy getDispatchStrategy();
 }
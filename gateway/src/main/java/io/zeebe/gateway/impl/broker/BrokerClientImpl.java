@@ -32,7 +32,7 @@ import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.transport.Transports;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
@@ -50,6 +50,7 @@ public class BrokerClientImpl implements BrokerClient {
   private final boolean ownsActorScheduler;
   protected final ClientTransport transport;
   protected final BrokerTopologyManagerImpl topologyManager;
+  private final RequestDispatchStrategy dispatchStrategy;
   private final Dispatcher dataFrameReceiveBuffer;
   private final BrokerRequestManager requestManager;
   protected boolean isClosed;
@@ -104,7 +105,7 @@ public class BrokerClientImpl implements BrokerClient {
             .messageReceiveBuffer(dataFrameReceiveBuffer)
             .messageMemoryPool(
                 new UnboundedMemoryPool()) // Client is not sending any heavy messages
-            .requestMemoryPool(new NonBlockingMemoryPool(transportBufferSize))
+            .requestMemoryPool(new SlabMemoryPool(transportBufferSize))
             .scheduler(actorScheduler);
 
     transport = transportBuilder.build();
@@ -118,12 +119,14 @@ public class BrokerClientImpl implements BrokerClient {
         .forEach(
             member -> topologyManager.event(new ClusterMembershipEvent(Type.MEMBER_ADDED, member)));
 
+    dispatchStrategy = new RoundRobinDispatchStrategy(topologyManager);
     requestManager =
         new BrokerRequestManager(
             transport.getOutput(),
             topologyManager,
-            new RoundRobinDispatchStrategy(topologyManager),
-            clusterCfg.getRequestTimeout());
+            dispatchStrategy,
+            clusterCfg.getRequestTimeout(),
+            configuration.getTracing().getSampleRate());
     actorScheduler.submitActor(requestManager);
   }
 
@@ -196,6 +199,11 @@ public class BrokerClientImpl implements BrokerClient {
     return topologyManager;
   }
 
+  @Override
+  public RequestDispatchStrategy getDispatchStrategy() {
+    return dispatchStrategy;
+  }
+
   public ClientTransport getTransport() {
     return transport;
   }
@@ -25,6 +25,7 @@ import io.zeebe.gateway.cmd.NoTopologyAvailableException;
 import io.zeebe.gateway.impl.ErrorResponseHandler;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
@@ -34,12 +35,15 @@ import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.ErrorCode;
 import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
 import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.protocol.impl.record.CommandTrace;
+import io.zeebe.protocol.impl.record.CommandTrace.Stage;
 import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.ClientResponse;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -52,16 +56,19 @@ public class BrokerRequestManager extends Actor {
   private final RequestDispatchStrategy dispatchStrategy;
   private final BrokerTopologyManagerImpl topologyManager;
   private final Duration requestTimeout;
+  private final double traceSampleRate;
 
   public BrokerRequestManager(
       ClientOutput clientOutput,
       BrokerTopologyManagerImpl topologyManager,
       RequestDispatchStrategy dispatchStrategy,
-      Duration requestTimeout) {
+      Duration requestTimeout,
+      double traceSampleRate) {
     this.clientOutput = clientOutput;
     this.dispatchStrategy = dispatchStrategy;
     this.topologyManager = topologyManager;
     this.requestTimeout = requestTimeout;
+    this.traceSampleRate = traceSampleRate;
   }
 
   private static boolean shouldRetryRequest(final DirectBuffer responseContent) {
@@ -145,7 +152,11 @@ public class BrokerRequestManager extends Actor {
 
   private <T> void sendRequest(
       BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
-    request.serializeValue();
+    startTraceIfSampled(request);
+    if (request instanceof BrokerExecuteCommand) {
+      // the commands of a batch are serialized when they are added
+      ((BrokerExecuteCommand<?>) request).serializeValue();
+    }
     actor.run(() -> sendRequestInternal(request, responseConsumer));
   }
 
@@ -153,6 +164,10 @@ public class BrokerRequestManager extends Actor {
       BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
     final BrokerNodeIdProvider nodeIdProvider = determineBrokerNodeIdProvider(request);
 
+    if (request instanceof BrokerExecuteCommand) {
+      ((BrokerExecuteCommand<?>) request).getTrace().stamp(Stage.GATEWAY_SENT);
+    }
+
     final ActorFuture<ClientResponse> responseFuture =
         clientOutput.sendRequestWithRetry(
             nodeIdProvider, BrokerRequestManager::shouldRetryRequest, request, requestTimeout);
@@ -177,6 +192,21 @@ public class BrokerRequestManager extends Actor {
     }
   }
 
+  private void startTraceIfSampled(BrokerRequest<?> request) {
+    if (traceSampleRate > 0.0 && request instanceof BrokerExecuteCommand) {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+      if (random.nextDouble() < traceSampleRate) {
+        long traceId = random.nextLong();
+        while (traceId == CommandTrace.NO_TRACE_ID) {
+          traceId = random.nextLong();
+        }
+
+        ((BrokerExecuteCommand<?>) request).getTrace().start(traceId).stamp(Stage.GATEWAY_RECEIVED);
+      }
+    }
+  }
+
   private BrokerNodeIdProvider determineBrokerNodeIdProvider(BrokerRequest<?> request) {
     if (request.addressesSpecificPartition()) {
       // already know partition id
@@ -203,7 +233,15 @@ public class BrokerRequestManager extends Actor {
   }
 
   private void determinePartitionIdForPublishMessageRequest(BrokerPublishMessageRequest request) {
-    final BrokerClusterState topology = topologyManager.getTopology();
+    determinePartitionIdForPublishMessageRequest(request, topologyManager.getTopology());
+  }
+
+  /**
+   * Sets the partition id of the given request, which is determined by the correlation key of the
+   * message. Also used to distribute a batch of messages.
+   */
+  public static void determinePartitionIdForPublishMessageRequest(
+      BrokerPublishMessageRequest request, BrokerClusterState topology) {
     if (topology != null) {
       final int partitionsCount = topology.getPartitionsCount();
 
@@ -16,15 +16,16 @@
 package io.zeebe.gateway.impl.broker;
 
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
-import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/** Selects the partitions one after the other, skipping the partitions without a known leader. */
 public class RoundRobinDispatchStrategy implements RequestDispatchStrategy {
 
-  protected final BrokerTopologyManagerImpl topologyManager;
+  protected final BrokerTopologyManager topologyManager;
   protected final AtomicInteger partitions = new AtomicInteger(0);
 
-  public RoundRobinDispatchStrategy(final BrokerTopologyManagerImpl topologyManager) {
+  public RoundRobinDispatchStrategy(final BrokerTopologyManager topologyManager) {
     this.topologyManager = topologyManager;
   }
 
@@ -33,8 +34,16 @@ public class RoundRobinDispatchStrategy implements RequestDispatchStrategy {
     final BrokerClusterState topology = topologyManager.getTopology();
 
     if (topology != null) {
-      final int offset = partitions.getAndIncrement();
-      return topology.getPartition(offset);
+      final int partitionsCount = topology.getPartitions().size();
+      for (int i = 0; i < partitionsCount; i++) {
+        final int partitionId = topology.getPartition(partitions.getAndIncrement());
+        if (topology.getLeaderForPartition(partitionId) != BrokerClusterState.NODE_ID_NULL) {
+          return partitionId;
+        }
+      }
+
+      // no leader is known, the request is retried until the partition has one
+      return topology.getPartition(partitions.getAndIncrement());
     } else {
       return BrokerClusterState.PARTITION_ID_NULL;
     }
@@ -25,9 +25,12 @@ import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.encoding.ExecuteCommandRequest;
 import io.zeebe.protocol.impl.encoding.ExecuteCommandResponse;
+import io.zeebe.protocol.impl.record.CommandTrace;
 import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferWriter;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BrokerExecuteCommand<T> extends BrokerRequest<T> {
 
@@ -52,6 +55,10 @@ public abstract class BrokerExecuteCommand<T> extends BrokerRequest<T> {
     return request.getValueType();
   }
 
+  public CommandTrace getTrace() {
+    return request.getTrace();
+  }
+
   @Override
   public int getPartitionId() {
     return request.getPartitionId();
@@ -72,7 +79,19 @@ public abstract class BrokerExecuteCommand<T> extends BrokerRequest<T> {
     return true;
   }
 
-  @Override
+  // public so we can do assertions in tests
+  public abstract BufferWriter getRequestWriter();
+
+  public void serializeValue() {
+    final BufferWriter valueWriter = getRequestWriter();
+    if (valueWriter != null) {
+      final int valueLength = valueWriter.getLength();
+      final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[valueLength]);
+      valueWriter.write(buffer, 0);
+      setSerializedValue(buffer);
+    }
+  }
+
   protected void setSerializedValue(DirectBuffer buffer) {
     request.setValue(buffer, 0, buffer.capacity());
   }
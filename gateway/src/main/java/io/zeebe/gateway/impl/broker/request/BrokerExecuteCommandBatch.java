@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.CommandsEncoder.commandHeaderLength;
+
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Sends multiple commands to the same partition with one request. The broker writes the commands at
+ * once and responds when all of them are processed. The response contains the responses of the
+ * commands, in the order of the commands.
+ */
+public class BrokerExecuteCommandBatch<T> extends BrokerRequest<List<BrokerResponse<T>>> {
+
+  public static final int MAX_COMMAND_COUNT = ExecuteCommandBatchRequest.MAX_COMMAND_COUNT;
+  public static final int MAX_COMMAND_LENGTH = ExecuteCommandBatchRequest.MAX_COMMAND_LENGTH;
+
+  /**
+   * The maximum length of a batch request. It is lower than the maximum message length of the
+   * broker's client API, since the commands are also written as one batch into the log.
+   */
+  public static final int MAX_BATCH_LENGTH = 256 * 1024;
+
+  private final ExecuteCommandBatchRequest request = new ExecuteCommandBatchRequest();
+  private final ExecuteCommandBatchResponse response = new ExecuteCommandBatchResponse();
+
+  private final List<BrokerExecuteCommand<T>> commands = new ArrayList<>();
+
+  public BrokerExecuteCommandBatch(int partitionId) {
+    super(
+        ExecuteCommandBatchResponseDecoder.SCHEMA_ID,
+        ExecuteCommandBatchResponseDecoder.TEMPLATE_ID);
+    request.setPartitionId(partitionId);
+  }
+
+  /**
+   * Serializes the given command and adds it to the batch, if the batch has enough space left.
+   *
+   * @return true if the command was added, or false if the batch is full or the command is too big
+   *     to be sent in a batch
+   */
+  public boolean tryAddCommand(BrokerExecuteCommand<T> command) {
+    command.setPartitionId(getPartitionId());
+    command.serializeValue();
+
+    final int commandLength = command.getLength();
+    final boolean fitsIntoBatch =
+        commands.size() < MAX_COMMAND_COUNT
+            && commandLength <= MAX_COMMAND_LENGTH
+            && request.getLength() + commandHeaderLength() + commandLength <= MAX_BATCH_LENGTH;
+
+    if (fitsIntoBatch) {
+      request.addCommand(command);
+      commands.add(command);
+    }
+    return fitsIntoBatch;
+  }
+
+  public boolean isEmpty() {
+    return commands.isEmpty();
+  }
+
+  public List<BrokerExecuteCommand<T>> getCommands() {
+    return commands;
+  }
+
+  @Override
+  public int getPartitionId() {
+    return request.getPartitionId();
+  }
+
+  @Override
+  public void setPartitionId(int partitionId) {
+    request.setPartitionId(partitionId);
+  }
+
+  @Override
+  public boolean addressesSpecificPartition() {
+    return getPartitionId() != ExecuteCommandBatchRequestEncoder.partitionIdNullValue();
+  }
+
+  @Override
+  public boolean requiresPartitionId() {
+    return true;
+  }
+
+  @Override
+  public int getLength() {
+    return request.getLength();
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    request.write(buffer, offset);
+  }
+
+  @Override
+  protected void wrapResponse(DirectBuffer buffer) {
+    response.wrap(buffer, 0, buffer.capacity());
+  }
+
+  @Override
+  protected BrokerResponse<List<BrokerResponse<T>>> readResponse() {
+    return new BrokerResponse<>(readCommandResponses(), response.getPartitionId(), -1);
+  }
+
+  @Override
+  protected List<BrokerResponse<T>> toResponseDto(DirectBuffer buffer) {
+    wrapResponse(buffer);
+    return readCommandResponses();
+  }
+
+  private List<BrokerResponse<T>> readCommandResponses() {
+    final int responseCount = response.getResponseCount();
+    if (responseCount != commands.size()) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected to receive %d responses for the batch of commands, but received %d",
+              commands.size(), responseCount));
+    }
+
+    final List<BrokerResponse<T>> responses = new ArrayList<>(responseCount);
+    for (int i = 0; i < responseCount; i++) {
+      responses.add(commands.get(i).getResponse(response.getResponse(i)));
+    }
+    return responses;
+  }
+}
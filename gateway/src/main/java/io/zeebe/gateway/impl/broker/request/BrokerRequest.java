@@ -28,8 +28,6 @@ import io.zeebe.transport.ClientResponse;
 import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.buffer.BufferWriter;
 import org.agrona.DirectBuffer;
-import org.agrona.MutableDirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BrokerRequest<T> implements BufferWriter {
 
@@ -52,21 +50,6 @@ public abstract class BrokerRequest<T> implements BufferWriter {
 
   public abstract boolean requiresPartitionId();
 
-  // public so we can do assertions in tests
-  public abstract BufferWriter getRequestWriter();
-
-  public void serializeValue() {
-    final BufferWriter valueWriter = getRequestWriter();
-    if (valueWriter != null) {
-      final int valueLength = valueWriter.getLength();
-      final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[valueLength]);
-      valueWriter.write(buffer, 0);
-      setSerializedValue(buffer);
-    }
-  }
-
-  protected abstract void setSerializedValue(DirectBuffer buffer);
-
   protected abstract void wrapResponse(DirectBuffer buffer);
 
   protected abstract BrokerResponse<T> readResponse();
@@ -74,7 +57,14 @@ public abstract class BrokerRequest<T> implements BufferWriter {
   protected abstract T toResponseDto(DirectBuffer buffer);
 
   public BrokerResponse<T> getResponse(ClientResponse clientResponse) {
-    final DirectBuffer responseBuffer = clientResponse.getResponseBuffer();
+    return getResponse(clientResponse.getResponseBuffer());
+  }
+
+  /**
+   * Reads the response from the given buffer, which contains the encoded response message (e.g. one
+   * response of a batch response).
+   */
+  public BrokerResponse<T> getResponse(DirectBuffer responseBuffer) {
     try {
       if (isValidResponse(responseBuffer)) {
         wrapResponse(responseBuffer);
@@ -23,6 +23,7 @@ public class ConfigurationDefaults {
   public static final String DEFAULT_TRANSPORT_BUFFER_SIZE = "128M";
   public static final int DEFAULT_CONTACT_POINT_PORT = 26505;
   public static final int DEFAULT_MANAGEMENT_THREADS = 1;
+  public static final double DEFAULT_TRACING_SAMPLE_RATE = 0.0;
   public static final String DEFAULT_REQUEST_TIMEOUT = "15s";
   public static final String DEFAULT_CLUSTER_NAME = "zeebe-cluster";
   public static final String DEFAULT_CLUSTER_MEMBER_ID = "gateway";
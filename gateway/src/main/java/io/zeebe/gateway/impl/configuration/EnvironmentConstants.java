@@ -22,6 +22,7 @@ public class EnvironmentConstants {
   public static final String ENV_GATEWAY_TRANSPORT_BUFFER = "ZEEBE_GATEWAY_TRANSPORT_BUFFER";
   public static final String ENV_GATEWAY_REQUEST_TIMEOUT = "ZEEBE_GATEWAY_REQUEST_TIMEOUT";
   public static final String ENV_GATEWAY_MANAGEMENT_THREADS = "ZEEBE_GATEWAY_MANAGEMENT_THREADS";
+  public static final String ENV_GATEWAY_TRACING_SAMPLE_RATE = "ZEEBE_GATEWAY_TRACING_SAMPLE_RATE";
   public static final String ENV_GATEWAY_CONTACT_POINT = "ZEEBE_GATEWAY_CONTACT_POINT";
   public static final String ENV_GATEWAY_CLUSTER_NAME = "ZEEBE_GATEWAY_CLUSTER_NAME";
   public static final String ENV_GATEWAY_CLUSTER_MEMBER_ID = "ZEEBE_GATEWAY_CLUSTER_MEMBER_ID";
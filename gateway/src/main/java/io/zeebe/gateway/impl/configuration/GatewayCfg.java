@@ -24,6 +24,7 @@ public class GatewayCfg {
   private NetworkCfg network = new NetworkCfg();
   private ClusterCfg cluster = new ClusterCfg();
   private ThreadsCfg threads = new ThreadsCfg();
+  private TracingCfg tracing = new TracingCfg();
 
   public void init() {
     init(new Environment());
@@ -37,6 +38,7 @@ public class GatewayCfg {
     network.init(environment, defaultHost);
     cluster.init(environment);
     threads.init(environment);
+    tracing.init(environment);
   }
 
   public NetworkCfg getNetwork() {
@@ -66,6 +68,15 @@ public class GatewayCfg {
     return this;
   }
 
+  public TracingCfg getTracing() {
+    return tracing;
+  }
+
+  public GatewayCfg setTracing(TracingCfg tracing) {
+    this.tracing = tracing;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -77,12 +88,13 @@ public class GatewayCfg {
     final GatewayCfg that = (GatewayCfg) o;
     return Objects.equals(network, that.network)
         && Objects.equals(cluster, that.cluster)
-        && Objects.equals(threads, that.threads);
+        && Objects.equals(threads, that.threads)
+        && Objects.equals(tracing, that.tracing);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(network, cluster, threads);
+    return Objects.hash(network, cluster, threads, tracing);
   }
 
   @Override
@@ -94,6 +106,8 @@ public class GatewayCfg {
         + cluster
         + ", threadsCfg="
         + threads
+        + ", tracingCfg="
+        + tracing
         + '}';
   }
 
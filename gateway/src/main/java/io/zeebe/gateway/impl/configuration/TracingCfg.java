@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.configuration;
+
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_TRACING_SAMPLE_RATE;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRACING_SAMPLE_RATE;
+
+import io.zeebe.util.Environment;
+import java.util.Objects;
+
+public class TracingCfg {
+
+  private double sampleRate = DEFAULT_TRACING_SAMPLE_RATE;
+
+  public void init(Environment environment) {
+    environment.getDouble(ENV_GATEWAY_TRACING_SAMPLE_RATE).ifPresent(this::setSampleRate);
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  public TracingCfg setSampleRate(double sampleRate) {
+    this.sampleRate = sampleRate;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final TracingCfg that = (TracingCfg) o;
+    return Double.compare(that.sampleRate, sampleRate) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sampleRate);
+  }
+
+  @Override
+  public String toString() {
+    return "TracingCfg{" + "sampleRate=" + sampleRate + '}';
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Completes all jobs, except the job with the key {@link #NOT_FOUND_KEY}. */
+public class CompleteJobsStub extends JobRequestStub
+    implements RequestStub<
+        BrokerExecuteCommandBatch<JobRecord>, BrokerResponse<List<BrokerResponse<JobRecord>>>> {
+
+  public static final long NOT_FOUND_KEY =
+      Protocol.encodePartitionId(Protocol.START_PARTITION_ID, 404);
+  public static final String REJECTION_REASON = "job does not exist";
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerExecuteCommandBatch.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<JobRecord>>> handle(
+      BrokerExecuteCommandBatch<JobRecord> request) throws Exception {
+    final List<BrokerResponse<JobRecord>> responses = new ArrayList<>();
+
+    for (BrokerExecuteCommand<JobRecord> command : request.getCommands()) {
+      if (command.getKey() == NOT_FOUND_KEY) {
+        responses.add(
+            new BrokerRejectionResponse<>(
+                new BrokerRejection(
+                    JobIntent.COMPLETE,
+                    command.getKey(),
+                    RejectionType.NOT_FOUND,
+                    REJECTION_REASON)));
+      } else {
+        responses.add(
+            new BrokerResponse<>(buildDefaultValue(), request.getPartitionId(), command.getKey()));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+}
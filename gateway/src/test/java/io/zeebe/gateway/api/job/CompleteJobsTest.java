@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.test.util.JsonUtil;
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class CompleteJobsTest extends GatewayTest {
+
+  @Test
+  public void shouldMapRequestAndResponse() {
+    // given
+    new CompleteJobsStub().registerWith(gateway);
+
+    final String variables = JsonUtil.toJson(Collections.singletonMap("key", "value"));
+    final long jobKey = Protocol.encodePartitionId(2, 1);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(jobKey).setVariables(variables))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(CompleteJobResult::getCode)
+        .containsExactly(Status.Code.OK.value());
+
+    final BrokerExecuteCommandBatch<JobRecord> batch = gateway.getSingleBrokerRequest();
+    assertThat(batch.getPartitionId()).isEqualTo(2);
+    assertThat(batch.getCommands()).hasSize(1);
+
+    final BrokerExecuteCommand<JobRecord> command = batch.getCommands().get(0);
+    assertThat(command.getKey()).isEqualTo(jobKey);
+    assertThat(command.getIntent()).isEqualTo(JobIntent.COMPLETE);
+    assertThat(command.getValueType()).isEqualTo(ValueType.JOB);
+
+    final JobRecord brokerRequestValue = (JobRecord) command.getRequestWriter();
+    MsgPackUtil.assertEqualityExcluding(brokerRequestValue.getVariables(), variables);
+  }
+
+  @Test
+  public void shouldGroupJobsByPartition() {
+    // given
+    new CompleteJobsStub().registerWith(gateway);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(job(Protocol.encodePartitionId(1, 1)))
+            .addJobs(job(Protocol.encodePartitionId(2, 2)))
+            .addJobs(job(Protocol.encodePartitionId(1, 3)))
+            .addJobs(job(Protocol.encodePartitionId(2, 4)))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsCount()).isEqualTo(4);
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests).hasSize(2);
+
+    for (BrokerRequest brokerRequest : brokerRequests) {
+      final BrokerExecuteCommandBatch<JobRecord> batch =
+          (BrokerExecuteCommandBatch<JobRecord>) brokerRequest;
+      assertThat(batch.getCommands())
+          .hasSize(2)
+          .extracting(command -> Protocol.decodePartitionId(command.getKey()))
+          .containsOnly(batch.getPartitionId());
+    }
+  }
+
+  @Test
+  public void shouldReturnResultPerJob() {
+    // given
+    new CompleteJobsStub().registerWith(gateway);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(job(Protocol.encodePartitionId(1, 1)))
+            .addJobs(job(CompleteJobsStub.NOT_FOUND_KEY))
+            .addJobs(job(Protocol.encodePartitionId(2, 2)))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(CompleteJobResult::getCode)
+        .containsExactly(
+            Status.Code.OK.value(), Status.Code.NOT_FOUND.value(), Status.Code.OK.value());
+    assertThat(response.getResults(1).getMessage()).contains(CompleteJobsStub.REJECTION_REASON);
+  }
+
+  @Test
+  public void shouldRejectEmptyRequest() {
+    // when
+    assertThatThrownBy(() -> client.completeJobs(CompleteJobsRequest.getDefaultInstance()))
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining("INVALID_ARGUMENT");
+
+    // then
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+
+  private static CompleteJobRequest job(long jobKey) {
+    return CompleteJobRequest.newBuilder().setJobKey(jobKey).build();
+  }
+}
@@ -28,6 +28,8 @@ import io.zeebe.gateway.cmd.BrokerResponseException;
 import io.zeebe.gateway.cmd.IllegalBrokerResponseException;
 import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.BrokerResponseConsumer;
+import io.zeebe.gateway.impl.broker.RequestDispatchStrategy;
+import io.zeebe.gateway.impl.broker.RoundRobinDispatchStrategy;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterStateImpl;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
@@ -77,6 +79,10 @@ public class StubbedGateway extends Gateway {
     return (T) brokerRequests.get(0);
   }
 
+  public List<BrokerRequest> getBrokerRequests() {
+    return brokerRequests;
+  }
+
   @FunctionalInterface
   interface RequestHandler<RequestT extends BrokerRequest<?>, ResponseT extends BrokerResponse<?>> {
     ResponseT handle(RequestT request) throws Exception;
@@ -91,6 +97,7 @@ public class StubbedGateway extends Gateway {
   private class StubbedBrokerClient implements BrokerClient {
 
     BrokerTopologyManager topologyManager = new StubbedTopologyManager();
+    RequestDispatchStrategy dispatchStrategy = new RoundRobinDispatchStrategy(topologyManager);
 
     @Override
     public void close() {}
@@ -128,6 +135,11 @@ public class StubbedGateway extends Gateway {
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
+
+    @Override
+    public RequestDispatchStrategy getDispatchStrategy() {
+      return dispatchStrategy;
+    }
   }
 
   private class StubbedTopologyManager implements BrokerTopologyManager {
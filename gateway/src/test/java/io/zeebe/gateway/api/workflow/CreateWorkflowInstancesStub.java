@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the requested workflow instances, except for the process id {@link #UNKNOWN_PROCESS_ID}.
+ * The instance keys are numbered per partition, starting with 1.
+ */
+public class CreateWorkflowInstancesStub
+    implements RequestStub<
+        BrokerExecuteCommandBatch<WorkflowInstanceCreationRecord>,
+        BrokerResponse<List<BrokerResponse<WorkflowInstanceCreationRecord>>>> {
+
+  public static final String UNKNOWN_PROCESS_ID = "unknown";
+  public static final String REJECTION_REASON = "workflow not found";
+  public static final int PROCESS_VERSION = 1;
+  public static final long WORKFLOW_KEY = 456;
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerExecuteCommandBatch.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<WorkflowInstanceCreationRecord>>> handle(
+      BrokerExecuteCommandBatch<WorkflowInstanceCreationRecord> request) throws Exception {
+    final int partitionId = request.getPartitionId();
+    final List<BrokerResponse<WorkflowInstanceCreationRecord>> responses = new ArrayList<>();
+
+    for (BrokerExecuteCommand<WorkflowInstanceCreationRecord> command : request.getCommands()) {
+      final WorkflowInstanceCreationRecord value =
+          ((BrokerCreateWorkflowInstanceRequest) command).getRequestWriter();
+
+      if (UNKNOWN_PROCESS_ID.equals(bufferAsString(value.getBpmnProcessId()))) {
+        responses.add(
+            new BrokerRejectionResponse<>(
+                new BrokerRejection(
+                    WorkflowInstanceCreationIntent.CREATE,
+                    -1,
+                    RejectionType.NOT_FOUND,
+                    REJECTION_REASON)));
+      } else {
+        final long instanceKey = Protocol.encodePartitionId(partitionId, responses.size() + 1);
+
+        final WorkflowInstanceCreationRecord response = new WorkflowInstanceCreationRecord();
+        response.setBpmnProcessId(value.getBpmnProcessId());
+        response.setVersion(PROCESS_VERSION);
+        response.setKey(WORKFLOW_KEY);
+        response.setInstanceKey(instanceKey);
+
+        responses.add(new BrokerResponse<>(response, partitionId, instanceKey));
+      }
+    }
+
+    return new BrokerResponse<>(responses, partitionId, -1);
+  }
+}
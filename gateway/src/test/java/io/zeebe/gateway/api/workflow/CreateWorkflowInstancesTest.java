@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstancesResponse;
+import io.zeebe.protocol.Protocol;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+public class CreateWorkflowInstancesTest extends GatewayTest {
+
+  @Test
+  public void shouldStreamResultsPerPartition() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(gateway);
+
+    final int partitionsCount =
+        brokerClient.getTopologyManager().getTopology().getPartitionsCount();
+    final int instanceCount = 2 * partitionsCount;
+
+    final CreateWorkflowInstancesRequest.Builder requestBuilder =
+        CreateWorkflowInstancesRequest.newBuilder();
+    for (int i = 0; i < instanceCount; i++) {
+      requestBuilder.addInstances(instance("process"));
+    }
+
+    // when
+    final List<CreateWorkflowInstancesResponse> responses =
+        collect(client.createWorkflowInstances(requestBuilder.build()));
+
+    // then
+    assertThat(responses).hasSize(partitionsCount);
+    for (CreateWorkflowInstancesResponse response : responses) {
+      assertThat(response.getResultsCount()).isEqualTo(2);
+    }
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerRequest::getPartitionId)
+        .containsOnlyElementsOf(partitionIds(partitionsCount))
+        .doesNotHaveDuplicates()
+        .hasSize(partitionsCount);
+
+    for (BrokerRequest brokerRequest : brokerRequests) {
+      assertThat(((BrokerExecuteCommandBatch<?>) brokerRequest).getCommands()).hasSize(2);
+    }
+  }
+
+  @Test
+  public void shouldReturnResultWithIndexPerInstance() {
+    // given
+    new CreateWorkflowInstancesStub().registerWith(gateway);
+
+    final CreateWorkflowInstancesRequest request =
+        CreateWorkflowInstancesRequest.newBuilder()
+            .addInstances(instance("process"))
+            .addInstances(instance(CreateWorkflowInstancesStub.UNKNOWN_PROCESS_ID))
+            .addInstances(instance("process"))
+            .build();
+
+    // when
+    final List<CreateWorkflowInstancesResponse> responses =
+        collect(client.createWorkflowInstances(request));
+
+    // then
+    final List<CreateWorkflowInstanceResult> results = new ArrayList<>();
+    responses.forEach(response -> results.addAll(response.getResultsList()));
+    results.sort(Comparator.comparingInt(CreateWorkflowInstanceResult::getIndex));
+
+    assertThat(results)
+        .extracting("index", "code")
+        .containsExactly(
+            tuple(0, Status.Code.OK.value()),
+            tuple(1, Status.Code.NOT_FOUND.value()),
+            tuple(2, Status.Code.OK.value()));
+
+    assertThat(results.get(0).getInstance().getBpmnProcessId()).isEqualTo("process");
+    assertThat(results.get(0).getInstance().getWorkflowKey())
+        .isEqualTo(CreateWorkflowInstancesStub.WORKFLOW_KEY);
+    assertThat(Protocol.decodePartitionId(results.get(0).getInstance().getWorkflowInstanceKey()))
+        .isEqualTo(Protocol.START_PARTITION_ID);
+
+    assertThat(results.get(1).hasInstance()).isFalse();
+    assertThat(results.get(1).getMessage()).contains(CreateWorkflowInstancesStub.REJECTION_REASON);
+  }
+
+  @Test
+  public void shouldRejectEmptyRequest() {
+    // when
+    assertThatThrownBy(
+            () ->
+                collect(
+                    client.createWorkflowInstances(
+                        CreateWorkflowInstancesRequest.getDefaultInstance())))
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining("INVALID_ARGUMENT");
+
+    // then
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+
+  private static CreateWorkflowInstanceRequest instance(String bpmnProcessId) {
+    return CreateWorkflowInstanceRequest.newBuilder()
+        .setBpmnProcessId(bpmnProcessId)
+        .setVersion(-1)
+        .build();
+  }
+
+  private static List<Integer> partitionIds(int partitionsCount) {
+    final List<Integer> partitionIds = new ArrayList<>();
+    for (int i = 0; i < partitionsCount; i++) {
+      partitionIds.add(Protocol.START_PARTITION_ID + i);
+    }
+    return partitionIds;
+  }
+
+  private static List<CreateWorkflowInstancesResponse> collect(
+      Iterator<CreateWorkflowInstancesResponse> responses) {
+    final List<CreateWorkflowInstancesResponse> collected = new ArrayList<>();
+    responses.forEachRemaining(collected::add);
+    return collected;
+  }
+}
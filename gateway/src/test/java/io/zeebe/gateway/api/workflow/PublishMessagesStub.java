@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.intent.MessageIntent;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Accepts all published messages, except those with the correlation key {@link #REJECTED}. */
+public class PublishMessagesStub
+    implements RequestStub<
+        BrokerExecuteCommandBatch<Void>, BrokerResponse<List<BrokerResponse<Void>>>> {
+
+  public static final String REJECTED = "rejected";
+  public static final String REJECTION_REASON = "message already published";
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerExecuteCommandBatch.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<Void>>> handle(BrokerExecuteCommandBatch<Void> request)
+      throws Exception {
+    final List<BrokerResponse<Void>> responses = new ArrayList<>();
+
+    for (BrokerExecuteCommand<Void> command : request.getCommands()) {
+      final BrokerPublishMessageRequest publishMessageRequest =
+          (BrokerPublishMessageRequest) command;
+
+      if (REJECTED.equals(bufferAsString(publishMessageRequest.getCorrelationKey()))) {
+        responses.add(
+            new BrokerRejectionResponse<>(
+                new BrokerRejection(
+                    MessageIntent.PUBLISH, -1, RejectionType.ALREADY_EXISTS, REJECTION_REASON)));
+      } else {
+        responses.add(new BrokerResponse<>(null, request.getPartitionId(), 1));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommand;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import java.util.List;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class PublishMessagesTest extends GatewayTest {
+
+  @Test
+  public void shouldSendMessagesOfSamePartitionInOneBatch() {
+    // given
+    new PublishMessagesStub().registerWith(gateway);
+
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(message("a", "correlate"))
+            .addMessages(message("b", "correlate"))
+            .addMessages(message("c", "correlate"))
+            .build();
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(PublishMessageResult::getCode)
+        .containsExactly(Status.Code.OK.value(), Status.Code.OK.value(), Status.Code.OK.value());
+
+    final BrokerExecuteCommandBatch<Void> batch = gateway.getSingleBrokerRequest();
+    assertThat(batch.getPartitionId()).isEqualTo(partitionOf("correlate"));
+    assertThat(batch.getCommands())
+        .extracting(command -> bufferAsString(getMessage(command).getName()))
+        .containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void shouldGroupMessagesByPartition() {
+    // given
+    new PublishMessagesStub().registerWith(gateway);
+
+    final PublishMessagesRequest.Builder requestBuilder = PublishMessagesRequest.newBuilder();
+    for (int i = 0; i < 20; i++) {
+      requestBuilder.addMessages(message("message", "key-" + i));
+    }
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(requestBuilder.build());
+
+    // then
+    assertThat(response.getResultsCount()).isEqualTo(20);
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests.size()).isGreaterThan(1);
+
+    int commandCount = 0;
+    for (BrokerRequest brokerRequest : brokerRequests) {
+      final BrokerExecuteCommandBatch<Void> batch = (BrokerExecuteCommandBatch<Void>) brokerRequest;
+      for (BrokerExecuteCommand<Void> command : batch.getCommands()) {
+        final String correlationKey = bufferAsString(getMessage(command).getCorrelationKey());
+        assertThat(partitionOf(correlationKey)).isEqualTo(batch.getPartitionId());
+        commandCount += 1;
+      }
+    }
+    assertThat(commandCount).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldReturnResultPerMessage() {
+    // given
+    new PublishMessagesStub().registerWith(gateway);
+
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(message("a", "correlate"))
+            .addMessages(message("b", PublishMessagesStub.REJECTED))
+            .addMessages(message("c", "correlate"))
+            .build();
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(PublishMessageResult::getCode)
+        .containsExactly(
+            Status.Code.OK.value(), Status.Code.ALREADY_EXISTS.value(), Status.Code.OK.value());
+    assertThat(response.getResults(1).getMessage()).contains(PublishMessagesStub.REJECTION_REASON);
+  }
+
+  @Test
+  public void shouldRejectEmptyRequest() {
+    // when
+    assertThatThrownBy(() -> client.publishMessages(PublishMessagesRequest.getDefaultInstance()))
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining("INVALID_ARGUMENT");
+
+    // then
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+
+  private static PublishMessageRequest message(String name, String correlationKey) {
+    return PublishMessageRequest.newBuilder()
+        .setName(name)
+        .setCorrelationKey(correlationKey)
+        .setTimeToLive(1000)
+        .build();
+  }
+
+  private static MessageRecord getMessage(BrokerExecuteCommand<Void> command) {
+    return ((BrokerPublishMessageRequest) command).getRequestWriter();
+  }
+
+  private int partitionOf(String correlationKey) {
+    final int partitionsCount =
+        brokerClient.getTopologyManager().getTopology().getPartitionsCount();
+    return SubscriptionUtil.getSubscriptionPartitionId(
+        new UnsafeBuffer(correlationKey.getBytes()), partitionsCount);
+  }
+}
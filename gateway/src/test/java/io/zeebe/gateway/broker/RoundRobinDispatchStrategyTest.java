@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.broker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.gateway.impl.broker.RoundRobinDispatchStrategy;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterStateImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoundRobinDispatchStrategyTest {
+
+  private final BrokerClusterStateImpl topology = new BrokerClusterStateImpl();
+  private final RoundRobinDispatchStrategy dispatchStrategy =
+      new RoundRobinDispatchStrategy(() -> topology);
+
+  @Before
+  public void setUp() {
+    for (int partitionId = 1; partitionId <= 3; partitionId++) {
+      topology.addPartitionIfAbsent(partitionId);
+    }
+    topology.setPartitionsCount(3);
+  }
+
+  @Test
+  public void shouldSelectPartitionsInTurn() {
+    // given
+    topology.setPartitionLeader(1, 0);
+    topology.setPartitionLeader(2, 0);
+    topology.setPartitionLeader(3, 0);
+
+    // when
+    final int[] partitionIds = determinePartitions(4);
+
+    // then
+    assertThat(partitionIds).containsExactly(1, 2, 3, 1);
+  }
+
+  @Test
+  public void shouldSkipPartitionsWithoutLeader() {
+    // given
+    topology.setPartitionLeader(1, 0);
+    topology.setPartitionLeader(3, 0);
+
+    // when
+    final int[] partitionIds = determinePartitions(4);
+
+    // then
+    assertThat(partitionIds).containsExactly(1, 3, 1, 3);
+  }
+
+  @Test
+  public void shouldSelectPartitionIfNoLeaderIsKnown() {
+    // when
+    final int[] partitionIds = determinePartitions(2);
+
+    // then
+    assertThat(partitionIds).doesNotContain(BrokerClusterState.PARTITION_ID_NULL);
+  }
+
+  @Test
+  public void shouldNotSelectPartitionWithoutTopology() {
+    // given
+    final RoundRobinDispatchStrategy dispatchStrategy = new RoundRobinDispatchStrategy(() -> null);
+
+    // when
+    final int partitionId = dispatchStrategy.determinePartition();
+
+    // then
+    assertThat(partitionId).isEqualTo(BrokerClusterState.PARTITION_ID_NULL);
+  }
+
+  private int[] determinePartitions(final int count) {
+    final int[] partitionIds = new int[count];
+    for (int i = 0; i < count; i++) {
+      partitionIds[i] = dispatchStrategy.determinePartition();
+    }
+    return partitionIds;
+  }
+}
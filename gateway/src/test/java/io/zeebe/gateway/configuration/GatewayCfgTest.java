@@ -24,6 +24,7 @@ import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEW
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MANAGEMENT_THREADS;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_PORT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_TIMEOUT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRACING_SAMPLE_RATE;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_BUFFER;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -57,6 +58,7 @@ public class GatewayCfgTest {
         .setHost("1.2.3.4")
         .setPort(12321);
     CUSTOM_CFG.getThreads().setManagementThreads(100);
+    CUSTOM_CFG.getTracing().setSampleRate(0.25);
   }
 
   private final Map<String, String> environment = new HashMap<>();
@@ -92,6 +94,7 @@ public class GatewayCfgTest {
     setEnv(ENV_GATEWAY_CLUSTER_MEMBER_ID, "envMember");
     setEnv(ENV_GATEWAY_CLUSTER_HOST, "envHost");
     setEnv(ENV_GATEWAY_CLUSTER_PORT, "12345");
+    setEnv(ENV_GATEWAY_TRACING_SAMPLE_RATE, "0.5");
 
     final GatewayCfg expected = new GatewayCfg();
     expected.getNetwork().setHost("zeebe").setPort(5432);
@@ -105,6 +108,7 @@ public class GatewayCfgTest {
         .setHost("envHost")
         .setPort(12345);
     expected.getThreads().setManagementThreads(32);
+    expected.getTracing().setSampleRate(0.5);
 
     // when
     final GatewayCfg gatewayCfg = readCustomConfig();
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.benchmarks;
+
+import io.zeebe.gateway.api.job.CompleteJobStub;
+import io.zeebe.gateway.api.job.CompleteJobsStub;
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.protocol.Protocol;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares completing jobs one by one with completing them with one CompleteJobs call. An operation
+ * completes {@link #jobCount} jobs of {@link #PARTITION_COUNT} partitions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CompleteJobsBenchmark {
+
+  private static final int PARTITION_COUNT = 4;
+
+  @Param({"1", "10", "100"})
+  public int jobCount;
+
+  private StubbedGateway gateway;
+  private GatewayBlockingStub client;
+  private CompleteJobsRequest request;
+
+  @Setup
+  public void setUp() throws IOException {
+    gateway = new StubbedGateway();
+    new CompleteJobStub().registerWith(gateway);
+    new CompleteJobsStub().registerWith(gateway);
+    gateway.start();
+
+    client = gateway.buildClient();
+
+    final CompleteJobsRequest.Builder requestBuilder = CompleteJobsRequest.newBuilder();
+    for (int i = 0; i < jobCount; i++) {
+      final int partitionId = Protocol.START_PARTITION_ID + i % PARTITION_COUNT;
+      requestBuilder.addJobs(
+          CompleteJobRequest.newBuilder().setJobKey(Protocol.encodePartitionId(partitionId, i)));
+    }
+    request = requestBuilder.build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    gateway.stop();
+  }
+
+  @Benchmark
+  public int completeOneByOne() {
+    for (CompleteJobRequest job : request.getJobsList()) {
+      client.completeJob(job);
+    }
+    gateway.getBrokerRequests().clear();
+
+    return request.getJobsCount();
+  }
+
+  @Benchmark
+  public int completeInBatch() {
+    final int resultCount = client.completeJobs(request).getResultsCount();
+    gateway.getBrokerRequests().clear();
+
+    return resultCount;
+  }
+}
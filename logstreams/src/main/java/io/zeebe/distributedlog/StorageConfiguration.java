@@ -15,6 +15,7 @@
  */
 package io.zeebe.distributedlog;
 
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,6 +45,9 @@ public class StorageConfiguration {
   private int partitionId;
   private long logSegmentSize;
   private long indexBlockSize;
+  private LogBlockCodecs logBlockCompression = LogBlockCodecs.NONE;
+  private int logBlockCompressionThreshold;
+  private long logReadCacheSize;
 
   public StorageConfiguration(
       final File metaFile,
@@ -92,6 +96,34 @@ public class StorageConfiguration {
     return indexBlockSize;
   }
 
+  public StorageConfiguration setLogBlockCompression(final LogBlockCodecs logBlockCompression) {
+    this.logBlockCompression = logBlockCompression;
+    return this;
+  }
+
+  public LogBlockCodecs getLogBlockCompression() {
+    return logBlockCompression;
+  }
+
+  public StorageConfiguration setLogBlockCompressionThreshold(
+      final int logBlockCompressionThreshold) {
+    this.logBlockCompressionThreshold = logBlockCompressionThreshold;
+    return this;
+  }
+
+  public int getLogBlockCompressionThreshold() {
+    return logBlockCompressionThreshold;
+  }
+
+  public StorageConfiguration setLogReadCacheSize(final long logReadCacheSize) {
+    this.logReadCacheSize = logReadCacheSize;
+    return this;
+  }
+
+  public long getLogReadCacheSize() {
+    return logReadCacheSize;
+  }
+
   public File getSnapshotsDirectory() {
     return snapshotsDirectory;
   }
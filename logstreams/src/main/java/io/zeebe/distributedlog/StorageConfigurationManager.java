@@ -15,6 +15,7 @@
  */
 package io.zeebe.distributedlog;
 
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.sched.Actor;
@@ -44,13 +45,29 @@ public class StorageConfigurationManager extends Actor {
   private final String indexBlockSize;
   private final List<String> directories;
   private final String segmentSize;
+  private final String logBlockCompression;
+  private final String logBlockCompressionThreshold;
+  private final String logReadCacheSize;
 
   public StorageConfigurationManager(
       List<String> dataDirectories, String segmentSize, final String indexBlockSize) {
+    this(dataDirectories, segmentSize, indexBlockSize, "none", "4K", "0");
+  }
+
+  public StorageConfigurationManager(
+      List<String> dataDirectories,
+      String segmentSize,
+      final String indexBlockSize,
+      final String logBlockCompression,
+      final String logBlockCompressionThreshold,
+      final String logReadCacheSize) {
     this.directories = dataDirectories;
     this.segmentSize = segmentSize;
     this.partitionCountPerDataDirectory = new int[dataDirectories.size()];
     this.indexBlockSize = indexBlockSize;
+    this.logBlockCompression = logBlockCompression;
+    this.logBlockCompressionThreshold = logBlockCompressionThreshold;
+    this.logReadCacheSize = logReadCacheSize;
   }
 
   @Override
@@ -77,13 +94,16 @@ public class StorageConfigurationManager extends Actor {
         final File indexSnapshotsDirectory =
             new File(indexDirectory, PARTITION_INDEX_SNAPSHOTS_DIR);
 
-        configurations.add(
+        final StorageConfiguration storage =
             new StorageConfiguration(
                 configFile,
                 logDirectory,
                 indexSnapshotsDirectory,
                 statesDirectory,
-                indexRuntimeDirectory));
+                indexRuntimeDirectory);
+        applyLogSettings(storage);
+
+        configurations.add(storage);
         partitionCountPerDataDirectory[offset]++;
       }
     }
@@ -146,6 +166,7 @@ public class StorageConfigurationManager extends Actor {
                   .setPartitionId(partitionId)
                   .setLogSegmentSize(new ByteValue(segmentSize).toBytes())
                   .setIndexBlockSize(new ByteValue(indexBlockSize).toBytes());
+              applyLogSettings(storage);
 
               configurations.add(storage);
 
@@ -168,6 +189,16 @@ public class StorageConfigurationManager extends Actor {
     return future;
   }
 
+  private void applyLogSettings(final StorageConfiguration storage) {
+    // these settings are not persisted, the compression can be changed on restart since the codec
+    // is stored with each block
+    storage
+        .setLogBlockCompression(LogBlockCodecs.forName(logBlockCompression))
+        .setLogBlockCompressionThreshold(
+            (int) new ByteValue(logBlockCompressionThreshold).toBytes())
+        .setLogReadCacheSize(new ByteValue(logReadCacheSize).toBytes());
+  }
+
   private int assignDataDirectory() {
     int min = Integer.MAX_VALUE;
     int minOffset = -1;
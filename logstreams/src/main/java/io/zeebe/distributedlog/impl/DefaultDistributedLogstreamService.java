@@ -130,6 +130,9 @@ public class DefaultDistributedLogstreamService
               .logDirectory(logDirectory.getAbsolutePath())
               .logSegmentSize((int) config.getLogSegmentSize())
               .indexBlockSize((int) config.getIndexBlockSize())
+              .blockCompression(config.getLogBlockCompression())
+              .blockCompressionThreshold(config.getLogBlockCompressionThreshold())
+              .readCacheSize(config.getLogReadCacheSize())
               .logName(logServiceName)
               .serviceContainer(serviceContainer)
               .indexStateStorage(stateStorage)
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.getFragmentLength;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.compressedDataOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.getCodecId;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.getCompressedDataLength;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.getUncompressedLength;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.isCompressedBlock;
+import static io.zeebe.logstreams.spi.LogStorage.OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY;
+
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodec;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
+import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads complete events like {@link CompleteEventsInBlockProcessor} and decompresses the compressed
+ * blocks in place, so that the buffer contains only log entries afterwards. The returned read
+ * result is still the count of bytes which are read from the storage, while the position of the
+ * buffer is moved behind the decompressed entries.
+ *
+ * <p>If the decompressed entries don't fit into the buffer then only the fitting part is returned,
+ * or {@link io.zeebe.logstreams.spi.LogStorage#OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY} if not even
+ * the first block fits.
+ */
+public class DecompressingEventsInBlockProcessor extends CompleteEventsInBlockProcessor {
+  private final UnsafeBuffer readBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer compressedBuffer = new UnsafeBuffer(0, 0);
+  private final LogBlockCodec[] codecs = new LogBlockCodec[LogBlockCodecs.values().length];
+
+  private long lastReadEventPosition = -1;
+
+  @Override
+  long getLastReadEventPosition() {
+    return lastReadEventPosition;
+  }
+
+  @Override
+  public int process(ByteBuffer byteBuffer, int readResult) {
+    final int result = super.process(byteBuffer, readResult);
+    if (result <= 0) {
+      return result;
+    }
+
+    readBuffer.wrap(byteBuffer);
+    final int startPosition = byteBuffer.position() - result;
+
+    if (containsCompressedBlock(startPosition, result)) {
+      return decompressBlocks(byteBuffer, startPosition, result);
+    } else {
+      lastReadEventPosition = super.getLastReadEventPosition();
+      return result;
+    }
+  }
+
+  private boolean containsCompressedBlock(int offset, final int length) {
+    final int limit = offset + length;
+    while (offset < limit) {
+      if (isCompressedBlock(readBuffer, offset)) {
+        return true;
+      }
+      offset += getFragmentLength(readBuffer, offset);
+    }
+    return false;
+  }
+
+  private int decompressBlocks(ByteBuffer byteBuffer, int startPosition, int readResult) {
+    final int availableCapacity = byteBuffer.capacity() - startPosition;
+
+    // determine the fragments which fit into the buffer after decompression
+    int readLength = 0;
+    int decompressedLength = 0;
+    while (readLength < readResult) {
+      final int offset = startPosition + readLength;
+      final int fragmentLength = getFragmentLength(readBuffer, offset);
+      final int length =
+          isCompressedBlock(readBuffer, offset)
+              ? getUncompressedLength(readBuffer, offset)
+              : fragmentLength;
+
+      if (decompressedLength + length > availableCapacity) {
+        break;
+      }
+
+      readLength += fragmentLength;
+      decompressedLength += length;
+    }
+
+    if (readLength == 0) {
+      byteBuffer.limit(byteBuffer.capacity());
+      byteBuffer.position(startPosition);
+      return (int) OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY;
+    }
+
+    ensureCompressedBufferCapacity(readLength);
+    compressedBuffer.putBytes(0, readBuffer, startPosition, readLength);
+
+    int srcOffset = 0;
+    int destOffset = startPosition;
+    while (srcOffset < readLength) {
+      final int fragmentLength = getFragmentLength(compressedBuffer, srcOffset);
+
+      if (isCompressedBlock(compressedBuffer, srcOffset)) {
+        final int uncompressedLength = getUncompressedLength(compressedBuffer, srcOffset);
+
+        getCodec(getCodecId(compressedBuffer, srcOffset))
+            .decompress(
+                compressedBuffer,
+                compressedDataOffset(srcOffset),
+                getCompressedDataLength(compressedBuffer, srcOffset),
+                readBuffer,
+                destOffset,
+                uncompressedLength);
+
+        destOffset += uncompressedLength;
+      } else {
+        readBuffer.putBytes(destOffset, compressedBuffer, srcOffset, fragmentLength);
+        destOffset += fragmentLength;
+      }
+
+      srcOffset += fragmentLength;
+    }
+
+    lastReadEventPosition = findLastEventPosition(startPosition, destOffset);
+
+    byteBuffer.limit(destOffset);
+    byteBuffer.position(destOffset);
+
+    return readLength;
+  }
+
+  private long findLastEventPosition(int offset, final int limit) {
+    long position = -1;
+    while (offset < limit) {
+      position = LogEntryDescriptor.getPosition(readBuffer, offset);
+      offset += getFragmentLength(readBuffer, offset);
+    }
+    return position;
+  }
+
+  private LogBlockCodec getCodec(final short codecId) {
+    if (codecId < 0 || codecId >= codecs.length) {
+      throw new IllegalStateException("Unknown log block codec with id " + codecId);
+    }
+
+    LogBlockCodec codec = codecs[codecId];
+    if (codec == null) {
+      codec = LogBlockCodecs.forId(codecId).newCodec();
+
+      if (codec == null) {
+        throw new IllegalStateException("Expected a codec for compressed block but found none");
+      }
+      codecs[codecId] = codec;
+    }
+    return codec;
+  }
+
+  private void ensureCompressedBufferCapacity(final int capacity) {
+    if (compressedBuffer.capacity() < capacity) {
+      compressedBuffer.wrap(new byte[capacity]);
+    }
+  }
+}
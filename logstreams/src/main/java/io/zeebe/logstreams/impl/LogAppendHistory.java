@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.agrona.BitUtil;
+
+/**
+ * Remembers for the most recently appended blocks when they were taken from the write buffer and
+ * when their append to the distributed log completed, so that the time a record spent in each of
+ * both can be looked up by its position.
+ *
+ * <p>The history is written by the {@link LogStorageAppender} and may be read by any thread. An
+ * entry which is overwritten while it is read is reported as not found.
+ */
+public class LogAppendHistory {
+  public static final int DEFAULT_CAPACITY = 128;
+
+  private static final int FIRST_POSITION_OFFSET = 0;
+  private static final int LAST_POSITION_OFFSET = 1;
+  private static final int PEEK_TIME_OFFSET = 2;
+  private static final int APPEND_TIME_OFFSET = 3;
+  private static final int ENTRY_LENGTH = 4;
+
+  private static final long NO_POSITION = -1L;
+
+  private final AtomicLongArray entries;
+  private final int capacity;
+  private final int mask;
+
+  private long nextEntry;
+
+  public LogAppendHistory() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LogAppendHistory(int capacity) {
+    this.capacity = BitUtil.findNextPositivePowerOfTwo(capacity);
+    this.mask = this.capacity - 1;
+    this.entries = new AtomicLongArray(this.capacity * ENTRY_LENGTH);
+
+    for (int i = 0; i < this.capacity; i++) {
+      entries.set(i * ENTRY_LENGTH + LAST_POSITION_OFFSET, NO_POSITION);
+    }
+  }
+
+  /**
+   * Records that the block with the given positions was taken from the write buffer.
+   *
+   * @return the entry of the block, which must be passed to {@link #onBlockAppended(int, long,
+   *     long)}
+   */
+  public int onBlockPeeked(long firstPosition, long lastPosition, long epochMicros) {
+    final int entry = (int) (nextEntry++ & mask) * ENTRY_LENGTH;
+
+    // invalidate the entry first, so that readers don't mix up the old and the new block
+    entries.set(entry + LAST_POSITION_OFFSET, NO_POSITION);
+    entries.set(entry + APPEND_TIME_OFFSET, 0L);
+    entries.set(entry + PEEK_TIME_OFFSET, epochMicros);
+    entries.set(entry + FIRST_POSITION_OFFSET, firstPosition);
+    entries.set(entry + LAST_POSITION_OFFSET, lastPosition);
+
+    return entry;
+  }
+
+  /** Records that the append of the block with the given entry and last position completed. */
+  public void onBlockAppended(int entry, long lastPosition, long epochMicros) {
+    if (entries.get(entry + LAST_POSITION_OFFSET) == lastPosition) {
+      entries.set(entry + APPEND_TIME_OFFSET, epochMicros);
+    }
+  }
+
+  /**
+   * Looks up the block which contains the given position.
+   *
+   * @param times receives the epoch time in microseconds when the block was taken from the write
+   *     buffer at index 0, and when its append completed at index 1
+   * @return {@code true} if the block is in the history and its append is completed
+   */
+  public boolean lookup(long position, long[] times) {
+    for (int i = 0; i < capacity; i++) {
+      final int entry = i * ENTRY_LENGTH;
+      final long lastPosition = entries.get(entry + LAST_POSITION_OFFSET);
+
+      if (lastPosition >= position && entries.get(entry + FIRST_POSITION_OFFSET) <= position) {
+        final long peekTime = entries.get(entry + PEEK_TIME_OFFSET);
+        final long appendTime = entries.get(entry + APPEND_TIME_OFFSET);
+
+        if (appendTime > 0 && entries.get(entry + LAST_POSITION_OFFSET) == lastPosition) {
+          times[0] = peekTime;
+          times[1] = appendTime;
+          return true;
+        }
+
+        return false;
+      }
+    }
+
+    return false;
+  }
+}
@@ -71,7 +71,7 @@ public class LogBlockIndexWriter extends Actor {
   private final float deviation;
 
   private final CompleteEventsInBlockProcessor completeEventsProcessor =
-      new CompleteEventsInBlockProcessor();
+      new DecompressingEventsInBlockProcessor();
 
   private long nextAddress = INVALID_ADDRESS;
 
@@ -18,11 +18,15 @@ package io.zeebe.logstreams.impl;
 import io.zeebe.dispatcher.BlockPeek;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCompressor;
+import io.zeebe.util.metrics.Histogram;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.HighResolutionClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
@@ -34,7 +38,10 @@ public class LogStorageAppender extends Actor {
 
   private final BlockPeek blockPeek = new BlockPeek();
   private byte[] bytesToAppend;
+  private long firstEventPosition;
   private long commitPosition;
+  private long appendStartTime;
+  private int appendHistoryEntry;
 
   private final String name;
   private final Subscription writeBufferSubscription;
@@ -43,16 +50,25 @@ public class LogStorageAppender extends Actor {
   private final int maxAppendBlockSize;
 
   private final DistributedLogstreamPartition distributedLog;
+  private final LogBlockCompressor blockCompressor;
+
+  private final MetricsManager metricsManager;
+  private Histogram appendDuration;
+  private final LogAppendHistory appendHistory = new LogAppendHistory();
 
   public LogStorageAppender(
       String name,
       DistributedLogstreamPartition distributedLog,
       Subscription writeBufferSubscription,
-      int maxBlockSize) {
+      int maxBlockSize,
+      LogBlockCompressor blockCompressor,
+      MetricsManager metricsManager) {
     this.name = name;
     this.distributedLog = distributedLog;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
+    this.blockCompressor = blockCompressor;
+    this.metricsManager = metricsManager;
   }
 
   @Override
@@ -62,10 +78,21 @@ public class LogStorageAppender extends Actor {
 
   @Override
   protected void onActorStarting() {
+    appendDuration =
+        metricsManager
+            .newHistogram("logstream_append_duration_ns")
+            .description("time from taking a block from the write buffer until it is appended")
+            .label("logName", getName())
+            .create();
 
     actor.consume(writeBufferSubscription, this::peekBlock);
   }
 
+  @Override
+  protected void onActorClosing() {
+    appendDuration.close();
+  }
+
   private void peekBlock() {
     if (writeBufferSubscription.peekBlock(blockPeek, maxAppendBlockSize, true) > 0) {
       peekedBlockHandler.run();
@@ -75,19 +102,36 @@ public class LogStorageAppender extends Actor {
   }
 
   private void appendBlock() {
+    appendStartTime = System.nanoTime();
+
     final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
 
-    bytesToAppend = new byte[rawBuffer.remaining()];
-    rawBuffer.get(bytesToAppend);
+    final byte[] block = new byte[rawBuffer.remaining()];
+    rawBuffer.get(block);
 
     // Commit position is the position of the last event. DistributedLogstream uses this position
     // to identify duplicate append requests during recovery.
-    commitPosition = getLastEventPosition(bytesToAppend);
+    readEventPositions(block);
+    appendHistoryEntry =
+        appendHistory.onBlockPeeked(
+            firstEventPosition, commitPosition, HighResolutionClock.epochMicros());
+
+    bytesToAppend = blockCompressor.compress(block);
     actor.runUntilDone(this::tryWrite);
   }
 
   private void tryWrite() {
-    distributedLog.asyncAppend(bytesToAppend, commitPosition);
+    final long startTime = appendStartTime;
+    final long lastPosition = commitPosition;
+    final int historyEntry = appendHistoryEntry;
+    distributedLog
+        .asyncAppend(bytesToAppend, lastPosition)
+        .thenRun(
+            () -> {
+              appendDuration.record(System.nanoTime() - startTime);
+              appendHistory.onBlockAppended(
+                  historyEntry, lastPosition, HighResolutionClock.epochMicros());
+            });
     blockPeek.markCompleted();
     actor.done();
     /*// TODO: Handle error codes
@@ -101,12 +145,13 @@ public class LogStorageAppender extends Actor {
     }*/
   }
 
-  /* Iterate over the events in buffer and find the position of the last event */
-  private long getLastEventPosition(byte[] buffer) {
+  /* Iterate over the events in buffer and find the positions of the first and the last event */
+  private void readEventPositions(byte[] buffer) {
     int bufferOffset = 0;
     final DirectBuffer directBuffer = new UnsafeBuffer(0, 0);
 
     directBuffer.wrap(buffer);
+    long firstEventPosition = -1;
     long lastEventPosition = -1;
 
     final LoggedEventImpl nextEvent = new LoggedEventImpl();
@@ -115,9 +160,14 @@ public class LogStorageAppender extends Actor {
       nextEvent.wrap(directBuffer, bufferOffset);
       bufferOffset += nextEvent.getFragmentLength();
       lastEventPosition = nextEvent.getPosition();
+      if (firstEventPosition < 0) {
+        firstEventPosition = lastEventPosition;
+      }
       remaining = buffer.length - bufferOffset;
     }
-    return lastEventPosition;
+
+    this.firstEventPosition = firstEventPosition;
+    this.commitPosition = lastEventPosition;
   }
 
   public ActorFuture<Void> close() {
@@ -128,6 +178,11 @@ public class LogStorageAppender extends Actor {
     return isFailed.get();
   }
 
+  /** @return the history of the recently appended blocks, which can be read by any thread */
+  public LogAppendHistory getAppendHistory() {
+    return appendHistory;
+  }
+
   public long getCurrentAppenderPosition() {
     return writeBufferSubscription.getPosition();
   }
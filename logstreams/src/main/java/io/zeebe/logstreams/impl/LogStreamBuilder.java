@@ -23,6 +23,7 @@ import static io.zeebe.logstreams.impl.service.LogStreamServiceNames.logStreamSe
 import static io.zeebe.util.EnsureUtil.ensureFalse;
 import static io.zeebe.util.EnsureUtil.ensureGreaterThanOrEqual;
 
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -63,6 +64,9 @@ public class LogStreamBuilder {
   protected float deviation = LogBlockIndexWriter.DEFAULT_DEVIATION;
   protected int readBlockSize = 1024;
   protected int maxSnapshots = 1;
+  protected LogBlockCodecs blockCompression = LogBlockCodecs.NONE;
+  protected int blockCompressionThreshold = 1024 * 4;
+  protected long readCacheSize = 0;
 
   protected Duration snapshotPeriod = Duration.ofMinutes(1);
 
@@ -151,6 +155,21 @@ public class LogStreamBuilder {
     return this;
   }
 
+  public LogStreamBuilder blockCompression(final LogBlockCodecs blockCompression) {
+    this.blockCompression = blockCompression;
+    return this;
+  }
+
+  public LogStreamBuilder blockCompressionThreshold(final int blockCompressionThreshold) {
+    this.blockCompressionThreshold = blockCompressionThreshold;
+    return this;
+  }
+
+  public LogStreamBuilder readCacheSize(final long readCacheSize) {
+    this.readCacheSize = readCacheSize;
+    return this;
+  }
+
   public LogStreamBuilder logStorageStubber(
       final Function<FsLogStorage, FsLogStorage> logStorageStubber) {
     this.logStorageStubber = logStorageStubber;
@@ -196,6 +215,18 @@ public class LogStreamBuilder {
     return maxSnapshots;
   }
 
+  public LogBlockCodecs getBlockCompression() {
+    return blockCompression;
+  }
+
+  public int getBlockCompressionThreshold() {
+    return blockCompressionThreshold;
+  }
+
+  public long getReadCacheSize() {
+    return readCacheSize;
+  }
+
   public float getDeviation() {
     return deviation;
   }
@@ -246,7 +277,7 @@ public class LogStreamBuilder {
             logSegmentSize, getLogDirectory(), initialLogSegmentId, deleteOnClose);
 
     final FsLogStorageService logStorageService =
-        new FsLogStorageService(storageConfig, partitionId, logStorageStubber);
+        new FsLogStorageService(storageConfig, partitionId, readCacheSize, logStorageStubber);
     installOperation.createService(logStorageServiceName, logStorageService).install();
 
     final LogBlockIndexService logBlockIndexService = new LogBlockIndexService(stateStorage);
@@ -277,5 +308,8 @@ public class LogStreamBuilder {
     ensureGreaterThanOrEqual("partitionId", partitionId, 0);
     ensureFalse("deviation", deviation <= 0f || deviation > 1f);
     Objects.requireNonNull(stateStorage, "indexStateStorage");
+    Objects.requireNonNull(blockCompression, "blockCompression");
+    ensureGreaterThanOrEqual("blockCompressionThreshold", blockCompressionThreshold, 0);
+    ensureGreaterThanOrEqual("readCacheSize", readCacheSize, 0);
   }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.cache;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.dispatcher.impl.PositionUtil.position;
+
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.ReadResultProcessor;
+import io.zeebe.util.metrics.MetricsManager;
+import java.nio.ByteBuffer;
+
+/** Log storage which serves the reads from a {@link LogBlockCache} shared by all readers. */
+public class CachingLogStorage implements LogStorage {
+  private final ReadResultProcessor defaultReadResultProcessor = (buffer, readResult) -> readResult;
+
+  private final LogStorage delegate;
+  private final LogBlockCache cache;
+
+  public CachingLogStorage(
+      final LogStorage delegate,
+      final long cacheSize,
+      final MetricsManager metricsManager,
+      final int partitionId) {
+    this.delegate = delegate;
+    this.cache = new LogBlockCache(delegate, cacheSize, metricsManager, partitionId);
+  }
+
+  @Override
+  public long append(final ByteBuffer blockBuffer) {
+    return delegate.append(blockBuffer);
+  }
+
+  @Override
+  public void delete(final long address) {
+    delegate.delete(address);
+    cache.invalidateBefore(address);
+  }
+
+  @Override
+  public long read(final ByteBuffer readBuffer, final long addr) {
+    return read(readBuffer, addr, defaultReadResultProcessor);
+  }
+
+  @Override
+  public long read(
+      final ByteBuffer readBuffer, final long addr, final ReadResultProcessor processor) {
+    if (!delegate.isOpen()) {
+      return delegate.read(readBuffer, addr, processor);
+    }
+
+    final int bytesRead = cache.read(readBuffer, addr);
+    if (bytesRead <= 0) {
+      // not cached (e.g. no data yet or end of segment) - the storage handles these cases
+      return delegate.read(readBuffer, addr, processor);
+    }
+
+    readBuffer.limit(readBuffer.position());
+
+    final int processingResult = processor.process(readBuffer, bytesRead);
+    return processingResult < 0
+        ? processingResult
+        : position(partitionId(addr), partitionOffset(addr) + processingResult);
+  }
+
+  @Override
+  public boolean isByteAddressable() {
+    return delegate.isByteAddressable();
+  }
+
+  @Override
+  public void open() {
+    delegate.open();
+    cache.open();
+  }
+
+  @Override
+  public void close() {
+    cache.close();
+    delegate.close();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return delegate.isOpen();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return delegate.isClosed();
+  }
+
+  @Override
+  public long getFirstBlockAddress() {
+    return delegate.getFirstBlockAddress();
+  }
+
+  @Override
+  public void flush() throws Exception {
+    delegate.flush();
+  }
+
+  public LogBlockCache getCache() {
+    return cache;
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.cache;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.dispatcher.impl.PositionUtil.position;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
+
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the bytes of the log storage in fixed size pages, which are keyed by their storage
+ * address. The cache is shared by all readers of a partition, so that the bytes are read from the
+ * storage only once, regardless of the count of readers.
+ *
+ * <p>Pages are evicted in LRU order when the memory budget is exceeded. A page which contains the
+ * tail of the log is extended by the appended bytes when a reader reaches its end. When a page is
+ * loaded, the following pages are read ahead since the readers consume the log sequentially.
+ *
+ * <p>The cache is thread-safe. The bytes of a page are never changed once they are visible, since
+ * the log is append-only.
+ */
+public class LogBlockCache {
+  public static final int PAGE_SIZE = 64 * 1024;
+  public static final int READ_AHEAD_PAGES = 4;
+
+  private final LogStorage storage;
+  private final MetricsManager metricsManager;
+  private final int partitionId;
+  private final Map<Long, Page> pages;
+
+  private Metric hitsMetric;
+  private Metric missesMetric;
+  private Metric sizeMetric;
+
+  public LogBlockCache(
+      final LogStorage storage,
+      final long memoryBudget,
+      final MetricsManager metricsManager,
+      final int partitionId) {
+    this.storage = storage;
+    this.metricsManager = metricsManager;
+    this.partitionId = partitionId;
+
+    final int maxPages = (int) Math.max(1, memoryBudget / PAGE_SIZE);
+    this.pages =
+        new LinkedHashMap<Long, Page>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Page> eldest) {
+            return size() > maxPages;
+          }
+        };
+  }
+
+  public void open() {
+    hitsMetric = newMetric("logstream_read_cache_hits", "counter");
+    missesMetric = newMetric("logstream_read_cache_misses", "counter");
+    sizeMetric = newMetric("logstream_read_cache_bytes", "gauge");
+  }
+
+  private Metric newMetric(final String name, final String type) {
+    return metricsManager
+        .newMetric(name)
+        .type(type)
+        .label("partition", String.valueOf(partitionId))
+        .create();
+  }
+
+  public void close() {
+    synchronized (pages) {
+      pages.clear();
+    }
+
+    hitsMetric.close();
+    missesMetric.close();
+    sizeMetric.close();
+  }
+
+  /**
+   * Copies the bytes at the given address into the buffer, until the buffer is full or the end of
+   * the cached bytes of the segment is reached.
+   *
+   * @return the count of copied bytes, or zero if the bytes are not available in the cache
+   */
+  public int read(final ByteBuffer buffer, final long address) {
+    final int segmentId = partitionId(address);
+    int offset = partitionOffset(address);
+    int bytesCopied = 0;
+
+    if (offset < METADATA_LENGTH) {
+      // invalid address - handled by the storage
+      return 0;
+    }
+
+    while (buffer.hasRemaining()) {
+      final int pageOffset = offset & ~(PAGE_SIZE - 1);
+      final long pageAddress = position(segmentId, pageOffset);
+
+      Page page = getCachedPage(pageAddress);
+      final boolean isMiss;
+
+      if (page == null) {
+        page = loadPage(segmentId, pageOffset, pageAddress);
+        if (page == null) {
+          break;
+        }
+        isMiss = true;
+
+      } else if (offset - page.offset >= page.end && !page.isFull()) {
+        // the page contains the tail of the log - read the appended bytes, if any
+        isMiss = page.fill(storage);
+
+      } else {
+        isMiss = false;
+      }
+
+      final int offsetInPage = offset - page.offset;
+      final int length = Math.min(page.end - offsetInPage, buffer.remaining());
+      if (length <= 0) {
+        break;
+      }
+
+      if (isMiss) {
+        missesMetric.incrementOrdered();
+      } else {
+        hitsMetric.incrementOrdered();
+      }
+
+      buffer.put(page.data, offsetInPage, length);
+      bytesCopied += length;
+      offset += length;
+    }
+
+    return bytesCopied;
+  }
+
+  /** Removes the pages of all segments before the segment of the given address. */
+  public void invalidateBefore(final long address) {
+    final int segmentId = partitionId(address);
+
+    synchronized (pages) {
+      final Iterator<Page> iterator = pages.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().segmentId < segmentId) {
+          iterator.remove();
+        }
+      }
+      sizeMetric.setOrdered((long) pages.size() * PAGE_SIZE);
+    }
+  }
+
+  private Page getCachedPage(final long pageAddress) {
+    synchronized (pages) {
+      return pages.get(pageAddress);
+    }
+  }
+
+  private Page loadPage(final int segmentId, final int pageOffset, final long pageAddress) {
+    final Page page = new Page(segmentId, pageOffset);
+    if (!page.fill(storage)) {
+      return null;
+    }
+
+    final Page addedPage = addPage(pageAddress, page);
+    readAhead(addedPage);
+    return addedPage;
+  }
+
+  private Page addPage(final long pageAddress, final Page page) {
+    synchronized (pages) {
+      final Page existingPage = pages.get(pageAddress);
+      if (existingPage != null) {
+        return existingPage;
+      }
+
+      pages.put(pageAddress, page);
+      sizeMetric.setOrdered((long) pages.size() * PAGE_SIZE);
+      return page;
+    }
+  }
+
+  private void readAhead(Page page) {
+    for (int i = 0; i < READ_AHEAD_PAGES && page.isFull(); i++) {
+      final int nextPageOffset = page.offset + PAGE_SIZE;
+      final long nextPageAddress = position(page.segmentId, nextPageOffset);
+
+      final boolean isCached;
+      synchronized (pages) {
+        isCached = pages.containsKey(nextPageAddress);
+      }
+
+      if (isCached) {
+        return;
+      }
+
+      final Page nextPage = new Page(page.segmentId, nextPageOffset);
+      if (!nextPage.fill(storage)) {
+        return;
+      }
+
+      page = addPage(nextPageAddress, nextPage);
+    }
+  }
+
+  private static final class Page {
+    private final int segmentId;
+    private final int offset;
+    private final byte[] data = new byte[PAGE_SIZE];
+
+    /** the end of the readable bytes in the page, the bytes before are never changed */
+    private volatile int end;
+
+    Page(final int segmentId, final int offset) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      // the first page of a segment starts with the segment metadata which is not readable
+      this.end = Math.max(0, METADATA_LENGTH - offset);
+    }
+
+    boolean isFull() {
+      return end == PAGE_SIZE;
+    }
+
+    /** @return true, if bytes are read from the storage */
+    synchronized boolean fill(final LogStorage storage) {
+      final int start = end;
+      if (start == PAGE_SIZE) {
+        return false;
+      }
+
+      final ByteBuffer buffer = ByteBuffer.wrap(data, start, PAGE_SIZE - start);
+      final long address = position(segmentId, offset + start);
+
+      final long result = storage.read(buffer, address);
+      final int bytesRead = buffer.position() - start;
+
+      // ignore the bytes if the storage continued with the next segment
+      if (bytesRead > 0 && result == address + bytesRead) {
+        end = start + bytesRead;
+        return true;
+      } else {
+        return false;
+      }
+    }
+  }
+}
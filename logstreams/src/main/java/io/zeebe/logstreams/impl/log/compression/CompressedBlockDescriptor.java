@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.compression;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.typeOffset;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.SIZE_OF_SHORT;
+
+import io.zeebe.protocol.Protocol;
+import org.agrona.DirectBuffer;
+
+/**
+ * A compressed block is stored as a single data frame which contains the compressed log entries of
+ * the block. The frame type distinguishes it from a log entry. The header is laid out so that the
+ * position of the first compressed entry is at the same offset as the position of a log entry, i.e.
+ * the block index can use it without decompressing the block.
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |            VERSION             |            CODEC ID          |
+ *  +---------------------------------------------------------------+
+ *  |                     FIRST ENTRY POSITION                      |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                      UNCOMPRESSED LENGTH                      |
+ *  +---------------------------------------------------------------+
+ *  |                     ...COMPRESSED ENTRIES...                  |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public class CompressedBlockDescriptor {
+
+  /** Data frame type of a compressed block. Must not clash with the dispatcher frame types. */
+  public static final short TYPE_COMPRESSED_BLOCK = 2;
+
+  public static final int VERSION_OFFSET;
+
+  public static final int CODEC_ID_OFFSET;
+
+  public static final int FIRST_POSITION_OFFSET;
+
+  public static final int UNCOMPRESSED_LENGTH_OFFSET;
+
+  public static final int HEADER_LENGTH;
+
+  static {
+    int offset = 0;
+
+    VERSION_OFFSET = offset;
+    offset += SIZE_OF_SHORT;
+
+    CODEC_ID_OFFSET = offset;
+    offset += SIZE_OF_SHORT;
+
+    FIRST_POSITION_OFFSET = offset;
+    offset += SIZE_OF_LONG;
+
+    UNCOMPRESSED_LENGTH_OFFSET = offset;
+    offset += SIZE_OF_INT;
+
+    HEADER_LENGTH = offset;
+  }
+
+  public static boolean isCompressedBlock(final DirectBuffer buffer, final int offset) {
+    return buffer.getShort(typeOffset(offset), Protocol.ENDIANNESS) == TYPE_COMPRESSED_BLOCK;
+  }
+
+  public static int codecIdOffset(final int offset) {
+    return CODEC_ID_OFFSET + offset;
+  }
+
+  public static short getCodecId(final DirectBuffer buffer, final int offset) {
+    return buffer.getShort(codecIdOffset(messageOffset(offset)), Protocol.ENDIANNESS);
+  }
+
+  public static int firstPositionOffset(final int offset) {
+    return FIRST_POSITION_OFFSET + offset;
+  }
+
+  public static int uncompressedLengthOffset(final int offset) {
+    return UNCOMPRESSED_LENGTH_OFFSET + offset;
+  }
+
+  public static int getUncompressedLength(final DirectBuffer buffer, final int offset) {
+    return buffer.getInt(uncompressedLengthOffset(messageOffset(offset)), Protocol.ENDIANNESS);
+  }
+
+  public static int compressedDataOffset(final int offset) {
+    return messageOffset(offset) + HEADER_LENGTH;
+  }
+
+  public static int getCompressedDataLength(final DirectBuffer buffer, final int offset) {
+    final int frameLength = buffer.getInt(lengthOffset(offset), Protocol.ENDIANNESS);
+    return messageLength(frameLength) - HEADER_LENGTH;
+  }
+}
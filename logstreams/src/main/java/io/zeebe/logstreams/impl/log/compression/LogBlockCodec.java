@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.compression;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * A codec which is used to compress blocks of log entries before they are appended to the log
+ * storage. The id of the codec is written into the header of the compressed block, so it must be
+ * stable across versions.
+ *
+ * <p>Implementations are not thread-safe, each appender and reader must use its own instance.
+ */
+public interface LogBlockCodec {
+
+  /** @return the id of the codec which is stored in the header of each compressed block */
+  short getId();
+
+  /** @return the name of the codec, as used in the configuration */
+  String getName();
+
+  /**
+   * @param length the length of the uncompressed data
+   * @return the maximal length of the compressed data in the worst case
+   */
+  int maxCompressedLength(int length);
+
+  /**
+   * Compresses the given data into the destination buffer. The destination buffer must provide at
+   * least {@link #maxCompressedLength(int)} bytes.
+   *
+   * @return the length of the compressed data
+   */
+  int compress(
+      DirectBuffer src, int srcOffset, int length, MutableDirectBuffer dest, int destOffset);
+
+  /**
+   * Decompresses the given data into the destination buffer. The destination buffer must provide at
+   * least the given uncompressed length.
+   *
+   * @throws IllegalStateException if the compressed data is malformed
+   */
+  void decompress(
+      DirectBuffer src,
+      int srcOffset,
+      int length,
+      MutableDirectBuffer dest,
+      int destOffset,
+      int uncompressedLength);
+}
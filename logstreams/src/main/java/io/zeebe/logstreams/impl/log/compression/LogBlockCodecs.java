@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.compression;
+
+import java.util.function.Supplier;
+
+/** Registry of the available log block codecs. */
+public enum LogBlockCodecs {
+  NONE((short) 0, "none", () -> null),
+  LZ4((short) 1, "lz4", Lz4BlockCodec::new);
+
+  private final short id;
+  private final String name;
+  private final Supplier<LogBlockCodec> factory;
+
+  LogBlockCodecs(short id, String name, Supplier<LogBlockCodec> factory) {
+    this.id = id;
+    this.name = name;
+    this.factory = factory;
+  }
+
+  public short getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** @return a new instance of the codec, or <code>null</code> if no compression is used */
+  public LogBlockCodec newCodec() {
+    return factory.get();
+  }
+
+  public static LogBlockCodecs forId(final short id) {
+    for (LogBlockCodecs codec : values()) {
+      if (codec.id == id) {
+        return codec;
+      }
+    }
+
+    throw new IllegalStateException("Unknown log block codec with id " + id);
+  }
+
+  public static LogBlockCodecs forName(final String name) {
+    for (LogBlockCodecs codec : values()) {
+      if (codec.name.equalsIgnoreCase(name)) {
+        return codec;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown log block codec '" + name + "'");
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.compression;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.typeOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.HEADER_LENGTH;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.TYPE_COMPRESSED_BLOCK;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.codecIdOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.compressedDataOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.firstPositionOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.uncompressedLengthOffset;
+
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.protocol.Protocol;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Compresses blocks of log entries before they are appended. A block is only compressed if it is
+ * larger than the configured threshold and if the compressed frame is smaller than the block.
+ * Otherwise, the block is appended as it is.
+ */
+public class LogBlockCompressor {
+
+  private final LogBlockCodec codec;
+  private final int minBlockSize;
+
+  private final UnsafeBuffer blockBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer compressedBuffer = new UnsafeBuffer(0, 0);
+
+  public LogBlockCompressor(final LogBlockCodec codec, final int minBlockSize) {
+    this.codec = codec;
+    this.minBlockSize = minBlockSize;
+  }
+
+  /**
+   * @param block the block of complete log entries
+   * @return the compressed block, or the given block if it is not worth to compress it
+   */
+  public byte[] compress(final byte[] block) {
+    if (codec == null || block.length < minBlockSize) {
+      return block;
+    }
+
+    blockBuffer.wrap(block);
+
+    final int maxFrameLength =
+        alignedFramedLength(HEADER_LENGTH + codec.maxCompressedLength(block.length));
+    ensureCompressedBufferCapacity(maxFrameLength);
+
+    final int compressedLength =
+        codec.compress(blockBuffer, 0, block.length, compressedBuffer, compressedDataOffset(0));
+
+    final int frameLength = framedLength(HEADER_LENGTH + compressedLength);
+    final int alignedFrameLength = alignedFramedLength(HEADER_LENGTH + compressedLength);
+    if (alignedFrameLength >= block.length) {
+      return block;
+    }
+
+    final int headerOffset = messageOffset(0);
+    final long firstPosition = LogEntryDescriptor.getPosition(blockBuffer, 0);
+
+    compressedBuffer.putInt(lengthOffset(0), frameLength, Protocol.ENDIANNESS);
+    compressedBuffer.putShort(typeOffset(0), TYPE_COMPRESSED_BLOCK, Protocol.ENDIANNESS);
+    compressedBuffer.putShort(codecIdOffset(headerOffset), codec.getId(), Protocol.ENDIANNESS);
+    compressedBuffer.putLong(firstPositionOffset(headerOffset), firstPosition, Protocol.ENDIANNESS);
+    compressedBuffer.putInt(
+        uncompressedLengthOffset(headerOffset), block.length, Protocol.ENDIANNESS);
+
+    final byte[] compressedBlock = new byte[alignedFrameLength];
+    compressedBuffer.getBytes(0, compressedBlock, 0, frameLength);
+    return compressedBlock;
+  }
+
+  private void ensureCompressedBufferCapacity(final int capacity) {
+    if (compressedBuffer.capacity() < capacity) {
+      compressedBuffer.wrap(new byte[capacity]);
+    } else {
+      // clear the frame header since the buffer is reused
+      compressedBuffer.setMemory(0, compressedDataOffset(0), (byte) 0);
+    }
+  }
+}
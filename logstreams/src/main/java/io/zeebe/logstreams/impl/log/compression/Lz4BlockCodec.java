@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.compression;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Pure Java implementation of the LZ4 block format. The compressor uses a single-probe hash table
+ * (like the LZ4 fast mode) which trades compression ratio for speed. The produced blocks can be
+ * decompressed by any LZ4 block decoder.
+ */
+public class Lz4BlockCodec implements LogBlockCodec {
+  private static final ByteOrder LITTLE_ENDIAN = ByteOrder.LITTLE_ENDIAN;
+
+  private static final int MIN_MATCH = 4;
+  private static final int LAST_LITERALS = 5;
+  private static final int MIN_MATCH_DISTANCE_TO_END = 12;
+  private static final int MAX_DISTANCE = 0xFFFF;
+
+  private static final int RUN_MASK = 0x0F;
+  private static final int ML_BITS = 4;
+
+  private static final int HASH_LOG = 12;
+  private static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+
+  private final int[] hashTable = new int[HASH_TABLE_SIZE];
+
+  @Override
+  public short getId() {
+    return LogBlockCodecs.LZ4.getId();
+  }
+
+  @Override
+  public String getName() {
+    return LogBlockCodecs.LZ4.getName();
+  }
+
+  @Override
+  public int maxCompressedLength(final int length) {
+    return length + length / 255 + 16;
+  }
+
+  @Override
+  public int compress(
+      final DirectBuffer src,
+      final int srcOffset,
+      final int length,
+      final MutableDirectBuffer dest,
+      final int destOffset) {
+    int destIndex = destOffset;
+    int anchor = 0;
+
+    if (length > MIN_MATCH_DISTANCE_TO_END) {
+      Arrays.fill(hashTable, -1);
+
+      final int matchLimit = length - LAST_LITERALS;
+      final int lastMatchStart = length - MIN_MATCH_DISTANCE_TO_END;
+
+      int index = 0;
+      while (index < lastMatchStart) {
+        final int sequence = src.getInt(srcOffset + index, LITTLE_ENDIAN);
+        final int hash = hash(sequence);
+
+        int reference = hashTable[hash];
+        hashTable[hash] = index;
+
+        if (reference < 0
+            || index - reference > MAX_DISTANCE
+            || src.getInt(srcOffset + reference, LITTLE_ENDIAN) != sequence) {
+          index++;
+          continue;
+        }
+
+        // extend the match backwards into the pending literals
+        while (index > anchor
+            && reference > 0
+            && src.getByte(srcOffset + index - 1) == src.getByte(srcOffset + reference - 1)) {
+          index--;
+          reference--;
+        }
+
+        int matchLength = MIN_MATCH;
+        while (index + matchLength < matchLimit
+            && src.getByte(srcOffset + index + matchLength)
+                == src.getByte(srcOffset + reference + matchLength)) {
+          matchLength++;
+        }
+
+        destIndex =
+            writeSequence(
+                src,
+                srcOffset + anchor,
+                index - anchor,
+                index - reference,
+                matchLength,
+                dest,
+                destIndex);
+
+        index += matchLength;
+        anchor = index;
+      }
+    }
+
+    destIndex = writeLastLiterals(src, srcOffset + anchor, length - anchor, dest, destIndex);
+
+    return destIndex - destOffset;
+  }
+
+  private static int hash(final int sequence) {
+    return (sequence * -1640531535) >>> (Integer.SIZE - HASH_LOG);
+  }
+
+  private static int writeSequence(
+      final DirectBuffer src,
+      final int literalOffset,
+      final int literalLength,
+      final int matchOffset,
+      final int matchLength,
+      final MutableDirectBuffer dest,
+      int destIndex) {
+    final int tokenIndex = destIndex++;
+    int token;
+
+    if (literalLength >= RUN_MASK) {
+      token = RUN_MASK << ML_BITS;
+      destIndex = writeLength(literalLength - RUN_MASK, dest, destIndex);
+    } else {
+      token = literalLength << ML_BITS;
+    }
+
+    dest.putBytes(destIndex, src, literalOffset, literalLength);
+    destIndex += literalLength;
+
+    dest.putShort(destIndex, (short) matchOffset, LITTLE_ENDIAN);
+    destIndex += 2;
+
+    final int remainingMatchLength = matchLength - MIN_MATCH;
+    if (remainingMatchLength >= RUN_MASK) {
+      token |= RUN_MASK;
+      destIndex = writeLength(remainingMatchLength - RUN_MASK, dest, destIndex);
+    } else {
+      token |= remainingMatchLength;
+    }
+
+    dest.putByte(tokenIndex, (byte) token);
+
+    return destIndex;
+  }
+
+  private static int writeLastLiterals(
+      final DirectBuffer src,
+      final int literalOffset,
+      final int literalLength,
+      final MutableDirectBuffer dest,
+      int destIndex) {
+    if (literalLength >= RUN_MASK) {
+      dest.putByte(destIndex++, (byte) (RUN_MASK << ML_BITS));
+      destIndex = writeLength(literalLength - RUN_MASK, dest, destIndex);
+    } else {
+      dest.putByte(destIndex++, (byte) (literalLength << ML_BITS));
+    }
+
+    dest.putBytes(destIndex, src, literalOffset, literalLength);
+    return destIndex + literalLength;
+  }
+
+  private static int writeLength(int length, final MutableDirectBuffer dest, int destIndex) {
+    while (length >= 0xFF) {
+      dest.putByte(destIndex++, (byte) 0xFF);
+      length -= 0xFF;
+    }
+    dest.putByte(destIndex++, (byte) length);
+    return destIndex;
+  }
+
+  @Override
+  public void decompress(
+      final DirectBuffer src,
+      final int srcOffset,
+      final int length,
+      final MutableDirectBuffer dest,
+      final int destOffset,
+      final int uncompressedLength) {
+    final int srcEnd = srcOffset + length;
+    final int destEnd = destOffset + uncompressedLength;
+
+    int srcIndex = srcOffset;
+    int destIndex = destOffset;
+
+    while (srcIndex < srcEnd) {
+      final int token = src.getByte(srcIndex++) & 0xFF;
+
+      int literalLength = token >>> ML_BITS;
+      if (literalLength == RUN_MASK) {
+        int lengthByte;
+        do {
+          lengthByte = src.getByte(srcIndex++) & 0xFF;
+          literalLength += lengthByte;
+        } while (lengthByte == 0xFF);
+      }
+
+      if (srcIndex + literalLength > srcEnd || destIndex + literalLength > destEnd) {
+        throw new IllegalStateException("Malformed LZ4 block: literals exceed the block");
+      }
+
+      dest.putBytes(destIndex, src, srcIndex, literalLength);
+      srcIndex += literalLength;
+      destIndex += literalLength;
+
+      if (srcIndex == srcEnd) {
+        // the last sequence contains only literals
+        break;
+      }
+
+      final int matchOffset = src.getShort(srcIndex, LITTLE_ENDIAN) & 0xFFFF;
+      srcIndex += 2;
+
+      int matchLength = token & RUN_MASK;
+      if (matchLength == RUN_MASK) {
+        int lengthByte;
+        do {
+          lengthByte = src.getByte(srcIndex++) & 0xFF;
+          matchLength += lengthByte;
+        } while (lengthByte == 0xFF);
+      }
+      matchLength += MIN_MATCH;
+
+      final int reference = destIndex - matchOffset;
+      if (matchOffset == 0 || reference < destOffset || destIndex + matchLength > destEnd) {
+        throw new IllegalStateException("Malformed LZ4 block: invalid match");
+      }
+
+      if (matchOffset >= matchLength) {
+        dest.putBytes(destIndex, dest, reference, matchLength);
+      } else {
+        // overlapping match, copy byte by byte to repeat the pattern
+        for (int i = 0; i < matchLength; i++) {
+          dest.putByte(destIndex + i, dest.getByte(reference + i));
+        }
+      }
+      destIndex += matchLength;
+    }
+
+    if (destIndex != destEnd) {
+      throw new IllegalStateException(
+          "Malformed LZ4 block: expected "
+              + uncompressedLength
+              + " bytes but decompressed "
+              + (destIndex - destOffset));
+    }
+  }
+}
@@ -15,37 +15,49 @@
  */
 package io.zeebe.logstreams.impl.service;
 
+import io.zeebe.logstreams.impl.log.cache.CachingLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorScheduler;
 import java.util.function.Function;
 
 public class FsLogStorageService implements Service<LogStorage> {
   private final FsLogStorageConfiguration config;
   private final int partitionId;
+  private final long readCacheSize;
   private final Function<FsLogStorage, FsLogStorage> logStorageStubber; // for testing only
 
-  private FsLogStorage logStorage;
+  private LogStorage logStorage;
 
   public FsLogStorageService(
       final FsLogStorageConfiguration config,
       final int partitionId,
+      final long readCacheSize,
       final Function<FsLogStorage, FsLogStorage> logStorageStubber) {
     this.config = config;
     this.partitionId = partitionId;
+    this.readCacheSize = readCacheSize;
     this.logStorageStubber = logStorageStubber;
   }
 
   @Override
   public void start(final ServiceStartContext startContext) {
     final ActorScheduler scheduler = startContext.getScheduler();
-    logStorage =
-        logStorageStubber.apply(
-            new FsLogStorage(config, scheduler.getMetricsManager(), partitionId));
+    final MetricsManager metricsManager = scheduler.getMetricsManager();
+
+    final FsLogStorage fsLogStorage =
+        logStorageStubber.apply(new FsLogStorage(config, metricsManager, partitionId));
+
+    if (readCacheSize > 0) {
+      logStorage = new CachingLogStorage(fsLogStorage, readCacheSize, metricsManager, partitionId);
+    } else {
+      logStorage = fsLogStorage;
+    }
 
     startContext.run(logStorage::open);
   }
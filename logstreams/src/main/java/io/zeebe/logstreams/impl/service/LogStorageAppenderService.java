@@ -18,6 +18,8 @@ package io.zeebe.logstreams.impl.service;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCompressor;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
@@ -30,11 +32,16 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
       new Injector<>();
 
   private final int maxAppendBlockSize;
+  private final LogBlockCodecs blockCompression;
+  private final int blockCompressionThreshold;
 
   private LogStorageAppender service;
 
-  public LogStorageAppenderService(int maxAppendBlockSize) {
+  public LogStorageAppenderService(
+      int maxAppendBlockSize, LogBlockCodecs blockCompression, int blockCompressionThreshold) {
     this.maxAppendBlockSize = maxAppendBlockSize;
+    this.blockCompression = blockCompression;
+    this.blockCompressionThreshold = blockCompressionThreshold;
   }
 
   @Override
@@ -46,7 +53,9 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             startContext.getName(),
             distributedLogstreamInjector.getValue(),
             subscription,
-            maxAppendBlockSize);
+            maxAppendBlockSize,
+            new LogBlockCompressor(blockCompression.newCodec(), blockCompressionThreshold),
+            startContext.getScheduler().getMetricsManager());
 
     startContext.async(
         startContext.getScheduler().submitActor(service, true, SchedulingHints.ioBound()));
@@ -30,6 +30,7 @@ import io.zeebe.logstreams.impl.LogBlockIndexWriter;
 import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.impl.LogStreamBuilder;
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndexContext;
 import io.zeebe.logstreams.log.LogStream;
@@ -68,6 +69,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
 
   private final ByteValue writeBufferSize;
   private final int maxAppendBlockSize;
+  private final LogBlockCodecs blockCompression;
+  private final int blockCompressionThreshold;
 
   private final Position commitPosition;
 
@@ -93,6 +96,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     this.commitPosition = builder.getCommitPosition();
     this.writeBufferSize = ByteValue.ofBytes(builder.getWriteBufferSize());
     this.maxAppendBlockSize = builder.getMaxAppendBlockSize();
+    this.blockCompression = builder.getBlockCompression();
+    this.blockCompressionThreshold = builder.getBlockCompressionThreshold();
   }
 
   @Override
@@ -141,7 +146,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(maxAppendBlockSize);
+        new LogStorageAppenderService(
+            maxAppendBlockSize, blockCompression, blockCompressionThreshold);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
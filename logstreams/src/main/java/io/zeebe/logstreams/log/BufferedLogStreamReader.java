@@ -15,7 +15,7 @@
  */
 package io.zeebe.logstreams.log;
 
-import io.zeebe.logstreams.impl.CompleteEventsInBlockProcessor;
+import io.zeebe.logstreams.impl.DecompressingEventsInBlockProcessor;
 import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -40,7 +40,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
   // configuration
   private final ReadResultProcessor completeEventsInBlockProcessor =
-      new CompleteEventsInBlockProcessor();
+      new DecompressingEventsInBlockProcessor();
 
   // wrapped logstream
   private LogStorage logStorage;
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import io.zeebe.logstreams.log.LoggedEvent;
+
+/**
+ * Resolves the position of a failed event which is referenced by an event (e.g. an error event). In
+ * contrast to {@link StreamProcessor#getFailedPosition(LoggedEvent)}, the resolver must not depend
+ * on the state, so that the log can be scanned while the state is recovered from the snapshot.
+ */
+@FunctionalInterface
+public interface FailedPositionResolver {
+
+  /**
+   * @param event the event to check
+   * @return the position of the failed event which is referenced by the given event, or -1
+   */
+  long getFailedPosition(LoggedEvent event);
+}
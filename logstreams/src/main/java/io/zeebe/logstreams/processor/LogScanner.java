@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+
+/**
+ * Scans the log for reprocessing on its own actor, while the stream processor recovers its state
+ * from the snapshot. It should be submitted as I/O bound actor, so that the count of concurrent
+ * scans is limited by the I/O bound threads.
+ */
+final class LogScanner extends Actor {
+  private final String name;
+  private final LogStream logStream;
+  private final long fromPosition;
+  private final ReprocessingLogScan logScan;
+
+  private final CompletableActorFuture<ReprocessingLogScan> scanFuture =
+      new CompletableActorFuture<>();
+
+  LogScanner(
+      final String name,
+      final LogStream logStream,
+      final long fromPosition,
+      final ReprocessingLogScan logScan) {
+    this.name = name;
+    this.logStream = logStream;
+    this.fromPosition = fromPosition;
+    this.logScan = logScan;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarted() {
+    final BufferedLogStreamReader reader = new BufferedLogStreamReader(logStream);
+
+    try {
+      if (fromPosition > -1) {
+        reader.seek(fromPosition);
+      }
+
+      logScan.scan(reader, fromPosition);
+      scanFuture.complete(logScan);
+
+    } catch (final Exception e) {
+      scanFuture.completeExceptionally(e);
+    } finally {
+      reader.close();
+      actor.close();
+    }
+  }
+
+  public ActorFuture<ReprocessingLogScan> getScanFuture() {
+    return scanFuture;
+  }
+}
@@ -16,6 +16,7 @@
 package io.zeebe.logstreams.processor;
 
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
@@ -24,12 +25,14 @@ import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.retry.AbortableRetryStrategy;
+import io.zeebe.util.retry.OperationToRetry;
 import io.zeebe.util.retry.RecoverableRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
 
@@ -151,14 +154,26 @@ public final class ProcessingStateMachine {
   private ZeebeDbTransaction zeebeDbTransaction;
 
   private long eventPosition = -1L;
+  private long processingStartTime;
   private long lastSuccessfulProcessedEventPosition = -1L;
   private long lastWrittenEventPosition = -1L;
 
   private boolean onErrorHandling;
   private long errorRecordPosition = -1;
 
+  // the steps of an iteration are created once, to not allocate them for each event
+  private final Runnable readNextEventStep = this::readNextEvent;
+  private final TransactionOperation processEventOperation = () -> eventProcessor.processEvent();
+  private final OperationToRetry writeEventOperation = this::tryWriteEvent;
+  private final BiConsumer<Boolean, Throwable> onEventWritten = this::onEventWritten;
+  private final OperationToRetry updateStateOperation = this::tryUpdateState;
+  private final BiConsumer<Boolean, Throwable> onStateUpdated = this::onStateUpdated;
+  private final OperationToRetry executeSideEffectsOperation =
+      () -> eventProcessor.executeSideEffects();
+  private final BiConsumer<Boolean, Throwable> onSideEffectsExecuted = this::onSideEffectsExecuted;
+
   private void skipRecord() {
-    actor.submit(this::readNextEvent);
+    actor.submit(readNextEventStep);
     metrics.incrementEventsSkippedCount();
   }
 
@@ -176,6 +191,7 @@ public final class ProcessingStateMachine {
       currentEvent = logStreamReader.next();
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
+        processingStartTime = System.nanoTime();
         processEvent(currentEvent);
       } else {
         skipRecord();
@@ -199,7 +215,7 @@ public final class ProcessingStateMachine {
 
     try {
       zeebeDbTransaction = dbContext.getCurrentTransaction();
-      zeebeDbTransaction.run(eventProcessor::processEvent);
+      zeebeDbTransaction.run(processEventOperation);
       metrics.incrementEventsProcessedCount();
       writeEvent();
     } catch (final RecoverableException recoverableException) {
@@ -246,73 +262,73 @@ public final class ProcessingStateMachine {
     logStreamWriter.producerId(producerId).sourceRecordPosition(currentEvent.getPosition());
 
     final ActorFuture<Boolean> retryFuture =
-        writeRetryStrategy.runWithRetry(
-            () -> {
-              eventPosition = eventProcessor.writeEvent(logStreamWriter);
-              return eventPosition >= 0;
-            },
-            abortCondition);
+        writeRetryStrategy.runWithRetry(writeEventOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, t) -> {
-          if (t != null) {
-            LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
-            onError(t, this::writeEvent);
-          } else {
-            metrics.incrementEventsWrittenCount();
-            updateState();
-          }
-        });
+    actor.runOnCompletion(retryFuture, onEventWritten);
+  }
+
+  private boolean tryWriteEvent() {
+    eventPosition = eventProcessor.writeEvent(logStreamWriter);
+    return eventPosition >= 0;
+  }
+
+  private void onEventWritten(Boolean written, Throwable t) {
+    if (t != null) {
+      LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
+      onError(t, this::writeEvent);
+    } else {
+      metrics.incrementEventsWrittenCount();
+      updateState();
+    }
   }
 
   private void updateState() {
     final ActorFuture<Boolean> retryFuture =
-        updateStateRetryStrategy.runWithRetry(
-            () -> {
-              zeebeDbTransaction.commit();
-
-              // needs to be directly after commit
-              // so no other ActorJob can interfere between commit and update the positions
-              if (onErrorHandling) {
-                errorRecordPosition = eventPosition;
-                LOG.info(
-                    LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, logStream.getCommitPosition());
-              }
-              lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
-              lastWrittenEventPosition = eventPosition;
-              return true;
-            },
-            abortCondition);
+        updateStateRetryStrategy.runWithRetry(updateStateOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(
-                ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, streamProcessorName, throwable);
-            onError(throwable, this::updateState);
-          } else {
-            executeSideEffects();
-          }
-        });
+    actor.runOnCompletion(retryFuture, onStateUpdated);
+  }
+
+  private boolean tryUpdateState() throws Exception {
+    zeebeDbTransaction.commit();
+
+    // needs to be directly after commit
+    // so no other ActorJob can interfere between commit and update the positions
+    if (onErrorHandling) {
+      errorRecordPosition = eventPosition;
+      LOG.info(LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, logStream.getCommitPosition());
+    }
+    lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
+    lastWrittenEventPosition = eventPosition;
+    return true;
+  }
+
+  private void onStateUpdated(Boolean updated, Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, streamProcessorName, throwable);
+      onError(throwable, this::updateState);
+    } else {
+      executeSideEffects();
+    }
   }
 
   private void executeSideEffects() {
     final ActorFuture<Boolean> retryFuture =
-        sideEffectsRetryStrategy.runWithRetry(eventProcessor::executeSideEffects, abortCondition);
+        sideEffectsRetryStrategy.runWithRetry(executeSideEffectsOperation, abortCondition);
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          if (throwable != null) {
-            LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
-          }
+    actor.runOnCompletion(retryFuture, onSideEffectsExecuted);
+  }
 
-          // continue with next event
-          eventProcessor = null;
-          actor.submit(this::readNextEvent);
-        });
+  private void onSideEffectsExecuted(Boolean executed, Throwable throwable) {
+    if (throwable != null) {
+      LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
+    }
+
+    metrics.recordProcessingDuration(System.nanoTime() - processingStartTime);
+
+    // continue with next event
+    eventProcessor = null;
+    actor.submit(readNextEventStep);
   }
 
   public long getLastSuccessfulProcessedEventPosition() {
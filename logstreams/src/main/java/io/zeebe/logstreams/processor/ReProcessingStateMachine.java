@@ -21,14 +21,13 @@ import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.util.collection.LongRangeSet;
 import io.zeebe.util.retry.EndlessRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
 import org.slf4j.Logger;
 
@@ -101,7 +100,7 @@ public final class ReProcessingStateMachine {
   private final RetryStrategy processRetryStrategy;
 
   private final BooleanSupplier abortCondition;
-  private final Set<Long> failedEventPositions = new HashSet<>();
+  private final LongRangeSet failedEventPositions = new LongRangeSet();
 
   private ReProcessingStateMachine(
       StreamProcessorContext context,
@@ -129,20 +128,43 @@ public final class ReProcessingStateMachine {
   private ZeebeDbTransaction zeebeDbTransaction;
 
   ActorFuture<Void> startRecover(final long snapshotPosition) {
-    recoveryFuture = new CompletableActorFuture<>();
+    return startRecover(snapshotPosition, scanLog(snapshotPosition));
+  }
 
+  /** Scans the log from the current position of the reader and resets the reader afterwards. */
+  ReprocessingLogScan scanLog(final long snapshotPosition) {
     final long startPosition = logStreamReader.getPosition();
+    final boolean hasEvents = logStreamReader.hasNext();
 
     LOG.info("Start scanning the log for error events.");
-    lastSourceEventPosition = scanLog(snapshotPosition);
+    final ReprocessingLogScan logScan =
+        new ReprocessingLogScan(producerId, streamProcessor::getFailedPosition);
+    logScan.scan(logStreamReader, snapshotPosition);
     LOG.info("Finished scanning the log for error events.");
 
+    if (hasEvents) {
+      // reset position
+      logStreamReader.seek(startPosition);
+    }
+
+    return logScan;
+  }
+
+  /**
+   * Starts the reprocessing with the result of a log scan which was done before (e.g. concurrently
+   * to the recovery of the snapshot). The scan must include all events after the snapshot position.
+   */
+  ActorFuture<Void> startRecover(final long snapshotPosition, final ReprocessingLogScan logScan) {
+    recoveryFuture = new CompletableActorFuture<>();
+
+    lastSourceEventPosition = Math.max(snapshotPosition, logScan.getLastSourceEventPosition());
+    failedEventPositions.addAll(logScan.getFailedEventPositions());
+
     if (lastSourceEventPosition > snapshotPosition) {
       LOG.info(
           "Processor {} starts reprocessing, until last source event position {}",
           streamProcessorName,
           lastSourceEventPosition);
-      logStreamReader.seek(startPosition);
       reprocessNextEvent();
     } else {
       recoveryFuture.complete(null);
@@ -150,39 +172,6 @@ public final class ReProcessingStateMachine {
     return recoveryFuture;
   }
 
-  private long scanLog(final long snapshotPosition) {
-    long lastSourceEventPosition = -1L;
-
-    if (logStreamReader.hasNext()) {
-      lastSourceEventPosition = snapshotPosition;
-      while (logStreamReader.hasNext()) {
-        final LoggedEvent newEvent = logStreamReader.next();
-
-        final long errorPosition = streamProcessor.getFailedPosition(newEvent);
-        if (errorPosition >= 0) {
-          LOG.debug(
-              "Found error-prone event {} on reprocessing, will add position {} to the blacklist.",
-              newEvent,
-              errorPosition);
-          failedEventPositions.add(errorPosition);
-        }
-
-        // ignore events from other producers
-        if (newEvent.getProducerId() == producerId) {
-          final long sourceEventPosition = newEvent.getSourceEventPosition();
-          if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
-            lastSourceEventPosition = sourceEventPosition;
-          }
-        }
-      }
-
-      // reset position
-      logStreamReader.seek(snapshotPosition + 1);
-    }
-
-    return lastSourceEventPosition;
-  }
-
   private void readNextEvent() {
     if (!logStreamReader.hasNext()) {
       throw new IllegalStateException(
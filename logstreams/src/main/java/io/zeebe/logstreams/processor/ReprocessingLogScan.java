@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.log.LogStreamReader;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.util.collection.LongRangeSet;
+import org.slf4j.Logger;
+
+/**
+ * Scans the log for the information which is needed to reprocess the events after the snapshot: the
+ * last source event position of the stream processor and the positions of the events which failed
+ * on processing.
+ */
+public final class ReprocessingLogScan {
+  private static final Logger LOG = Loggers.PROCESSOR_LOGGER;
+
+  private final int producerId;
+  private final FailedPositionResolver failedPositionResolver;
+
+  private final LongRangeSet failedEventPositions = new LongRangeSet();
+  private long fromPosition = -1L;
+  private long firstScannedPosition = -1L;
+  private long lastSourceEventPosition = -1L;
+  private long durationMillis;
+
+  public ReprocessingLogScan(
+      final int producerId, final FailedPositionResolver failedPositionResolver) {
+    this.producerId = producerId;
+    this.failedPositionResolver = failedPositionResolver;
+  }
+
+  /**
+   * Scans the remaining events of the given reader.
+   *
+   * @param fromPosition the position the reader was positioned at, or -1 if the reader starts at
+   *     the first event of the log
+   */
+  public void scan(final LogStreamReader reader, final long fromPosition) {
+    final long start = System.currentTimeMillis();
+    this.fromPosition = fromPosition;
+
+    while (reader.hasNext()) {
+      final LoggedEvent newEvent = reader.next();
+
+      if (firstScannedPosition < 0) {
+        firstScannedPosition = newEvent.getPosition();
+      }
+
+      final long errorPosition = failedPositionResolver.getFailedPosition(newEvent);
+      if (errorPosition >= 0) {
+        LOG.debug(
+            "Found error-prone event {} on reprocessing, will add position {} to the blacklist.",
+            newEvent,
+            errorPosition);
+        failedEventPositions.add(errorPosition);
+      }
+
+      // ignore events from other producers
+      if (newEvent.getProducerId() == producerId) {
+        final long sourceEventPosition = newEvent.getSourceEventPosition();
+        if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
+          lastSourceEventPosition = sourceEventPosition;
+        }
+      }
+    }
+
+    durationMillis = System.currentTimeMillis() - start;
+  }
+
+  /**
+   * @return true, if the scan includes all events after the given snapshot position. Additional
+   *     events before the snapshot position don't change the result, since an event can only be the
+   *     source of a following event.
+   */
+  public boolean covers(final long snapshotPosition) {
+    if (fromPosition < 0) {
+      return true;
+    } else if (firstScannedPosition >= 0) {
+      return firstScannedPosition <= snapshotPosition + 1;
+    } else {
+      return fromPosition <= snapshotPosition + 1;
+    }
+  }
+
+  public long getLastSourceEventPosition() {
+    return lastSourceEventPosition;
+  }
+
+  public LongRangeSet getFailedEventPositions() {
+    return failedEventPositions;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+}
@@ -27,6 +27,7 @@ import io.zeebe.servicecontainer.ServiceBuilder;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.List;
@@ -47,12 +48,14 @@ public class StreamProcessorBuilder {
   protected LogStreamRecordWriter logStreamWriter;
 
   private EventFilter eventFilter;
+  private FailedPositionResolver failedPositionResolver;
 
   protected ServiceContainer serviceContainer;
   private List<ServiceName<?>> additionalDependencies;
   private StreamProcessorFactory streamProcessorFactory;
   private int maxSnapshots;
   private boolean deleteDataOnSnapshot;
+  private int threadAffinity = SchedulingHints.NO_THREAD_AFFINITY;
 
   public StreamProcessorBuilder(int id, String name) {
     this.id = id;
@@ -102,6 +105,16 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param failedPositionResolver may be null; if set, the log is scanned for reprocessing while
+   *     the state is recovered from the snapshot
+   */
+  public StreamProcessorBuilder failedPositionResolver(
+      FailedPositionResolver failedPositionResolver) {
+    this.failedPositionResolver = failedPositionResolver;
+    return this;
+  }
+
   public StreamProcessorBuilder serviceContainer(ServiceContainer serviceContainer) {
     this.serviceContainer = serviceContainer;
     return this;
@@ -112,6 +125,15 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param threadAffinity the preferred actor thread of the stream processor and its snapshot
+   *     director, see {@link SchedulingHints#cpuBound(io.zeebe.util.sched.ActorPriority, int)}
+   */
+  public StreamProcessorBuilder threadAffinity(final int threadAffinity) {
+    this.threadAffinity = threadAffinity;
+    return this;
+  }
+
   public ActorFuture<StreamProcessorService> build() {
     validate();
 
@@ -158,6 +180,7 @@ public class StreamProcessorBuilder {
     ctx.setActorScheduler(actorScheduler);
 
     ctx.setEventFilter(eventFilter);
+    ctx.setFailedPositionResolver(failedPositionResolver);
 
     if (snapshotPeriod == null) {
       snapshotPeriod = Duration.ofMinutes(1);
@@ -167,6 +190,7 @@ public class StreamProcessorBuilder {
     ctx.setMaxSnapshots(maxSnapshots);
     ctx.setSnapshotController(snapshotController);
     ctx.setDeleteDataOnSnapshot(deleteDataOnSnapshot);
+    ctx.setThreadAffinity(threadAffinity);
 
     logStreamReader = new BufferedLogStreamReader();
     ctx.setLogStreamReader(logStreamReader);
@@ -21,6 +21,7 @@ import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
 import java.time.Duration;
 
 public class StreamProcessorContext {
@@ -39,11 +40,13 @@ public class StreamProcessorContext {
   private ActorControl actorControl;
 
   private EventFilter eventFilter;
+  private FailedPositionResolver failedPositionResolver;
 
   private Runnable suspendRunnable;
   private Runnable resumeRunnable;
   private int maxSnapshots;
   private boolean deleteDataOnSnapshot;
+  private int threadAffinity = SchedulingHints.NO_THREAD_AFFINITY;
 
   public LogStream getLogStream() {
     return logStream;
@@ -117,6 +120,14 @@ public class StreamProcessorContext {
     return eventFilter;
   }
 
+  public void setFailedPositionResolver(FailedPositionResolver failedPositionResolver) {
+    this.failedPositionResolver = failedPositionResolver;
+  }
+
+  public FailedPositionResolver getFailedPositionResolver() {
+    return failedPositionResolver;
+  }
+
   public ActorControl getActorControl() {
     return actorControl;
   }
@@ -174,4 +185,12 @@ public class StreamProcessorContext {
   public boolean getDeleteDataOnSnapshot() {
     return deleteDataOnSnapshot;
   }
+
+  public void setThreadAffinity(final int threadAffinity) {
+    this.threadAffinity = threadAffinity;
+  }
+
+  public int getThreadAffinity() {
+    return threadAffinity;
+  }
 }
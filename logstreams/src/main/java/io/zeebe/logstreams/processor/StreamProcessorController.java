@@ -26,7 +26,9 @@ import io.zeebe.util.LangUtil;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -63,8 +65,10 @@ public class StreamProcessorController extends Actor {
   private StreamProcessorMetrics metrics;
   private DbContext dbContext;
   private ProcessingStateMachine processingStateMachine;
+  private ReProcessingStateMachine reProcessingStateMachine;
   private AsyncSnapshotDirector asyncSnapshotDirector;
   private final int maxSnapshots;
+  private final int schedulingHints;
 
   public StreamProcessorController(final StreamProcessorContext context) {
     this.streamProcessorContext = context;
@@ -82,6 +86,8 @@ public class StreamProcessorController extends Actor {
     this.logStreamWriter = context.getLogStreamWriter();
     this.maxSnapshots = context.getMaxSnapshots();
     this.deleteDataOnSnapshot = context.getDeleteDataOnSnapshot();
+    this.schedulingHints =
+        SchedulingHints.cpuBound(ActorPriority.REGULAR, context.getThreadAffinity());
   }
 
   @Override
@@ -91,7 +97,7 @@ public class StreamProcessorController extends Actor {
 
   public ActorFuture<Void> openAsync() {
     if (isOpened.compareAndSet(false, true)) {
-      return actorScheduler.submitActor(this, true);
+      return actorScheduler.submitActor(this, true, schedulingHints);
     } else {
       return CompletableActorFuture.completed(null);
     }
@@ -113,9 +119,14 @@ public class StreamProcessorController extends Actor {
 
   @Override
   protected void onActorStarted() {
+    // the log scan doesn't depend on the state, so it can run while the snapshot is recovered
+    final ActorFuture<ReprocessingLogScan> logScanFuture = startConcurrentLogScan();
+
     try {
       LOG.info("Recovering state of partition {} from snapshot", partitionId);
+      final long startTime = System.currentTimeMillis();
       snapshotPosition = recoverFromSnapshot();
+      metrics.recordSnapshotRecoveryTime(System.currentTimeMillis() - startTime);
 
       streamProcessor.onOpen(streamProcessorContext);
     } catch (final Throwable e) {
@@ -134,7 +145,7 @@ public class StreamProcessorController extends Actor {
               .setAbortCondition(this::isClosed)
               .build();
 
-      final ReProcessingStateMachine reProcessingStateMachine =
+      reProcessingStateMachine =
           ReProcessingStateMachine.builder()
               .setStreamProcessorContext(streamProcessorContext)
               .setStreamProcessor(streamProcessor)
@@ -142,23 +153,81 @@ public class StreamProcessorController extends Actor {
               .setAbortCondition(this::isClosed)
               .build();
 
-      final ActorFuture<Void> recoverFuture =
-          reProcessingStateMachine.startRecover(snapshotPosition);
+      if (logScanFuture != null) {
+        actor.runOnCompletion(
+            logScanFuture,
+            (logScan, throwable) -> {
+              if (throwable != null) {
+                LOG.warn("Failed to scan the log concurrently, scan it again.", throwable);
+                startReprocessing(null);
+              } else {
+                startReprocessing(logScan);
+              }
+            });
+      } else {
+        startReprocessing(null);
+      }
+    } catch (final RuntimeException e) {
+      onFailure();
+      throw e;
+    }
+  }
+
+  private ActorFuture<ReprocessingLogScan> startConcurrentLogScan() {
+    final FailedPositionResolver failedPositionResolver =
+        streamProcessorContext.getFailedPositionResolver();
+    if (failedPositionResolver == null) {
+      return null;
+    }
+
+    // the latest snapshot is recovered if it is valid - otherwise the scan is repeated
+    final long fromPosition = snapshotController.getLastValidSnapshotPosition();
+
+    final LogScanner logScanner =
+        new LogScanner(
+            getName() + "-log-scanner",
+            streamProcessorContext.getLogStream(),
+            fromPosition,
+            new ReprocessingLogScan(streamProcessorContext.getId(), failedPositionResolver));
+
+    // the I/O bound threads limit the count of partitions which are scanned concurrently
+    actorScheduler.submitActor(logScanner, false, SchedulingHints.ioBound());
+
+    return logScanner.getScanFuture();
+  }
+
+  private void startReprocessing(final ReprocessingLogScan concurrentLogScan) {
+    final ActorFuture<Void> recoverFuture;
+    final long startTime;
+
+    try {
+      final ReprocessingLogScan logScan;
+      if (concurrentLogScan != null && concurrentLogScan.covers(snapshotPosition)) {
+        logScan = concurrentLogScan;
+      } else {
+        logScan = reProcessingStateMachine.scanLog(snapshotPosition);
+      }
+      metrics.recordLogScanTime(logScan.getDurationMillis());
+
+      startTime = System.currentTimeMillis();
+      recoverFuture = reProcessingStateMachine.startRecover(snapshotPosition, logScan);
 
-      actor.runOnCompletion(
-          recoverFuture,
-          (v, throwable) -> {
-            if (throwable != null) {
-              LOG.error("Unexpected error on recovery happens.", throwable);
-              onFailure();
-            } else {
-              onRecovered();
-            }
-          });
     } catch (final RuntimeException e) {
       onFailure();
       throw e;
     }
+
+    actor.runOnCompletion(
+        recoverFuture,
+        (v, throwable) -> {
+          if (throwable != null) {
+            LOG.error("Unexpected error on recovery happens.", throwable);
+            onFailure();
+          } else {
+            metrics.recordReprocessingTime(System.currentTimeMillis() - startTime);
+            onRecovered();
+          }
+        });
   }
 
   private long recoverFromSnapshot() throws Exception {
@@ -205,7 +274,7 @@ public class StreamProcessorController extends Actor {
             maxSnapshots,
             deleteDataOnSnapshot ? logStream::delete : pos -> {});
 
-    actorScheduler.submitActor(asyncSnapshotDirector);
+    actorScheduler.submitActor(asyncSnapshotDirector, false, schedulingHints);
 
     onCommitPositionUpdatedCondition =
         actor.onCondition(
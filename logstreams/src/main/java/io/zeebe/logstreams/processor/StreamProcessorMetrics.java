@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.processor;
 
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
 
@@ -24,6 +25,10 @@ public class StreamProcessorMetrics {
   private final Metric eventsSkippedCountMetric;
   private final Metric snapshotSizeMetric;
   private final Metric snapshotTimeMillisMetric;
+  private final Metric snapshotRecoveryTimeMillisMetric;
+  private final Metric logScanTimeMillisMetric;
+  private final Metric reprocessingTimeMillisMetric;
+  private final Histogram processingDurationHistogram;
 
   public StreamProcessorMetrics(
       final MetricsManager metricsManager, final String processorName, final String partitionId) {
@@ -69,6 +74,41 @@ public class StreamProcessorMetrics {
             .label("processor", processorName)
             .label("partition", partitionId)
             .create();
+
+    snapshotRecoveryTimeMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_duration_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("phase", "snapshot")
+            .label("partition", partitionId)
+            .create();
+
+    logScanTimeMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_duration_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("phase", "scan")
+            .label("partition", partitionId)
+            .create();
+
+    reprocessingTimeMillisMetric =
+        metricsManager
+            .newMetric("streamprocessor_recovery_duration_millis")
+            .type("gauge")
+            .label("processor", processorName)
+            .label("phase", "reprocessing")
+            .label("partition", partitionId)
+            .create();
+
+    processingDurationHistogram =
+        metricsManager
+            .newHistogram("streamprocessor_processing_duration_ns")
+            .description("time from reading an event until its processing is completed")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .create();
   }
 
   public void close() {
@@ -77,6 +117,14 @@ public class StreamProcessorMetrics {
     eventsWrittenCountMetric.close();
     snapshotTimeMillisMetric.close();
     snapshotSizeMetric.close();
+    snapshotRecoveryTimeMillisMetric.close();
+    logScanTimeMillisMetric.close();
+    reprocessingTimeMillisMetric.close();
+    processingDurationHistogram.close();
+  }
+
+  public void recordProcessingDuration(long durationNanos) {
+    processingDurationHistogram.record(durationNanos);
   }
 
   public void incrementEventsProcessedCount() {
@@ -98,4 +146,16 @@ public class StreamProcessorMetrics {
   public void recordSnapshotCreationTime(final long creationTime) {
     snapshotTimeMillisMetric.setOrdered(creationTime);
   }
+
+  public void recordSnapshotRecoveryTime(final long recoveryTime) {
+    snapshotRecoveryTimeMillisMetric.setOrdered(recoveryTime);
+  }
+
+  public void recordLogScanTime(final long scanTime) {
+    logScanTimeMillisMetric.setOrdered(scanTime);
+  }
+
+  public void recordReprocessingTime(final long reprocessingTime) {
+    reprocessingTimeMillisMetric.setOrdered(reprocessingTime);
+  }
 }
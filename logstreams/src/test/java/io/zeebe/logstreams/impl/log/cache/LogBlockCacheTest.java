@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.cache;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
+import static io.zeebe.dispatcher.impl.PositionUtil.position;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.util.metrics.MetricsManager;
+import java.nio.ByteBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogBlockCacheTest {
+  private static final int SEGMENT_ID = 1;
+  private static final int PARTITION_ID = 1;
+
+  private final byte[] segment = new byte[LogBlockCache.PAGE_SIZE * 8];
+  private final MetricsManager metricsManager = new MetricsManager();
+
+  private int segmentLength = METADATA_LENGTH;
+  private LogBlockCache cache;
+
+  @Before
+  public void setUp() {
+    final LogStorage storage = mock(LogStorage.class);
+    when(storage.read(any(ByteBuffer.class), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              final ByteBuffer buffer = invocation.getArgument(0);
+              final long address = invocation.getArgument(1);
+              final int offset = partitionOffset(address);
+              final int length = Math.min(buffer.remaining(), segmentLength - offset);
+              if (length > 0) {
+                buffer.put(segment, offset, length);
+                return address + length;
+              }
+              return address;
+            });
+
+    cache = new LogBlockCache(storage, LogBlockCache.PAGE_SIZE * 16, metricsManager, PARTITION_ID);
+    cache.open();
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void shouldCountMissWhenPageIsLoaded() {
+    // given
+    append(1024);
+
+    // when
+    final int bytesRead = cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH));
+
+    // then
+    assertThat(bytesRead).isEqualTo(1024);
+    assertThat(getMetric("logstream_read_cache_misses")).isEqualTo(1);
+    assertThat(getMetric("logstream_read_cache_hits")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCountHitWhenPageIsCached() {
+    // given
+    append(1024);
+    cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH));
+
+    // when
+    final int bytesRead = cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH));
+
+    // then
+    assertThat(bytesRead).isEqualTo(1024);
+    assertThat(getMetric("logstream_read_cache_misses")).isEqualTo(1);
+    assertThat(getMetric("logstream_read_cache_hits")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCountPollAtTailWithoutAppendedBytes() {
+    // given
+    append(1024);
+    cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH));
+
+    // when
+    final int bytesRead = cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH + 1024));
+
+    // then
+    assertThat(bytesRead).isEqualTo(0);
+    assertThat(getMetric("logstream_read_cache_misses")).isEqualTo(1);
+    assertThat(getMetric("logstream_read_cache_hits")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCountMissWhenAppendedBytesAreReadAtTail() {
+    // given
+    append(1024);
+    cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH));
+    append(512);
+
+    // when
+    final int bytesRead = cache.read(ByteBuffer.allocate(1024), address(METADATA_LENGTH + 1024));
+
+    // then
+    assertThat(bytesRead).isEqualTo(512);
+    assertThat(getMetric("logstream_read_cache_misses")).isEqualTo(2);
+    assertThat(getMetric("logstream_read_cache_hits")).isEqualTo(0);
+  }
+
+  private void append(final int length) {
+    segmentLength += length;
+  }
+
+  private static long address(final int offset) {
+    return position(SEGMENT_ID, offset);
+  }
+
+  private long getMetric(final String name) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, 0);
+    final String prefix = "zb_" + name + "{";
+
+    for (final String line : buffer.getStringWithoutLengthUtf8(0, length).split("\n")) {
+      if (line.startsWith(prefix)) {
+        return Long.parseLong(line.split(" ")[1]);
+      }
+    }
+
+    throw new AssertionError("Metric not found: " + name);
+  }
+}
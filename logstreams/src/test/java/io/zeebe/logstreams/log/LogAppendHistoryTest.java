@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.LogAppendHistory;
+import org.junit.Test;
+
+public class LogAppendHistoryTest {
+
+  private final LogAppendHistory history = new LogAppendHistory(4);
+  private final long[] times = new long[2];
+
+  @Test
+  public void shouldLookupAppendedBlock() {
+    // given
+    final int first = history.onBlockPeeked(1, 3, 100);
+    final int second = history.onBlockPeeked(4, 6, 200);
+    history.onBlockAppended(first, 3, 150);
+    history.onBlockAppended(second, 6, 250);
+
+    // when
+    final boolean found = history.lookup(5, times);
+
+    // then
+    assertThat(found).isTrue();
+    assertThat(times).containsExactly(200, 250);
+  }
+
+  @Test
+  public void shouldNotLookupBlockWhichIsNotAppended() {
+    // given
+    history.onBlockPeeked(1, 3, 100);
+
+    // when
+    final boolean found = history.lookup(2, times);
+
+    // then
+    assertThat(found).isFalse();
+  }
+
+  @Test
+  public void shouldNotLookupOverwrittenBlock() {
+    // given
+    final int first = history.onBlockPeeked(1, 1, 100);
+    history.onBlockAppended(first, 1, 150);
+
+    for (int i = 2; i <= 5; i++) {
+      final int entry = history.onBlockPeeked(i, i, i * 100);
+      history.onBlockAppended(entry, i, i * 100 + 50);
+    }
+
+    // when
+    final boolean found = history.lookup(1, times);
+
+    // then
+    assertThat(found).isFalse();
+    assertThat(history.lookup(5, times)).isTrue();
+    assertThat(times).containsExactly(500, 550);
+  }
+
+  @Test
+  public void shouldIgnoreAppendOfOverwrittenBlock() {
+    // given
+    final int entry = history.onBlockPeeked(1, 1, 100);
+    for (int i = 2; i <= 5; i++) {
+      history.onBlockPeeked(i, i, i * 100);
+    }
+
+    // when
+    history.onBlockAppended(entry, 1, 150);
+
+    // then
+    assertThat(history.lookup(5, times)).isFalse();
+  }
+}
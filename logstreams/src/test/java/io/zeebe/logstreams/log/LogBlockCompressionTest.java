@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.util.StringUtil.getBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.log.compression.LogBlockCodecs;
+import io.zeebe.logstreams.impl.log.compression.Lz4BlockCodec;
+import io.zeebe.logstreams.util.LogStreamReaderRule;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import java.util.Random;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogBlockCompressionTest {
+  private static final DirectBuffer EVENT_VALUE =
+      new UnsafeBuffer(
+          getBytes(
+              "{\"orderId\":\"order-123\",\"items\":[{\"id\":1,\"name\":\"item\",\"price\":10}]}"));
+  private static final DirectBuffer BIG_EVENT_VALUE =
+      new UnsafeBuffer(new byte[BufferedLogStreamReader.DEFAULT_INITIAL_BUFFER_CAPACITY * 2]);
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder,
+          b -> b.blockCompression(LogBlockCodecs.LZ4).blockCompressionThreshold(0));
+  public LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+  public LogStreamReaderRule readerRule = new LogStreamReaderRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(readerRule).around(writer);
+
+  @Test
+  public void shouldRoundTripCompressibleData() {
+    // given
+    final byte[] data = new byte[64 * 1024];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 17);
+    }
+
+    // when
+    final byte[] result = compressAndDecompress(data);
+
+    // then
+    assertThat(result).isEqualTo(data);
+  }
+
+  @Test
+  public void shouldRoundTripIncompressibleData() {
+    // given
+    final byte[] data = new byte[64 * 1024];
+    new Random(42).nextBytes(data);
+
+    // when
+    final byte[] result = compressAndDecompress(data);
+
+    // then
+    assertThat(result).isEqualTo(data);
+  }
+
+  @Test
+  public void shouldRoundTripSmallData() {
+    for (int length = 0; length < 32; length++) {
+      // given
+      final byte[] data = new byte[length];
+
+      // when
+      final byte[] result = compressAndDecompress(data);
+
+      // then
+      assertThat(result).isEqualTo(data);
+    }
+  }
+
+  @Test
+  public void shouldReadCompressedEvents() {
+    // given
+    final int eventCount = 1_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(eventCount, EVENT_VALUE);
+    assertThat(readerRule.getLogStreamReader().hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldReadCompressedEventsLargerThanReadBuffer() {
+    // given
+    final int eventCount = 10;
+    writer.writeEvents(eventCount, BIG_EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(eventCount, BIG_EVENT_VALUE);
+    assertThat(readerRule.getLogStreamReader().hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldSeekToCompressedEvent() {
+    // given
+    final long firstPosition = writer.writeEvent(EVENT_VALUE);
+    writer.writeEvents(100, EVENT_VALUE);
+    final long position = writer.writeEvent(w -> w.key(123L).value(EVENT_VALUE));
+
+    final LogStreamReader reader = readerRule.getLogStreamReader();
+
+    // when
+    final boolean found = reader.seek(position);
+
+    // then
+    assertThat(found).isTrue();
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getKey()).isEqualTo(123L);
+
+    reader.seekToFirstEvent();
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getPosition()).isEqualTo(firstPosition);
+  }
+
+  private static byte[] compressAndDecompress(final byte[] data) {
+    final Lz4BlockCodec codec = new Lz4BlockCodec();
+    final UnsafeBuffer compressed =
+        new UnsafeBuffer(new byte[codec.maxCompressedLength(data.length)]);
+    final int compressedLength =
+        codec.compress(new UnsafeBuffer(data), 0, data.length, compressed, 0);
+
+    final UnsafeBuffer decompressed = new UnsafeBuffer(new byte[data.length]);
+    codec.decompress(compressed, 0, compressedLength, decompressed, 0, data.length);
+
+    return decompressed.byteArray();
+  }
+}
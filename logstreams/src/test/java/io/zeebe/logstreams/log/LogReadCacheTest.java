@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.log.cache.CachingLogStorage;
+import io.zeebe.logstreams.impl.log.cache.LogBlockCache;
+import io.zeebe.logstreams.util.LogStreamReaderRule;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogReadCacheTest {
+  private static final DirectBuffer EVENT_VALUE = new UnsafeBuffer(new byte[1024]);
+  private static final DirectBuffer BIG_EVENT_VALUE =
+      new UnsafeBuffer(new byte[LogBlockCache.PAGE_SIZE + 1024]);
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder,
+          b -> b.readCacheSize(LogBlockCache.PAGE_SIZE * 4).logSegmentSize(1024 * 1024));
+  public LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+  public LogStreamReaderRule readerRule = new LogStreamReaderRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(readerRule).around(writer);
+
+  @Test
+  public void shouldUseCachingLogStorage() {
+    assertThat(logStreamRule.getLogStream().getLogStorage()).isInstanceOf(CachingLogStorage.class);
+  }
+
+  @Test
+  public void shouldReadEventsOfMultipleSegments() {
+    // given
+    final int eventCount = 3_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(eventCount, EVENT_VALUE);
+    assertThat(readerRule.getLogStreamReader().hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldReadEventsLargerThanPage() {
+    // given
+    final int eventCount = 20;
+    writer.writeEvents(eventCount, BIG_EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(eventCount, BIG_EVENT_VALUE);
+    assertThat(readerRule.getLogStreamReader().hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldReadAppendedEventsAtTail() {
+    // given
+    writer.writeEvents(10, EVENT_VALUE);
+    readerRule.assertEvents(10, EVENT_VALUE);
+
+    // when
+    writer.writeEvents(10, EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(10, EVENT_VALUE);
+    assertThat(readerRule.getLogStreamReader().hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldShareCacheBetweenReaders() {
+    // given
+    final int eventCount = 500;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+    readerRule.assertEvents(eventCount, EVENT_VALUE);
+
+    final BufferedLogStreamReader otherReader =
+        new BufferedLogStreamReader(logStreamRule.getLogStream());
+
+    // when
+    int count = 0;
+    while (otherReader.hasNext()) {
+      final LoggedEvent event = otherReader.next();
+      assertThat(event.getValueLength()).isEqualTo(EVENT_VALUE.capacity());
+      count++;
+    }
+    otherReader.close();
+
+    // then
+    assertThat(count).isEqualTo(eventCount);
+  }
+
+  @Test
+  public void shouldSeekToEvent() {
+    // given
+    writer.writeEvents(1_000, EVENT_VALUE);
+    final long position = writer.writeEvent(w -> w.key(123L).value(EVENT_VALUE));
+    writer.writeEvents(1_000, EVENT_VALUE);
+
+    final LogStreamReader reader = readerRule.getLogStreamReader();
+
+    // when
+    final boolean found = reader.seek(position);
+
+    // then
+    assertThat(found).isTrue();
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getKey()).isEqualTo(123L);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.log.LogStreamReader;
+import io.zeebe.logstreams.log.LoggedEvent;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.junit.Test;
+
+public class ReprocessingLogScanTest {
+  private static final int PRODUCER_ID = 1;
+
+  // the key of an event is used as failed position
+  private final ReprocessingLogScan logScan =
+      new ReprocessingLogScan(PRODUCER_ID, LoggedEvent::getKey);
+
+  @Test
+  public void shouldScanEvents() {
+    // given
+    final LogStreamReader reader = reader(event(1, -1, -1), event(2, 1, -1), event(3, 2, 1));
+
+    // when
+    logScan.scan(reader, -1);
+
+    // then
+    assertThat(logScan.getLastSourceEventPosition()).isEqualTo(2);
+    assertThat(logScan.getFailedEventPositions().contains(1)).isTrue();
+    assertThat(logScan.getFailedEventPositions().contains(2)).isFalse();
+  }
+
+  @Test
+  public void shouldCollectFailedPositionsAsRanges() {
+    // given
+    final LogStreamReader reader =
+        reader(event(4, -1, 1), event(5, -1, 2), event(6, -1, 3), event(7, -1, 5));
+
+    // when
+    logScan.scan(reader, -1);
+
+    // then
+    assertThat(logScan.getFailedEventPositions().toString()).isEqualTo("[1..3, 5]");
+  }
+
+  @Test
+  public void shouldCoverSnapshotBeforeFirstScannedEvent() {
+    // given
+    final LogStreamReader reader = reader(event(3, -1, -1), event(4, 3, -1));
+
+    // when
+    logScan.scan(reader, 2);
+
+    // then
+    assertThat(logScan.covers(2)).isTrue();
+    assertThat(logScan.covers(1)).isFalse();
+  }
+
+  private static LogStreamReader reader(final LoggedEvent... events) {
+    final LogStreamReader reader = mock(LogStreamReader.class);
+    final Iterator<LoggedEvent> iterator = Arrays.asList(events).iterator();
+    when(reader.hasNext()).thenAnswer(i -> iterator.hasNext());
+    when(reader.next()).thenAnswer(i -> iterator.next());
+    return reader;
+  }
+
+  private static LoggedEvent event(
+      final long position, final long sourceEventPosition, final long failedPosition) {
+    final LoggedEvent event = mock(LoggedEvent.class);
+    when(event.getPosition()).thenReturn(position);
+    when(event.getProducerId()).thenReturn(PRODUCER_ID);
+    when(event.getSourceEventPosition()).thenReturn(sourceEventPosition);
+    when(event.getKey()).thenReturn(failedPosition);
+    return event;
+  }
+}
@@ -100,6 +100,7 @@ public class StreamProcessorReprocessingTest {
   private RecordingStreamProcessor streamProcessor;
   private EventProcessor eventProcessor;
   private EventFilter eventFilter;
+  private FailedPositionResolver failedPositionResolver;
   private StateSnapshotController stateSnapshotController;
 
   @Before
@@ -151,6 +152,7 @@ public class StreamProcessorReprocessingTest {
         .serviceContainer(logStreamRule.getServiceContainer())
         .streamProcessorFactory(streamProcessorFactory)
         .eventFilter(eventFilter)
+        .failedPositionResolver(failedPositionResolver)
         .build();
   }
 
@@ -182,6 +184,30 @@ public class StreamProcessorReprocessingTest {
     verify(eventProcessor, times(1)).writeEvent(any());
   }
 
+  @Test
+  public void shouldReprocessSourceEventWithConcurrentLogScan() {
+    // given [1|S:-] --> [2|S:1]
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 =
+        writeEventWith(w -> w.producerId(PROCESSOR_ID).sourceRecordPosition(eventPosition1));
+
+    failedPositionResolver = event -> -1;
+
+    // when
+    openStreamProcessorController();
+
+    waitUntil(() -> streamProcessor.getProcessedEventCount() == 2);
+
+    // then
+    assertThat(streamProcessor.getEvents())
+        .extracting(LoggedEvent::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+
+    verify(eventProcessor, times(2)).processEvent();
+    verify(eventProcessor, times(1)).executeSideEffects();
+    verify(eventProcessor, times(1)).writeEvent(any());
+  }
+
   @Test
   public void shouldNotReprocessEventFromOtherProcessor() {
     // given [1|S:-] --> [2|S:1]
@@ -267,6 +293,31 @@ public class StreamProcessorReprocessingTest {
     verify(eventProcessor, times(1)).writeEvent(any());
   }
 
+  @Test
+  public void shouldCallOnErrorForFailedEventWithConcurrentLogScan() {
+    // given
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+    final long eventPosition3 =
+        writeEventWith(w -> w.producerId(PROCESSOR_ID).sourceRecordPosition(eventPosition2));
+
+    failedPositionResolver = event -> event.getPosition() == eventPosition2 ? eventPosition2 : -1;
+
+    // when
+    openStreamProcessorController();
+    waitUntilProcessedAndFailedCountReached(2, 1);
+
+    // then
+    assertThat(streamProcessor.getEvents())
+        .extracting(LoggedEvent::getPosition)
+        .containsExactly(eventPosition1, eventPosition2, eventPosition3);
+
+    verify(eventProcessor, times(2)).processEvent();
+    verify(eventProcessor, times(1)).onError(any());
+    verify(eventProcessor, times(1)).executeSideEffects();
+    verify(eventProcessor, times(1)).writeEvent(any());
+  }
+
   @Test
   public void shouldRetryReprocessingOnException() throws Exception {
     // given
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.compression.benchmarks;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.compressedDataOffset;
+import static io.zeebe.logstreams.impl.log.compression.CompressedBlockDescriptor.getCompressedDataLength;
+
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.impl.log.compression.LogBlockCompressor;
+import io.zeebe.logstreams.impl.log.compression.Lz4BlockCodec;
+import io.zeebe.util.StringUtil;
+import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the throughput of compressing and decompressing a block of log entries with JSON like
+ * variables. The compression ratio of the block is uncompressedBytes / compressedBytes of the
+ * compress benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class LogBlockCompressionBenchmark {
+  private static final String[] WORDS = {
+    "orderId", "customer", "items", "price", "quantity", "shipping", "address", "status"
+  };
+
+  @Param({"128", "1024", "8192"})
+  public int variablesSize;
+
+  private byte[] block;
+  private byte[] compressedBlock;
+  private LogBlockCompressor compressor;
+  private final Lz4BlockCodec codec = new Lz4BlockCodec();
+  private final UnsafeBuffer compressedBuffer = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer decompressedBuffer = new UnsafeBuffer(0, 0);
+
+  @Setup(Level.Trial)
+  public void createBlock() {
+    final Random random = new Random(42);
+    final int entryLength = LogEntryDescriptor.headerLength(0) + variablesSize;
+    final int alignedLength = alignedFramedLength(entryLength);
+    final int entryCount = Math.max(1, 1024 * 1024 / alignedLength);
+
+    block = new byte[entryCount * alignedLength];
+    final UnsafeBuffer buffer = new UnsafeBuffer(block);
+
+    for (int i = 0; i < entryCount; i++) {
+      final int offset = i * alignedLength;
+      buffer.putInt(lengthOffset(offset), framedLength(entryLength));
+      LogEntryDescriptor.setPosition(buffer, messageOffset(offset), i);
+      LogEntryDescriptor.setKey(buffer, messageOffset(offset), random.nextLong());
+      LogEntryDescriptor.setTimestamp(
+          buffer, messageOffset(offset), System.currentTimeMillis() + i);
+
+      final byte[] variables = createVariables(random, variablesSize);
+      buffer.putBytes(
+          LogEntryDescriptor.valueOffset(messageOffset(offset), 0), variables, 0, variablesSize);
+    }
+
+    compressor = new LogBlockCompressor(new Lz4BlockCodec(), 0);
+    compressedBlock = compressor.compress(block);
+    compressedBuffer.wrap(compressedBlock);
+    decompressedBuffer.wrap(new byte[block.length]);
+  }
+
+  private static byte[] createVariables(final Random random, final int size) {
+    final StringBuilder builder = new StringBuilder("{");
+    while (builder.length() < size) {
+      builder
+          .append('"')
+          .append(WORDS[random.nextInt(WORDS.length)])
+          .append("\":\"")
+          .append(Long.toHexString(random.nextLong()))
+          .append("\",");
+    }
+
+    final byte[] bytes = new byte[size];
+    final byte[] json = StringUtil.getBytes(builder.toString());
+    System.arraycopy(json, 0, bytes, 0, size);
+    return bytes;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] compress(CompressedSize size) {
+    final byte[] compressed = compressor.compress(block);
+
+    size.uncompressedBytes += block.length;
+    size.compressedBytes += compressed.length;
+
+    return compressed;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public UnsafeBuffer decompress() {
+    codec.decompress(
+        compressedBuffer,
+        compressedDataOffset(0),
+        getCompressedDataLength(compressedBuffer, 0),
+        decompressedBuffer,
+        0,
+        block.length);
+    return decompressedBuffer;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class CompressedSize {
+    public long uncompressedBytes;
+    public long compressedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      uncompressedBytes = 0;
+      compressedBytes = 0;
+    }
+  }
+
+  public static void main(String... args) throws Exception {
+    final Options opts =
+        new OptionsBuilder()
+            .include(LogBlockCompressionBenchmark.class.getName())
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(10))
+            .jvmArgs("-server")
+            .forks(1)
+            .build();
+
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.processor.benchmarks;
+
+import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.processor.FailedPositionResolver;
+import io.zeebe.logstreams.processor.ReprocessingLogScan;
+import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.util.sched.ActorScheduler;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures the time to scan the log after the snapshot on recovery, which collects the failed event
+ * positions in a {@link io.zeebe.util.collection.LongRangeSet}. The baseline collects them in a
+ * {@link HashSet} instead, like before. Every hundredth event is referenced as failed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ReprocessingLogScanBenchmark {
+  private static final int PRODUCER_ID = 1;
+  private static final FailedPositionResolver FAILED_POSITION_RESOLVER =
+      event -> event.getKey() % 100 == 0 ? event.getPosition() : -1L;
+
+  @Param({"1000000", "5000000"})
+  public int eventCount;
+
+  private ActorScheduler actorScheduler;
+  private ServiceContainerImpl serviceContainer;
+  private LogStream logStream;
+  private final BufferedLogStreamReader reader = new BufferedLogStreamReader();
+
+  private long snapshotPosition;
+
+  @Setup(Level.Trial)
+  public void fillStream() throws IOException {
+    final Path tempDirectory = Files.createTempDirectory("reprocessing-benchmark");
+    actorScheduler = ActorScheduler.newDefaultActorScheduler();
+    actorScheduler.start();
+
+    serviceContainer = new ServiceContainerImpl(actorScheduler);
+    serviceContainer.start();
+
+    logStream =
+        LogStreams.createFsLogStream(0)
+            .logName("foo")
+            .logDirectory(tempDirectory.toString())
+            .serviceContainer(serviceContainer)
+            .deleteOnClose(true)
+            .build()
+            .join();
+
+    logStream.openAppender().join();
+    logStream.setCommitPosition(Long.MAX_VALUE);
+
+    final LogStreamWriterImpl writer = new LogStreamWriterImpl(logStream);
+    final UnsafeBuffer value = new UnsafeBuffer("test".getBytes());
+
+    // every second event is a follow-up event of the previous one
+    long lastPosition = -1;
+    for (int i = 0; i < eventCount; i++) {
+      writer.reset();
+      writer.key(i).producerId(PRODUCER_ID).value(value);
+      if (i % 2 == 1) {
+        writer.sourceRecordPosition(lastPosition);
+      }
+
+      long position = -1;
+      while (position <= 0) {
+        position = writer.tryWrite();
+      }
+      lastPosition = position;
+    }
+
+    final LogStorageAppender logStorageAppender = logStream.getLogStorageAppender();
+    while (logStorageAppender.getCurrentAppenderPosition() < lastPosition) {
+      // spin
+    }
+
+    reader.wrap(logStream);
+    snapshotPosition = findSnapshotPosition();
+  }
+
+  /** @return the position of the event after the first percent of the log */
+  private long findSnapshotPosition() {
+    final int snapshotEvent = eventCount / 100;
+    reader.seekToFirstEvent();
+
+    long position = -1;
+    for (int i = 0; i <= snapshotEvent && reader.hasNext(); i++) {
+      position = reader.next().getPosition();
+    }
+    return position;
+  }
+
+  @TearDown(Level.Trial)
+  public void closeStream() throws Exception {
+    reader.close();
+    logStream.close();
+    serviceContainer.close(10, TimeUnit.SECONDS);
+    actorScheduler.stop();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public ReprocessingLogScan scanFromSnapshot() {
+    final ReprocessingLogScan logScan =
+        new ReprocessingLogScan(PRODUCER_ID, FAILED_POSITION_RESOLVER);
+    reader.seek(snapshotPosition + 1);
+    logScan.scan(reader, snapshotPosition);
+    return logScan;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Set<Long> scanFromSnapshotWithHashSet() {
+    final Set<Long> failedEventPositions = new HashSet<>();
+    reader.seek(snapshotPosition + 1);
+
+    while (reader.hasNext()) {
+      final long failedPosition = FAILED_POSITION_RESOLVER.getFailedPosition(reader.next());
+      if (failedPosition >= 0) {
+        failedEventPositions.add(failedPosition);
+      }
+    }
+    return failedEventPositions;
+  }
+
+  public static void main(String... args) throws Exception {
+    final Options opts =
+        new OptionsBuilder()
+            .include(ReprocessingLogScanBenchmark.class.getName())
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(10))
+            .jvmArgs("-server")
+            .forks(1)
+            .build();
+
+    new Runner(opts).run();
+  }
+}
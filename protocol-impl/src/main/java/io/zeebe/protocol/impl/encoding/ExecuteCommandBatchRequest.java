@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.CommandsEncoder.commandHeaderLength;
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.partitionIdNullValue;
+
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder.CommandsDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.CommandsEncoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A request which contains multiple commands for the same partition. Each command is an encoded
+ * {@link ExecuteCommandRequest}.
+ */
+public class ExecuteCommandBatchRequest implements BufferReader, BufferWriter {
+
+  public static final int MAX_COMMAND_COUNT = 254;
+  public static final int MAX_COMMAND_LENGTH = 65534;
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final ExecuteCommandBatchRequestEncoder bodyEncoder =
+      new ExecuteCommandBatchRequestEncoder();
+  private final ExecuteCommandBatchRequestDecoder bodyDecoder =
+      new ExecuteCommandBatchRequestDecoder();
+
+  private int partitionId;
+
+  private final ExpandableArrayBuffer commandsBuffer = new ExpandableArrayBuffer();
+  private int commandsBufferLength;
+  private DirectBuffer commandSource = commandsBuffer;
+
+  private final IntArrayList commandOffsets = new IntArrayList();
+  private final IntArrayList commandLengths = new IntArrayList();
+  private final UnsafeBuffer commandView = new UnsafeBuffer(0, 0);
+
+  public ExecuteCommandBatchRequest() {
+    reset();
+  }
+
+  public ExecuteCommandBatchRequest reset() {
+    partitionId = partitionIdNullValue();
+    commandsBufferLength = 0;
+    commandSource = commandsBuffer;
+    commandOffsets.clear();
+    commandLengths.clear();
+
+    return this;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public ExecuteCommandBatchRequest setPartitionId(int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  /**
+   * Appends the given command, e.g. an {@link ExecuteCommandRequest}. The command is copied, so the
+   * writer can be reused afterwards.
+   */
+  public ExecuteCommandBatchRequest addCommand(BufferWriter command) {
+    final int length = command.getLength();
+    command.write(commandsBuffer, commandsBufferLength);
+
+    commandOffsets.addInt(commandsBufferLength);
+    commandLengths.addInt(length);
+    commandsBufferLength += length;
+
+    return this;
+  }
+
+  public int getCommandCount() {
+    return commandOffsets.size();
+  }
+
+  /** @return a view of the command with the given index, which is valid until the next call */
+  public DirectBuffer getCommand(int index) {
+    commandView.wrap(commandSource, commandOffsets.getInt(index), commandLengths.getInt(index));
+    return commandView;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    commandSource = buffer;
+
+    for (final CommandsDecoder command : bodyDecoder.commands()) {
+      final int commandLength = command.commandLength();
+      final int commandOffset = bodyDecoder.limit() + commandHeaderLength();
+
+      commandOffsets.addInt(commandOffset);
+      commandLengths.addInt(commandLength);
+
+      bodyDecoder.limit(commandOffset + commandLength);
+    }
+  }
+
+  @Override
+  public int getLength() {
+    int length =
+        MessageHeaderEncoder.ENCODED_LENGTH
+            + ExecuteCommandBatchRequestEncoder.BLOCK_LENGTH
+            + CommandsEncoder.sbeHeaderSize();
+
+    for (int i = 0; i < commandLengths.size(); i++) {
+      length += commandHeaderLength() + commandLengths.getInt(i);
+    }
+    return length;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder.wrap(buffer, offset).partitionId(partitionId);
+
+    final CommandsEncoder commandsEncoder = bodyEncoder.commandsCount(commandOffsets.size());
+    for (int i = 0; i < commandOffsets.size(); i++) {
+      commandsEncoder
+          .next()
+          .putCommand(commandSource, commandOffsets.getInt(i), commandLengths.getInt(i));
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder.ResponsesEncoder.responseHeaderLength;
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder.partitionIdNullValue;
+
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder.ResponsesDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder.ResponsesEncoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * The response to an {@link ExecuteCommandBatchRequest}, which contains the responses of the
+ * commands in the order of the request. Each response is an encoded {@link ExecuteCommandResponse}.
+ */
+public class ExecuteCommandBatchResponse implements BufferReader, BufferWriter {
+
+  public static final int MAX_RESPONSE_COUNT = 254;
+  public static final int MAX_RESPONSE_LENGTH = 65534;
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final ExecuteCommandBatchResponseEncoder bodyEncoder =
+      new ExecuteCommandBatchResponseEncoder();
+  private final ExecuteCommandBatchResponseDecoder bodyDecoder =
+      new ExecuteCommandBatchResponseDecoder();
+
+  private int partitionId;
+
+  private final ExpandableArrayBuffer responsesBuffer = new ExpandableArrayBuffer();
+  private int responsesBufferLength;
+  private DirectBuffer responseSource = responsesBuffer;
+
+  private final IntArrayList responseOffsets = new IntArrayList();
+  private final IntArrayList responseLengths = new IntArrayList();
+  private final UnsafeBuffer responseView = new UnsafeBuffer(0, 0);
+
+  public ExecuteCommandBatchResponse() {
+    reset();
+  }
+
+  public ExecuteCommandBatchResponse reset() {
+    partitionId = partitionIdNullValue();
+    responsesBufferLength = 0;
+    responseSource = responsesBuffer;
+    responseOffsets.clear();
+    responseLengths.clear();
+
+    return this;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public ExecuteCommandBatchResponse setPartitionId(int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  /**
+   * Appends the given response, e.g. an {@link ExecuteCommandResponse}. The response is copied, so
+   * the writer can be reused afterwards.
+   */
+  public ExecuteCommandBatchResponse addResponse(BufferWriter response) {
+    final int length = response.getLength();
+    response.write(responsesBuffer, responsesBufferLength);
+
+    responseOffsets.addInt(responsesBufferLength);
+    responseLengths.addInt(length);
+    responsesBufferLength += length;
+
+    return this;
+  }
+
+  public int getResponseCount() {
+    return responseOffsets.size();
+  }
+
+  /** @return a view of the response with the given index, which is valid until the next call */
+  public DirectBuffer getResponse(int index) {
+    responseView.wrap(responseSource, responseOffsets.getInt(index), responseLengths.getInt(index));
+    return responseView;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    responseSource = buffer;
+
+    for (final ResponsesDecoder response : bodyDecoder.responses()) {
+      final int responseLength = response.responseLength();
+      final int responseOffset = bodyDecoder.limit() + responseHeaderLength();
+
+      responseOffsets.addInt(responseOffset);
+      responseLengths.addInt(responseLength);
+
+      bodyDecoder.limit(responseOffset + responseLength);
+    }
+  }
+
+  @Override
+  public int getLength() {
+    int length =
+        MessageHeaderEncoder.ENCODED_LENGTH
+            + ExecuteCommandBatchResponseEncoder.BLOCK_LENGTH
+            + ResponsesEncoder.sbeHeaderSize();
+
+    for (int i = 0; i < responseLengths.size(); i++) {
+      length += responseHeaderLength() + responseLengths.getInt(i);
+    }
+    return length;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder.wrap(buffer, offset).partitionId(partitionId);
+
+    final ResponsesEncoder responsesEncoder = bodyEncoder.responsesCount(responseOffsets.size());
+    for (int i = 0; i < responseOffsets.size(); i++) {
+      responsesEncoder
+          .next()
+          .putResponse(responseSource, responseOffsets.getInt(i), responseLengths.getInt(i));
+    }
+  }
+}
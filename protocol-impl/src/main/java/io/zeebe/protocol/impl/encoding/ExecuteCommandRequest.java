@@ -24,9 +24,11 @@ import io.zeebe.protocol.clientapi.ExecuteCommandRequestEncoder;
 import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
 import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.CommandTrace;
 import io.zeebe.protocol.intent.Intent;
 import io.zeebe.util.buffer.BufferReader;
 import io.zeebe.util.buffer.BufferWriter;
+import java.nio.ByteOrder;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -44,6 +46,7 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
   private ValueType valueType;
   private Intent intent;
   private final DirectBuffer value = new UnsafeBuffer(0, 0);
+  private final CommandTrace trace = new CommandTrace();
 
   public ExecuteCommandRequest() {
     reset();
@@ -55,6 +58,7 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
     valueType = ValueType.NULL_VAL;
     intent = Intent.UNKNOWN;
     value.wrap(0, 0);
+    trace.reset();
 
     return this;
   }
@@ -106,6 +110,11 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
     return this;
   }
 
+  /** @return the trace of the command, which is empty if the command is not sampled */
+  public CommandTrace getTrace() {
+    return trace;
+  }
+
   @Override
   public void wrap(DirectBuffer buffer, int offset, int length) {
     reset();
@@ -133,6 +142,16 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
 
     bodyDecoder.limit(offset);
 
+    if (headerDecoder.version() >= ExecuteCommandRequestDecoder.traceSinceVersion()) {
+      final int traceLength = bodyDecoder.traceLength();
+      offset += ExecuteCommandRequestDecoder.traceHeaderLength();
+
+      trace.wrap(buffer, offset, traceLength);
+      offset += traceLength;
+
+      bodyDecoder.limit(offset);
+    }
+
     assert bodyDecoder.limit() == frameEnd
         : "Decoder read only to position "
             + bodyDecoder.limit()
@@ -146,7 +165,9 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
     return MessageHeaderEncoder.ENCODED_LENGTH
         + ExecuteCommandRequestEncoder.BLOCK_LENGTH
         + ExecuteCommandRequestEncoder.valueHeaderLength()
-        + value.capacity();
+        + value.capacity()
+        + ExecuteCommandRequestEncoder.traceHeaderLength()
+        + trace.getLength();
   }
 
   @Override
@@ -167,5 +188,9 @@ public class ExecuteCommandRequest implements BufferReader, BufferWriter {
         .valueType(valueType)
         .intent(intent.value())
         .putValue(value, 0, value.capacity());
+
+    offset = bodyEncoder.limit();
+    buffer.putShort(offset, (short) trace.getLength(), ByteOrder.LITTLE_ENDIAN);
+    trace.write(buffer, offset + ExecuteCommandRequestEncoder.traceHeaderLength());
   }
 }
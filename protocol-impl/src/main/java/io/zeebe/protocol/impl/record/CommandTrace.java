@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.record;
+
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.HighResolutionClock;
+
+/**
+ * The trace of a sampled command, which is carried in the {@code trace} field of the execute
+ * command request and the record metadata. It consists of a trace id and the epoch timestamps (in
+ * microseconds) at which the command passed the stages before it was written to the log.
+ *
+ * <p>An unsampled command has an empty trace, i.e. its encoded length is 0.
+ */
+public class CommandTrace implements BufferReader, BufferWriter {
+
+  public static final long NO_TRACE_ID = 0L;
+
+  private static final Stage[] STAGES = Stage.values();
+  private static final int ENCODED_LENGTH = Long.BYTES + STAGES.length * Long.BYTES;
+
+  private long traceId;
+  private final long[] timestamps = new long[STAGES.length];
+
+  public CommandTrace() {
+    reset();
+  }
+
+  public CommandTrace reset() {
+    traceId = NO_TRACE_ID;
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = 0L;
+    }
+    return this;
+  }
+
+  /** Starts a new trace with the given id; all timestamps are cleared. */
+  public CommandTrace start(long traceId) {
+    reset();
+    this.traceId = traceId;
+    return this;
+  }
+
+  public boolean isSampled() {
+    return traceId != NO_TRACE_ID;
+  }
+
+  public long getTraceId() {
+    return traceId;
+  }
+
+  /** Stamps the given stage with the current epoch time, if the command is sampled. */
+  public CommandTrace stamp(Stage stage) {
+    if (isSampled()) {
+      timestamps[stage.ordinal()] = HighResolutionClock.epochMicros();
+    }
+    return this;
+  }
+
+  public CommandTrace stamp(Stage stage, long epochMicros) {
+    timestamps[stage.ordinal()] = epochMicros;
+    return this;
+  }
+
+  /** @return the epoch time in microseconds of the given stage, or 0 if it was not stamped */
+  public long getTimestamp(Stage stage) {
+    return timestamps[stage.ordinal()];
+  }
+
+  public void copyTo(CommandTrace target) {
+    target.traceId = traceId;
+    System.arraycopy(timestamps, 0, target.timestamps, 0, timestamps.length);
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    if (length >= Long.BYTES) {
+      traceId = buffer.getLong(offset, ByteOrder.LITTLE_ENDIAN);
+
+      // stages which are unknown to the sender or to this version are skipped
+      final int stageCount = Math.min((length - Long.BYTES) / Long.BYTES, timestamps.length);
+      for (int i = 0; i < stageCount; i++) {
+        timestamps[i] = buffer.getLong(offset + (i + 1) * Long.BYTES, ByteOrder.LITTLE_ENDIAN);
+      }
+    }
+  }
+
+  @Override
+  public int getLength() {
+    return isSampled() ? ENCODED_LENGTH : 0;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    if (isSampled()) {
+      buffer.putLong(offset, traceId, ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < timestamps.length; i++) {
+        buffer.putLong(offset + (i + 1) * Long.BYTES, timestamps[i], ByteOrder.LITTLE_ENDIAN);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("CommandTrace{traceId=").append(traceId);
+    for (Stage stage : STAGES) {
+      builder.append(", ").append(stage).append('=').append(timestamps[stage.ordinal()]);
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * The stages of a command which are stamped before it is written to the log. The order defines
+   * the encoding, so new stages must only be appended.
+   */
+  public enum Stage {
+    /** the gateway received the command from the client */
+    GATEWAY_RECEIVED,
+    /** the gateway handed the command over to the client transport */
+    GATEWAY_SENT,
+    /** the broker received the command from the transport */
+    BROKER_RECEIVED
+  }
+}
@@ -26,6 +26,7 @@ import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.intent.Intent;
 import io.zeebe.util.buffer.BufferReader;
 import io.zeebe.util.buffer.BufferWriter;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
@@ -51,6 +52,7 @@ public class RecordMetadata implements BufferWriter, BufferReader {
   protected ValueType valueType = ValueType.NULL_VAL;
   private RejectionType rejectionType;
   private final UnsafeBuffer rejectionReason = new UnsafeBuffer(0, 0);
+  private final CommandTrace trace = new CommandTrace();
 
   public RecordMetadata() {
     reset();
@@ -80,13 +82,19 @@ public class RecordMetadata implements BufferWriter, BufferReader {
     offset += RecordMetadataDecoder.rejectionReasonHeaderLength();
 
     rejectionReason.wrap(buffer, offset, rejectionReasonLength);
+    offset += rejectionReasonLength;
+
+    decoder.limit(offset);
+    trace.wrap(buffer, offset + RecordMetadataDecoder.traceHeaderLength(), decoder.traceLength());
   }
 
   @Override
   public int getLength() {
     return BLOCK_LENGTH
         + RecordMetadataEncoder.rejectionReasonHeaderLength()
-        + rejectionReason.capacity();
+        + rejectionReason.capacity()
+        + RecordMetadataEncoder.traceHeaderLength()
+        + trace.getLength();
   }
 
   @Override
@@ -112,13 +120,11 @@ public class RecordMetadata implements BufferWriter, BufferReader {
         .intent(intentValue)
         .rejectionType(rejectionType);
 
-    offset += RecordMetadataEncoder.BLOCK_LENGTH;
+    encoder.putRejectionReason(rejectionReason, 0, rejectionReason.capacity());
 
-    if (rejectionReason.capacity() > 0) {
-      encoder.putRejectionReason(rejectionReason, 0, rejectionReason.capacity());
-    } else {
-      buffer.putShort(offset, (short) 0);
-    }
+    offset = encoder.limit();
+    buffer.putShort(offset, (short) trace.getLength(), ByteOrder.LITTLE_ENDIAN);
+    trace.write(buffer, offset + RecordMetadataEncoder.traceHeaderLength());
   }
 
   public long getRequestId() {
@@ -200,6 +206,11 @@ public class RecordMetadata implements BufferWriter, BufferReader {
     return rejectionReason;
   }
 
+  /** @return the trace of the command, which is empty if the command is not sampled */
+  public CommandTrace getTrace() {
+    return trace;
+  }
+
   public RecordMetadata reset() {
     recordType = RecordType.NULL_VAL;
     requestId = RecordMetadataEncoder.requestIdNullValue();
@@ -210,6 +221,7 @@ public class RecordMetadata implements BufferWriter, BufferReader {
     intent = null;
     rejectionType = RejectionType.NULL_VAL;
     rejectionReason.wrap(0, 0);
+    trace.reset();
     return this;
   }
 
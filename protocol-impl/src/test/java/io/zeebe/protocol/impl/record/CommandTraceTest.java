@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.record;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
+import io.zeebe.protocol.clientapi.RecordMetadataEncoder;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandRequest;
+import io.zeebe.protocol.impl.record.CommandTrace.Stage;
+import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class CommandTraceTest {
+
+  private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
+
+  @Test
+  public void shouldNotEncodeUnsampledTrace() {
+    // given
+    final CommandTrace trace = new CommandTrace();
+
+    // when
+    trace.stamp(Stage.GATEWAY_RECEIVED);
+
+    // then
+    assertThat(trace.isSampled()).isFalse();
+    assertThat(trace.getLength()).isEqualTo(0);
+    assertThat(trace.getTimestamp(Stage.GATEWAY_RECEIVED)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCarryTraceInRecordMetadata() {
+    // given
+    final RecordMetadata metadata = new RecordMetadata();
+    metadata
+        .recordType(RecordType.COMMAND)
+        .valueType(ValueType.WORKFLOW_INSTANCE_CREATION)
+        .intent(WorkflowInstanceCreationIntent.CREATE)
+        .rejectionReason("foo");
+    metadata
+        .getTrace()
+        .start(123L)
+        .stamp(Stage.GATEWAY_RECEIVED, 1L)
+        .stamp(Stage.GATEWAY_SENT, 2L)
+        .stamp(Stage.BROKER_RECEIVED, 3L);
+
+    // when
+    metadata.write(buffer, 0);
+
+    final RecordMetadata decoded = new RecordMetadata();
+    decoded.wrap(buffer, 0, metadata.getLength());
+
+    // then
+    assertThat(decoded.getRejectionReason()).isEqualTo(metadata.getRejectionReason());
+    assertThat(decoded.getTrace().getTraceId()).isEqualTo(123L);
+    assertThat(decoded.getTrace().getTimestamp(Stage.GATEWAY_RECEIVED)).isEqualTo(1L);
+    assertThat(decoded.getTrace().getTimestamp(Stage.GATEWAY_SENT)).isEqualTo(2L);
+    assertThat(decoded.getTrace().getTimestamp(Stage.BROKER_RECEIVED)).isEqualTo(3L);
+  }
+
+  @Test
+  public void shouldReadRecordMetadataWithoutTrace() {
+    // given
+    final RecordMetadata metadata = new RecordMetadata();
+    metadata
+        .recordType(RecordType.COMMAND)
+        .valueType(ValueType.WORKFLOW_INSTANCE_CREATION)
+        .intent(WorkflowInstanceCreationIntent.CREATE);
+    metadata.write(buffer, 0);
+
+    // metadata written by the previous protocol version, which has no trace field
+    buffer.putShort(MessageHeaderEncoder.versionEncodingOffset(), (short) 1);
+    buffer.putShort(
+        metadata.getLength() - RecordMetadataEncoder.traceHeaderLength(), (short) 0xFFFF);
+
+    // when
+    final RecordMetadata decoded = new RecordMetadata();
+    decoded.wrap(buffer, 0, metadata.getLength() - RecordMetadataEncoder.traceHeaderLength());
+
+    // then
+    assertThat(decoded.getIntent()).isEqualTo(WorkflowInstanceCreationIntent.CREATE);
+    assertThat(decoded.getTrace().isSampled()).isFalse();
+  }
+
+  @Test
+  public void shouldCarryTraceInExecuteCommandRequest() {
+    // given
+    final ExecuteCommandRequest request = new ExecuteCommandRequest();
+    request
+        .setPartitionId(1)
+        .setValueType(ValueType.WORKFLOW_INSTANCE_CREATION)
+        .setIntent(WorkflowInstanceCreationIntent.CREATE)
+        .setValue(new UnsafeBuffer(new byte[] {1, 2, 3}), 0, 3);
+    request.getTrace().start(42L).stamp(Stage.GATEWAY_SENT, 7L);
+
+    // when
+    request.write(buffer, 0);
+
+    final ExecuteCommandRequest decoded = new ExecuteCommandRequest();
+    decoded.wrap(buffer, 0, request.getLength());
+
+    // then
+    assertThat(decoded.getValue().capacity()).isEqualTo(3);
+    assertThat(decoded.getTrace().getTraceId()).isEqualTo(42L);
+    assertThat(decoded.getTrace().getTimestamp(Stage.GATEWAY_SENT)).isEqualTo(7L);
+  }
+}
@@ -36,6 +36,8 @@ import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class ExecuteCommandRequest implements BufferWriter {
+  private static final byte[] EMPTY_TRACE = new byte[0];
+
   protected final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
   protected final ExecuteCommandRequestEncoder requestEncoder = new ExecuteCommandRequestEncoder();
   protected final MsgPackHelper msgPackHelper;
@@ -140,7 +142,8 @@ public class ExecuteCommandRequest implements BufferWriter {
     return MessageHeaderEncoder.ENCODED_LENGTH
         + ExecuteCommandRequestEncoder.BLOCK_LENGTH
         + ExecuteCommandRequestEncoder.valueHeaderLength()
-        + encodedCmd.length;
+        + encodedCmd.length
+        + ExecuteCommandRequestEncoder.traceHeaderLength();
   }
 
   @Override
@@ -158,6 +161,7 @@ public class ExecuteCommandRequest implements BufferWriter {
         .key(key)
         .valueType(valueType)
         .intent(intent.value())
-        .putValue(encodedCmd, 0, encodedCmd.length);
+        .putValue(encodedCmd, 0, encodedCmd.length)
+        .putTrace(EMPTY_TRACE, 0, 0);
   }
 }
@@ -27,7 +27,7 @@ import io.zeebe.transport.impl.TransportContext;
 import io.zeebe.transport.impl.actor.ClientActorContext;
 import io.zeebe.transport.impl.actor.ClientConductor;
 import io.zeebe.transport.impl.actor.Receiver;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.util.ByteValue;
@@ -52,10 +52,8 @@ public class ClientTransportBuilder {
   protected List<ClientInputListener> listeners;
   protected TransportChannelFactory channelFactory;
 
-  private TransportMemoryPool requestMemoryPool =
-      new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
-  private TransportMemoryPool messageMemoryPool =
-      new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
+  private TransportMemoryPool requestMemoryPool = new SlabMemoryPool(ByteValue.ofMegabytes(4));
+  private TransportMemoryPool messageMemoryPool = new SlabMemoryPool(ByteValue.ofMegabytes(4));
 
   protected Duration defaultRequestRetryTimeout = Duration.ofSeconds(15);
   protected Duration defaultMessageRetryTimeout = Duration.ofSeconds(1);
@@ -27,7 +27,7 @@ import io.zeebe.transport.impl.TransportContext;
 import io.zeebe.transport.impl.actor.Receiver;
 import io.zeebe.transport.impl.actor.ServerActorContext;
 import io.zeebe.transport.impl.actor.ServerConductor;
-import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.util.ByteValue;
@@ -47,8 +47,7 @@ public class ServerTransportBuilder {
   protected RemoteAddressListImpl remoteAddressList;
   protected ServerControlMessageListener controlMessageListener;
 
-  private TransportMemoryPool messageMemoryPool =
-      new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
+  private TransportMemoryPool messageMemoryPool = new SlabMemoryPool(ByteValue.ofMegabytes(4));
 
   public ServerTransportBuilder name(String name) {
     this.name = name;
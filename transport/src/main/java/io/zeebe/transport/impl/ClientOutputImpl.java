@@ -67,7 +67,7 @@ public class ClientOutputImpl implements ClientOutput {
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedMessageLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
         headerWriter.wrapMessage(bufferView, writer, remoteStreamId);
         final long deadline = ActorClock.currentTimeMillis() + defaultMessageRetryTimeoutInMillis;
@@ -111,7 +111,7 @@ public class ClientOutputImpl implements ClientOutput {
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedLength);
         final OutgoingRequest request =
             new OutgoingRequest(
                 () -> endpointRegistry.getEndpoint(nodeIdSupplier.get()),
@@ -42,7 +42,7 @@ public class ServerOutputImpl implements ServerOutput {
 
     if (allocatedBuffer != null) {
       try {
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedMessageLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
         headerWriter.wrapMessage(bufferView, writer, remoteStreamId);
 
@@ -73,7 +73,7 @@ public class ServerOutputImpl implements ServerOutput {
         final int remoteStreamId = response.getRemoteStreamId();
         final long requestId = response.getRequestId();
 
-        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
+        final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer, 0, framedLength);
         final TransportHeaderWriter headerWriter = new TransportHeaderWriter();
 
         headerWriter.wrapRequest(bufferView, writer);
@@ -183,6 +183,19 @@ public class TransportChannel {
     return bytesWritten;
   }
 
+  public long write(ByteBuffer[] buffers, int offset, int length) {
+    long bytesWritten = -1;
+
+    try {
+      bytesWritten = media.write(buffers, offset, length);
+      metrics.transmitBytes.getAndAddOrdered(bytesWritten);
+    } catch (IOException e) {
+      doClose();
+    }
+
+    return bytesWritten;
+  }
+
   public int getStreamId() {
     return remoteAddress.getStreamId();
   }
@@ -25,6 +25,7 @@ import org.slf4j.Logger;
  * Manages a fixed capacity of of memory.
  *
  * <p>Current implementation does not actually "pool" or "recycle" the memory, it leaves that to GC.
+ * See {@link SlabMemoryPool} for a pool which recycles the memory.
  *
  * <p>The main usecase for this pool is the zeebe broker server transports where it is not desirable
  * to block actor threads.
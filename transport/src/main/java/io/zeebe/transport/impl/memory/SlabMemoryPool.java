@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.memory;
+
+import io.zeebe.transport.Loggers;
+import io.zeebe.util.ByteValue;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.BufferUtil;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.slf4j.Logger;
+
+/**
+ * Manages a fixed capacity of direct memory and recycles it.
+ *
+ * <p>Memory is reserved in slabs of up to {@link #SLAB_SIZE} bytes which are cut into chunks of a
+ * power-of-two size class between {@link #MIN_CHUNK_SIZE} and {@link #MAX_CHUNK_SIZE}. Reclaimed
+ * chunks are put on the free list of their size class and handed out again by the next allocation
+ * of that class. A slab is only released when all of its chunks are free and the capacity is
+ * exhausted, so that the capacity can be reserved by another size class. The memory reserved by the
+ * pool never exceeds its capacity. Requests larger than {@link #MAX_CHUNK_SIZE} are served with
+ * heap buffers which are counted against the capacity but left to the GC, like in {@link
+ * NonBlockingMemoryPool}.
+ *
+ * <p>The returned buffers can be larger than requested; their limit is set to the requested
+ * capacity.
+ *
+ * <p>The pool never waits for memory to be reclaimed and can be used from multiple threads. Each
+ * size class is guarded by its own lock.
+ */
+public class SlabMemoryPool implements TransportMemoryPool {
+  private static final Logger LOG = Loggers.TRANSPORT_MEMORY_LOGGER;
+
+  public static final int MIN_CHUNK_SIZE = 128;
+  public static final int MAX_CHUNK_SIZE = 64 * 1024;
+  public static final int SLAB_SIZE = MAX_CHUNK_SIZE;
+
+  private static final int MIN_CHUNK_SHIFT = Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+  private static final int SIZE_CLASSES =
+      Integer.numberOfTrailingZeros(MAX_CHUNK_SIZE) - MIN_CHUNK_SHIFT + 1;
+
+  private final SizeClass[] sizeClasses;
+
+  private final long capacity;
+  private final AtomicLong reserved = new AtomicLong();
+
+  public SlabMemoryPool(long capacity) {
+    this.capacity = capacity;
+    this.sizeClasses = new SizeClass[SIZE_CLASSES];
+
+    for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+      sizeClasses[sizeClass] = new SizeClass(chunkSize(sizeClass));
+    }
+  }
+
+  public SlabMemoryPool(ByteValue byteValue) {
+    this(byteValue.toBytes());
+  }
+
+  @Override
+  public ByteBuffer allocate(int requestedCapacity) {
+    LOG.trace("Attempting to allocate {} bytes", requestedCapacity);
+
+    final ByteBuffer buffer;
+
+    if (requestedCapacity > MAX_CHUNK_SIZE) {
+      buffer = tryReserve(requestedCapacity) ? ByteBuffer.allocate(requestedCapacity) : null;
+    } else {
+      buffer = allocateChunk(sizeClass(requestedCapacity));
+    }
+
+    if (buffer != null) {
+      LOG.trace("Allocated {} bytes", requestedCapacity);
+      buffer.clear();
+      buffer.limit(requestedCapacity);
+      return buffer;
+    } else {
+      LOG.trace("Failed to allocate {} bytes", requestedCapacity);
+      return null;
+    }
+  }
+
+  private ByteBuffer allocateChunk(int sizeClass) {
+    ByteBuffer chunk = sizeClasses[sizeClass].poll();
+
+    if (chunk == null) {
+      chunk = allocateSlab(sizeClass);
+    }
+
+    // capacity exhausted, fall back to a larger chunk which is currently not in use
+    for (int largerClass = sizeClass + 1;
+        chunk == null && largerClass < SIZE_CLASSES;
+        largerClass++) {
+      chunk = sizeClasses[largerClass].poll();
+    }
+
+    if (chunk == null && releaseFreeSlabs() > 0) {
+      chunk = allocateSlab(sizeClass);
+    }
+
+    return chunk;
+  }
+
+  /**
+   * Reserves a new slab for the given size class, keeps the first chunk and puts the remaining ones
+   * on the free list. If the remaining capacity is not sufficient for a complete slab, a smaller
+   * one is tried.
+   */
+  private ByteBuffer allocateSlab(int sizeClass) {
+    final int chunkSize = chunkSize(sizeClass);
+
+    int chunkCount = SLAB_SIZE / chunkSize;
+    while (chunkCount > 0 && !tryReserve((long) chunkCount * chunkSize)) {
+      chunkCount >>= 1;
+    }
+
+    if (chunkCount == 0) {
+      return null;
+    }
+
+    LOG.trace("Allocate slab of {} chunks with {} bytes", chunkCount, chunkSize);
+
+    final ByteBuffer slab = ByteBuffer.allocateDirect(chunkCount * chunkSize);
+    return sizeClasses[sizeClass].addSlab(slab, chunkCount);
+  }
+
+  /**
+   * Releases the slabs which chunks are all free, so that their capacity can be reserved again.
+   *
+   * @return the released bytes
+   */
+  private long releaseFreeSlabs() {
+    long releasedBytes = 0;
+
+    for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+      releasedBytes += sizeClasses[sizeClass].removeFreeSlabs();
+    }
+
+    if (releasedBytes > 0) {
+      LOG.trace("Release {} bytes of free slabs", releasedBytes);
+      release(releasedBytes);
+    }
+
+    return releasedBytes;
+  }
+
+  @Override
+  public void reclaim(ByteBuffer buffer) {
+    final int bytesReclaimed = buffer.capacity();
+    LOG.trace("Reclaiming {} bytes", bytesReclaimed);
+
+    if (buffer.isDirect()) {
+      sizeClasses[sizeClass(bytesReclaimed)].offer(buffer);
+    } else {
+      release(bytesReclaimed);
+    }
+  }
+
+  /** @return the bytes which are currently reserved by slabs and unpooled buffers */
+  public long getReservedCapacity() {
+    return reserved.get();
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  private boolean tryReserve(long bytes) {
+    long current;
+    long newReserved;
+
+    do {
+      current = reserved.get();
+      newReserved = current + bytes;
+
+      if (newReserved > capacity) {
+        return false;
+      }
+    } while (!reserved.compareAndSet(current, newReserved));
+
+    return true;
+  }
+
+  private void release(long bytes) {
+    reserved.addAndGet(-bytes);
+  }
+
+  private static int sizeClass(int capacity) {
+    if (capacity <= MIN_CHUNK_SIZE) {
+      return 0;
+    } else {
+      return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1) - MIN_CHUNK_SHIFT;
+    }
+  }
+
+  private static int chunkSize(int sizeClass) {
+    return MIN_CHUNK_SIZE << sizeClass;
+  }
+
+  private static ByteBuffer sliceChunk(ByteBuffer slab, int offset, int chunkSize) {
+    slab.limit(offset + chunkSize);
+    slab.position(offset);
+    return slab.slice();
+  }
+
+  /** The chunks of the slabs of one size class. The free list can hold all of them. */
+  private static final class SizeClass {
+    private final int chunkSize;
+
+    private final ArrayDeque<ByteBuffer> freeChunks = new ArrayDeque<>();
+    private final Long2ObjectHashMap<Slab> slabsByChunkAddress = new Long2ObjectHashMap<>();
+
+    SizeClass(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+
+    synchronized ByteBuffer addSlab(ByteBuffer slabBuffer, int chunkCount) {
+      final Slab slab = new Slab(chunkCount);
+
+      for (int i = 0; i < chunkCount; i++) {
+        final ByteBuffer chunk = sliceChunk(slabBuffer, i * chunkSize, chunkSize);
+        slabsByChunkAddress.put(BufferUtil.address(chunk), slab);
+        freeChunks.push(chunk);
+      }
+      slab.freeChunks = chunkCount;
+
+      return poll();
+    }
+
+    synchronized ByteBuffer poll() {
+      final ByteBuffer chunk = freeChunks.poll();
+
+      if (chunk != null) {
+        slabsByChunkAddress.get(BufferUtil.address(chunk)).freeChunks -= 1;
+      }
+      return chunk;
+    }
+
+    synchronized void offer(ByteBuffer chunk) {
+      final Slab slab = slabsByChunkAddress.get(BufferUtil.address(chunk));
+
+      if (slab != null) {
+        slab.freeChunks += 1;
+        freeChunks.push(chunk);
+      } else {
+        LOG.warn("Ignore reclaimed buffer which was not allocated by the pool");
+      }
+    }
+
+    /** @return the bytes of the removed slabs */
+    synchronized long removeFreeSlabs() {
+      long removedBytes = 0;
+
+      for (int i = freeChunks.size(); i > 0; i--) {
+        final ByteBuffer chunk = freeChunks.poll();
+        final long address = BufferUtil.address(chunk);
+
+        if (slabsByChunkAddress.get(address).isFree()) {
+          slabsByChunkAddress.remove(address);
+          removedBytes += chunkSize;
+        } else {
+          freeChunks.addLast(chunk);
+        }
+      }
+
+      return removedBytes;
+    }
+  }
+
+  private static final class Slab {
+    private final int chunkCount;
+    private int freeChunks;
+
+    Slab(int chunkCount) {
+      this.chunkCount = chunkCount;
+    }
+
+    boolean isFree() {
+      return freeChunks == chunkCount;
+    }
+  }
+}
@@ -18,7 +18,14 @@ package io.zeebe.transport.impl.memory;
 import java.nio.ByteBuffer;
 
 public interface TransportMemoryPool {
+  /**
+   * Allocates a buffer for the given capacity. The buffer may be larger than requested; its
+   * position is zero and its limit is the requested capacity.
+   *
+   * @return the allocated buffer or null if the pool has no memory available
+   */
   ByteBuffer allocate(int requestedCapacity);
 
+  /** Returns a buffer to the pool which was allocated by it. It must not be used afterwards. */
   void reclaim(ByteBuffer buffer);
 }
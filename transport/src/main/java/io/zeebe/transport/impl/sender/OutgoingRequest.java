@@ -50,7 +50,8 @@ public class OutgoingRequest {
 
   private final MutableDirectBuffer requestBuffer;
 
-  private long timerId = -1;
+  private RequestTimeoutBucket timeoutBucket;
+  private int timeoutBucketIndex = -1;
 
   private long lastRequestId = -1;
 
@@ -126,16 +127,21 @@ public class OutgoingRequest {
     return headerWriter;
   }
 
-  public void setTimerId(long timerId) {
-    this.timerId = timerId;
+  void setTimeoutBucket(RequestTimeoutBucket timeoutBucket, int index) {
+    this.timeoutBucket = timeoutBucket;
+    this.timeoutBucketIndex = index;
   }
 
-  public boolean hasTimeoutScheduled() {
-    return timerId != -1;
+  RequestTimeoutBucket getTimeoutBucket() {
+    return timeoutBucket;
+  }
+
+  int getTimeoutBucketIndex() {
+    return timeoutBucketIndex;
   }
 
-  public long getTimerId() {
-    return timerId;
+  public boolean hasTimeoutScheduled() {
+    return timeoutBucket != null || isTimedout;
   }
 
   public long getLastRequestId() {
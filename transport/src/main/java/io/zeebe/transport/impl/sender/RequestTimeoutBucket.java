@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.sender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The requests which time out at the same deadline. The sender schedules one timer per bucket
+ * instead of one timer per request, and rounds the deadlines up to the resolution in which it
+ * checks the timers anyway.
+ */
+class RequestTimeoutBucket {
+  private final List<OutgoingRequest> requests = new ArrayList<>();
+
+  private long deadline;
+  private long timerId;
+
+  void wrap(long deadline, long timerId) {
+    this.deadline = deadline;
+    this.timerId = timerId;
+  }
+
+  long getDeadline() {
+    return deadline;
+  }
+
+  long getTimerId() {
+    return timerId;
+  }
+
+  void add(OutgoingRequest request) {
+    request.setTimeoutBucket(this, requests.size());
+    requests.add(request);
+  }
+
+  /** Removes the request in constant time, by moving the last request to its position. */
+  void remove(OutgoingRequest request) {
+    final int index = request.getTimeoutBucketIndex();
+    final int lastIndex = requests.size() - 1;
+
+    final OutgoingRequest lastRequest = requests.remove(lastIndex);
+    if (index != lastIndex) {
+      requests.set(index, lastRequest);
+      lastRequest.setTimeoutBucket(this, index);
+    }
+
+    request.setTimeoutBucket(null, -1);
+  }
+
+  boolean isEmpty() {
+    return requests.isEmpty();
+  }
+
+  List<OutgoingRequest> getRequests() {
+    return requests;
+  }
+
+  void reset() {
+    for (int i = 0; i < requests.size(); i++) {
+      requests.get(i).setTimeoutBucket(null, -1);
+    }
+    requests.clear();
+
+    deadline = -1;
+    timerId = -1;
+  }
+}
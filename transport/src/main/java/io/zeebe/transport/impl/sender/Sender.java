@@ -31,6 +31,7 @@ import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
@@ -51,6 +52,15 @@ public class Sender extends Actor implements TimerHandler {
 
   private static final int DEFAULT_BATCH_SIZE = (int) ByteValue.ofKilobytes(128).toBytes();
 
+  /** The maximum number of batches which are written to a channel with one gathering write. */
+  private static final int MAX_GATHERED_BATCHES = 16;
+
+  /**
+   * The timeouts are checked in this interval. The deadlines of the requests are rounded up to it,
+   * so that requests which are sent within the same interval share one timer.
+   */
+  private static final long TIMEOUT_RESOLUTION_MS = 100;
+
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
   private long nextRequestId = 0;
@@ -63,8 +73,11 @@ public class Sender extends Actor implements TimerHandler {
       new ConcurrentQueueChannel<>(new ManyToOneConcurrentLinkedQueue<>());
 
   private final Long2ObjectHashMap<OutgoingRequest> inFlightRequests = new Long2ObjectHashMap<>();
-  private final Long2ObjectHashMap<OutgoingRequest> requestsByTimeoutIds =
+  private final Long2ObjectHashMap<RequestTimeoutBucket> timeoutBucketsByDeadline =
+      new Long2ObjectHashMap<>();
+  private final Long2ObjectHashMap<RequestTimeoutBucket> timeoutBucketsByTimerId =
       new Long2ObjectHashMap<>();
+  private final Deque<RequestTimeoutBucket> recycledTimeoutBuckets = new ArrayDeque<>();
 
   private final Int2ObjectHashMap<ChannelWriteQueue> channelMap = new Int2ObjectHashMap<>();
   private final List<ChannelWriteQueue> channelList = new ArrayList<>();
@@ -101,7 +114,7 @@ public class Sender extends Actor implements TimerHandler {
     actor.consume(submittedRequests, this::processSubmittedRequests);
     actor.consume(submittedResponses, this::processIncomingResponses);
 
-    actor.runAtFixedRate(Duration.ofMillis(100), this::processTimeouts);
+    actor.runAtFixedRate(Duration.ofMillis(TIMEOUT_RESOLUTION_MS), this::processTimeouts);
 
     if (keepAlivePeriod != null) {
       actor.runAtFixedRate(keepAlivePeriod, this::sendKeepalives);
@@ -111,9 +124,10 @@ public class Sender extends Actor implements TimerHandler {
   private void processTimeouts() {
     final long now = ActorClock.currentTimeMillis();
 
-    while (requestTimeouts.poll(now, this, Integer.MAX_VALUE) > 0) {
-      // process timeouts
-    }
+    // the wheel advances by at most one tick per poll, so poll until it has caught up with now
+    do {
+      requestTimeouts.poll(now, this, Integer.MAX_VALUE);
+    } while (requestTimeouts.currentTickTime() <= now);
   }
 
   private void processIncomingResponses() {
@@ -165,6 +179,7 @@ public class Sender extends Actor implements TimerHandler {
       } catch (Exception e) {
         request.fail(e);
         reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+        removeTimeout(request);
         return;
       }
 
@@ -173,24 +188,14 @@ public class Sender extends Actor implements TimerHandler {
         actor.runDelayed(Duration.ofMillis(1), () -> submittedRequests.offer(request));
       } else {
         reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
-
-        final long timerId = request.getTimerId();
-
-        if (timerId != -1) {
-          requestTimeouts.cancelTimer(timerId);
-          requestsByTimeoutIds.remove(timerId);
-        }
+        removeTimeout(request);
       }
     }
   }
 
   private void onRequestSubmitted(final OutgoingRequest request) {
     if (!request.hasTimeoutScheduled()) {
-      final long timerId =
-          requestTimeouts.scheduleTimer(
-              ActorClock.currentTimeMillis() + request.getTimeout().toMillis());
-      request.setTimerId(timerId);
-      requestsByTimeoutIds.put(timerId, request);
+      scheduleTimeout(request);
     }
 
     if (!request.isTimedout()) {
@@ -212,6 +217,49 @@ public class Sender extends Actor implements TimerHandler {
     }
   }
 
+  private void scheduleTimeout(final OutgoingRequest request) {
+    final long timeoutMs = ActorClock.currentTimeMillis() + request.getTimeout().toMillis();
+    final long deadline =
+        ((timeoutMs + TIMEOUT_RESOLUTION_MS - 1) / TIMEOUT_RESOLUTION_MS) * TIMEOUT_RESOLUTION_MS;
+
+    RequestTimeoutBucket bucket = timeoutBucketsByDeadline.get(deadline);
+    if (bucket == null) {
+      bucket = recycledTimeoutBuckets.poll();
+      if (bucket == null) {
+        bucket = new RequestTimeoutBucket();
+      }
+
+      final long timerId = requestTimeouts.scheduleTimer(deadline);
+      bucket.wrap(deadline, timerId);
+
+      timeoutBucketsByDeadline.put(deadline, bucket);
+      timeoutBucketsByTimerId.put(timerId, bucket);
+    }
+
+    bucket.add(request);
+  }
+
+  private void removeTimeout(final OutgoingRequest request) {
+    final RequestTimeoutBucket bucket = request.getTimeoutBucket();
+
+    if (bucket != null) {
+      bucket.remove(request);
+
+      if (bucket.isEmpty()) {
+        requestTimeouts.cancelTimer(bucket.getTimerId());
+        recycleTimeoutBucket(bucket);
+      }
+    }
+  }
+
+  private void recycleTimeoutBucket(final RequestTimeoutBucket bucket) {
+    timeoutBucketsByDeadline.remove(bucket.getDeadline());
+    timeoutBucketsByTimerId.remove(bucket.getTimerId());
+
+    bucket.reset();
+    recycledTimeoutBuckets.push(bucket);
+  }
+
   private void onMessageSubmitted(final OutgoingMessage message) {
     final int remoteStreamId = message.getRemoteStreamId();
     final ChannelWriteQueue sendQueue = channelMap.get(remoteStreamId);
@@ -263,32 +311,70 @@ public class Sender extends Actor implements TimerHandler {
 
     private final TransportChannel channel;
 
-    private Batch currentWrite;
+    /**
+     * The batches which are currently written. They are written together with one gathering write,
+     * so that many requests and responses are sent with one system call.
+     */
+    private final Batch[] currentWrites = new Batch[MAX_GATHERED_BATCHES];
+
+    private final ByteBuffer[] currentWriteBuffers = new ByteBuffer[MAX_GATHERED_BATCHES];
+    private int currentWriteCount = 0;
 
     public ChannelWriteQueue(TransportChannel channel) {
       this.channel = channel;
     }
 
     public boolean hasPending() {
-      return currentWrite != null || !pendingWrites.isEmpty();
+      return currentWriteCount > 0 || !pendingWrites.isEmpty();
     }
 
     public void write() {
-      if (hasPending()) {
-        if (currentWrite == null) {
-          currentWrite = pendingWrites.poll();
-          currentWrite.prepareWrite();
+      while (currentWriteCount < MAX_GATHERED_BATCHES && !pendingWrites.isEmpty()) {
+        final Batch batch = pendingWrites.poll();
+        batch.prepareWrite();
+
+        currentWrites[currentWriteCount] = batch;
+        currentWriteBuffers[currentWriteCount] = batch.batchBuffer;
+        currentWriteCount += 1;
+      }
+
+      if (currentWriteCount > 0) {
+        channel.write(currentWriteBuffers, 0, currentWriteCount);
+
+        // recycle the written batches and move the remaining ones to the front
+        int writtenCount = 0;
+        while (writtenCount < currentWriteCount && !currentWrites[writtenCount].hasRemaining()) {
+          currentWrites[writtenCount].recycle();
+          writtenCount += 1;
         }
 
-        currentWrite.writeTo(channel);
+        if (writtenCount > 0) {
+          final int remainingCount = currentWriteCount - writtenCount;
+          System.arraycopy(currentWrites, writtenCount, currentWrites, 0, remainingCount);
+          System.arraycopy(
+              currentWriteBuffers, writtenCount, currentWriteBuffers, 0, remainingCount);
 
-        if (!currentWrite.hasRemaining()) {
-          currentWrite.recycle();
-          currentWrite = null;
+          for (int i = remainingCount; i < currentWriteCount; i++) {
+            currentWrites[i] = null;
+            currentWriteBuffers[i] = null;
+          }
+          currentWriteCount = remainingCount;
         }
       }
     }
 
+    void onChannelClosed() {
+      for (int i = 0; i < currentWriteCount; i++) {
+        currentWrites[i].onChannelClosed();
+        currentWrites[i] = null;
+        currentWriteBuffers[i] = null;
+      }
+      currentWriteCount = 0;
+
+      pendingWrites.forEach(Batch::onChannelClosed);
+      pendingWrites.clear();
+    }
+
     public void offer(OutgoingRequest request) {
       // try to fit into last pending batch
       final Batch existingBatch = pendingWrites.peekLast();
@@ -397,10 +483,6 @@ public class Sender extends Actor implements TimerHandler {
       }
     }
 
-    public boolean writeTo(TransportChannel channel) {
-      return channel.write(batchBuffer) > 0;
-    }
-
     public void prepareWrite() {
       batchBuffer.position(0);
       batchBuffer.limit(writeOffset);
@@ -469,19 +551,27 @@ public class Sender extends Actor implements TimerHandler {
           if (sendQueue != null) {
             channelList.remove(sendQueue);
             // re-submit pending requests so that they can be retried
-            sendQueue.pendingWrites.forEach(Batch::onChannelClosed);
+            sendQueue.onChannelClosed();
           }
         });
   }
 
   @Override
   public boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
-    final OutgoingRequest request = requestsByTimeoutIds.get(timerId);
+    final RequestTimeoutBucket bucket = timeoutBucketsByTimerId.get(timerId);
 
-    if (request != null) {
-      reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
-      request.timeout();
-      inFlightRequests.remove(request.getLastRequestId());
+    if (bucket != null) {
+      final List<OutgoingRequest> requests = bucket.getRequests();
+
+      for (int i = 0; i < requests.size(); i++) {
+        final OutgoingRequest request = requests.get(i);
+
+        reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+        request.timeout();
+        inFlightRequests.remove(request.getLastRequestId());
+      }
+
+      recycleTimeoutBucket(bucket);
     }
 
     return true;
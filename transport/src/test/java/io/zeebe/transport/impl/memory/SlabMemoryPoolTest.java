@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class SlabMemoryPoolTest {
+
+  @Test
+  public void shouldAllocateDirectBufferWithRequestedLimit() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(1024 * 1024);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(100);
+
+    // then
+    assertThat(buffer.isDirect()).isTrue();
+    assertThat(buffer.position()).isEqualTo(0);
+    assertThat(buffer.limit()).isEqualTo(100);
+    assertThat(buffer.capacity()).isEqualTo(SlabMemoryPool.MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void shouldRoundUpToSizeClass() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(1024 * 1024);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(1025);
+
+    // then
+    assertThat(buffer.capacity()).isEqualTo(2048);
+    assertThat(buffer.limit()).isEqualTo(1025);
+  }
+
+  @Test
+  public void shouldReuseReclaimedBuffer() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(SlabMemoryPool.MAX_CHUNK_SIZE);
+    final ByteBuffer buffer = pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE);
+    buffer.position(10);
+
+    // when
+    pool.reclaim(buffer);
+    final ByteBuffer reusedBuffer = pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE - 1);
+
+    // then
+    assertThat(reusedBuffer).isSameAs(buffer);
+    assertThat(reusedBuffer.position()).isEqualTo(0);
+    assertThat(reusedBuffer.limit()).isEqualTo(SlabMemoryPool.MAX_CHUNK_SIZE - 1);
+  }
+
+  @Test
+  public void shouldNotExceedCapacity() {
+    // given
+    final int capacity = 4 * SlabMemoryPool.MAX_CHUNK_SIZE;
+    final SlabMemoryPool pool = new SlabMemoryPool(capacity);
+    final List<ByteBuffer> buffers = new ArrayList<>();
+
+    // when
+    ByteBuffer buffer = pool.allocate(512);
+    while (buffer != null) {
+      buffers.add(buffer);
+      buffer = pool.allocate(512);
+    }
+
+    // then
+    assertThat(buffers).hasSize(capacity / 512);
+    assertThat(pool.getReservedCapacity()).isEqualTo(capacity);
+  }
+
+  @Test
+  public void shouldAllocateAgainAfterReclaim() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(SlabMemoryPool.MAX_CHUNK_SIZE);
+    final ByteBuffer buffer = pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE);
+    assertThat(pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE)).isNull();
+
+    // when
+    pool.reclaim(buffer);
+
+    // then
+    assertThat(pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE)).isNotNull();
+  }
+
+  @Test
+  public void shouldFallBackToLargerChunkIfCapacityIsExhausted() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(SlabMemoryPool.MAX_CHUNK_SIZE);
+    final ByteBuffer largeBuffer = pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE);
+    pool.reclaim(largeBuffer);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(64);
+
+    // then
+    assertThat(buffer).isSameAs(largeBuffer);
+    assertThat(buffer.limit()).isEqualTo(64);
+  }
+
+  @Test
+  public void shouldReduceSlabSizeToRemainingCapacity() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(3 * 1024);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(1024);
+
+    // then
+    assertThat(buffer).isNotNull();
+    assertThat(pool.getReservedCapacity()).isEqualTo(2 * 1024);
+  }
+
+  @Test
+  public void shouldKeepReclaimedChunksOfUsedSlabReserved() {
+    // given
+    final int capacity = 1024 * 1024;
+    final SlabMemoryPool pool = new SlabMemoryPool(capacity);
+    final List<ByteBuffer> buffers = allocateAll(pool, SlabMemoryPool.MIN_CHUNK_SIZE);
+    final ByteBuffer usedBuffer = buffers.remove(0);
+
+    // when
+    buffers.forEach(pool::reclaim);
+
+    // then the slab of the used buffer is still reserved
+    assertThat(pool.getReservedCapacity()).isEqualTo(capacity);
+    assertThat(allocateAll(pool, SlabMemoryPool.MIN_CHUNK_SIZE)).hasSize(buffers.size());
+    assertThat(pool.getReservedCapacity()).isEqualTo(capacity);
+    assertThat(usedBuffer.capacity()).isEqualTo(SlabMemoryPool.MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void shouldReleaseFreeSlabsForOtherSizeClass() {
+    // given
+    final int capacity = 4 * SlabMemoryPool.SLAB_SIZE;
+    final SlabMemoryPool pool = new SlabMemoryPool(capacity);
+    final List<ByteBuffer> smallBuffers = allocateAll(pool, SlabMemoryPool.MIN_CHUNK_SIZE);
+
+    // when
+    smallBuffers.forEach(pool::reclaim);
+    final List<ByteBuffer> largeBuffers = allocateAll(pool, SlabMemoryPool.MAX_CHUNK_SIZE);
+
+    // then
+    assertThat(largeBuffers).hasSize(capacity / SlabMemoryPool.MAX_CHUNK_SIZE);
+    assertThat(pool.getReservedCapacity()).isEqualTo(capacity);
+  }
+
+  @Test
+  public void shouldNotExceedCapacityWithMixedSizeClasses() {
+    // given
+    final int capacity = 8 * SlabMemoryPool.SLAB_SIZE;
+    final SlabMemoryPool pool = new SlabMemoryPool(capacity);
+    final int[] requestedCapacities = {100, 1000, 5000, 20_000, SlabMemoryPool.MAX_CHUNK_SIZE};
+    final List<ByteBuffer> buffers = new ArrayList<>();
+
+    // when
+    for (int round = 0; round < 100; round++) {
+      final int requestedCapacity = requestedCapacities[round % requestedCapacities.length];
+      buffers.addAll(allocateAll(pool, requestedCapacity));
+
+      // then
+      final long allocatedBytes = buffers.stream().mapToLong(ByteBuffer::capacity).sum();
+      assertThat(allocatedBytes).isLessThanOrEqualTo(pool.getReservedCapacity());
+      assertThat(pool.getReservedCapacity()).isLessThanOrEqualTo(capacity);
+
+      // reclaim every second buffer, so that the slabs stay partially used
+      for (int i = buffers.size() - 1; i >= 0; i -= 2) {
+        pool.reclaim(buffers.remove(i));
+      }
+    }
+
+    buffers.forEach(pool::reclaim);
+
+    // then all capacity can be used by one size class again
+    assertThat(allocateAll(pool, SlabMemoryPool.MAX_CHUNK_SIZE))
+        .hasSize(capacity / SlabMemoryPool.MAX_CHUNK_SIZE);
+  }
+
+  @Test
+  public void shouldAllocateUnpooledHeapBufferForLargeRequests() {
+    // given
+    final int requestedCapacity = SlabMemoryPool.MAX_CHUNK_SIZE + 1;
+    final SlabMemoryPool pool = new SlabMemoryPool(1024 * 1024);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(requestedCapacity);
+
+    // then
+    assertThat(buffer.isDirect()).isFalse();
+    assertThat(buffer.capacity()).isEqualTo(requestedCapacity);
+    assertThat(pool.getReservedCapacity()).isEqualTo(requestedCapacity);
+
+    // when
+    pool.reclaim(buffer);
+
+    // then
+    assertThat(pool.getReservedCapacity()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotAllocateLargeRequestExceedingCapacity() {
+    // given
+    final SlabMemoryPool pool = new SlabMemoryPool(SlabMemoryPool.MAX_CHUNK_SIZE);
+
+    // when
+    final ByteBuffer buffer = pool.allocate(SlabMemoryPool.MAX_CHUNK_SIZE + 1);
+
+    // then
+    assertThat(buffer).isNull();
+  }
+
+  private static List<ByteBuffer> allocateAll(SlabMemoryPool pool, int requestedCapacity) {
+    final List<ByteBuffer> buffers = new ArrayList<>();
+
+    ByteBuffer buffer = pool.allocate(requestedCapacity);
+    while (buffer != null) {
+      buffers.add(buffer);
+      buffer = pool.allocate(requestedCapacity);
+    }
+
+    return buffers;
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.sender;
+
+import static io.zeebe.test.util.TestUtil.doRepeatedly;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.RequestTimeoutException;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.transport.impl.IncomingResponse;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.TransportChannel;
+import io.zeebe.transport.impl.actor.ClientActorContext;
+import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import io.zeebe.util.sched.clock.ControlledActorClock;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class SenderTest {
+  private static final int STREAM_ID = 1;
+  private static final int OTHER_STREAM_ID = 2;
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(1);
+  private static final Duration TIMEOUT_RESOLUTION = Duration.ofMillis(100);
+  private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+
+  private static final int SMALL_MESSAGE_LENGTH = 64;
+  // larger than half of a batch, so that each request is written with its own batch
+  private static final int LARGE_MESSAGE_LENGTH = 100 * 1024;
+
+  private final ControlledActorClock clock = new ControlledActorClock();
+
+  @Rule public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(clock);
+
+  private final RemoteAddress remoteAddress =
+      new RemoteAddressImpl(STREAM_ID, new SocketAddress("localhost", 51015));
+
+  private final UnboundedMemoryPool requestMemoryPool = new UnboundedMemoryPool();
+
+  private Sender sender;
+
+  @Before
+  public void setUp() {
+    clock.pinCurrentTime();
+
+    sender =
+        new Sender(new ClientActorContext(), new UnboundedMemoryPool(), requestMemoryPool, null);
+  }
+
+  @Test
+  public void shouldResumePartiallyWrittenBatch() {
+    // given
+    final ChannelWrites writes = new ChannelWrites();
+    final Sender.ChannelWriteQueue writeQueue =
+        sender.new ChannelWriteQueue(newChannel(STREAM_ID, writes));
+
+    final List<OutgoingRequest> requests = newRequests(3, LARGE_MESSAGE_LENGTH);
+    requests.forEach(writeQueue::offer);
+
+    final int requestLength = requests.get(0).getRequestBuffer().capacity();
+    writes.limitNextWrite(requestLength + requestLength / 2);
+
+    // when
+    writeQueue.write();
+
+    // then
+    assertThat(writes.getGatheredBuffers()).containsExactly(3);
+    assertThat(writeQueue.hasPending()).isTrue();
+
+    // when
+    writeQueue.write();
+
+    // then the second write starts with the remaining bytes of the second batch
+    assertThat(writes.getGatheredBuffers()).containsExactly(3, 2);
+    assertThat(writeQueue.hasPending()).isFalse();
+    assertThat(writes.getBytes()).isEqualTo(concatRequests(requests));
+  }
+
+  @Test
+  public void shouldResubmitRequestsOfUnwrittenBatchesOnChannelClose() {
+    // given
+    final ChannelWrites writes = new ChannelWrites();
+    final Sender.ChannelWriteQueue writeQueue =
+        sender.new ChannelWriteQueue(newChannel(OTHER_STREAM_ID, writes));
+
+    // more requests than batches which are written at once
+    final List<OutgoingRequest> requests = newRequests(20, LARGE_MESSAGE_LENGTH);
+    requests.forEach(writeQueue::offer);
+
+    final int requestLength = requests.get(0).getRequestBuffer().capacity();
+    writes.limitNextWrite(requestLength + requestLength / 2);
+    writeQueue.write();
+
+    final long[] requestIds = requests.stream().mapToLong(r -> r.getLastRequestId()).toArray();
+
+    // when
+    writeQueue.onChannelClosed();
+
+    // then the requests are resubmitted, except the written one
+    assertThat(writeQueue.hasPending()).isFalse();
+
+    actorSchedulerRule.submitActor(sender).join();
+
+    final ChannelWrites otherWrites = new ChannelWrites();
+    sender.onChannelConnected(newChannel(STREAM_ID, otherWrites)).join();
+
+    doRepeatedly(() -> clock.addTime(RETRY_DELAY))
+        .until(v -> otherWrites.getWrittenBytes() >= (requests.size() - 1) * requestLength);
+
+    assertThat(otherWrites.getWrittenBytes()).isEqualTo((requests.size() - 1) * requestLength);
+
+    assertThat(requests.get(0).getLastRequestId()).isEqualTo(requestIds[0]);
+    for (int i = 1; i < requests.size(); i++) {
+      assertThat(requests.get(i).getLastRequestId()).isNotEqualTo(requestIds[i]);
+    }
+  }
+
+  @Test
+  public void shouldTimeOutAllRequestsOfBucket() {
+    // given
+    actorSchedulerRule.submitActor(sender).join();
+
+    final ChannelWrites writes = new ChannelWrites();
+    sender.onChannelConnected(newChannel(STREAM_ID, writes)).join();
+
+    final List<OutgoingRequest> requests = newRequests(3, SMALL_MESSAGE_LENGTH);
+    requests.forEach(sender::submitRequest);
+
+    final int requestLength = requests.get(0).getRequestBuffer().capacity();
+    waitUntil(() -> writes.getWrittenBytes() == requests.size() * requestLength);
+
+    final RequestTimeoutBucket bucket = requests.get(0).getTimeoutBucket();
+    assertThat(bucket).isNotNull();
+    assertThat(bucket.getDeadline())
+        .isBetween(
+            clock.getCurrentTimeInMillis() + TIMEOUT.toMillis(),
+            clock.getCurrentTimeInMillis() + TIMEOUT.toMillis() + TIMEOUT_RESOLUTION.toMillis());
+    assertThat(requests).allMatch(r -> r.getTimeoutBucket() == bucket);
+
+    // when
+    doRepeatedly(() -> clock.addTime(TIMEOUT_RESOLUTION))
+        .until(v -> requests.stream().allMatch(r -> r.getResponseFuture().isDone()));
+
+    // then
+
+    for (OutgoingRequest request : requests) {
+      assertThat(request.getResponseFuture().isCompletedExceptionally()).isTrue();
+      assertThat(request.getResponseFuture().getException())
+          .isInstanceOf(RequestTimeoutException.class);
+      assertThat(request.isTimedout()).isTrue();
+      assertThat(request.getTimeoutBucket()).isNull();
+    }
+  }
+
+  @Test
+  public void shouldRemoveCompletedRequestFromBucket() {
+    // given
+    actorSchedulerRule.submitActor(sender).join();
+
+    final ChannelWrites writes = new ChannelWrites();
+    sender.onChannelConnected(newChannel(STREAM_ID, writes)).join();
+
+    final List<OutgoingRequest> requests = newRequests(2, SMALL_MESSAGE_LENGTH);
+    requests.forEach(sender::submitRequest);
+
+    final int requestLength = requests.get(0).getRequestBuffer().capacity();
+    waitUntil(() -> writes.getWrittenBytes() == requests.size() * requestLength);
+
+    final OutgoingRequest completedRequest = requests.get(0);
+    final OutgoingRequest pendingRequest = requests.get(1);
+    final RequestTimeoutBucket bucket = pendingRequest.getTimeoutBucket();
+
+    // when
+    sender.submitResponse(
+        new IncomingResponse(completedRequest.getLastRequestId(), new UnsafeBuffer(new byte[1])));
+
+    // then
+    waitUntil(() -> completedRequest.getResponseFuture().isDone());
+
+    assertThat(completedRequest.getResponseFuture().isCompletedExceptionally()).isFalse();
+    assertThat(completedRequest.getTimeoutBucket()).isNull();
+    assertThat(completedRequest.hasTimeoutScheduled()).isFalse();
+
+    assertThat(pendingRequest.getTimeoutBucket()).isSameAs(bucket);
+    assertThat(bucket.getRequests()).containsExactly(pendingRequest);
+
+    // when
+    doRepeatedly(() -> clock.addTime(TIMEOUT_RESOLUTION))
+        .until(v -> pendingRequest.getResponseFuture().isDone());
+
+    // then
+
+    assertThat(pendingRequest.isTimedout()).isTrue();
+    assertThat(completedRequest.isTimedout()).isFalse();
+  }
+
+  @Test
+  public void shouldNotScheduleTimeoutOfTimedOutRequestAgain() {
+    // given
+    final OutgoingRequest request = newRequests(1, SMALL_MESSAGE_LENGTH).get(0);
+    assertThat(request.hasTimeoutScheduled()).isFalse();
+
+    final RequestTimeoutBucket bucket = new RequestTimeoutBucket();
+    bucket.wrap(11_000, 1);
+    bucket.add(request);
+    assertThat(request.hasTimeoutScheduled()).isTrue();
+
+    // when
+    bucket.reset();
+    request.timeout();
+
+    // then the timeout of a resubmitted request is not scheduled again
+    assertThat(request.getTimeoutBucket()).isNull();
+    assertThat(request.hasTimeoutScheduled()).isTrue();
+    assertThat(request.getResponseFuture().getException())
+        .isInstanceOf(RequestTimeoutException.class);
+  }
+
+  private List<OutgoingRequest> newRequests(final int count, final int messageLength) {
+    final List<OutgoingRequest> requests = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      final byte[] message = new byte[messageLength];
+      message[0] = (byte) i;
+      final DirectBufferWriter writer = new DirectBufferWriter().wrap(new UnsafeBuffer(message));
+
+      final int framedLength = TransportHeaderWriter.getFramedRequestLength(messageLength);
+      final ByteBuffer allocatedBuffer = requestMemoryPool.allocate(framedLength);
+      final UnsafeBuffer requestBuffer = new UnsafeBuffer(allocatedBuffer, 0, framedLength);
+
+      final OutgoingRequest request =
+          new OutgoingRequest(() -> remoteAddress, b -> false, requestBuffer, TIMEOUT);
+      request.getHeaderWriter().wrapRequest(requestBuffer, writer);
+
+      requests.add(request);
+    }
+
+    return requests;
+  }
+
+  private static byte[] concatRequests(final List<OutgoingRequest> requests) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    for (OutgoingRequest request : requests) {
+      final byte[] requestBytes = new byte[request.getRequestBuffer().capacity()];
+      request.getRequestBuffer().getBytes(0, requestBytes);
+      bytes.write(requestBytes, 0, requestBytes.length);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private static TransportChannel newChannel(final int streamId, final ChannelWrites writes) {
+    // stub only, so that the invocations of a busy channel are not recorded
+    final TransportChannel channel = mock(TransportChannel.class, withSettings().stubOnly());
+    when(channel.getStreamId()).thenReturn(streamId);
+    doAnswer(writes).when(channel).write(any(ByteBuffer[].class), anyInt(), anyInt());
+    return channel;
+  }
+
+  /** Records the gathering writes to a channel, which can write less bytes than requested. */
+  private static class ChannelWrites implements Answer<Long> {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final List<Integer> gatheredBuffers = new ArrayList<>();
+    private final AtomicLong writtenBytes = new AtomicLong();
+
+    private long nextWriteLimit = Long.MAX_VALUE;
+
+    void limitNextWrite(final long limit) {
+      nextWriteLimit = limit;
+    }
+
+    @Override
+    public Long answer(final InvocationOnMock invocation) {
+      final ByteBuffer[] buffers = invocation.getArgument(0);
+      final int offset = invocation.getArgument(1);
+      final int length = invocation.getArgument(2);
+
+      gatheredBuffers.add(length);
+
+      long written = 0;
+      for (int i = offset; i < offset + length && written < nextWriteLimit; i++) {
+        final ByteBuffer buffer = buffers[i];
+        final int count = (int) Math.min(buffer.remaining(), nextWriteLimit - written);
+
+        final byte[] writtenBuffer = new byte[count];
+        buffer.get(writtenBuffer);
+        bytes.write(writtenBuffer, 0, count);
+        written += count;
+      }
+      nextWriteLimit = Long.MAX_VALUE;
+
+      writtenBytes.addAndGet(written);
+      return written;
+    }
+
+    List<Integer> getGatheredBuffers() {
+      return gatheredBuffers;
+    }
+
+    byte[] getBytes() {
+      return bytes.toByteArray();
+    }
+
+    long getWrittenBytes() {
+      return writtenBytes.get();
+    }
+  }
+}
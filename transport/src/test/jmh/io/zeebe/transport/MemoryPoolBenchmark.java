@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport;
+
+import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
+import io.zeebe.transport.impl.memory.SlabMemoryPool;
+import io.zeebe.transport.impl.memory.TransportMemoryPool;
+import io.zeebe.util.ByteValue;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocation rate of the transport memory pools. Run with {@code -prof gc} to see the
+ * allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class MemoryPoolBenchmark {
+  private static final int BURST_SIZE = 64;
+
+  @Benchmark
+  @Threads(1)
+  public void allocateAndReclaim(PoolContext ctx) {
+    allocateBurst(ctx);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void allocateAndReclaimConcurrently(PoolContext ctx) {
+    allocateBurst(ctx);
+  }
+
+  private static void allocateBurst(PoolContext ctx) {
+    final TransportMemoryPool pool = ctx.pool;
+    final ByteBuffer[] buffers = new ByteBuffer[BURST_SIZE];
+
+    for (int i = 0; i < BURST_SIZE; i++) {
+      buffers[i] = pool.allocate(ctx.messageSize);
+    }
+
+    for (int i = 0; i < BURST_SIZE; i++) {
+      if (buffers[i] != null) {
+        pool.reclaim(buffers[i]);
+      }
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class PoolContext {
+    @Param({"nonBlocking", "slab"})
+    public String poolType;
+
+    @Param({"256", "4096"})
+    public int messageSize;
+
+    TransportMemoryPool pool;
+
+    @Setup
+    public void setUp() {
+      final ByteValue capacity = ByteValue.ofMegabytes(4);
+
+      if ("slab".equals(poolType)) {
+        pool = new SlabMemoryPool(capacity);
+      } else {
+        pool = new NonBlockingMemoryPool(capacity);
+      }
+    }
+  }
+}
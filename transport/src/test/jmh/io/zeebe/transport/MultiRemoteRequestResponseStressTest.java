@@ -136,6 +136,14 @@ public class MultiRemoteRequestResponseStressTest {
     }
   }
 
+  @Benchmark
+  @Threads(8)
+  public void sendBurstAsync8(BenchmarkContext ctx) throws InterruptedException {
+    // many requests of many threads are in flight on the same channels, so that the servers
+    // write the responses of a channel together
+    sendBurstAsync(ctx);
+  }
+
   @State(Scope.Benchmark)
   public static class BenchmarkContext {
     private final ActorScheduler scheduler =
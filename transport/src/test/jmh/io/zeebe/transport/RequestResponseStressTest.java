@@ -129,6 +129,14 @@ public class RequestResponseStressTest {
     }
   }
 
+  @Benchmark
+  @Threads(8)
+  public void sendBurstAsync8(BenchmarkContext ctx) throws InterruptedException {
+    // many requests of many threads are in flight on the same channel, so that the server
+    // writes the responses of the channel together
+    sendBurstAsync(ctx);
+  }
+
   @State(Scope.Benchmark)
   public static class BenchmarkContext {
     private final ActorScheduler scheduler =
@@ -21,7 +21,7 @@ import java.time.temporal.ChronoUnit;
 public class DurationUtil {
   /**
    * Input format expected to be [value][unit], where: - value is a number {@link
-   * java.lang.Float#parseFloat} - unit is one of: 'ms', 's', 'm', 'h'
+   * java.lang.Float#parseFloat} - unit is one of: 'ns', 'us', 'ms', 's', 'm', 'h'
    */
   public static Duration parse(String durationString) {
     final String matchedUnit = extractUnit(durationString);
@@ -37,6 +37,14 @@ public class DurationUtil {
 
     // TODO: could also be a static Map
     switch (matchedUnit) {
+      case "ns":
+        unit = ChronoUnit.NANOS;
+        value = (long) Float.parseFloat(matchedValue);
+        break;
+      case "us":
+        unit = ChronoUnit.NANOS;
+        value = (long) (Float.parseFloat(matchedValue) * 1000);
+        break;
       case "ms":
       case "":
         unit = ChronoUnit.MICROS;
@@ -56,7 +64,7 @@ public class DurationUtil {
         break;
       default:
         final String errorMessage =
-            String.format("unknown unit %s; must be one of: ms, s, m, h", matchedUnit);
+            String.format("unknown unit %s; must be one of: ns, us, ms, s, m, h", matchedUnit);
         throw new IllegalArgumentException(errorMessage);
     }
 
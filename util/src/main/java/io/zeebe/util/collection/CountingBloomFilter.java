@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * A bloom filter which supports removing elements. Each slot has an 8-bit counter instead of a
+ * single bit. A counter which reached the maximum value is never decremented again, so that the
+ * filter can't produce false negatives.
+ *
+ * <p>The elements are given as 64-bit hash values. An element must only be removed if it was added
+ * before.
+ */
+public class CountingBloomFilter {
+  private static final int MAX_COUNT = 0xFF;
+
+  private final byte[] counters;
+  private final int mask;
+  private final int hashFunctions;
+
+  /**
+   * @param size the number of counters, must be a power of two
+   * @param hashFunctions the number of counters per element
+   */
+  public CountingBloomFilter(final int size, final int hashFunctions) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("Expected size to be a power of two, but was " + size);
+    }
+
+    this.counters = new byte[size];
+    this.mask = size - 1;
+    this.hashFunctions = hashFunctions;
+  }
+
+  public void add(final long hash) {
+    for (int i = 0; i < hashFunctions; i++) {
+      final int index = index(hash, i);
+      final int count = counters[index] & MAX_COUNT;
+
+      if (count < MAX_COUNT) {
+        counters[index] = (byte) (count + 1);
+      }
+    }
+  }
+
+  public void remove(final long hash) {
+    for (int i = 0; i < hashFunctions; i++) {
+      final int index = index(hash, i);
+      final int count = counters[index] & MAX_COUNT;
+
+      if (count > 0 && count < MAX_COUNT) {
+        counters[index] = (byte) (count - 1);
+      }
+    }
+  }
+
+  /** @return false if the element is not contained, true if it may be contained */
+  public boolean mightContain(final long hash) {
+    for (int i = 0; i < hashFunctions; i++) {
+      if (counters[index(hash, i)] == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void clear() {
+    Arrays.fill(counters, (byte) 0);
+  }
+
+  private int index(final long hash, final int i) {
+    // double hashing, see Kirsch and Mitzenmacher: "Less Hashing, Same Performance"
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32) | 1;
+
+    return (hash1 + i * hash2) & mask;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of keys which are ordered by their deadline, e.g. to find the next timer which
+ * is due. It is backed by a binary heap of primitive arrays, so it doesn't allocate on adding or
+ * polling entries. Entries with the same deadline are ordered by their key.
+ */
+public class DeadlineQueue {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] deadlines = new long[INITIAL_CAPACITY];
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private int size;
+
+  public void add(final long deadline, final long key) {
+    if (size == deadlines.length) {
+      deadlines = Arrays.copyOf(deadlines, size * 2);
+      keys = Arrays.copyOf(keys, size * 2);
+    }
+
+    int index = size++;
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (!isBefore(deadline, key, deadlines[parent], keys[parent])) {
+        break;
+      }
+
+      deadlines[index] = deadlines[parent];
+      keys[index] = keys[parent];
+      index = parent;
+    }
+
+    deadlines[index] = deadline;
+    keys[index] = key;
+  }
+
+  /** @return the earliest deadline, or {@link Long#MAX_VALUE} if the queue is empty */
+  public long peekDeadline() {
+    return size > 0 ? deadlines[0] : Long.MAX_VALUE;
+  }
+
+  /** @return the key of the earliest deadline, or -1 if the queue is empty */
+  public long peekKey() {
+    return size > 0 ? keys[0] : -1L;
+  }
+
+  /** Removes the entry with the earliest deadline. */
+  public void poll() {
+    if (size == 0) {
+      return;
+    }
+
+    size--;
+    final long deadline = deadlines[size];
+    final long key = keys[size];
+
+    int index = 0;
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+
+      if (child + 1 < size
+          && isBefore(deadlines[child + 1], keys[child + 1], deadlines[child], keys[child])) {
+        child++;
+      }
+
+      if (!isBefore(deadlines[child], keys[child], deadline, key)) {
+        break;
+      }
+
+      deadlines[index] = deadlines[child];
+      keys[index] = keys[child];
+      index = child;
+    }
+
+    deadlines[index] = deadline;
+    keys[index] = key;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  private static boolean isBefore(
+      final long deadline, final long key, final long otherDeadline, final long otherKey) {
+    return deadline < otherDeadline || (deadline == otherDeadline && key < otherKey);
+  }
+}
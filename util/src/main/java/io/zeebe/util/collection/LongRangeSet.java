@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * A set of long values, which are stored as sorted and disjoint ranges. The set is compact if the
+ * values are mostly consecutive or rare, e.g. positions of events.
+ */
+public class LongRangeSet {
+  private static final int INITIAL_CAPACITY = 4;
+
+  // the inclusive start and end of the ranges, at index 2 * i and 2 * i + 1
+  private long[] ranges = new long[INITIAL_CAPACITY * 2];
+  private int rangeCount;
+
+  public void add(final long value) {
+    addRange(value, value);
+  }
+
+  /** Adds all values from start to end (inclusive). */
+  public void addRange(final long start, final long end) {
+    // the first range which overlaps or is adjacent to the new range
+    final int index = findRange(start - 1);
+    final int first = index >= 0 ? index : -index - 1;
+
+    // the last range which overlaps or is adjacent to the new range
+    int last = first - 1;
+    while (last + 1 < rangeCount && getRangeStart(last + 1) <= end + 1) {
+      last++;
+    }
+
+    if (first > last) {
+      insertRange(first, start, end);
+    } else {
+      ranges[2 * first] = Math.min(start, getRangeStart(first));
+      ranges[2 * first + 1] = Math.max(end, getRangeEnd(last));
+      removeRanges(first + 1, last - first);
+    }
+  }
+
+  public void addAll(final LongRangeSet other) {
+    for (int i = 0; i < other.rangeCount; i++) {
+      addRange(other.getRangeStart(i), other.getRangeEnd(i));
+    }
+  }
+
+  public boolean contains(final long value) {
+    return findRange(value) >= 0;
+  }
+
+  /** Removes all values which are less than or equal to the given value. */
+  public void removeUntil(final long value) {
+    int count = 0;
+    while (count < rangeCount && getRangeEnd(count) <= value) {
+      count++;
+    }
+    removeRanges(0, count);
+
+    if (rangeCount > 0 && getRangeStart(0) <= value) {
+      ranges[0] = value + 1;
+    }
+  }
+
+  public void clear() {
+    rangeCount = 0;
+  }
+
+  public boolean isEmpty() {
+    return rangeCount == 0;
+  }
+
+  public int getRangeCount() {
+    return rangeCount;
+  }
+
+  public long getRangeStart(final int index) {
+    return ranges[2 * index];
+  }
+
+  public long getRangeEnd(final int index) {
+    return ranges[2 * index + 1];
+  }
+
+  /**
+   * @return the index of the range which contains the value, or (-(insertion index) - 1) if no
+   *     range contains it
+   */
+  private int findRange(final long value) {
+    int low = 0;
+    int high = rangeCount - 1;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+
+      if (getRangeEnd(mid) < value) {
+        low = mid + 1;
+      } else if (getRangeStart(mid) > value) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private void insertRange(final int index, final long start, final long end) {
+    if (2 * (rangeCount + 1) > ranges.length) {
+      ranges = Arrays.copyOf(ranges, ranges.length * 2);
+    }
+
+    System.arraycopy(ranges, 2 * index, ranges, 2 * (index + 1), 2 * (rangeCount - index));
+    ranges[2 * index] = start;
+    ranges[2 * index + 1] = end;
+    rangeCount++;
+  }
+
+  private void removeRanges(final int index, final int count) {
+    System.arraycopy(
+        ranges, 2 * (index + count), ranges, 2 * index, 2 * (rangeCount - index - count));
+    rangeCount -= count;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < rangeCount; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(getRangeStart(i));
+      if (getRangeEnd(i) != getRangeStart(i)) {
+        builder.append("..").append(getRangeEnd(i));
+      }
+    }
+    return builder.append("]").toString();
+  }
+}
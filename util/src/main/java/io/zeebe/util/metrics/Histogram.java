@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import static io.zeebe.util.metrics.Metric.CLOSING_CURLY_BRACE;
+import static io.zeebe.util.metrics.Metric.COMMA;
+import static io.zeebe.util.metrics.Metric.DESCRIPTION_PREFIX;
+import static io.zeebe.util.metrics.Metric.EMPTY;
+import static io.zeebe.util.metrics.Metric.NEW_LINE;
+import static io.zeebe.util.metrics.Metric.OPENING_CURLY_BRACE;
+import static io.zeebe.util.metrics.Metric.TYPE_PREFIX;
+import static io.zeebe.util.metrics.Metric.WHITESPACE;
+import static io.zeebe.util.metrics.Metric.writeArray;
+import static io.zeebe.util.metrics.Metric.writeLabels;
+
+import io.zeebe.util.metrics.Metric.Label;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * A histogram of long values, e.g. latencies in nanoseconds.
+ *
+ * <p>The values are recorded like in a HDR histogram: each power of two is divided into {@link
+ * #SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error of a recorded value to
+ * 1/{@link #SUB_BUCKET_COUNT}. Recording only increments an atomic counter and is safe to be called
+ * concurrently from any thread.
+ *
+ * <p>The histogram is exposed in the Prometheus format with cumulative buckets for the configured
+ * upper bounds ({@code le}), plus the sum and count of all values. A recorded value is counted in
+ * the first bucket whose bound is greater than or equal to the upper end of its sub-bucket.
+ */
+public class Histogram {
+  public static final int SUB_BUCKET_COUNT = 8;
+
+  /** bucket bounds from 10 microseconds to 10 seconds, for latencies in nanoseconds */
+  public static final long[] DEFAULT_LATENCY_BUCKETS_NS =
+      Arrays.stream(
+              new long[] {
+                10,
+                25,
+                50,
+                100,
+                250,
+                500,
+                1_000,
+                2_500,
+                5_000,
+                10_000,
+                25_000,
+                50_000,
+                100_000,
+                250_000,
+                500_000,
+                1_000_000,
+                2_500_000,
+                5_000_000,
+                10_000_000
+              })
+          .map(TimeUnit.MICROSECONDS::toNanos)
+          .toArray();
+
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKET_COUNT);
+  private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+  private static final int MIN_EXPONENT = SUB_BUCKET_BITS + 1;
+  private static final int BUCKET_COUNT =
+      LINEAR_BUCKET_COUNT + (Long.SIZE - 1 - MIN_EXPONENT) * SUB_BUCKET_COUNT;
+
+  private static final byte[] HISTOGRAM_TYPE = "histogram".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] LE_LABEL_PREFIX = "le=\"".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] LE_LABEL_SUFFIX = "\"".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] INFINITY = "+Inf".getBytes(StandardCharsets.UTF_8);
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong sum = new AtomicLong();
+
+  private final byte[] name;
+  private final byte[] bucketName;
+  private final byte[] sumName;
+  private final byte[] countName;
+  private final byte[] description;
+  private final Label[] labels;
+
+  private final byte[][] bucketBounds;
+  private final int[] lastIndexOfBuckets;
+
+  private final Consumer<Histogram> onClose;
+
+  public Histogram(
+      String name,
+      String description,
+      Map<String, String> labels,
+      long[] buckets,
+      Consumer<Histogram> onClose) {
+    this.name = name.getBytes(StandardCharsets.UTF_8);
+    this.bucketName = (name + "_bucket").getBytes(StandardCharsets.UTF_8);
+    this.sumName = (name + "_sum").getBytes(StandardCharsets.UTF_8);
+    this.countName = (name + "_count").getBytes(StandardCharsets.UTF_8);
+    this.description = description == null ? EMPTY : description.getBytes(StandardCharsets.UTF_8);
+    this.labels = Metric.toLabels(labels);
+    this.onClose = onClose;
+
+    final long[] sortedBuckets = buckets.clone();
+    Arrays.sort(sortedBuckets);
+
+    this.bucketBounds = new byte[sortedBuckets.length][];
+    this.lastIndexOfBuckets = new int[sortedBuckets.length];
+
+    for (int i = 0; i < sortedBuckets.length; i++) {
+      final long bound = sortedBuckets[i];
+      bucketBounds[i] = Long.toString(bound).getBytes(StandardCharsets.UTF_8);
+
+      final int index = indexOf(bound);
+      lastIndexOfBuckets[i] = highestEquivalentValue(index) == bound ? index : index - 1;
+    }
+  }
+
+  public void record(long value) {
+    final long recordedValue = Math.max(0, value);
+
+    counts.getAndIncrement(indexOf(recordedValue));
+    sum.getAndAdd(recordedValue);
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100
+   * @return the highest value which is equivalent to the value at the given percentile, or 0 if no
+   *     values are recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    final long count = getCount();
+    final long countAtPercentile =
+        Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+
+    long cumulativeCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulativeCount += counts.get(i);
+
+      if (cumulativeCount >= countAtPercentile) {
+        return highestEquivalentValue(i);
+      }
+    }
+
+    return 0;
+  }
+
+  public String getName() {
+    return new String(name, StandardCharsets.UTF_8);
+  }
+
+  public int dump(MutableDirectBuffer buffer, int offset, long now) {
+    final byte[] timestamp = Long.toString(now).getBytes(StandardCharsets.UTF_8);
+
+    if (description.length > 0) {
+      offset = writeArray(buffer, offset, DESCRIPTION_PREFIX);
+      offset = writeArray(buffer, offset, WHITESPACE);
+      offset = writeArray(buffer, offset, name);
+      offset = writeArray(buffer, offset, WHITESPACE);
+      offset = writeArray(buffer, offset, description);
+      offset = writeArray(buffer, offset, NEW_LINE);
+    }
+
+    offset = writeArray(buffer, offset, TYPE_PREFIX);
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, name);
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, HISTOGRAM_TYPE);
+    offset = writeArray(buffer, offset, NEW_LINE);
+
+    long cumulativeCount = 0;
+    int index = 0;
+
+    for (int i = 0; i < bucketBounds.length; i++) {
+      for (; index <= lastIndexOfBuckets[i]; index++) {
+        cumulativeCount += counts.get(index);
+      }
+
+      offset = writeBucket(buffer, offset, bucketBounds[i], cumulativeCount, timestamp);
+    }
+
+    for (; index < BUCKET_COUNT; index++) {
+      cumulativeCount += counts.get(index);
+    }
+
+    offset = writeBucket(buffer, offset, INFINITY, cumulativeCount, timestamp);
+    offset = writeValue(buffer, offset, sumName, sum.get(), timestamp);
+    offset = writeValue(buffer, offset, countName, cumulativeCount, timestamp);
+
+    return offset;
+  }
+
+  private int writeBucket(
+      MutableDirectBuffer buffer, int offset, byte[] bound, long value, byte[] timestamp) {
+    offset = writeArray(buffer, offset, bucketName);
+    offset = writeArray(buffer, offset, OPENING_CURLY_BRACE);
+    offset = writeLabels(buffer, offset, labels);
+    if (labels.length > 0) {
+      offset = writeArray(buffer, offset, COMMA);
+    }
+    offset = writeArray(buffer, offset, LE_LABEL_PREFIX);
+    offset = writeArray(buffer, offset, bound);
+    offset = writeArray(buffer, offset, LE_LABEL_SUFFIX);
+    offset = writeArray(buffer, offset, CLOSING_CURLY_BRACE);
+    return writeValueAndTimestamp(buffer, offset, value, timestamp);
+  }
+
+  private int writeValue(
+      MutableDirectBuffer buffer, int offset, byte[] valueName, long value, byte[] timestamp) {
+    offset = writeArray(buffer, offset, valueName);
+    offset = writeArray(buffer, offset, OPENING_CURLY_BRACE);
+    offset = writeLabels(buffer, offset, labels);
+    offset = writeArray(buffer, offset, CLOSING_CURLY_BRACE);
+    return writeValueAndTimestamp(buffer, offset, value, timestamp);
+  }
+
+  private int writeValueAndTimestamp(
+      MutableDirectBuffer buffer, int offset, long value, byte[] timestamp) {
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, Long.toString(value).getBytes(StandardCharsets.UTF_8));
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, timestamp);
+    return writeArray(buffer, offset, NEW_LINE);
+  }
+
+  public void close() {
+    onClose.accept(this);
+  }
+
+  static int indexOf(long value) {
+    if (value < LINEAR_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+    return LINEAR_BUCKET_COUNT + (exponent - MIN_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < LINEAR_BUCKET_COUNT) {
+      return index;
+    }
+
+    final int exponent = MIN_EXPONENT + (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    final int subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+    final int shift = exponent - SUB_BUCKET_BITS;
+
+    return ((SUB_BUCKET_COUNT + (long) subBucket) << shift) + (1L << shift) - 1;
+  }
+}
@@ -27,20 +27,20 @@ import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 
 public class Metric {
-  private static final byte[] EMPTY = new byte[0];
-  private static final byte[] DESCRIPTION_PREFIX = "# HELP".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] TYPE_PREFIX = "# TYPE".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] OPENING_CURLY_BRACE = "{".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] CLOSING_CURLY_BRACE = "}".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] DOUBLE_QUOTE = "\"".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] EQUALS = "=".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] WHITESPACE = " ".getBytes(StandardCharsets.UTF_8);
-
-  private static class Label {
-    private final byte[] name;
-    private final byte[] value;
+  static final byte[] EMPTY = new byte[0];
+  static final byte[] DESCRIPTION_PREFIX = "# HELP".getBytes(StandardCharsets.UTF_8);
+  static final byte[] TYPE_PREFIX = "# TYPE".getBytes(StandardCharsets.UTF_8);
+  static final byte[] OPENING_CURLY_BRACE = "{".getBytes(StandardCharsets.UTF_8);
+  static final byte[] CLOSING_CURLY_BRACE = "}".getBytes(StandardCharsets.UTF_8);
+  static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+  static final byte[] DOUBLE_QUOTE = "\"".getBytes(StandardCharsets.UTF_8);
+  static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+  static final byte[] EQUALS = "=".getBytes(StandardCharsets.UTF_8);
+  static final byte[] WHITESPACE = " ".getBytes(StandardCharsets.UTF_8);
+
+  static class Label {
+    final byte[] name;
+    final byte[] value;
 
     Label(String name, String value) {
       this.name = name.getBytes(StandardCharsets.UTF_8);
@@ -73,13 +73,19 @@ public class Metric {
     this.name = name.getBytes(StandardCharsets.UTF_8);
     this.type = type.getBytes(StandardCharsets.UTF_8);
     this.description = description == null ? EMPTY : description.getBytes(StandardCharsets.UTF_8);
-    this.labels = new Label[labels.size()];
+    this.labels = toLabels(labels);
+  }
+
+  static Label[] toLabels(Map<String, String> labels) {
+    final Label[] result = new Label[labels.size()];
 
     final List<Entry<String, String>> labelSet = new ArrayList<>(labels.entrySet());
     for (int i = 0; i < labelSet.size(); i++) {
       final Entry<String, String> entry = labelSet.get(i);
-      this.labels[i] = new Label(entry.getKey(), entry.getValue());
+      result[i] = new Label(entry.getKey(), entry.getValue());
     }
+
+    return result;
   }
 
   public long incrementOrdered() {
@@ -106,6 +112,11 @@ public class Metric {
     return value.getAndAddOrdered(increment);
   }
 
+  /** Atomically adds the increment, for metrics which are updated by multiple threads. */
+  public long getAndAdd(long increment) {
+    return value.getAndAdd(increment);
+  }
+
   public String getName() {
     return new String(name, StandardCharsets.UTF_8);
   }
@@ -129,6 +140,18 @@ public class Metric {
 
     offset = writeArray(buffer, offset, name);
     offset = writeArray(buffer, offset, OPENING_CURLY_BRACE);
+    offset = writeLabels(buffer, offset, labels);
+    offset = writeArray(buffer, offset, CLOSING_CURLY_BRACE);
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset =
+        writeArray(buffer, offset, Long.toString(value.get()).getBytes(StandardCharsets.UTF_8));
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, Long.toString(now).getBytes(StandardCharsets.UTF_8));
+    offset = writeArray(buffer, offset, NEW_LINE);
+    return offset;
+  }
+
+  static int writeLabels(MutableDirectBuffer buffer, int offset, Label[] labels) {
     for (int i = 0; i < labels.length; i++) {
       if (i != 0) {
         offset = writeArray(buffer, offset, COMMA);
@@ -139,17 +162,10 @@ public class Metric {
       offset = writeArray(buffer, offset, labels[i].value);
       offset = writeArray(buffer, offset, DOUBLE_QUOTE);
     }
-    offset = writeArray(buffer, offset, CLOSING_CURLY_BRACE);
-    offset = writeArray(buffer, offset, WHITESPACE);
-    offset =
-        writeArray(buffer, offset, Long.toString(value.get()).getBytes(StandardCharsets.UTF_8));
-    offset = writeArray(buffer, offset, WHITESPACE);
-    offset = writeArray(buffer, offset, Long.toString(now).getBytes(StandardCharsets.UTF_8));
-    offset = writeArray(buffer, offset, NEW_LINE);
     return offset;
   }
 
-  private int writeArray(MutableDirectBuffer buffer, int offset, byte[] array) {
+  static int writeArray(MutableDirectBuffer buffer, int offset, byte[] array) {
     buffer.putBytes(offset, array);
     return offset + array.length;
   }
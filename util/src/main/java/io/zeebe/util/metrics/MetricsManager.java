@@ -25,10 +25,12 @@ import org.agrona.MutableDirectBuffer;
 
 public class MetricsManager {
   private final List<Metric> metrics = new ArrayList<>();
+  private final List<Histogram> histograms = new ArrayList<>();
 
   private final String prefix;
   private final Map<String, String> globalLabels;
   private final Consumer<Metric> onClose = this::free;
+  private final Consumer<Histogram> onHistogramClose = this::free;
   private final ReentrantLock lock = new ReentrantLock();
 
   public MetricsManager() {
@@ -52,10 +54,28 @@ public class MetricsManager {
     }
   }
 
+  public Histogram allocateHistogram(
+      String name, String description, Map<String, String> labels, long[] buckets) {
+    lock.lock();
+    try {
+      labels.putAll(globalLabels);
+      final Histogram histogram =
+          new Histogram(prefix + name, description, labels, buckets, onHistogramClose);
+      histograms.add(histogram);
+      return histogram;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public MetricBuilder newMetric(String name) {
     return new MetricBuilder(name);
   }
 
+  public HistogramBuilder newHistogram(String name) {
+    return new HistogramBuilder(name);
+  }
+
   public int dump(MutableDirectBuffer buffer, int offset, long now) {
     lock.lock();
     try {
@@ -63,6 +83,10 @@ public class MetricsManager {
         offset = metrics.get(i).dump(buffer, offset, now);
       }
 
+      for (int i = 0; i < histograms.size(); i++) {
+        offset = histograms.get(i).dump(buffer, offset, now);
+      }
+
       return offset;
     } finally {
       lock.unlock();
@@ -78,6 +102,15 @@ public class MetricsManager {
     }
   }
 
+  public void free(Histogram histogram) {
+    lock.lock();
+    try {
+      histograms.remove(histogram);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public class MetricBuilder {
 
     private final String name;
@@ -109,4 +142,36 @@ public class MetricsManager {
       return MetricsManager.this.allocate(name, type, description, labels);
     }
   }
+
+  public class HistogramBuilder {
+
+    private final String name;
+    private String description;
+    private long[] buckets = Histogram.DEFAULT_LATENCY_BUCKETS_NS;
+    private final Map<String, String> labels = new HashMap<>();
+
+    public HistogramBuilder(String name) {
+      this.name = name;
+    }
+
+    public HistogramBuilder label(String name, String value) {
+      labels.put(name, value);
+      return this;
+    }
+
+    public HistogramBuilder description(String description) {
+      this.description = description;
+      return this;
+    }
+
+    /** @param buckets the upper bounds of the buckets which are exposed */
+    public HistogramBuilder buckets(long... buckets) {
+      this.buckets = buckets;
+      return this;
+    }
+
+    public Histogram create() {
+      return MetricsManager.this.allocateHistogram(name, description, labels, buckets);
+    }
+  }
 }
@@ -24,6 +24,7 @@ public class AbortableRetryStrategy implements RetryStrategy {
 
   private final ActorControl actor;
   private final ActorRetryMechanism retryMechanism;
+  private final Runnable retryRunnable = this::run;
   private CompletableActorFuture<Boolean> currentFuture;
 
   public AbortableRetryStrategy(ActorControl actor) {
@@ -41,7 +42,7 @@ public class AbortableRetryStrategy implements RetryStrategy {
     currentFuture = new CompletableActorFuture<>();
     retryMechanism.wrap(callable, condition, currentFuture);
 
-    actor.runUntilDone(this::run);
+    actor.runUntilDone(retryRunnable);
 
     return currentFuture;
   }
@@ -24,6 +24,7 @@ public class EndlessRetryStrategy implements RetryStrategy {
 
   private final ActorControl actor;
   private final ActorRetryMechanism retryMechanism;
+  private final Runnable retryRunnable = this::run;
   private CompletableActorFuture<Boolean> currentFuture;
   private BooleanSupplier terminateCondition;
 
@@ -43,7 +44,7 @@ public class EndlessRetryStrategy implements RetryStrategy {
     terminateCondition = condition;
     retryMechanism.wrap(callable, terminateCondition, currentFuture);
 
-    actor.runUntilDone(this::run);
+    actor.runUntilDone(retryRunnable);
 
     return currentFuture;
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import java.util.List;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ThreadContextDataInjector;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringMap;
+
+/**
+ * Adds the name of the currently executed actor to the context data of a log event, under the key
+ * {@link #ACTOR_NAME_KEY}. In contrast to putting the name into the MDC for each task execution,
+ * the name is only looked up if a log event is actually created.
+ *
+ * <p>The injector is registered in the log4j2.component.properties of this module.
+ */
+public class ActorContextDataInjector implements ContextDataInjector {
+  public static final String ACTOR_NAME_KEY = "actor-name";
+
+  private final ContextDataInjector delegate =
+      new ThreadContextDataInjector.ForDefaultThreadContextMap();
+
+  @Override
+  public StringMap injectContextData(List<Property> properties, StringMap reusable) {
+    final StringMap contextData = delegate.injectContextData(properties, reusable);
+
+    final ActorThread actorThread = ActorThread.current();
+    final ActorTask task = actorThread != null ? actorThread.getCurrentTask() : null;
+    if (task == null) {
+      return contextData;
+    }
+
+    StringMap result = contextData;
+    if (result.isFrozen()) {
+      result =
+          reusable != null && !reusable.isFrozen()
+              ? reusable
+              : ContextDataFactory.createContextData();
+      result.clear();
+      result.putAll(contextData);
+    }
+
+    result.putValue(ACTOR_NAME_KEY, task.getName());
+    return result;
+  }
+
+  @Override
+  public ReadOnlyStringMap rawContextData() {
+    return delegate.rawContextData();
+  }
+}
@@ -21,15 +21,15 @@ import io.zeebe.util.sched.channel.ChannelSubscription;
 import io.zeebe.util.sched.channel.ConsumableChannel;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.AllCompletedFutureConsumer;
+import io.zeebe.util.sched.future.CompletableActorFuture;
 import io.zeebe.util.sched.future.FirstSuccessfullyCompletedFutureConsumer;
-import io.zeebe.util.sched.future.FutureContinuationRunnable;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 public class ActorControl {
   private final Actor actor;
@@ -211,6 +211,41 @@ public class ActorControl {
     subscription.submit();
   }
 
+  /**
+   * Calls the provided callable on the scheduler's blocking task threads and completes the returned
+   * future with its result, or with the exception it threw. Use {@link
+   * #runOnCompletion(ActorFuture, BiConsumer)} to continue on the actor once the call is done.
+   *
+   * <p>The callable must not access the actor's state, since it does not run on the actor thread.
+   *
+   * @param callable the blocking call
+   * @return a future which is completed once the call returned
+   */
+  public <T> ActorFuture<T> callBlocking(Callable<T> callable) {
+    ensureCalledFromWithinActor("callBlocking(...)");
+
+    final CompletableActorFuture<T> future = new CompletableActorFuture<>();
+    try {
+      task.getActorExecutor().submitBlocking(new BlockingCall<>(callable, future));
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+
+    return future;
+  }
+
+  /**
+   * Calls the provided callable on the scheduler's blocking task threads and invokes the callback
+   * on the actor with its result. The callback is invoked while the actor is in one of the
+   * following lifecycle phases: {@link ActorLifecyclePhase#STARTED}
+   *
+   * @param callable the blocking call
+   * @param callback invoked with the result or the exception of the call
+   */
+  public <T> void callBlocking(Callable<T> callable, BiConsumer<T, Throwable> callback) {
+    runOnCompletion(callBlocking(callable), callback);
+  }
+
   /**
    * Run the provided runnable repeatedly until it calls {@link #done()}. To be used for jobs which
    * may experience backpressure.
@@ -230,7 +265,21 @@ public class ActorControl {
    */
   public ScheduledTimer runDelayed(Duration delay, Runnable runnable) {
     ensureCalledFromWithinActor("runDelayed(...)");
-    return scheduleTimer(delay, false, runnable);
+    return scheduleTimer(delay, Duration.ZERO, false, runnable);
+  }
+
+  /**
+   * Like {@link #runDelayed(Duration, Runnable)} but the runnable may be executed up to the given
+   * tolerance later. This allows the scheduler to expire timers with a similar deadline together.
+   *
+   * @param delay the delay after which the runnable is executed
+   * @param tolerance how much later than the delay the runnable may be executed
+   * @param runnable the runnable to execute
+   * @return the scheduled timer, which can be used to cancel it
+   */
+  public ScheduledTimer runDelayed(Duration delay, Duration tolerance, Runnable runnable) {
+    ensureCalledFromWithinActor("runDelayed(...)");
+    return scheduleTimer(delay, tolerance, false, runnable);
   }
 
   /**
@@ -276,16 +325,32 @@ public class ActorControl {
    */
   public ScheduledTimer runAtFixedRate(Duration delay, Runnable runnable) {
     ensureCalledFromWithinActor("runAtFixedRate(...)");
-    return scheduleTimer(delay, true, runnable);
+    return scheduleTimer(delay, Duration.ZERO, true, runnable);
   }
 
-  private TimerSubscription scheduleTimer(Duration delay, boolean isRecurring, Runnable runnable) {
+  /**
+   * Like {@link #runAtFixedRate(Duration, Runnable)} but each execution may be up to the given
+   * tolerance later. This allows the scheduler to expire timers with a similar deadline together.
+   *
+   * @param delay the delay between the executions
+   * @param tolerance how much later than the delay an execution may be
+   * @param runnable the runnable to execute
+   * @return the scheduled timer, which can be used to cancel it
+   */
+  public ScheduledTimer runAtFixedRate(Duration delay, Duration tolerance, Runnable runnable) {
+    ensureCalledFromWithinActor("runAtFixedRate(...)");
+    return scheduleTimer(delay, tolerance, true, runnable);
+  }
+
+  private TimerSubscription scheduleTimer(
+      Duration delay, Duration tolerance, boolean isRecurring, Runnable runnable) {
     final ActorJob job = new ActorJob();
     job.setRunnable(runnable);
     job.onJobAddedToTask(task);
 
     final TimerSubscription timerSubscription =
-        new TimerSubscription(job, delay.toNanos(), TimeUnit.NANOSECONDS, isRecurring);
+        new TimerSubscription(
+            job, delay.toNanos(), tolerance.toNanos(), TimeUnit.NANOSECONDS, isRecurring);
     job.setSubscription(timerSubscription);
 
     timerSubscription.submit();
@@ -311,10 +376,7 @@ public class ActorControl {
     final ActorLifecyclePhase lifecyclePhase = task.getLifecyclePhase();
     if (lifecyclePhase != ActorLifecyclePhase.CLOSE_REQUESTED
         && lifecyclePhase != ActorLifecyclePhase.CLOSED) {
-      this.submitContinuationJob(
-          future,
-          callback,
-          (job) -> new ActorFutureSubscription(future, job, lifecyclePhase.getValue()));
+      submitContinuationJob(future, callback, lifecyclePhase.getValue());
     }
   }
 
@@ -336,31 +398,30 @@ public class ActorControl {
 
     final ActorLifecyclePhase lifecyclePhase = task.getLifecyclePhase();
     if (lifecyclePhase != ActorLifecyclePhase.CLOSED) {
-      this.submitContinuationJob(
+      submitContinuationJob(
           future,
           callback,
-          (job) ->
-              new ActorFutureSubscription(
-                  future,
-                  job,
-                  (task.getLifecyclePhase().getValue()
-                      | ActorLifecyclePhase.CLOSE_REQUESTED.getValue())));
+          lifecyclePhase.getValue() | ActorLifecyclePhase.CLOSE_REQUESTED.getValue());
     }
   }
 
   private <T> void submitContinuationJob(
-      ActorFuture<T> future,
-      BiConsumer<T, Throwable> callback,
-      Function<ActorJob, ActorFutureSubscription> futureSubscriptionSupplier) {
-    final ActorJob continuationJob = new ActorJob();
-    continuationJob.setRunnable(new FutureContinuationRunnable<>(future, callback));
+      ActorFuture<T> future, BiConsumer<T, Throwable> callback, int phaseMask) {
+    // the callers ensure that this is called from within the actor
+    final ActorThread actorThread = ActorThread.current();
+
+    final ActorJob continuationJob = actorThread.newJob();
     continuationJob.setAutoCompleting(true);
     continuationJob.onJobAddedToTask(task);
 
-    final ActorFutureSubscription subscription = futureSubscriptionSupplier.apply(continuationJob);
+    final ActorFutureSubscription subscription = actorThread.newFutureSubscription();
+    subscription.wrap(future, callback, continuationJob, phaseMask);
     continuationJob.setSubscription(subscription);
 
-    future.block(task);
+    // a completed future is found by polling the subscriptions before the task waits
+    if (!future.isDone()) {
+      future.block(task);
+    }
   }
 
   /**
@@ -18,6 +18,7 @@ package io.zeebe.util.sched;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.metrics.ActorAccounting;
 import io.zeebe.util.sched.metrics.TaskMetrics;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
@@ -33,6 +34,7 @@ public class ActorExecutor {
   private final ActorThreadGroup ioBoundThreads;
   private final ThreadPoolExecutor blockingTasksRunner;
   private final MetricsManager metricsManager;
+  private final ActorAccounting actorAccounting;
   private Duration blockingTasksShutdownTime;
 
   public ActorExecutor(ActorSchedulerBuilder builder) {
@@ -40,6 +42,7 @@ public class ActorExecutor {
     this.cpuBoundThreads = builder.getCpuBoundActorThreads();
     this.blockingTasksRunner = builder.getBlockingTasksRunner();
     this.metricsManager = builder.getMetricsManager();
+    this.actorAccounting = new ActorAccounting(metricsManager);
     this.blockingTasksShutdownTime = builder.getBlockingTasksShutdownTime();
   }
 
@@ -106,6 +109,10 @@ public class ActorExecutor {
     return metricsManager;
   }
 
+  public ActorAccounting getActorAccounting() {
+    return actorAccounting;
+  }
+
   public ActorThreadGroup getCpuBoundThreads() {
     return cpuBoundThreads;
   }
@@ -17,16 +17,39 @@ package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorTask.ActorLifecyclePhase;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.FutureContinuationRunnable;
+import java.util.function.BiConsumer;
 
+/**
+ * Subscription which runs a callback once a future is completed. The subscriptions and their jobs
+ * are pooled by the {@link ActorThread}s and recycled as the callback completes.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
 public class ActorFutureSubscription implements ActorSubscription {
-  private final ActorJob callbackJob;
+  private final FutureContinuationRunnable continuation = new FutureContinuationRunnable();
+
+  private ActorJob callbackJob;
   private ActorFuture<?> future;
-  private final int phaseMask;
+  private int phaseMask;
 
-  public ActorFutureSubscription(ActorFuture<?> future, ActorJob callbackJob, int phaseMask) {
+  public <T> void wrap(
+      ActorFuture<T> future,
+      BiConsumer<T, Throwable> callback,
+      ActorJob callbackJob,
+      int phaseMask) {
     this.future = future;
     this.callbackJob = callbackJob;
     this.phaseMask = phaseMask;
+
+    continuation.wrap(future, callback);
+    callbackJob.setRunnable(continuation);
+  }
+
+  void reset() {
+    continuation.reset();
+    future = null;
+    callbackJob = null;
+    phaseMask = 0;
   }
 
   @Override
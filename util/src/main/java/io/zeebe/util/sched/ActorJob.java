@@ -47,6 +47,7 @@ public class ActorJob {
 
   void execute(ActorThread runner) {
     runner.getMetrics().incrementJobCount();
+    runner.executedJobCount += 1;
 
     this.actorThread = runner;
     try {
@@ -18,16 +18,20 @@ package io.zeebe.util.sched;
 import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import io.zeebe.util.sched.metrics.ActorAccounting;
 import io.zeebe.util.sched.metrics.ActorThreadMetrics;
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public class ActorScheduler {
   private final AtomicReference<SchedulerState> state = new AtomicReference<>();
@@ -88,6 +92,7 @@ public class ActorScheduler {
   public ActorFuture<Void> submitActor(
       Actor actor, boolean collectTaskMetrics, int schedulingHints) {
     final ActorTask task = actor.actor.task;
+    task.setThreadAffinity(SchedulingHints.getThreadAffinity(schedulingHints));
 
     final ActorFuture<Void> startingFuture;
     if (SchedulingHints.isCpuBound(schedulingHints)) {
@@ -148,6 +153,11 @@ public class ActorScheduler {
     private ActorThreadFactory actorThreadFactory;
     private ThreadPoolExecutor blockingTasksRunner;
     private Duration blockingTasksShutdownTime = Duration.ofSeconds(15);
+    private int blockingTasksMaxThreads = 256;
+    private boolean blockingTasksVirtualThreads = false;
+    private Duration affinityStealThreshold = Duration.ofMillis(1);
+    private Supplier<ActorIdleStrategy> cpuBoundIdleStrategy;
+    private Supplier<ActorIdleStrategy> ioBoundIdleStrategy;
     private ActorExecutor actorExecutor;
 
     private ActorTimerQueue actorTimerQueue;
@@ -187,6 +197,54 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * Sets the maximum number of threads which run blocking tasks at the same time. Further tasks
+     * are queued until a thread becomes available. Idle threads are released after a minute.
+     */
+    public ActorSchedulerBuilder setBlockingTasksMaxThreads(int blockingTasksMaxThreads) {
+      this.blockingTasksMaxThreads = blockingTasksMaxThreads;
+      return this;
+    }
+
+    /**
+     * Runs the blocking tasks on virtual threads if the JVM supports them (Java 21+). Otherwise, or
+     * if not set, platform threads are used. The maximum number of threads applies either way.
+     */
+    public ActorSchedulerBuilder setBlockingTasksVirtualThreads(
+        boolean blockingTasksVirtualThreads) {
+      this.blockingTasksVirtualThreads = blockingTasksVirtualThreads;
+      return this;
+    }
+
+    /**
+     * Sets the time an actor with a thread affinity must wait in the queue of its preferred thread
+     * before another thread may steal it.
+     */
+    public ActorSchedulerBuilder setAffinityStealThreshold(Duration affinityStealThreshold) {
+      this.affinityStealThreshold = affinityStealThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the strategy the cpu bound threads use while they have no work. The supplier is called
+     * once per thread. If not set, the threads back off from spinning to parking up to 1 ms.
+     */
+    public ActorSchedulerBuilder setCpuBoundIdleStrategy(
+        Supplier<ActorIdleStrategy> cpuBoundIdleStrategy) {
+      this.cpuBoundIdleStrategy = cpuBoundIdleStrategy;
+      return this;
+    }
+
+    /**
+     * Sets the strategy the io bound threads use while they have no work. The supplier is called
+     * once per thread. If not set, the threads back off from spinning to parking up to 1 ms.
+     */
+    public ActorSchedulerBuilder setIoBoundIdleStrategy(
+        Supplier<ActorIdleStrategy> ioBoundIdleStrategy) {
+      this.ioBoundIdleStrategy = ioBoundIdleStrategy;
+      return this;
+    }
+
     public ActorSchedulerBuilder setSchedulerName(String schedulerName) {
       this.schedulerName = schedulerName;
       return this;
@@ -232,6 +290,26 @@ public class ActorScheduler {
       return blockingTasksShutdownTime;
     }
 
+    public int getBlockingTasksMaxThreads() {
+      return blockingTasksMaxThreads;
+    }
+
+    public boolean isBlockingTasksVirtualThreads() {
+      return blockingTasksVirtualThreads;
+    }
+
+    public Duration getAffinityStealThreshold() {
+      return affinityStealThreshold;
+    }
+
+    public Supplier<ActorIdleStrategy> getCpuBoundIdleStrategy() {
+      return cpuBoundIdleStrategy;
+    }
+
+    public Supplier<ActorIdleStrategy> getIoBoundIdleStrategy() {
+      return ioBoundIdleStrategy;
+    }
+
     public ActorExecutor getActorExecutor() {
       return actorExecutor;
     }
@@ -258,14 +336,23 @@ public class ActorScheduler {
 
     private void initBlockingTaskRunner() {
       if (blockingTasksRunner == null) {
+        ThreadFactory threadFactory = null;
+        if (blockingTasksVirtualThreads) {
+          threadFactory = BlockingTasksThreadFactory.newVirtualThreadFactory(schedulerName);
+        }
+        if (threadFactory == null) {
+          threadFactory = new BlockingTasksThreadFactory(schedulerName);
+        }
+
         blockingTasksRunner =
             new ThreadPoolExecutor(
-                1,
-                Integer.MAX_VALUE,
+                blockingTasksMaxThreads,
+                blockingTasksMaxThreads,
                 60L,
                 TimeUnit.SECONDS,
-                new SynchronousQueue<>(),
-                new BlockingTasksThreadFactory(schedulerName));
+                new LinkedBlockingQueue<>(),
+                threadFactory);
+        blockingTasksRunner.allowCoreThreadTimeOut(true);
       }
     }
 
@@ -331,6 +418,25 @@ public class ActorScheduler {
       this.schedulerName = schedulerName;
     }
 
+    /**
+     * @return a factory for virtual threads, or null if the JVM does not support them. Resolved
+     *     reflectively since the code base is compiled against Java 8.
+     */
+    public static ThreadFactory newVirtualThreadFactory(String schedulerName) {
+      try {
+        final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+        final Method name = builderType.getMethod("name", String.class, long.class);
+        final Method factory = builderType.getMethod("factory");
+
+        Object builder = ofVirtual.invoke(null);
+        builder = name.invoke(builder, "zb-blocking-task-runner-" + schedulerName + "-", 1L);
+        return (ThreadFactory) factory.invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        return null;
+      }
+    }
+
     @Override
     public Thread newThread(Runnable r) {
       final Thread thread = new Thread(r);
@@ -350,4 +456,9 @@ public class ActorScheduler {
   public MetricsManager getMetricsManager() {
     return metricsManager;
   }
+
+  /** @return the per-actor accounting of the execution time, which can be used to rank actors */
+  public ActorAccounting getActorAccounting() {
+    return actorTaskExecutor.getActorAccounting();
+  }
 }
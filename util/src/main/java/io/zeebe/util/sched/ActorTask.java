@@ -20,6 +20,7 @@ import static org.agrona.UnsafeAccess.UNSAFE;
 import io.zeebe.util.Loggers;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
+import io.zeebe.util.sched.metrics.ActorAccount;
 import io.zeebe.util.sched.metrics.TaskMetrics;
 import java.util.ArrayDeque;
 import java.util.Arrays;
@@ -104,7 +105,9 @@ public class ActorTask {
 
   ActorJob currentJob;
 
-  private ActorSubscription[] subscriptions = new ActorSubscription[0];
+  private static final ActorSubscription[] NO_SUBSCRIPTIONS = new ActorSubscription[0];
+
+  private ActorSubscription[] subscriptions = NO_SUBSCRIPTIONS;
 
   boolean shouldYield;
 
@@ -112,6 +115,11 @@ public class ActorTask {
 
   private boolean isCollectTaskMetrics;
 
+  private ActorAccount account;
+
+  /** the nano time when the task was last submitted to an actor thread group */
+  long submitTime;
+
   private boolean isJumbo = false;
 
   /**
@@ -119,6 +127,9 @@ public class ActorTask {
    */
   private int priority = ActorPriority.REGULAR.getPriorityClass();
 
+  /** the preferred thread of the task within its thread group, see {@link SchedulingHints} */
+  private int threadAffinity = SchedulingHints.NO_THREAD_AFFINITY;
+
   public ActorTask(Actor actor) {
     this.actor = actor;
   }
@@ -148,6 +159,7 @@ public class ActorTask {
 
     this.isCollectTaskMetrics = taskMetrics != null;
     this.taskMetrics = taskMetrics;
+    this.account = actorExecutor.getActorAccounting().acquire(getName());
 
     // create initial job to invoke on start callback
     final ActorJob j = new ActorJob();
@@ -201,6 +213,11 @@ public class ActorTask {
             }
 
             subscription.onJobCompleted();
+
+            if (subscription instanceof ActorFutureSubscription) {
+              // no one refers to a completed future subscription, recycle it with its job
+              runner.recycleFutureSubscription((ActorFutureSubscription) subscription);
+            }
           } else {
             runner.recycleJob(terminatedJob);
           }
@@ -312,7 +329,7 @@ public class ActorTask {
       subscriptions[i].cancel();
     }
 
-    subscriptions = new ActorSubscription[0];
+    subscriptions = NO_SUBSCRIPTIONS;
 
     final Queue<ActorJob> activeJobsQueue = submittedJobs;
     submittedJobs = new ClosedQueue();
@@ -327,6 +344,11 @@ public class ActorTask {
     if (taskMetrics != null) {
       taskMetrics.close();
     }
+
+    if (account != null) {
+      actorExecutor.getActorAccounting().release(account);
+      account = null;
+    }
   }
 
   private void failJob(ActorJob job) {
@@ -536,6 +558,10 @@ public class ActorTask {
     return isCollectTaskMetrics;
   }
 
+  public ActorAccount getAccount() {
+    return account;
+  }
+
   public void reportExecutionTime(long t) {
     taskMetrics.reportExecutionTime(t);
   }
@@ -584,6 +610,14 @@ public class ActorTask {
     this.priority = priority;
   }
 
+  public int getThreadAffinity() {
+    return threadAffinity;
+  }
+
+  public void setThreadAffinity(int threadAffinity) {
+    this.threadAffinity = threadAffinity;
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
@@ -616,6 +650,11 @@ public class ActorTask {
 
     assert index >= 0 : "Subscription not registered";
 
+    if (length == 1) {
+      this.subscriptions = NO_SUBSCRIPTIONS;
+      return;
+    }
+
     final ActorSubscription[] newSubscriptions = new ActorSubscription[length - 1];
     System.arraycopy(subscriptions, 0, newSubscriptions, 0, index);
     if (index < length - 1) {
@@ -632,6 +671,8 @@ public class ActorTask {
   }
 
   public void setUpdatedSchedulingHints(int hints) {
+    threadAffinity = SchedulingHints.getThreadAffinity(hints);
+
     if (SchedulingHints.isCpuBound(hints)) {
       priority = SchedulingHints.getPriority(hints);
       actorThreadGroup = actorExecutor.getCpuBoundThreads();
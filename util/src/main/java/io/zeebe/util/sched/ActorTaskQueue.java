@@ -120,16 +120,22 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
 
   /**
    * Attempts to steal a task from this list. The operation does not actually remove the task.
-   * Instead, it modifies the task's state.
+   * Instead, it modifies the task's state. Tasks with a thread affinity which were submitted after
+   * the given time are skipped.
    *
+   * @param stealableSubmitTime the latest nano time at which a task with a thread affinity must
+   *     have been submitted to be stolen
    * @return the actor which was stolen or null in case no actor is available
    */
-  public ActorTask trySteal() {
+  public ActorTask trySteal(long stealableSubmitTime) {
     ActorTaskQueueNode node = this.tail;
 
     while (node != null && node != empty) {
       final ActorTask task = node.task;
-      if (task.claim(node.stateCount)) {
+      final boolean isPinned =
+          task.getThreadAffinity() >= 0 && task.submitTime - stealableSubmitTime > 0;
+
+      if (!isPinned && task.claim(node.stateCount)) {
         return task;
       }
 
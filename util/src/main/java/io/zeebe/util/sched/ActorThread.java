@@ -36,15 +36,16 @@ import static io.zeebe.util.sched.metrics.SchedulerMetrics.TASK_MAX_EXECUTION_TI
 import io.zeebe.util.BoundedArrayQueue;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.clock.DefaultActorClock;
+import io.zeebe.util.sched.idle.ActorBackoffIdleStrategy;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import io.zeebe.util.sched.metrics.ActorAccount;
 import io.zeebe.util.sched.metrics.ActorThreadMetrics;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import org.agrona.UnsafeAccess;
-import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
-import org.slf4j.MDC;
 import sun.misc.Unsafe;
 
 @SuppressWarnings("restriction")
@@ -79,12 +80,17 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   protected final ActorTimerQueue timerJobQueue;
 
   private final BoundedArrayQueue<ActorJob> jobs = new BoundedArrayQueue<>(2048);
+  private final BoundedArrayQueue<ActorFutureSubscription> futureSubscriptions =
+      new BoundedArrayQueue<>(2048);
   private final ActorThreadGroup actorThreadGroup;
 
   protected ActorTaskRunnerIdleStrategy idleStrategy = new ActorTaskRunnerIdleStrategy();
 
   ActorTask currentTask;
 
+  /** the number of jobs executed by the current task, incremented by {@link ActorJob} */
+  int executedJobCount;
+
   public ActorThread(
       String name,
       int id,
@@ -135,6 +141,7 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
         executeCurrentTask();
       } finally {
         taskScheduler.onTaskReleased(currentTask);
+        currentTask = null;
       }
     } else {
       idleStrategy.onIdle();
@@ -142,12 +149,16 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   }
 
   private void executeCurrentTask() {
-    MDC.put("actor-name", currentTask.getName());
-    idleStrategy.onTaskExecuted();
-    metrics.incrementTaskExecutionCount();
-
     final long nanoTimeBeforeTask = clock.getNanoTime();
 
+    // read before the execution, since the task could be woken up concurrently afterwards
+    final ActorAccount account = currentTask.getAccount();
+    final long queueWaitTime = Math.max(0, nanoTimeBeforeTask - currentTask.submitTime);
+
+    idleStrategy.onTaskExecuted(queueWaitTime);
+    metrics.incrementTaskExecutionCount();
+    executedJobCount = 0;
+
     boolean resubmit = false;
 
     try {
@@ -160,11 +171,13 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
       // TODO: resubmit on exception?
       //                resubmit = true;
     } finally {
-      MDC.remove("actor-name");
-
       clock.update();
       final long taskExecutionTime = clock.getNanoTime() - nanoTimeBeforeTask;
 
+      if (account != null) {
+        account.record(clock.getTimeMillis(), taskExecutionTime, executedJobCount, queueWaitTime);
+      }
+
       // FIXME: if the task was woken up concurrently, we do not own it anymore and cannot report
       // metrics
       if (currentTask.isCollectTaskMetrics()) {
@@ -187,9 +200,17 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     idleStrategy.hintWorkAvailable();
   }
 
+  /**
+   * Sets the strategy this thread uses while it has no work. Must be called before the thread is
+   * started.
+   */
+  public void setIdleStrategy(ActorIdleStrategy strategy) {
+    idleStrategy.strategy = strategy;
+  }
+
   protected class ActorTaskRunnerIdleStrategy {
-    final BackoffIdleStrategy backoff =
-        new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
+    ActorIdleStrategy strategy =
+        new ActorBackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
     boolean isIdle;
 
     long idleTimeStart;
@@ -212,15 +233,16 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
         isIdle = true;
       }
 
-      backoff.idle();
+      strategy.idle();
     }
 
-    protected void onTaskExecuted() {
-      backoff.reset();
+    protected void onTaskExecuted(long queueWaitTime) {
+      strategy.reset();
 
       if (isIdle) {
         busyTimeStart = clock.getNanoTime();
         metrics.recordRunnerIdleTime(busyTimeStart - idleTimeStart);
+        strategy.onWakeUp(queueWaitTime);
         isIdle = false;
       }
     }
@@ -271,6 +293,23 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     jobs.offer(j);
   }
 
+  ActorFutureSubscription newFutureSubscription() {
+    ActorFutureSubscription subscription = futureSubscriptions.poll();
+
+    if (subscription == null) {
+      subscription = new ActorFutureSubscription();
+    }
+
+    return subscription;
+  }
+
+  void recycleFutureSubscription(ActorFutureSubscription subscription) {
+    recycleJob(subscription.getJob());
+
+    subscription.reset();
+    futureSubscriptions.offer(subscription);
+  }
+
   public int getRunnerId() {
     return threadId;
   }
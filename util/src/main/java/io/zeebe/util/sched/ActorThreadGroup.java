@@ -16,9 +16,11 @@
 package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
 import io.zeebe.util.sched.metrics.ActorThreadMetrics;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * A thread group is a group of threads which process the same kind of tasks (ie. blocking I/O vs.
@@ -37,9 +39,12 @@ public abstract class ActorThreadGroup {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
 
-    this.tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
+    this.tasks =
+        new MultiLevelWorkstealingGroup(
+            numOfThreads, numOfQueuesPerThread, builder.getAffinityStealThreshold().toNanos());
 
     threads = new ActorThread[numOfThreads];
+    final Supplier<ActorIdleStrategy> idleStrategy = getIdleStrategy(builder);
 
     for (int t = 0; t < numOfThreads; t++) {
       final String threadName = String.format("%s-%d", groupName, t);
@@ -59,6 +64,10 @@ public abstract class ActorThreadGroup {
                   metrics,
                   builder.getActorTimerQueue());
 
+      if (idleStrategy != null) {
+        thread.setIdleStrategy(idleStrategy.get());
+      }
+
       threads[t] = thread;
     }
   }
@@ -68,9 +77,20 @@ public abstract class ActorThreadGroup {
 
   public void submit(ActorTask actorTask) {
     final int level = getLevel(actorTask);
+    actorTask.submitTime = System.nanoTime();
 
     final ActorThread current = ActorThread.current();
-    if (current != null && current.getActorThreadGroup() == this) {
+    final boolean isCurrentGroup = current != null && current.getActorThreadGroup() == this;
+
+    final int threadAffinity = actorTask.getThreadAffinity();
+    if (threadAffinity >= 0) {
+      final int threadId = threadAffinity % numOfThreads;
+      tasks.submit(actorTask, level, threadId);
+
+      if (!isCurrentGroup || current.getRunnerId() != threadId) {
+        threads[threadId].hintWorkAvailable();
+      }
+    } else if (isCurrentGroup) {
       tasks.submit(actorTask, level, current.getRunnerId());
     } else {
       final int threadId = ThreadLocalRandom.current().nextInt(numOfThreads);
@@ -81,6 +101,9 @@ public abstract class ActorThreadGroup {
 
   protected abstract int getLevel(ActorTask actorTask);
 
+  /** @return the idle strategy for the threads of this group, or null to use the default */
+  protected abstract Supplier<ActorIdleStrategy> getIdleStrategy(ActorSchedulerBuilder builder);
+
   public String getGroupName() {
     return groupName;
   }
@@ -17,57 +17,232 @@ package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.clock.ActorClock;
 import java.util.concurrent.TimeUnit;
-import org.agrona.DeadlineTimerWheel;
-import org.agrona.collections.Long2ObjectHashMap;
 
-public class ActorTimerQueue extends DeadlineTimerWheel {
-  private static final int DEFAULT_TICKS_PER_WHEEL = 32;
-  private final Long2ObjectHashMap<TimerSubscription> timerJobMap = new Long2ObjectHashMap<>();
+/**
+ * Hierarchical timer wheel of an actor thread, with a resolution of one millisecond.
+ *
+ * <p>The wheel has {@link #LEVELS} levels of {@link #SLOTS_PER_LEVEL} slots. A slot of level <code>
+ * n</code> spans <code>64^n</code> ticks, so the wheel covers 2^24 ms (~4.6 hours) ahead of the
+ * current tick. A timer is placed in the lowest level whose range contains its deadline. When the
+ * current tick enters the span of a slot of a higher level, its timers are moved down (cascaded) to
+ * the lower levels, until they end up in the first level where they expire. Timers which are due
+ * after the range of the wheel are parked in the last slot of the highest level and placed again
+ * when this slot is cascaded.
+ *
+ * <p>The deadlines of the timers are absolute, if the clock is set back then the timers are placed
+ * again relative to the new time.
+ *
+ * <p>The timers are linked into the slots directly, so scheduling and removing a timer is O(1) and
+ * doesn't allocate. A bitmap per level keeps track of the occupied slots, which allows to skip over
+ * empty slots when the clock jumps ahead.
+ *
+ * <p>Not thread-safe, must only be used by the owning actor thread.
+ */
+public class ActorTimerQueue {
+  static final int LEVELS = 4;
+  static final int SLOT_BITS = 6;
+  static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+  private static final long SLOT_MASK = SLOTS_PER_LEVEL - 1;
 
-  private final TimerHandler timerHandler =
-      new TimerHandler() {
-        @Override
-        public boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
-          final TimerSubscription timer = timerJobMap.remove(timerId);
+  /** the number of ticks the wheel covers ahead of the current tick */
+  static final long RANGE = 1L << (SLOT_BITS * LEVELS);
 
-          if (timer != null) {
-            timer.onTimerExpired(timeUnit, now);
-          }
+  private final TimerSubscription[] slots = new TimerSubscription[LEVELS * SLOTS_PER_LEVEL];
+  private final long[] occupiedSlots = new long[LEVELS];
 
-          return true;
-        }
-      };
+  /** the last processed tick; timers which are due until then are placed in its slot */
+  private long currentTick;
 
-  public ActorTimerQueue(ActorClock clock) {
-    this(clock, DEFAULT_TICKS_PER_WHEEL);
-  }
+  private int timerCount;
 
-  public ActorTimerQueue(ActorClock clock, int ticksPerWheel) {
-    super(TimeUnit.MILLISECONDS, clock.getTimeMillis(), 1, ticksPerWheel);
+  public ActorTimerQueue(ActorClock clock) {
+    this.currentTick = clock.getTimeMillis();
   }
 
   public void processExpiredTimers(ActorClock clock) {
-    int timersProcessed = 0;
+    final long now = clock.getTimeMillis();
+
+    if (now < currentTick) {
+      // the clock was set back
+      rewind(now);
+    }
+
+    expireTimers(now);
+
+    while (timerCount > 0 && currentTick < now) {
+      final long nextTick = nextOccupiedTick();
+      if (nextTick <= currentTick || nextTick > now) {
+        break;
+      }
 
-    do {
-      timersProcessed = poll(clock.getTimeMillis(), timerHandler, Integer.MAX_VALUE);
-    } while (timersProcessed > 0);
+      advanceTo(nextTick);
+      expireTimers(now);
+    }
+
+    // there are no timers to expire or cascade until now
+    currentTick = now;
   }
 
   public void schedule(TimerSubscription timer, ActorClock now) {
-    final long deadline =
-        now.getTimeMillis() + timeUnit().convert(timer.getDeadline(), timer.getTimeUnit());
+    long deadline =
+        now.getTimeMillis()
+            + TimeUnit.MILLISECONDS.convert(timer.getDeadline(), timer.getTimeUnit());
 
-    final long timerId = scheduleTimer(deadline);
-    timer.setTimerId(timerId);
+    final long tolerance = TimeUnit.MILLISECONDS.convert(timer.getTolerance(), timer.getTimeUnit());
+    if (tolerance > 0) {
+      // coalesce the timers by rounding up to a power of two not greater than the tolerance, so
+      // that timers with similar deadlines share a slot and expire together
+      final long granularity = Long.highestOneBit(tolerance);
+      deadline = (deadline + granularity - 1) & -granularity;
+    }
 
-    timerJobMap.put(timerId, timer);
+    timer.timerDeadline = deadline;
+    add(timer);
+    timerCount++;
   }
 
   public void remove(TimerSubscription timer) {
-    final long timerId = timer.getTimerId();
+    if (timer.timerSlot >= 0) {
+      unlink(timer);
+      timerCount--;
+    }
+  }
+
+  public int getTimerCount() {
+    return timerCount;
+  }
+
+  private void add(TimerSubscription timer) {
+    final long deadline = timer.timerDeadline;
+    final long delta = deadline <= currentTick ? 0 : Math.min(deadline - currentTick, RANGE - 1);
+    final long tick = currentTick + delta;
+
+    final int level =
+        delta < SLOTS_PER_LEVEL ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+    final int slot = (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+    final int index = (level << SLOT_BITS) | slot;
+
+    final TimerSubscription head = slots[index];
+    timer.timerSlot = index;
+    timer.prevTimer = null;
+    timer.nextTimer = head;
+    if (head != null) {
+      head.prevTimer = timer;
+    }
+    slots[index] = timer;
+    occupiedSlots[level] |= 1L << slot;
+  }
+
+  private void unlink(TimerSubscription timer) {
+    final int index = timer.timerSlot;
+    final TimerSubscription prev = timer.prevTimer;
+    final TimerSubscription next = timer.nextTimer;
+
+    if (prev != null) {
+      prev.nextTimer = next;
+    } else {
+      slots[index] = next;
+      if (next == null) {
+        occupiedSlots[index >>> SLOT_BITS] &= ~(1L << (index & SLOT_MASK));
+      }
+    }
+
+    if (next != null) {
+      next.prevTimer = prev;
+    }
+
+    timer.timerSlot = -1;
+    timer.prevTimer = null;
+    timer.nextTimer = null;
+  }
+
+  private void expireTimers(long now) {
+    final int index = (int) (currentTick & SLOT_MASK);
+
+    // timers which are already due can be added to the slot while expiring it
+    TimerSubscription timer;
+    while ((timer = slots[index]) != null) {
+      unlink(timer);
+      timerCount--;
+      timer.onTimerExpired(TimeUnit.MILLISECONDS, now);
+    }
+  }
+
+  /** Moves the current tick forward and cascades the slots of the higher levels which start now. */
+  private void advanceTo(long tick) {
+    currentTick = tick;
+
+    if ((tick & SLOT_MASK) == 0) {
+      int highestLevel = 1;
+      while (highestLevel < LEVELS - 1
+          && (tick & ((1L << ((highestLevel + 1) * SLOT_BITS)) - 1)) == 0) {
+        highestLevel++;
+      }
+
+      // cascade top down, so the timers of a higher level can be cascaded further in this step
+      for (int level = highestLevel; level > 0; level--) {
+        cascade(level, (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK));
+      }
+    }
+  }
+
+  /** Sets the current tick back and places all timers again, relative to the new tick. */
+  private void rewind(long tick) {
+    TimerSubscription timers = null;
+
+    for (int index = 0; index < slots.length; index++) {
+      TimerSubscription timer;
+      while ((timer = slots[index]) != null) {
+        unlink(timer);
+        timer.nextTimer = timers;
+        timers = timer;
+      }
+    }
+
+    currentTick = tick;
+
+    while (timers != null) {
+      final TimerSubscription next = timers.nextTimer;
+      add(timers);
+      timers = next;
+    }
+  }
+
+  private void cascade(int level, int slot) {
+    final int index = (level << SLOT_BITS) | slot;
+
+    TimerSubscription timer;
+    while ((timer = slots[index]) != null) {
+      unlink(timer);
+      add(timer);
+    }
+  }
+
+  /**
+   * @return the next tick at which a slot of the first level expires or a slot of a higher level is
+   *     cascaded
+   */
+  private long nextOccupiedTick() {
+    long nextTick = Long.MAX_VALUE;
+
+    final int currentSlot = (int) (currentTick & SLOT_MASK);
+    final long firstLevel = Long.rotateRight(occupiedSlots[0], currentSlot);
+    if (firstLevel != 0) {
+      nextTick = currentTick + Long.numberOfTrailingZeros(firstLevel);
+    }
+
+    for (int level = 1; level < LEVELS; level++) {
+      final int shift = level * SLOT_BITS;
+      final long block = currentTick >>> shift;
+      // the slot of the current block is cascaded already, it is the last one of the rotation
+      final long occupied = Long.rotateRight(occupiedSlots[level], (int) ((block + 1) & SLOT_MASK));
+
+      if (occupied != 0) {
+        final long levelTick = (block + 1 + Long.numberOfTrailingZeros(occupied)) << shift;
+        nextTick = Math.min(nextTick, levelTick);
+      }
+    }
 
-    timerJobMap.remove(timerId);
-    cancelTimer(timerId);
+    return nextTick;
   }
 }
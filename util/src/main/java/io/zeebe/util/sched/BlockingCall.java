@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.Callable;
+
+/** Runs a blocking call on the blocking task threads and completes a future with its result. */
+public class BlockingCall<T> implements Runnable {
+  private final Callable<T> callable;
+  private final CompletableActorFuture<T> future;
+
+  public BlockingCall(Callable<T> callable, CompletableActorFuture<T> future) {
+    this.callable = callable;
+    this.future = future;
+  }
+
+  @Override
+  public void run() {
+    final T result;
+    try {
+      result = callable.call();
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      return;
+    }
+
+    future.complete(result);
+  }
+}
@@ -16,6 +16,8 @@
 package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import java.util.function.Supplier;
 
 /** Thread group for the non-blocking, CPU bound, tasks. */
 public class CpuThreadGroup extends ActorThreadGroup {
@@ -34,6 +36,11 @@ public class CpuThreadGroup extends ActorThreadGroup {
     return new PriorityScheduler(tasks::getNextTask, builder.getPriorityQuotas());
   }
 
+  @Override
+  protected Supplier<ActorIdleStrategy> getIdleStrategy(ActorSchedulerBuilder builder) {
+    return builder.getCpuBoundIdleStrategy();
+  }
+
   @Override
   protected int getLevel(ActorTask actorTask) {
     return actorTask.getPriority();
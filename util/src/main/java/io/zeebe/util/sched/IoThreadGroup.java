@@ -16,6 +16,8 @@
 package io.zeebe.util.sched;
 
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import java.util.function.Supplier;
 
 public class IoThreadGroup extends ActorThreadGroup {
 
@@ -33,6 +35,11 @@ public class IoThreadGroup extends ActorThreadGroup {
     return new IoScheduler(tasks);
   }
 
+  @Override
+  protected Supplier<ActorIdleStrategy> getIdleStrategy(ActorSchedulerBuilder builder) {
+    return builder.getIoBoundIdleStrategy();
+  }
+
   @Override
   protected int getLevel(ActorTask actorTask) {
     return 0;
@@ -22,10 +22,10 @@ package io.zeebe.util.sched;
 public class MultiLevelWorkstealingGroup {
   private final WorkStealingGroup[] workStealingGroups;
 
-  public MultiLevelWorkstealingGroup(int numOfThreads, int levels) {
+  public MultiLevelWorkstealingGroup(int numOfThreads, int levels, long affinityStealThresholdNs) {
     workStealingGroups = new WorkStealingGroup[levels];
     for (int i = 0; i < levels; i++) {
-      workStealingGroups[i] = new WorkStealingGroup(numOfThreads);
+      workStealingGroups[i] = new WorkStealingGroup(numOfThreads, affinityStealThresholdNs);
     }
   }
 
@@ -17,6 +17,14 @@ package io.zeebe.util.sched;
 
 public class SchedulingHints {
 
+  /** The hints hold the thread affinity offset by one, so that zero means no affinity. */
+  private static final int THREAD_AFFINITY_SHIFT = 17;
+
+  private static final int THREAD_AFFINITY_MASK = 0x3FFF;
+  private static final int PRIORITY_MASK = 0xFFFF;
+
+  public static final int NO_THREAD_AFFINITY = -1;
+
   public static int ioBound() {
     int hints = 0;
 
@@ -34,6 +42,16 @@ public class SchedulingHints {
     return hints;
   }
 
+  /**
+   * Hints the scheduler to run the actor on the given thread of its thread group, which keeps the
+   * actor's data in the caches of that thread's core. Actors which share data, like the actors of
+   * one partition, should be given the same affinity. The affinity is taken modulo the number of
+   * threads of the group. Other threads only steal the actor if the preferred thread is busy.
+   */
+  public static int cpuBound(ActorPriority priority, int threadAffinity) {
+    return setThreadAffinity(threadAffinity, cpuBound(priority));
+  }
+
   public static int setCpuBound(int hints) {
     return hints & ~1;
   }
@@ -55,6 +73,16 @@ public class SchedulingHints {
   }
 
   public static short getPriority(int hints) {
-    return (short) (hints >> 1);
+    return (short) ((hints >> 1) & PRIORITY_MASK);
+  }
+
+  public static int setThreadAffinity(int threadAffinity, int hints) {
+    final int affinityBits = ((threadAffinity + 1) & THREAD_AFFINITY_MASK) << THREAD_AFFINITY_SHIFT;
+    return (hints & ~(THREAD_AFFINITY_MASK << THREAD_AFFINITY_SHIFT)) | affinityBits;
+  }
+
+  /** @return the preferred thread of the actor or {@link #NO_THREAD_AFFINITY} */
+  public static int getThreadAffinity(int hints) {
+    return ((hints >> THREAD_AFFINITY_SHIFT) & THREAD_AFFINITY_MASK) - 1;
   }
 }
@@ -25,16 +25,28 @@ public class TimerSubscription implements ActorSubscription, ScheduledTimer, Run
   private final ActorTask task;
   private final TimeUnit timeUnit;
   private final long deadline;
+  private final long tolerance;
   private final boolean isRecurring;
 
-  private long timerId = -1L;
   private ActorThread thread;
 
+  // the position in the timer wheel, managed by the ActorTimerQueue of the thread
+  long timerDeadline;
+  int timerSlot = -1;
+  TimerSubscription prevTimer;
+  TimerSubscription nextTimer;
+
   public TimerSubscription(ActorJob job, long deadline, TimeUnit timeUnit, boolean isRecurring) {
+    this(job, deadline, 0, timeUnit, isRecurring);
+  }
+
+  public TimerSubscription(
+      ActorJob job, long deadline, long tolerance, TimeUnit timeUnit, boolean isRecurring) {
     this.job = job;
     task = job.getTask();
     this.timeUnit = timeUnit;
     this.deadline = deadline;
+    this.tolerance = tolerance;
     this.isRecurring = isRecurring;
   }
 
@@ -62,14 +74,6 @@ public class TimerSubscription implements ActorSubscription, ScheduledTimer, Run
     }
   }
 
-  public void setTimerId(long timerId) {
-    this.timerId = timerId;
-  }
-
-  public long getTimerId() {
-    return timerId;
-  }
-
   @Override
   public void cancel() {
     if (!isCanceled && (!isDone || isRecurring)) {
@@ -94,6 +98,11 @@ public class TimerSubscription implements ActorSubscription, ScheduledTimer, Run
     return deadline;
   }
 
+  /** @return how much later than its deadline the timer may expire, in the timer's time unit */
+  public long getTolerance() {
+    return tolerance;
+  }
+
   public TimeUnit getTimeUnit() {
     return timeUnit;
   }
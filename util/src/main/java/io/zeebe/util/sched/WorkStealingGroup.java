@@ -23,9 +23,15 @@ import java.util.concurrent.ThreadLocalRandom;
 public class WorkStealingGroup {
   private final int numOfThreads;
   private final ActorTaskQueue[] taskQueues;
+  private final long affinityStealThresholdNs;
 
-  public WorkStealingGroup(int numOfThreads) {
+  /**
+   * @param affinityStealThresholdNs the time a task with a thread affinity must have been queued
+   *     before it can be stolen by another thread
+   */
+  public WorkStealingGroup(int numOfThreads, long affinityStealThresholdNs) {
     this.numOfThreads = numOfThreads;
+    this.affinityStealThresholdNs = affinityStealThresholdNs;
     this.taskQueues = new ActorTaskQueue[numOfThreads];
     for (int i = 0; i < numOfThreads; i++) {
       taskQueues[i] = new ActorTaskQueue();
@@ -65,6 +71,9 @@ public class WorkStealingGroup {
    *
    * <p>Work stealing is a mechanism for <em>load balancing</em>: it relies upon the assumption that
    * there is more work to do than there is resources (threads) to run it.
+   *
+   * <p>Tasks with a thread affinity are only stolen if they waited longer than the steal threshold,
+   * i.e. if their preferred thread is too busy to run them in time.
    */
   private ActorTask trySteal(ActorThread currentThread) {
     /*
@@ -83,12 +92,13 @@ public class WorkStealingGroup {
      * Also, the optimization only makes sense if the system uses at least 3 runners.
      */
     final int offset = ThreadLocalRandom.current().nextInt(numOfThreads);
+    final long stealableSubmitTime = System.nanoTime() - affinityStealThresholdNs;
 
     for (int i = offset; i < offset + numOfThreads; i++) {
       final int runnerId = i % numOfThreads;
 
       if (runnerId != currentThread.getRunnerId()) {
-        final ActorTask stolenActor = taskQueues[runnerId].trySteal();
+        final ActorTask stolenActor = taskQueues[runnerId].trySteal(stealableSubmitTime);
 
         if (stolenActor != null) {
           currentThread.getMetrics().incrementTaskStealCount();
@@ -22,11 +22,22 @@ public class FutureContinuationRunnable<T> implements Runnable {
   private ActorFuture<T> future;
   private BiConsumer<T, Throwable> consumer;
 
+  public FutureContinuationRunnable() {}
+
   public FutureContinuationRunnable(ActorFuture<T> future, BiConsumer<T, Throwable> consumer) {
+    wrap(future, consumer);
+  }
+
+  public void wrap(ActorFuture<T> future, BiConsumer<T, Throwable> consumer) {
     this.future = future;
     this.consumer = consumer;
   }
 
+  public void reset() {
+    this.future = null;
+    this.consumer = null;
+  }
+
   @Override
   public void run() {
     if (!future.isCompletedExceptionally()) {
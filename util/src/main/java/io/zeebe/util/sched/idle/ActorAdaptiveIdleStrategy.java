@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.idle;
+
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.hints.ThreadHints;
+
+/**
+ * Backs off like {@link ActorBackoffIdleStrategy}, but tunes the longest park period from the
+ * observed wake-up latency of the thread:
+ *
+ * <ul>
+ *   <li>if the average wake-up latency exceeds the target, the thread parks for shorter periods, so
+ *       it notices new work earlier (e.g. work stolen from other threads) at the cost of more CPU
+ *   <li>if the average wake-up latency is well below the target, the thread parks for longer
+ *       periods again (up to the configured maximum), so an idle broker burns less CPU
+ * </ul>
+ */
+public class ActorAdaptiveIdleStrategy implements ActorIdleStrategy {
+  /** weight of a new sample in the moving average, as shift: 1/8 */
+  private static final int AVERAGE_WEIGHT_SHIFT = 3;
+
+  private final long maxSpins;
+  private final long maxYields;
+  private final long minParkPeriodNs;
+  private final long maxParkPeriodNs;
+  private final long targetWakeUpLatencyNs;
+
+  private long spins;
+  private long yields;
+  private long parkPeriodNs;
+  private long parkPeriodLimitNs;
+  private long averageWakeUpLatencyNs;
+
+  public ActorAdaptiveIdleStrategy(
+      long maxSpins,
+      long maxYields,
+      long minParkPeriodNs,
+      long maxParkPeriodNs,
+      long targetWakeUpLatencyNs) {
+    this.maxSpins = maxSpins;
+    this.maxYields = maxYields;
+    this.minParkPeriodNs = minParkPeriodNs;
+    this.maxParkPeriodNs = maxParkPeriodNs;
+    this.targetWakeUpLatencyNs = targetWakeUpLatencyNs;
+
+    this.parkPeriodNs = minParkPeriodNs;
+    this.parkPeriodLimitNs = maxParkPeriodNs;
+  }
+
+  @Override
+  public void idle() {
+    if (spins < maxSpins) {
+      spins++;
+      ThreadHints.onSpinWait();
+    } else if (yields < maxYields) {
+      yields++;
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(parkPeriodNs);
+      parkPeriodNs = Math.min(parkPeriodNs << 1, parkPeriodLimitNs);
+    }
+  }
+
+  @Override
+  public void reset() {
+    spins = 0;
+    yields = 0;
+    parkPeriodNs = minParkPeriodNs;
+  }
+
+  @Override
+  public void onWakeUp(long wakeUpLatencyNanos) {
+    averageWakeUpLatencyNs += (wakeUpLatencyNanos - averageWakeUpLatencyNs) >> AVERAGE_WEIGHT_SHIFT;
+
+    if (averageWakeUpLatencyNs > targetWakeUpLatencyNs) {
+      parkPeriodLimitNs = Math.max(minParkPeriodNs, parkPeriodLimitNs >> 1);
+    } else if (averageWakeUpLatencyNs < targetWakeUpLatencyNs >> 1) {
+      parkPeriodLimitNs = Math.min(maxParkPeriodNs, Math.max(1, parkPeriodLimitNs << 1));
+    }
+  }
+
+  public long getParkPeriodLimitNs() {
+    return parkPeriodLimitNs;
+  }
+
+  public long getAverageWakeUpLatencyNs() {
+    return averageWakeUpLatencyNs;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.idle;
+
+import org.agrona.concurrent.BackoffIdleStrategy;
+
+/**
+ * Spins, then yields and then parks the thread with an exponentially growing park period, until the
+ * thread finds work again.
+ */
+public class ActorBackoffIdleStrategy implements ActorIdleStrategy {
+  private final BackoffIdleStrategy backoff;
+
+  public ActorBackoffIdleStrategy(
+      long maxSpins, long maxYields, long minParkPeriodNs, long maxParkPeriodNs) {
+    this.backoff = new BackoffIdleStrategy(maxSpins, maxYields, minParkPeriodNs, maxParkPeriodNs);
+  }
+
+  @Override
+  public void idle() {
+    backoff.idle();
+  }
+
+  @Override
+  public void reset() {
+    backoff.reset();
+  }
+}
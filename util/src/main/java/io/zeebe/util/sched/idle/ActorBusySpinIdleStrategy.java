@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.idle;
+
+import org.agrona.hints.ThreadHints;
+
+/**
+ * Never gives up the CPU while idle. Has the lowest wake-up latency, but keeps a core busy even if
+ * there is no work.
+ */
+public class ActorBusySpinIdleStrategy implements ActorIdleStrategy {
+
+  @Override
+  public void idle() {
+    ThreadHints.onSpinWait();
+  }
+
+  @Override
+  public void reset() {
+    // noop
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.idle;
+
+/**
+ * Decides what an actor thread does while it has no task to run. Each actor thread has its own
+ * instance, so implementations don't need to be thread-safe.
+ */
+public interface ActorIdleStrategy {
+
+  /** Called by the actor thread if it found no task to run. */
+  void idle();
+
+  /** Called by the actor thread if it found a task to run. */
+  void reset();
+
+  /**
+   * Called when the actor thread runs the first task after it was idle.
+   *
+   * @param wakeUpLatencyNanos the time between the submission of the task and its execution
+   */
+  default void onWakeUp(long wakeUpLatencyNanos) {
+    // noop
+  }
+}
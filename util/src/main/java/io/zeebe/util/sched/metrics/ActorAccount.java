@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.metrics;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Accounts the execution of all actors with the same name: the time spent executing them, the
+ * number of executed jobs and the time they waited in the queues of the actor threads until they
+ * were run.
+ *
+ * <p>Besides the cumulative metrics, the account keeps the slots of a sliding window which are used
+ * to rank the hottest actors. Concurrent recordings which start a new slot may get lost, so the
+ * window is approximate.
+ */
+public class ActorAccount {
+  private static final int EPOCH_OFFSET = 0;
+  private static final int EXECUTION_TIME_OFFSET = 1;
+  private static final int JOB_COUNT_OFFSET = 2;
+  private static final int QUEUE_WAIT_TIME_OFFSET = 3;
+  private static final int SLOT_LENGTH = 4;
+
+  private final String actorName;
+  private final Metric executionTime;
+  private final Metric jobCount;
+  private final Metric queueWaitTime;
+
+  private final long slotDurationMillis;
+  private final int slotCount;
+  private final AtomicLongArray window;
+
+  int references;
+
+  public ActorAccount(
+      String actorName, MetricsManager metricsManager, long slotDurationMillis, int slotCount) {
+    this.actorName = actorName;
+    this.slotDurationMillis = slotDurationMillis;
+    this.slotCount = slotCount;
+    this.window = new AtomicLongArray(slotCount * SLOT_LENGTH);
+
+    for (int i = 0; i < slotCount; i++) {
+      window.set(i * SLOT_LENGTH + EPOCH_OFFSET, -1L);
+    }
+
+    executionTime =
+        metricsManager
+            .newMetric("scheduler_actor_execution_time_ns")
+            .type("counter")
+            .label("actor", actorName)
+            .create();
+
+    jobCount =
+        metricsManager
+            .newMetric("scheduler_actor_job_count")
+            .type("counter")
+            .label("actor", actorName)
+            .create();
+
+    queueWaitTime =
+        metricsManager
+            .newMetric("scheduler_actor_queue_wait_time_ns")
+            .type("counter")
+            .label("actor", actorName)
+            .create();
+  }
+
+  public String getActorName() {
+    return actorName;
+  }
+
+  /** Records one execution of an actor task; may be called concurrently by the actor threads. */
+  public void record(long nowMillis, long executionTimeNs, long jobs, long queueWaitTimeNs) {
+    executionTime.getAndAdd(executionTimeNs);
+    jobCount.getAndAdd(jobs);
+    queueWaitTime.getAndAdd(queueWaitTimeNs);
+
+    final long epoch = nowMillis / slotDurationMillis;
+    final int slot = (int) (epoch % slotCount) * SLOT_LENGTH;
+
+    final long slotEpoch = window.get(slot + EPOCH_OFFSET);
+    if (slotEpoch != epoch && window.compareAndSet(slot + EPOCH_OFFSET, slotEpoch, epoch)) {
+      window.set(slot + EXECUTION_TIME_OFFSET, 0L);
+      window.set(slot + JOB_COUNT_OFFSET, 0L);
+      window.set(slot + QUEUE_WAIT_TIME_OFFSET, 0L);
+    }
+
+    window.getAndAdd(slot + EXECUTION_TIME_OFFSET, executionTimeNs);
+    window.getAndAdd(slot + JOB_COUNT_OFFSET, jobs);
+    window.getAndAdd(slot + QUEUE_WAIT_TIME_OFFSET, queueWaitTimeNs);
+  }
+
+  /** @return the load of the actors within the sliding window which ends now */
+  public ActorLoad getLoad(long nowMillis) {
+    final long currentEpoch = nowMillis / slotDurationMillis;
+
+    long windowExecutionTime = 0;
+    long windowJobCount = 0;
+    long windowQueueWaitTime = 0;
+
+    for (int i = 0; i < slotCount; i++) {
+      final int slot = i * SLOT_LENGTH;
+      final long epoch = window.get(slot + EPOCH_OFFSET);
+
+      if (epoch > currentEpoch - slotCount && epoch <= currentEpoch) {
+        windowExecutionTime += window.get(slot + EXECUTION_TIME_OFFSET);
+        windowJobCount += window.get(slot + JOB_COUNT_OFFSET);
+        windowQueueWaitTime += window.get(slot + QUEUE_WAIT_TIME_OFFSET);
+      }
+    }
+
+    return new ActorLoad(actorName, windowExecutionTime, windowJobCount, windowQueueWaitTime);
+  }
+
+  void close() {
+    executionTime.close();
+    jobCount.close();
+    queueWaitTime.close();
+  }
+}
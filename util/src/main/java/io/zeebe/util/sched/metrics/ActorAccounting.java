@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.metrics;
+
+import io.zeebe.util.metrics.MetricsManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps an {@link ActorAccount} per actor name, which is shared by all scheduled actors with that
+ * name, and ranks the actors by the time they were executed within a sliding window.
+ */
+public class ActorAccounting {
+  public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+  public static final int DEFAULT_WINDOW_SLOTS = 6;
+
+  private static final Comparator<ActorLoad> BY_EXECUTION_TIME_DESC =
+      Comparator.comparingLong(ActorLoad::getExecutionTimeNs).reversed();
+
+  private final Map<String, ActorAccount> accounts = new HashMap<>();
+  private final MetricsManager metricsManager;
+  private final Duration window;
+  private final int windowSlots;
+
+  public ActorAccounting(MetricsManager metricsManager) {
+    this(metricsManager, DEFAULT_WINDOW, DEFAULT_WINDOW_SLOTS);
+  }
+
+  public ActorAccounting(MetricsManager metricsManager, Duration window, int windowSlots) {
+    this.metricsManager = metricsManager;
+    this.window = window;
+    this.windowSlots = windowSlots;
+  }
+
+  /** @return the account of the actors with the given name, which must be released on close */
+  public synchronized ActorAccount acquire(String actorName) {
+    final ActorAccount account =
+        accounts.computeIfAbsent(
+            actorName,
+            name ->
+                new ActorAccount(
+                    name, metricsManager, window.toMillis() / windowSlots, windowSlots));
+
+    account.references += 1;
+    return account;
+  }
+
+  public synchronized void release(ActorAccount account) {
+    account.references -= 1;
+
+    if (account.references == 0) {
+      accounts.remove(account.getActorName());
+      account.close();
+    }
+  }
+
+  /**
+   * @param limit the maximum number of actors to return
+   * @return the actors which were executed the longest within the sliding window, in descending
+   *     order of their execution time
+   */
+  public List<ActorLoad> getHottestActors(int limit, long nowMillis) {
+    final List<ActorLoad> loads = new ArrayList<>();
+
+    synchronized (this) {
+      for (ActorAccount account : accounts.values()) {
+        final ActorLoad load = account.getLoad(nowMillis);
+        if (load.getJobCount() > 0) {
+          loads.add(load);
+        }
+      }
+    }
+
+    loads.sort(BY_EXECUTION_TIME_DESC);
+    return loads.size() > limit ? new ArrayList<>(loads.subList(0, limit)) : loads;
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+}
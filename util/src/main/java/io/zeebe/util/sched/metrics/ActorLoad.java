@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.metrics;
+
+/** The load which the actors with the same name caused within the sliding window. */
+public class ActorLoad {
+  private final String actorName;
+  private final long executionTimeNs;
+  private final long jobCount;
+  private final long queueWaitTimeNs;
+
+  public ActorLoad(String actorName, long executionTimeNs, long jobCount, long queueWaitTimeNs) {
+    this.actorName = actorName;
+    this.executionTimeNs = executionTimeNs;
+    this.jobCount = jobCount;
+    this.queueWaitTimeNs = queueWaitTimeNs;
+  }
+
+  public String getActorName() {
+    return actorName;
+  }
+
+  public long getExecutionTimeNs() {
+    return executionTimeNs;
+  }
+
+  public long getJobCount() {
+    return jobCount;
+  }
+
+  public long getQueueWaitTimeNs() {
+    return queueWaitTimeNs;
+  }
+
+  @Override
+  public String toString() {
+    return "ActorLoad{"
+        + "actorName='"
+        + actorName
+        + '\''
+        + ", executionTimeNs="
+        + executionTimeNs
+        + ", jobCount="
+        + jobCount
+        + ", queueWaitTimeNs="
+        + queueWaitTimeNs
+        + '}';
+  }
+}
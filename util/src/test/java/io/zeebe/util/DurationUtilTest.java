@@ -22,6 +22,20 @@ import java.time.temporal.ChronoUnit;
 import org.junit.Test;
 
 public class DurationUtilTest {
+  @Test
+  public void shouldParseNanoseconds() {
+    assertThat(DurationUtil.parse("250ns")).isEqualTo(Duration.ofNanos(250));
+  }
+
+  @Test
+  public void shouldParseMicroseconds() {
+    Duration duration = DurationUtil.parse("50us");
+    assertThat(duration).isEqualTo(Duration.of(50, ChronoUnit.MICROS));
+
+    duration = DurationUtil.parse("1.5us");
+    assertThat(duration).isEqualTo(Duration.ofNanos(1500));
+  }
+
   @Test
   public void shouldParseMilliseconds() {
     Duration duration = DurationUtil.parse("2ms");
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class CountingBloomFilterTest {
+
+  private final CountingBloomFilter filter = new CountingBloomFilter(1 << 16, 3);
+
+  @Test
+  public void shouldNotContainElementIfEmpty() {
+    assertThat(filter.mightContain(1L)).isFalse();
+  }
+
+  @Test
+  public void shouldContainAddedElements() {
+    // given
+    final Random random = new Random(42);
+    final long[] hashes = new long[1_000];
+
+    // when
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = random.nextLong();
+      filter.add(hashes[i]);
+    }
+
+    // then
+    for (long hash : hashes) {
+      assertThat(filter.mightContain(hash)).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldRemoveElement() {
+    // given
+    filter.add(1L);
+    filter.add(2L);
+
+    // when
+    filter.remove(1L);
+
+    // then
+    assertThat(filter.mightContain(1L)).isFalse();
+    assertThat(filter.mightContain(2L)).isTrue();
+  }
+
+  @Test
+  public void shouldContainElementUntilAllAddedAreRemoved() {
+    // given
+    filter.add(1L);
+    filter.add(1L);
+
+    // when
+    filter.remove(1L);
+
+    // then
+    assertThat(filter.mightContain(1L)).isTrue();
+
+    // when
+    filter.remove(1L);
+
+    // then
+    assertThat(filter.mightContain(1L)).isFalse();
+  }
+
+  @Test
+  public void shouldNotDecrementSaturatedCounter() {
+    // given
+    for (int i = 0; i < 300; i++) {
+      filter.add(1L);
+    }
+
+    // when
+    for (int i = 0; i < 300; i++) {
+      filter.remove(1L);
+    }
+
+    // then
+    assertThat(filter.mightContain(1L)).isTrue();
+  }
+
+  @Test
+  public void shouldHaveLowFalsePositiveRate() {
+    // given
+    final Random random = new Random(42);
+    for (int i = 0; i < 5_000; i++) {
+      filter.add(random.nextLong());
+    }
+
+    // when
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain(random.nextLong())) {
+        falsePositives += 1;
+      }
+    }
+
+    // then
+    assertThat(falsePositives).isLessThan(100);
+  }
+
+  @Test
+  public void shouldClear() {
+    // given
+    filter.add(1L);
+
+    // when
+    filter.clear();
+
+    // then
+    assertThat(filter.mightContain(1L)).isFalse();
+  }
+
+  @Test
+  public void shouldRejectSizeWhichIsNotPowerOfTwo() {
+    assertThatThrownBy(() -> new CountingBloomFilter(1000, 3))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class DeadlineQueueTest {
+
+  private final DeadlineQueue queue = new DeadlineQueue();
+
+  @Test
+  public void shouldBeEmpty() {
+    assertThat(queue.isEmpty()).isTrue();
+    assertThat(queue.peekDeadline()).isEqualTo(Long.MAX_VALUE);
+    assertThat(queue.peekKey()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldPollByDeadline() {
+    // given
+    queue.add(30, 1);
+    queue.add(10, 2);
+    queue.add(20, 3);
+
+    // when
+    final List<Long> keys = pollAll();
+
+    // then
+    assertThat(keys).containsExactly(2L, 3L, 1L);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldOrderSameDeadlineByKey() {
+    // given
+    queue.add(10, 3);
+    queue.add(10, 1);
+    queue.add(10, 2);
+    queue.add(10, 1);
+
+    // when
+    final List<Long> keys = pollAll();
+
+    // then
+    assertThat(keys).containsExactly(1L, 1L, 2L, 3L);
+  }
+
+  @Test
+  public void shouldPollInOrder() {
+    // given
+    final Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      queue.add(random.nextInt(1_000), i);
+    }
+
+    // when
+    long previousDeadline = Long.MIN_VALUE;
+    int count = 0;
+    while (!queue.isEmpty()) {
+      final long deadline = queue.peekDeadline();
+      assertThat(deadline).isGreaterThanOrEqualTo(previousDeadline);
+      previousDeadline = deadline;
+
+      queue.poll();
+      count++;
+    }
+
+    // then
+    assertThat(count).isEqualTo(10_000);
+  }
+
+  private List<Long> pollAll() {
+    final List<Long> keys = new ArrayList<>();
+    while (!queue.isEmpty()) {
+      keys.add(queue.peekKey());
+      queue.poll();
+    }
+    return keys;
+  }
+}
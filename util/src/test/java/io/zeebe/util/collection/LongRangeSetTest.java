@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+
+public class LongRangeSetTest {
+
+  private final LongRangeSet set = new LongRangeSet();
+
+  @Test
+  public void shouldBeEmpty() {
+    assertThat(set.isEmpty()).isTrue();
+    assertThat(set.contains(1)).isFalse();
+  }
+
+  @Test
+  public void shouldMergeConsecutiveValues() {
+    // when
+    set.add(3);
+    set.add(1);
+    set.add(2);
+    set.add(5);
+
+    // then
+    assertThat(set.getRangeCount()).isEqualTo(2);
+    assertThat(set.toString()).isEqualTo("[1..3, 5]");
+    assertThat(set.contains(2)).isTrue();
+    assertThat(set.contains(4)).isFalse();
+  }
+
+  @Test
+  public void shouldJoinRanges() {
+    // given
+    set.addRange(1, 3);
+    set.addRange(7, 9);
+
+    // when
+    set.addRange(4, 6);
+
+    // then
+    assertThat(set.toString()).isEqualTo("[1..9]");
+  }
+
+  @Test
+  public void shouldRemoveValuesUntil() {
+    // given
+    set.addRange(1, 3);
+    set.addRange(5, 9);
+    set.add(12);
+
+    // when
+    set.removeUntil(6);
+
+    // then
+    assertThat(set.toString()).isEqualTo("[7..9, 12]");
+    assertThat(set.contains(5)).isFalse();
+  }
+
+  @Test
+  public void shouldAddAll() {
+    // given
+    final LongRangeSet other = new LongRangeSet();
+    other.addRange(4, 5);
+    other.add(10);
+    set.addRange(1, 3);
+
+    // when
+    set.addAll(other);
+
+    // then
+    assertThat(set.toString()).isEqualTo("[1..5, 10]");
+  }
+
+  @Test
+  public void shouldContainSameValuesAsSet() {
+    // given
+    final TreeSet<Long> expected = new TreeSet<>();
+    final Random random = new Random(42);
+
+    // when
+    for (int i = 0; i < 1_000; i++) {
+      final long start = random.nextInt(500);
+      final long end = start + random.nextInt(3);
+      set.addRange(start, end);
+      for (long value = start; value <= end; value++) {
+        expected.add(value);
+      }
+    }
+
+    // then
+    for (long value = -1; value <= 505; value++) {
+      assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void shouldDumpEmptyHistogram() {
+    // given
+    final MetricsManager metricsManager = new MetricsManager();
+    metricsManager.newHistogram("latency").buckets(10, 100).create();
+
+    // when
+    final String dump = dumpAsString(metricsManager, 100);
+
+    // then
+    assertThat(dump)
+        .isEqualTo(
+            "# TYPE zb_latency histogram\n"
+                + "zb_latency_bucket{le=\"10\"} 0 100\n"
+                + "zb_latency_bucket{le=\"100\"} 0 100\n"
+                + "zb_latency_bucket{le=\"+Inf\"} 0 100\n"
+                + "zb_latency_sum{} 0 100\n"
+                + "zb_latency_count{} 0 100\n");
+  }
+
+  @Test
+  public void shouldDumpCumulativeBuckets() {
+    // given
+    final MetricsManager metricsManager = new MetricsManager();
+    final Histogram histogram =
+        metricsManager
+            .newHistogram("latency")
+            .description("example")
+            .label("partition", "1")
+            .buckets(100, 10)
+            .create();
+
+    // when
+    histogram.record(3);
+    histogram.record(10);
+    histogram.record(15);
+    histogram.record(1_000);
+
+    // then
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            "# HELP zb_latency example\n"
+                + "# TYPE zb_latency histogram\n"
+                + "zb_latency_bucket{partition=\"1\",le=\"10\"} 2 100\n"
+                + "zb_latency_bucket{partition=\"1\",le=\"100\"} 3 100\n"
+                + "zb_latency_bucket{partition=\"1\",le=\"+Inf\"} 4 100\n"
+                + "zb_latency_sum{partition=\"1\"} 1028 100\n"
+                + "zb_latency_count{partition=\"1\"} 4 100\n");
+  }
+
+  @Test
+  public void shouldCountValueInNextBucketIfSubBucketExceedsBound() {
+    // given
+    final MetricsManager metricsManager = new MetricsManager();
+    final Histogram histogram = metricsManager.newHistogram("latency").buckets(1000).create();
+
+    // when
+    // 1000 shares its sub-bucket with values up to 1023
+    histogram.record(1000);
+
+    // then
+    assertThat(dumpAsString(metricsManager, 100))
+        .contains("zb_latency_bucket{le=\"1000\"} 0 100\n")
+        .contains("zb_latency_bucket{le=\"+Inf\"} 1 100\n");
+  }
+
+  @Test
+  public void shouldRecordWithBoundedRelativeError() {
+    // given
+    final Histogram histogram = new MetricsManager().newHistogram("latency").create();
+
+    for (long value = 1; value < 10_000_000_000L; value = value * 3 + 1) {
+      // when
+      final int index = Histogram.indexOf(value);
+
+      // then
+      final long highestEquivalentValue = Histogram.highestEquivalentValue(index);
+      assertThat(highestEquivalentValue).isGreaterThanOrEqualTo(value);
+      assertThat(highestEquivalentValue - value)
+          .isLessThanOrEqualTo(value / Histogram.SUB_BUCKET_COUNT);
+      assertThat(Histogram.indexOf(highestEquivalentValue)).isEqualTo(index);
+      assertThat(Histogram.indexOf(highestEquivalentValue + 1)).isEqualTo(index + 1);
+    }
+
+    histogram.record(Long.MAX_VALUE);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldGetValueAtPercentile() {
+    // given
+    final Histogram histogram = new MetricsManager().newHistogram("latency").create();
+
+    // when
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 1_000);
+    }
+
+    // then
+    assertThat(histogram.getCount()).isEqualTo(100);
+    assertThat(histogram.getValueAtPercentile(50)).isBetween(50_000L, 50_000L + 50_000L / 8);
+    assertThat(histogram.getValueAtPercentile(99)).isBetween(99_000L, 99_000L + 99_000L / 8);
+  }
+
+  @Test
+  public void shouldCloseHistogram() {
+    // given
+    final MetricsManager metricsManager = new MetricsManager();
+    final Histogram histogram = metricsManager.newHistogram("latency").create();
+
+    // when
+    histogram.close();
+
+    // then
+    assertThat(dumpAsString(metricsManager, 100)).isEqualTo("");
+  }
+
+  private static String dumpAsString(MetricsManager metricsManager, long now) {
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = metricsManager.dump(buffer, 0, now);
+
+    return BufferUtil.bufferAsString(buffer, 0, length);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.clock.ControlledActorClock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ActorTimerQueueTest {
+  private static final long START_TIME = 1_000_000L;
+
+  private final ControlledActorClock clock = new ControlledActorClock();
+  private ActorTimerQueue timerQueue;
+
+  @Before
+  public void setUp() {
+    clock.setCurrentTime(START_TIME);
+    timerQueue = new ActorTimerQueue(clock);
+  }
+
+  @Test
+  public void shouldExpireTimerAtDeadline() {
+    // given
+    final RecordingTimer timer = schedule(10);
+
+    // when
+    advanceTo(START_TIME + 9);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(START_TIME + 10);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + 10);
+    assertThat(timerQueue.getTimerCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldExpireDueTimerIfClockDoesNotAdvance() {
+    // given
+    advanceTo(START_TIME);
+
+    // when
+    final RecordingTimer timer = schedule(0);
+    advanceTo(START_TIME);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME);
+  }
+
+  @Test
+  public void shouldExpireTimersOfAllLevels() {
+    // given
+    final Random random = new Random(42);
+    final long[] deadlines = new long[10_000];
+
+    for (int i = 0; i < deadlines.length; i++) {
+      final long delay = random.nextInt(1 << (random.nextInt(26) + 1));
+      deadlines[i] = schedule(delay).deadline;
+    }
+    Arrays.sort(deadlines);
+
+    // when
+    long now = START_TIME;
+    while (timerQueue.getTimerCount() > 0) {
+      now += random.nextInt(1 << random.nextInt(20));
+      advanceTo(now);
+
+      // then
+      final int dueTimers = countDeadlinesUntil(deadlines, now);
+      assertThat(deadlines.length - timerQueue.getTimerCount()).isEqualTo(dueTimers);
+    }
+  }
+
+  @Test
+  public void shouldExpireTimersInOrder() {
+    // given
+    final Random random = new Random(7);
+    final List<RecordingTimer> timers = new ArrayList<>();
+
+    for (int i = 0; i < 1_000; i++) {
+      timers.add(schedule(random.nextInt(100_000)));
+    }
+
+    // when
+    for (long now = START_TIME; timerQueue.getTimerCount() > 0; now++) {
+      advanceTo(now);
+    }
+
+    // then
+    for (RecordingTimer timer : timers) {
+      assertThat(timer.expiredAt).isEqualTo(timer.deadline);
+    }
+  }
+
+  @Test
+  public void shouldExpireAllDueTimersIfClockJumps() {
+    // given
+    final RecordingTimer firstTimer = schedule(5);
+    final RecordingTimer secondTimer = schedule(TimeUnit.MINUTES.toMillis(30));
+    final RecordingTimer thirdTimer = schedule(TimeUnit.HOURS.toMillis(10));
+    final RecordingTimer notDueTimer = schedule(TimeUnit.HOURS.toMillis(11));
+
+    // when
+    advanceTo(START_TIME + TimeUnit.HOURS.toMillis(10));
+
+    // then
+    assertThat(firstTimer.expiredAt).isEqualTo(START_TIME + TimeUnit.HOURS.toMillis(10));
+    assertThat(secondTimer.expiredAt).isEqualTo(START_TIME + TimeUnit.HOURS.toMillis(10));
+    assertThat(thirdTimer.expiredAt).isEqualTo(START_TIME + TimeUnit.HOURS.toMillis(10));
+    assertThat(notDueTimer.expiredAt).isEqualTo(-1);
+    assertThat(timerQueue.getTimerCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotExpireRemovedTimer() {
+    // given
+    final RecordingTimer removedTimer = schedule(100);
+    final RecordingTimer otherTimer = schedule(100);
+
+    // when
+    timerQueue.remove(removedTimer);
+    advanceTo(START_TIME + 100);
+
+    // then
+    assertThat(removedTimer.expiredAt).isEqualTo(-1);
+    assertThat(otherTimer.expiredAt).isEqualTo(START_TIME + 100);
+    assertThat(timerQueue.getTimerCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldIgnoreRemovalOfExpiredTimer() {
+    // given
+    final RecordingTimer timer = schedule(1);
+    advanceTo(START_TIME + 1);
+
+    // when
+    timerQueue.remove(timer);
+
+    // then
+    assertThat(timerQueue.getTimerCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldCoalesceTimersWithTolerance() {
+    // given
+    final RecordingTimer firstTimer = schedule(970, 100);
+    final RecordingTimer secondTimer = schedule(1_000, 100);
+    final RecordingTimer thirdTimer = schedule(1_020, 100);
+
+    // when
+    for (long now = START_TIME; timerQueue.getTimerCount() > 0; now++) {
+      advanceTo(now);
+    }
+
+    // then
+    // the deadlines are rounded up to a multiple of 64 ms, the largest power of two <= 100 ms
+    assertThat(firstTimer.expiredAt).isEqualTo(START_TIME + 1_024);
+    assertThat(secondTimer.expiredAt).isEqualTo(START_TIME + 1_024);
+    assertThat(thirdTimer.expiredAt).isEqualTo(START_TIME + 1_024);
+  }
+
+  @Test
+  public void shouldPlaceTimersAgainIfClockIsSetBack() {
+    // given
+    advanceTo(START_TIME + 1_000);
+    final RecordingTimer timer = schedule(500);
+
+    // when
+    clock.setCurrentTime(START_TIME);
+    final RecordingTimer newTimer = schedule(10);
+    advanceTo(START_TIME + 10);
+
+    // then
+    assertThat(newTimer.expiredAt).isEqualTo(START_TIME + 10);
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(START_TIME + 1_500);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + 1_500);
+  }
+
+  private RecordingTimer schedule(long delay) {
+    return schedule(delay, 0);
+  }
+
+  private RecordingTimer schedule(long delay, long tolerance) {
+    final RecordingTimer timer = new RecordingTimer(delay, tolerance);
+    timerQueue.schedule(timer, clock);
+    return timer;
+  }
+
+  private static int countDeadlinesUntil(long[] sortedDeadlines, long now) {
+    int index = Arrays.binarySearch(sortedDeadlines, now + 1);
+    if (index < 0) {
+      return -index - 1;
+    }
+
+    while (index > 0 && sortedDeadlines[index - 1] == now + 1) {
+      index--;
+    }
+    return index;
+  }
+
+  private void advanceTo(long now) {
+    clock.setCurrentTime(now);
+    timerQueue.processExpiredTimers(clock);
+  }
+
+  private class RecordingTimer extends TimerSubscription {
+    private final long deadline;
+    private long expiredAt = -1;
+
+    RecordingTimer(long delay, long tolerance) {
+      super(new ActorJob(), delay, tolerance, TimeUnit.MILLISECONDS, false);
+      this.deadline = clock.getTimeMillis() + delay;
+    }
+
+    @Override
+    public void onTimerExpired(TimeUnit timeUnit, long now) {
+      assertThat(expiredAt).isEqualTo(-1);
+      assertThat(now).isGreaterThanOrEqualTo(deadline);
+      expiredAt = now;
+    }
+  }
+}
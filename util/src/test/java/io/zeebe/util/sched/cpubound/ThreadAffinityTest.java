@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.SchedulingHints;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class ThreadAffinityTest {
+
+  private ActorScheduler scheduler;
+
+  @After
+  public void tearDown() throws Exception {
+    if (scheduler != null) {
+      scheduler.stop().get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void shouldEncodeThreadAffinityInSchedulingHints() {
+    // when
+    final int hints = SchedulingHints.cpuBound(ActorPriority.HIGH, 5);
+
+    // then
+    assertThat(SchedulingHints.isCpuBound(hints)).isTrue();
+    assertThat(SchedulingHints.getPriority(hints)).isEqualTo(ActorPriority.HIGH.getPriorityClass());
+    assertThat(SchedulingHints.getThreadAffinity(hints)).isEqualTo(5);
+    assertThat(SchedulingHints.getThreadAffinity(SchedulingHints.cpuBound(ActorPriority.HIGH)))
+        .isEqualTo(SchedulingHints.NO_THREAD_AFFINITY);
+  }
+
+  @Test
+  public void shouldRunActorOnPreferredThread() throws Exception {
+    // given
+    scheduler = newScheduler(Duration.ofMinutes(1));
+
+    final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Actor actor =
+        new Actor() {
+          private int runs;
+
+          @Override
+          protected void onActorStarted() {
+            runNext();
+          }
+
+          private void runNext() {
+            runnerIds.add(ActorThread.current().getRunnerId());
+
+            if (++runs < 1_000) {
+              actor.submit(this::runNext);
+            } else {
+              latch.countDown();
+            }
+          }
+        };
+
+    // when
+    scheduler.submitActor(actor, false, SchedulingHints.cpuBound(ActorPriority.REGULAR, 2)).join();
+
+    // then
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(runnerIds).containsExactly(2);
+  }
+
+  @Test
+  public void shouldStealPinnedActorIfPreferredThreadIsBusy() throws Exception {
+    // given
+    scheduler = newScheduler(Duration.ofMillis(1));
+
+    final CountDownLatch blockedLatch = new CountDownLatch(1);
+    final CountDownLatch blockingLatch = new CountDownLatch(1);
+    final Actor blockingActor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            blockedLatch.countDown();
+            try {
+              blockingLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+
+    final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    final Actor stolenActor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            runnerIds.add(ActorThread.current().getRunnerId());
+            blockingLatch.countDown();
+          }
+        };
+
+    final int hints = SchedulingHints.cpuBound(ActorPriority.REGULAR, 0);
+
+    scheduler.submitActor(blockingActor, false, hints);
+    assertThat(blockedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // when
+    scheduler.submitActor(stolenActor, false, hints);
+
+    // then
+    assertThat(blockingLatch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(runnerIds).doesNotContain(0);
+  }
+
+  private static ActorScheduler newScheduler(Duration affinityStealThreshold) {
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(4)
+            .setIoBoundActorThreadCount(0)
+            .setAffinityStealThreshold(affinityStealThreshold)
+            .build();
+    scheduler.start();
+    return scheduler;
+  }
+}
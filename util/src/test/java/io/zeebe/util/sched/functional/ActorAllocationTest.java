@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.BiConsumer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Measures the bytes the actor thread allocates in steady state, after a warm-up. */
+public class ActorAllocationTest {
+  private static final int WARM_UP_ITERATIONS = 100_000;
+  private static final int ITERATIONS = 100_000;
+
+  @Rule public ActorSchedulerRule schedulerRule = new ActorSchedulerRule(1);
+
+  private com.sun.management.ThreadMXBean threadMXBean;
+
+  @Before
+  public void setUp() {
+    final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+    threadMXBean = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void shouldNotAllocateWhenRunningJobsWithinActor() {
+    // given
+    final AllocationRecordingActor actor =
+        new AllocationRecordingActor() {
+          private final Runnable next = this::next;
+
+          @Override
+          protected void schedule() {
+            actor.run(next);
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+
+    // then
+    assertThat(actor.getAllocatedBytes().join()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotAllocateExecutionContextPerTask() {
+    // given
+    final AllocationRecordingActor actor =
+        new AllocationRecordingActor() {
+          private final Runnable next = this::next;
+
+          @Override
+          protected void schedule() {
+            // yields the thread, so that the task is executed once per job
+            actor.submit(next);
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+
+    // then
+    // only the nodes of the task and job queues are allocated
+    assertThat(actor.getAllocatedBytes().join() / ITERATIONS).isLessThanOrEqualTo(64);
+  }
+
+  @Test
+  public void shouldRecycleCompletionCallbacks() {
+    // given
+    final ActorFuture<Void> completedFuture = CompletableActorFuture.completed(null);
+    final AllocationRecordingActor actor =
+        new AllocationRecordingActor() {
+          private final BiConsumer<Void, Throwable> next = (v, t) -> next();
+
+          @Override
+          protected void schedule() {
+            actor.runOnCompletion(completedFuture, next);
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+
+    // then
+    // only the copy-on-write subscriptions of the task are allocated
+    assertThat(actor.getAllocatedBytes().join() / ITERATIONS).isLessThanOrEqualTo(64);
+  }
+
+  private abstract class AllocationRecordingActor extends Actor {
+    private final CompletableActorFuture<Long> allocatedBytes = new CompletableActorFuture<>();
+    private int iteration;
+    private long allocatedBytesBefore;
+
+    @Override
+    protected void onActorStarted() {
+      next();
+    }
+
+    protected void next() {
+      iteration += 1;
+
+      if (iteration == WARM_UP_ITERATIONS) {
+        allocatedBytesBefore = currentThreadAllocatedBytes();
+      }
+
+      if (iteration < WARM_UP_ITERATIONS + ITERATIONS) {
+        schedule();
+      } else {
+        allocatedBytes.complete(currentThreadAllocatedBytes() - allocatedBytesBefore);
+      }
+    }
+
+    protected abstract void schedule();
+
+    ActorFuture<Long> getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    private long currentThreadAllocatedBytes() {
+      return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorContextDataInjector;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorContextDataInjectorTest {
+  @Rule public ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  private final ContextDataInjector injector = ContextDataInjectorFactory.createInjector();
+
+  @Test
+  public void shouldBeRegistered() {
+    assertThat(injector).isInstanceOf(ActorContextDataInjector.class);
+  }
+
+  @Test
+  public void shouldInjectNameOfCurrentActor() {
+    // given
+    final AtomicReference<StringMap> contextData = new AtomicReference<>();
+    final Actor actor =
+        new Actor() {
+          @Override
+          public String getName() {
+            return "logging-actor";
+          }
+
+          @Override
+          protected void onActorStarted() {
+            contextData.set(
+                injector.injectContextData(
+                    new ArrayList<>(), ContextDataFactory.createContextData()));
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(contextData.get().<String>getValue(ActorContextDataInjector.ACTOR_NAME_KEY))
+        .isEqualTo("logging-actor");
+  }
+
+  @Test
+  public void shouldNotInjectActorNameOutsideOfActor() {
+    // when
+    final StringMap contextData =
+        injector.injectContextData(new ArrayList<>(), ContextDataFactory.createContextData());
+
+    // then
+    assertThat(contextData.containsKey(ActorContextDataInjector.ACTOR_NAME_KEY)).isFalse();
+  }
+}
@@ -15,15 +15,29 @@
  */
 package io.zeebe.util.sched.functional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.zeebe.util.TestUtil;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.junit.Rule;
 import org.junit.Test;
@@ -111,4 +125,136 @@ public class BlockingActionsTest {
     inOrder.verify(whenDone, times(1)).accept(eq(exception));
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void testInvokeCallbackWithResultOfBlockingCall() throws Exception {
+    // given
+    final Callable<String> blockingCall = mock(Callable.class);
+    when(blockingCall.call()).thenReturn("result");
+
+    final BiConsumer<String, Throwable> whenDone = mock(BiConsumer.class);
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            actor.callBlocking(blockingCall, whenDone);
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+    schedulerRule.awaitBlockingTasksCompleted(1);
+    schedulerRule.workUntilDone();
+
+    // then
+    final InOrder inOrder = inOrder(blockingCall, whenDone);
+    inOrder.verify(blockingCall, times(1)).call();
+    inOrder.verify(whenDone, times(1)).accept(eq("result"), eq(null));
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void testPassExceptionOfBlockingCallToCallback() throws Exception {
+    // given
+    final Callable<String> blockingCall = mock(Callable.class);
+    final Exception exception = new Exception();
+    when(blockingCall.call()).thenThrow(exception);
+
+    final BiConsumer<String, Throwable> whenDone = mock(BiConsumer.class);
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            actor.callBlocking(blockingCall, whenDone);
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+    schedulerRule.awaitBlockingTasksCompleted(1);
+    schedulerRule.workUntilDone();
+
+    // then
+    verify(whenDone, times(1)).accept(eq(null), eq(exception));
+  }
+
+  @Test
+  public void testCompleteFutureOfBlockingCall() throws Exception {
+    // given
+    final AtomicReference<ActorFuture<String>> future = new AtomicReference<>();
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            future.set(actor.callBlocking(() -> "result"));
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+    schedulerRule.awaitBlockingTasksCompleted(1);
+
+    // then
+    assertThat(future.get().join()).isEqualTo("result");
+  }
+
+  @Test
+  public void testLimitBlockingTaskThreads() throws Exception {
+    // given
+    final ActorSchedulerBuilder builder =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(0)
+            .setBlockingTasksMaxThreads(2)
+            .setBlockingTasksVirtualThreads(false);
+    final ActorScheduler scheduler = builder.build();
+    final ThreadPoolExecutor blockingTasksRunner = builder.getBlockingTasksRunner();
+    scheduler.start();
+
+    final CountDownLatch submitted = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger concurrentCalls = new AtomicInteger();
+    final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+    final List<ActorFuture<Integer>> futures = new CopyOnWriteArrayList<>();
+
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            for (int i = 0; i < 5; i++) {
+              futures.add(
+                  actor.callBlocking(
+                      () -> {
+                        final int calls = concurrentCalls.incrementAndGet();
+                        maxConcurrentCalls.accumulateAndGet(calls, Math::max);
+                        release.await();
+                        concurrentCalls.decrementAndGet();
+                        return calls;
+                      }));
+            }
+            submitted.countDown();
+          }
+        };
+
+    try {
+      // when
+      scheduler.submitActor(actor);
+      submitted.await();
+      TestUtil.waitUntil(
+          () -> concurrentCalls.get() == 2 && !blockingTasksRunner.getQueue().isEmpty());
+      release.countDown();
+
+      // then
+      for (final ActorFuture<Integer> future : futures) {
+        future.join();
+      }
+      assertThat(futures).hasSize(5);
+      assertThat(maxConcurrentCalls.get()).isEqualTo(2);
+    } finally {
+      scheduler.stop().get();
+    }
+  }
 }
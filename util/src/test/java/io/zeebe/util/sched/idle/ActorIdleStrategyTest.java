@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.idle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.FutureUtil;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class ActorIdleStrategyTest {
+  private static final long MIN_PARK_PERIOD = 1_000;
+  private static final long MAX_PARK_PERIOD = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long TARGET_LATENCY = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private ActorScheduler scheduler;
+
+  @After
+  public void tearDown() {
+    if (scheduler != null) {
+      FutureUtil.join(scheduler.stop());
+    }
+  }
+
+  @Test
+  public void shouldShortenParkPeriodIfWakeUpLatencyExceedsTarget() {
+    // given
+    final ActorAdaptiveIdleStrategy strategy = newAdaptiveStrategy();
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      strategy.onWakeUp(TARGET_LATENCY * 4);
+    }
+
+    // then
+    assertThat(strategy.getAverageWakeUpLatencyNs()).isGreaterThan(TARGET_LATENCY);
+    assertThat(strategy.getParkPeriodLimitNs()).isEqualTo(MIN_PARK_PERIOD);
+  }
+
+  @Test
+  public void shouldProlongParkPeriodIfWakeUpLatencyIsBelowTarget() {
+    // given
+    final ActorAdaptiveIdleStrategy strategy = newAdaptiveStrategy();
+    for (int i = 0; i < 100; i++) {
+      strategy.onWakeUp(TARGET_LATENCY * 4);
+    }
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      strategy.onWakeUp(0);
+    }
+
+    // then
+    assertThat(strategy.getAverageWakeUpLatencyNs()).isLessThan(TARGET_LATENCY / 2);
+    assertThat(strategy.getParkPeriodLimitNs()).isEqualTo(MAX_PARK_PERIOD);
+  }
+
+  @Test
+  public void shouldKeepParkPeriodIfWakeUpLatencyIsNearTarget() {
+    // given
+    final ActorAdaptiveIdleStrategy strategy = newAdaptiveStrategy();
+    for (int i = 0; i < 3; i++) {
+      strategy.onWakeUp(TARGET_LATENCY * 4);
+    }
+    for (int i = 0; i < 50; i++) {
+      strategy.onWakeUp(TARGET_LATENCY * 3 / 4);
+    }
+    final long parkPeriodLimit = strategy.getParkPeriodLimitNs();
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      strategy.onWakeUp(TARGET_LATENCY * 3 / 4);
+    }
+
+    // then
+    assertThat(strategy.getParkPeriodLimitNs())
+        .isEqualTo(parkPeriodLimit)
+        .isGreaterThan(MIN_PARK_PERIOD)
+        .isLessThan(MAX_PARK_PERIOD);
+  }
+
+  @Test
+  public void shouldCreateIdleStrategyPerThread() {
+    // given
+    final List<RecordingIdleStrategy> cpuStrategies = new CopyOnWriteArrayList<>();
+    final List<RecordingIdleStrategy> ioStrategies = new CopyOnWriteArrayList<>();
+
+    // when
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(2)
+            .setIoBoundActorThreadCount(1)
+            .setCpuBoundIdleStrategy(() -> newRecordingStrategy(cpuStrategies))
+            .setIoBoundIdleStrategy(() -> newRecordingStrategy(ioStrategies))
+            .build();
+    scheduler.start();
+
+    // then
+    assertThat(cpuStrategies).hasSize(2);
+    assertThat(ioStrategies).hasSize(1);
+  }
+
+  @Test
+  public void shouldReportWakeUpAfterIdle() throws InterruptedException {
+    // given
+    final List<RecordingIdleStrategy> strategies = new CopyOnWriteArrayList<>();
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(0)
+            .setCpuBoundIdleStrategy(() -> newRecordingStrategy(strategies))
+            .build();
+    scheduler.start();
+
+    final RecordingIdleStrategy strategy = strategies.get(0);
+    final CallableActor actor = new CallableActor();
+    scheduler.submitActor(actor).join();
+
+    // when
+    final int wakeUpsBefore = strategy.wakeUps.get();
+    Thread.sleep(10);
+    actor.call(() -> null).join();
+
+    // then
+    assertThat(strategy.idleInvocations.get()).isGreaterThan(0);
+    assertThat(strategy.wakeUps.get()).isGreaterThan(wakeUpsBefore);
+  }
+
+  @Test
+  public void shouldRunActorsWithBusySpinStrategy() {
+    // given
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(0)
+            .setCpuBoundIdleStrategy(ActorBusySpinIdleStrategy::new)
+            .build();
+    scheduler.start();
+
+    final CallableActor actor = new CallableActor();
+    scheduler.submitActor(actor).join();
+
+    // when
+    final Integer result = actor.call(() -> 42).join();
+
+    // then
+    assertThat(result).isEqualTo(42);
+  }
+
+  private static ActorAdaptiveIdleStrategy newAdaptiveStrategy() {
+    return new ActorAdaptiveIdleStrategy(10, 10, MIN_PARK_PERIOD, MAX_PARK_PERIOD, TARGET_LATENCY);
+  }
+
+  private static RecordingIdleStrategy newRecordingStrategy(List<RecordingIdleStrategy> created) {
+    final RecordingIdleStrategy strategy = new RecordingIdleStrategy();
+    created.add(strategy);
+    return strategy;
+  }
+
+  private static class CallableActor extends Actor {
+    <T> ActorFuture<T> call(Callable<T> callable) {
+      return actor.call(callable);
+    }
+  }
+
+  private static class RecordingIdleStrategy implements ActorIdleStrategy {
+    private final ActorIdleStrategy delegate =
+        new ActorBackoffIdleStrategy(10, 10, MIN_PARK_PERIOD, MAX_PARK_PERIOD);
+    private final AtomicInteger idleInvocations = new AtomicInteger();
+    private final AtomicInteger wakeUps = new AtomicInteger();
+
+    @Override
+    public void idle() {
+      idleInvocations.incrementAndGet();
+      delegate.idle();
+    }
+
+    @Override
+    public void reset() {
+      delegate.reset();
+    }
+
+    @Override
+    public void onWakeUp(long wakeUpLatencyNanos) {
+      wakeUps.incrementAndGet();
+    }
+  }
+}
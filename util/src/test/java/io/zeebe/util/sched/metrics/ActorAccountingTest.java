@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorAccountingTest {
+
+  @Rule public ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  private final ActorAccounting accounting =
+      new ActorAccounting(new MetricsManager(), Duration.ofSeconds(60), 6);
+
+  @Test
+  public void shouldRankActorsByExecutionTime() {
+    // given
+    final ActorAccount cold = accounting.acquire("cold");
+    final ActorAccount hot = accounting.acquire("hot");
+    final ActorAccount warm = accounting.acquire("warm");
+
+    // when
+    cold.record(1_000, 10, 1, 5);
+    hot.record(1_000, 1_000, 3, 7);
+    warm.record(1_000, 100, 2, 6);
+
+    // then
+    final List<ActorLoad> hottestActors = accounting.getHottestActors(2, 1_000);
+    assertThat(hottestActors).hasSize(2);
+
+    assertThat(hottestActors.get(0).getActorName()).isEqualTo("hot");
+    assertThat(hottestActors.get(0).getExecutionTimeNs()).isEqualTo(1_000);
+    assertThat(hottestActors.get(0).getJobCount()).isEqualTo(3);
+    assertThat(hottestActors.get(0).getQueueWaitTimeNs()).isEqualTo(7);
+
+    assertThat(hottestActors.get(1).getActorName()).isEqualTo("warm");
+  }
+
+  @Test
+  public void shouldShareAccountOfActorsWithSameName() {
+    // given
+    final ActorAccount first = accounting.acquire("actor");
+    final ActorAccount second = accounting.acquire("actor");
+
+    // when
+    first.record(1_000, 10, 1, 0);
+    second.record(1_000, 20, 1, 0);
+
+    // then
+    assertThat(first).isSameAs(second);
+    assertThat(accounting.getHottestActors(10, 1_000).get(0).getExecutionTimeNs()).isEqualTo(30);
+  }
+
+  @Test
+  public void shouldRemoveAccountWhenLastActorIsReleased() {
+    // given
+    final ActorAccount first = accounting.acquire("actor");
+    final ActorAccount second = accounting.acquire("actor");
+    first.record(1_000, 10, 1, 0);
+
+    // when
+    accounting.release(first);
+
+    // then
+    assertThat(accounting.getHottestActors(10, 1_000)).hasSize(1);
+
+    // when
+    accounting.release(second);
+
+    // then
+    assertThat(accounting.getHottestActors(10, 1_000)).isEmpty();
+  }
+
+  @Test
+  public void shouldOnlyConsiderExecutionsWithinWindow() {
+    // given
+    final ActorAccount account = accounting.acquire("actor");
+
+    // when
+    account.record(1_000, 10, 1, 0);
+    account.record(31_000, 20, 1, 0);
+
+    // then
+    assertThat(accounting.getHottestActors(10, 59_999).get(0).getExecutionTimeNs()).isEqualTo(30);
+    assertThat(accounting.getHottestActors(10, 60_000).get(0).getExecutionTimeNs()).isEqualTo(20);
+    assertThat(accounting.getHottestActors(10, 100_000)).isEmpty();
+  }
+
+  @Test
+  public void shouldResetReusedWindowSlot() {
+    // given
+    final ActorAccount account = accounting.acquire("actor");
+    account.record(1_000, 10, 1, 0);
+
+    // when
+    account.record(61_000, 20, 1, 0);
+
+    // then
+    assertThat(accounting.getHottestActors(10, 61_000).get(0).getExecutionTimeNs()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldAccountExecutionOfScheduledActors() {
+    // given
+    final Actor actor =
+        new Actor() {
+          @Override
+          public String getName() {
+            return "accounted";
+          }
+
+          @Override
+          protected void onActorStarted() {
+            actor.run(() -> {});
+            actor.run(() -> {});
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // then
+    final List<ActorLoad> hottestActors =
+        schedulerRule
+            .get()
+            .getActorAccounting()
+            .getHottestActors(10, schedulerRule.getClock().getTimeMillis());
+
+    assertThat(hottestActors).hasSize(1);
+    assertThat(hottestActors.get(0).getActorName()).isEqualTo("accounted");
+    assertThat(hottestActors.get(0).getJobCount()).isGreaterThanOrEqualTo(3);
+  }
+}
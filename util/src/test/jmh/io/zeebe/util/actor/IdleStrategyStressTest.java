@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.actor;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.idle.ActorAdaptiveIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBackoffIdleStrategy;
+import io.zeebe.util.sched.idle.ActorBusySpinIdleStrategy;
+import io.zeebe.util.sched.idle.ActorIdleStrategy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the idle strategies of the actor threads. Each operation lets the actor thread become
+ * idle for {@link #IDLE_GAP_NANOS} and then measures the time until a job submitted from a
+ * non-actor thread has run (the wake-up latency). The auxiliary counter {@code cpuTimeNanos}
+ * reports the CPU time the actor thread burned per operation, most of it while idle.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class IdleStrategyStressTest {
+  private static final long IDLE_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Benchmark
+  @Threads(1)
+  public void shouldWakeUpIdleThread(BenchmarkContext ctx, CpuTime cpuTime) {
+    final long expected = ctx.actor.ping();
+
+    while (ctx.actor.pongs < expected) {
+      // spin until the job has run
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkContext {
+    @Param({"busySpin", "backoff", "adaptive"})
+    String idleStrategy;
+
+    ActorScheduler scheduler;
+    final PingActor actor = new PingActor();
+
+    @Setup
+    public void setUp() {
+      scheduler =
+          ActorScheduler.newActorScheduler()
+              .setIoBoundActorThreadCount(0)
+              .setCpuBoundActorThreadCount(1)
+              .setCpuBoundIdleStrategy(newIdleStrategy(idleStrategy))
+              .build();
+      scheduler.start();
+      scheduler.submitActor(actor).join();
+    }
+
+    @Setup(Level.Invocation)
+    public void waitUntilIdle() {
+      LockSupport.parkNanos(IDLE_GAP_NANOS);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, ExecutionException, TimeoutException {
+      scheduler.stop().get(2, TimeUnit.SECONDS);
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class CpuTime {
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    public long cpuTimeNanos;
+    private long actorThreadId;
+    private long cpuTimeAtStart;
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkContext ctx) {
+      actorThreadId = ctx.actor.getThreadId();
+      cpuTimeAtStart = threadMXBean.getThreadCpuTime(actorThreadId);
+      cpuTimeNanos = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+      cpuTimeNanos = threadMXBean.getThreadCpuTime(actorThreadId) - cpuTimeAtStart;
+    }
+  }
+
+  static Supplier<ActorIdleStrategy> newIdleStrategy(String name) {
+    final long maxParkPeriod = TimeUnit.MILLISECONDS.toNanos(1);
+
+    switch (name) {
+      case "busySpin":
+        return ActorBusySpinIdleStrategy::new;
+      case "backoff":
+        return () -> new ActorBackoffIdleStrategy(100, 100, 1, maxParkPeriod);
+      case "adaptive":
+        return () ->
+            new ActorAdaptiveIdleStrategy(
+                100, 100, 1, maxParkPeriod, TimeUnit.MICROSECONDS.toNanos(50));
+      default:
+        throw new IllegalArgumentException("unknown idle strategy " + name);
+    }
+  }
+
+  static class PingActor extends Actor {
+    private final Runnable pong = this::pong;
+
+    volatile long pongs;
+    private long pings;
+    private volatile long threadId;
+
+    @Override
+    protected void onActorStarted() {
+      threadId = ActorThread.current().getId();
+    }
+
+    long ping() {
+      actor.call(pong);
+      return ++pings;
+    }
+
+    private void pong() {
+      pongs++;
+    }
+
+    long getThreadId() {
+      return threadId;
+    }
+  }
+}
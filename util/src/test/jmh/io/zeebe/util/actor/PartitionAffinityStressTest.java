@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.actor;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a processor and a writer actor per partition which hand over commands to each other, like
+ * the stream processor and the log appender of a broker partition, once with and once without
+ * pinning the actors of a partition to one thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class PartitionAffinityStressTest {
+  private static final int PARTITION_COUNT = 4;
+  private static final int BURST_SIZE = 1_000;
+  private static final int STATE_SIZE = 4 * 1024;
+
+  @Benchmark
+  @Threads(1)
+  public void shouldProcessCommandsOnAllPartitions(BenchmarkContext ctx)
+      throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(PARTITION_COUNT);
+
+    for (int i = 0; i < PARTITION_COUNT; i++) {
+      ctx.processors[i].processBurst(latch);
+    }
+
+    latch.await();
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkContext {
+    @Param({"false", "true"})
+    boolean partitionAffinity;
+
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setIoBoundActorThreadCount(0)
+            .setCpuBoundActorThreadCount(PARTITION_COUNT)
+            .build();
+
+    final ProcessorActor[] processors = new ProcessorActor[PARTITION_COUNT];
+
+    @Setup
+    public void setUp() {
+      scheduler.start();
+
+      for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+        final int hints =
+            partitionAffinity
+                ? SchedulingHints.cpuBound(ActorPriority.REGULAR, partition)
+                : SchedulingHints.cpuBound(ActorPriority.REGULAR);
+
+        final WriterActor writer = new WriterActor();
+        processors[partition] = new ProcessorActor(writer);
+
+        scheduler.submitActor(writer, false, hints).join();
+        scheduler.submitActor(processors[partition], false, hints).join();
+      }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, ExecutionException, TimeoutException {
+      scheduler.stop().get(2, TimeUnit.SECONDS);
+    }
+  }
+
+  static class ProcessorActor extends Actor {
+    private final long[] state = new long[STATE_SIZE];
+    private final WriterActor writer;
+
+    private CountDownLatch latch;
+    private int processed;
+
+    ProcessorActor(WriterActor writer) {
+      this.writer = writer;
+    }
+
+    void processBurst(CountDownLatch latch) {
+      actor.call(
+          () -> {
+            this.latch = latch;
+            this.processed = 0;
+            processNext();
+          });
+    }
+
+    private void processNext() {
+      for (int i = 0; i < state.length; i++) {
+        state[i] += processed;
+      }
+
+      actor.runOnCompletion(writer.write(state[processed % STATE_SIZE]), this::onWritten);
+    }
+
+    private void onWritten(Long position, Throwable error) {
+      processed += 1;
+
+      if (processed < BURST_SIZE) {
+        processNext();
+      } else {
+        latch.countDown();
+      }
+    }
+  }
+
+  static class WriterActor extends Actor {
+    private final long[] buffer = new long[STATE_SIZE];
+    private long position;
+
+    ActorFuture<Long> write(long value) {
+      return actor.call(
+          () -> {
+            for (int i = 0; i < buffer.length; i++) {
+              buffer[i] ^= value;
+            }
+
+            return ++position;
+          });
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.actor;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.future.CompletableActorFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the steady state of a long-lived actor which runs jobs and waits on completed futures,
+ * similar to a stream processor. Run with {@code -prof gc} to see the allocation rate per operation
+ * of the scheduler hot path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class SteadyStateActorStressTest {
+  private static final int BURST_SIZE = 1_000;
+
+  @Benchmark
+  @Threads(1)
+  public void shouldRunJobsAndCallbacks(BenchmarkContext ctx) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    ctx.actor.runBurst(latch);
+    latch.await();
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkContext {
+    ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setIoBoundActorThreadCount(0)
+            .setCpuBoundActorThreadCount(1)
+            .build();
+
+    final LongLivedActor actor = new LongLivedActor();
+
+    @Setup
+    public void setUp() {
+      scheduler.start();
+      scheduler.submitActor(actor).join();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, ExecutionException, TimeoutException {
+      actor.close();
+      scheduler.stop().get(2, TimeUnit.SECONDS);
+    }
+  }
+
+  static class LongLivedActor extends Actor {
+    private final ActorFuture<Void> completedFuture = CompletableActorFuture.completed(null);
+    private final Runnable step = this::step;
+    private final BiConsumer<Void, Throwable> onCompleted = this::onCompleted;
+
+    private CountDownLatch latch;
+    private int remaining;
+
+    void runBurst(CountDownLatch latch) {
+      actor.call(
+          () -> {
+            this.latch = latch;
+            this.remaining = BURST_SIZE;
+            actor.submit(step);
+          });
+    }
+
+    private void step() {
+      actor.runOnCompletion(completedFuture, onCompleted);
+    }
+
+    private void onCompleted(Void result, Throwable failure) {
+      remaining--;
+
+      if (remaining > 0) {
+        actor.run(step);
+      } else {
+        latch.countDown();
+      }
+    }
+
+    void close() {
+      actor.close().join();
+    }
+  }
+}
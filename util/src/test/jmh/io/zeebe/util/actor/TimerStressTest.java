@@ -20,6 +20,7 @@ import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +31,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -69,6 +71,45 @@ public class TimerStressTest {
     actor.close().join();
   }
 
+  @Benchmark
+  @Threads(1)
+  public void shouldRescheduleTimers(RescheduleContext ctx) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    ctx.actor.rescheduleTimers(latch);
+    latch.await();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void shouldExpireTimers(ExpireContext ctx) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(BURST_SIZE);
+    ctx.actor.scheduleTimers(latch, Duration.ofMillis(ctx.toleranceMs));
+    latch.await();
+  }
+
+  @State(Scope.Benchmark)
+  public static class RescheduleContext {
+    final RescheduleTimerActor actor = new RescheduleTimerActor();
+
+    @Setup
+    public void setUp(BenchmarkContext ctx) {
+      ctx.scheduler.submitActor(actor).join();
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ExpireContext {
+    @Param({"0", "10"})
+    long toleranceMs;
+
+    final ExpiringTimerActor actor = new ExpiringTimerActor();
+
+    @Setup
+    public void setUp(BenchmarkContext ctx) {
+      ctx.scheduler.submitActor(actor).join();
+    }
+  }
+
   @State(Scope.Benchmark)
   public static class BenchmarkContext {
     ActorScheduler scheduler =
@@ -134,4 +175,68 @@ public class TimerStressTest {
       return actor.close();
     }
   }
+
+  /**
+   * Keeps many pending timers with deadlines of up to an hour and cancels and schedules a burst of
+   * them again in each operation, like the due date checker of a partition with many timers.
+   */
+  public static class RescheduleTimerActor extends Actor {
+    private static final int TIMER_COUNT = 50_000;
+    private static final Runnable CALLBACK = RescheduleTimerActor::onTimeout;
+
+    private final ScheduledTimer[] timers = new ScheduledTimer[TIMER_COUNT];
+    private final Random random = new Random();
+    private int nextTimer;
+
+    @Override
+    protected void onActorStarted() {
+      for (int i = 0; i < TIMER_COUNT; i++) {
+        timers[i] = actor.runDelayed(randomDelay(), CALLBACK);
+      }
+    }
+
+    void rescheduleTimers(CountDownLatch latch) {
+      actor.call(
+          () -> {
+            for (int i = 0; i < BURST_SIZE; i++) {
+              final int index = nextTimer;
+              nextTimer = (nextTimer + 1) % TIMER_COUNT;
+
+              timers[index].cancel();
+              timers[index] = actor.runDelayed(randomDelay(), CALLBACK);
+            }
+            latch.countDown();
+          });
+    }
+
+    private Duration randomDelay() {
+      return Duration.ofMillis(1_000 + random.nextInt(3_600_000));
+    }
+
+    protected static void onTimeout() {
+      // noop, never happens
+    }
+  }
+
+  /**
+   * Schedules a burst of timers with deadlines within the next 10 ms and waits until they expire.
+   */
+  public static class ExpiringTimerActor extends Actor {
+    private CountDownLatch latch;
+    private final Runnable callback = this::onTimeout;
+
+    void scheduleTimers(CountDownLatch latch, Duration tolerance) {
+      actor.call(
+          () -> {
+            this.latch = latch;
+            for (int i = 0; i < BURST_SIZE; i++) {
+              actor.runDelayed(Duration.ofMillis(i % 10), tolerance, callback);
+            }
+          });
+    }
+
+    private void onTimeout() {
+      latch.countDown();
+    }
+  }
 }
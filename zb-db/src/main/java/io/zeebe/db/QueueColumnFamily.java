@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * A column family which is used as a queue, like the due dates of timers. The entries are ordered
+ * by the key, and are mostly inserted at the tail and deleted from the head.
+ *
+ * <p>RocksDB keeps a tombstone for each deleted entry until it is compacted, so an iteration which
+ * starts at the first key has to skip the tombstones of all consumed entries. Instead, the queue
+ * keeps a low-water mark, which is lower or equal to the key of the first entry. The iteration
+ * starts at the low-water mark and the consumed entries below it are removed by {@link
+ * #compactHead()}.
+ *
+ * @param <KeyType> the type of the keys
+ * @param <ValueType> the type of the values
+ */
+public interface QueueColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
+    extends ColumnFamily<KeyType, ValueType> {
+
+  /**
+   * Visits the entries, starting at the given key instead of the head of the queue. The visitor can
+   * indicate via the return value, whether the iteration should continue or not.
+   *
+   * <p>It can be used to continue an iteration which was stopped before, without visiting the
+   * entries before the given key again.
+   *
+   * @param startKey the key of the first entry to visit, if it exists
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileTrueFrom(KeyType startKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
+  /**
+   * Removes the consumed entries at the head of the queue, if enough entries were deleted since the
+   * last compaction. The consumed entries are deleted by a range deletion, and the low-water mark
+   * is moved to the first entry and is persisted in the same write batch. The deleted range is
+   * compacted later by {@link ZeebeDb#compactDeletedRanges()}.
+   *
+   * <p>Only committed entries are considered. It should not be called while a transaction is in
+   * progress.
+   *
+   * @return <code>true</code> if the head of the queue was compacted
+   */
+  boolean compactHead();
+}
@@ -52,6 +52,25 @@ public interface ZeebeDb<ColumnFamilyType extends Enum<ColumnFamilyType>> extend
           KeyType keyInstance,
           ValueType valueInstance);
 
+  /**
+   * Creates an instance of a specific column family which is used as a queue. See {@link
+   * QueueColumnFamily}.
+   *
+   * @param <KeyType> the key type of the column family
+   * @param <ValueType> the value type of the column family
+   * @param columnFamily the enum instance of the column family
+   * @param context
+   * @param keyInstance this instance defines the type of the column family key type
+   * @param valueInstance this instance defines the type of the column family value type
+   * @return the created column family instance
+   */
+  <KeyType extends DbKey, ValueType extends DbValue>
+      QueueColumnFamily<KeyType, ValueType> createQueueColumnFamily(
+          ColumnFamilyType columnFamily,
+          DbContext context,
+          KeyType keyInstance,
+          ValueType valueInstance);
+
   /**
    * Creates a snapshot of the current database in the given directory.
    *
@@ -59,5 +78,19 @@ public interface ZeebeDb<ColumnFamilyType extends Enum<ColumnFamilyType>> extend
    */
   void createSnapshot(File snapshotDir);
 
+  /**
+   * @return <code>true</code> if {@link QueueColumnFamily#compactHead()} deleted ranges which are
+   *     not compacted yet
+   */
+  boolean hasDeletedRanges();
+
+  /**
+   * Compacts the ranges which were deleted by {@link QueueColumnFamily#compactHead()}, to drop
+   * their tombstones. The compaction can block the caller for a long time, so it should run on a
+   * blocking task instead of the actor thread which uses the database. It can run concurrently with
+   * transactions. If the database is closed, the remaining ranges are not compacted.
+   */
+  void compactDeletedRanges();
+
   DbContext createContext();
 }
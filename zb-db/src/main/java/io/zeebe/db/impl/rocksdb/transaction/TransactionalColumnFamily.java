@@ -30,13 +30,13 @@ class TransactionalColumnFamily<
         ValueType extends DbValue>
     implements ColumnFamily<KeyType, ValueType> {
 
-  private final ZeebeTransactionDb<ColumnFamilyNames> transactionDb;
-  private final long handle;
+  protected final ZeebeTransactionDb<ColumnFamilyNames> transactionDb;
+  protected final long handle;
 
-  private final DbContext context;
+  protected final DbContext context;
 
-  private final ValueType valueInstance;
-  private final KeyType keyInstance;
+  protected final ValueType valueInstance;
+  protected final KeyType keyInstance;
 
   TransactionalColumnFamily(
       ZeebeTransactionDb<ColumnFamilyNames> transactionDb,
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.DbKey;
+import io.zeebe.db.DbValue;
+import io.zeebe.db.KeyValuePairVisitor;
+import io.zeebe.db.QueueColumnFamily;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+class TransactionalQueueColumnFamily<
+        ColumnFamilyNames extends Enum<ColumnFamilyNames>,
+        KeyType extends DbKey,
+        ValueType extends DbValue>
+    extends TransactionalColumnFamily<ColumnFamilyNames, KeyType, ValueType>
+    implements QueueColumnFamily<KeyType, ValueType> {
+
+  /** The count of deleted entries which triggers the compaction of the head. */
+  static final int COMPACTION_THRESHOLD = 10_000;
+
+  // is null if no low-water mark is set - then the iteration starts at the first key
+  private byte[] lowWaterMark;
+  private long deletedEntries;
+
+  TransactionalQueueColumnFamily(
+      ZeebeTransactionDb<ColumnFamilyNames> transactionDb,
+      ColumnFamilyNames columnFamily,
+      DbContext context,
+      KeyType keyInstance,
+      ValueType valueInstance) {
+    super(transactionDb, columnFamily, context, keyInstance, valueInstance);
+
+    lowWaterMark = transactionDb.getLowWaterMark(handle);
+  }
+
+  @Override
+  public void put(DbContext context, KeyType key, ValueType value) {
+    super.put(context, key, value);
+
+    // the key is still in the key buffer of the context
+    final byte[] keyBuffer = context.getKeyBufferArray();
+    final int keyLength = key.getLength();
+
+    if (lowWaterMark != null
+        && ZeebeTransactionDb.compare(keyBuffer, keyLength, lowWaterMark, lowWaterMark.length)
+            < 0) {
+      // the new entry is before the head - it is persisted together with the entry
+      lowWaterMark = Arrays.copyOf(keyBuffer, keyLength);
+      transactionDb.putLowWaterMark(handle, context, lowWaterMark);
+    }
+  }
+
+  @Override
+  public void delete(DbContext context, KeyType key) {
+    super.delete(context, key);
+    deletedEntries += 1;
+  }
+
+  @Override
+  public void forEach(DbContext context, Consumer<ValueType> consumer) {
+    whileTrue(
+        context,
+        (key, value) -> {
+          consumer.accept(value);
+          return true;
+        });
+  }
+
+  @Override
+  public void forEach(DbContext context, BiConsumer<KeyType, ValueType> consumer) {
+    whileTrue(
+        context,
+        (key, value) -> {
+          consumer.accept(key, value);
+          return true;
+        });
+  }
+
+  @Override
+  public void whileTrue(
+      DbContext context,
+      KeyValuePairVisitor<KeyType, ValueType> visitor,
+      KeyType key,
+      ValueType value) {
+    transactionDb.whileTrueFrom(handle, context, lowWaterMark, key, value, visitor);
+  }
+
+  @Override
+  public void whileTrueFrom(KeyType startKey, KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    context.writeKey(startKey);
+    final int keyLength = startKey.getLength();
+
+    byte[] from = lowWaterMark;
+    if (lowWaterMark == null
+        || ZeebeTransactionDb.compare(
+                context.getKeyBufferArray(), keyLength, lowWaterMark, lowWaterMark.length)
+            > 0) {
+      from = Arrays.copyOf(context.getKeyBufferArray(), keyLength);
+    }
+
+    transactionDb.whileTrueFrom(handle, context, from, keyInstance, valueInstance, visitor);
+  }
+
+  @Override
+  public boolean isEmpty(DbContext context) {
+    final boolean[] isEmpty = {true};
+    whileTrue(
+        context,
+        (key, value) -> {
+          isEmpty[0] = false;
+          return false;
+        });
+    return isEmpty[0];
+  }
+
+  @Override
+  public boolean compactHead() {
+    if (deletedEntries < COMPACTION_THRESHOLD) {
+      return false;
+    }
+
+    lowWaterMark = transactionDb.deleteUntilFirstEntry(handle, lowWaterMark);
+    deletedEntries = 0;
+    return true;
+  }
+}
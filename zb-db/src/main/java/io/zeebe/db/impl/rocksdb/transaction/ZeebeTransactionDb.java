@@ -22,6 +22,7 @@ import io.zeebe.db.DbContext;
 import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
+import io.zeebe.db.QueueColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.impl.rocksdb.Loggers;
@@ -30,6 +31,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -45,6 +48,7 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
 import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
@@ -52,6 +56,9 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     implements ZeebeDb<ColumnFamilyNames> {
 
   private static final Logger LOG = Loggers.DB_LOGGER;
+  // the low-water mark of a queue column family is stored with the empty key, which is ordered
+  // before all entries
+  private static final byte[] LOW_WATER_MARK_KEY = new byte[0];
   private static final String ERROR_MESSAGE_CLOSE_RESOURCE =
       "Expected to close RocksDB resource successfully, but exception was thrown. Will continue to close remaining resources.";
 
@@ -102,6 +109,11 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   private final ReadOptions defaultReadOptions;
   private final WriteOptions defaultWriteOptions;
 
+  // the ranges are deleted on the stream processor thread and compacted on a blocking task
+  private final Queue<DeletedRange> deletedRanges = new ConcurrentLinkedQueue<>();
+  private final Object closeLock = new Object();
+  private boolean isClosed;
+
   protected ZeebeTransactionDb(
       OptimisticTransactionDB optimisticTransactionDB,
       EnumMap<ColumnFamilyNames, Long> columnFamilyMap,
@@ -134,6 +146,17 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     return new TransactionalColumnFamily<>(this, columnFamily, context, keyInstance, valueInstance);
   }
 
+  @Override
+  public <KeyType extends DbKey, ValueType extends DbValue>
+      QueueColumnFamily<KeyType, ValueType> createQueueColumnFamily(
+          ColumnFamilyNames columnFamily,
+          DbContext context,
+          KeyType keyInstance,
+          ValueType valueInstance) {
+    return new TransactionalQueueColumnFamily<>(
+        this, columnFamily, context, keyInstance, valueInstance);
+  }
+
   protected void put(long columnFamilyHandle, DbContext context, DbKey key, DbValue value) {
     ensureInOpenTransaction(
         context,
@@ -354,8 +377,19 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
       ValueType valueInstance,
       KeyValuePairVisitor<KeyType, ValueType> iteratorConsumer,
       RocksIterator iterator) {
-    context.wrapKeyView(iterator.key());
-    context.wrapValueView(iterator.value());
+    return visit(
+        context, keyInstance, valueInstance, iteratorConsumer, iterator.key(), iterator.value());
+  }
+
+  private <KeyType extends DbKey, ValueType extends DbValue> boolean visit(
+      DbContext context,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> iteratorConsumer,
+      byte[] key,
+      byte[] value) {
+    context.wrapKeyView(key);
+    context.wrapValueView(value);
 
     final DirectBuffer keyViewBuffer = context.getKeyView();
     keyInstance.wrap(keyViewBuffer, 0, keyViewBuffer.capacity());
@@ -380,6 +414,155 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     return isEmpty.get();
   }
 
+  ////////////////////////////////////////////////////////////////////
+  //////////////////////////// QUEUE /////////////////////////////////
+  ////////////////////////////////////////////////////////////////////
+
+  protected byte[] getLowWaterMark(long columnFamilyHandle) {
+    try {
+      return optimisticTransactionDB.get(
+          handelToEnumMap.get(columnFamilyHandle), LOW_WATER_MARK_KEY);
+    } catch (RocksDBException rocksException) {
+      throw new ZeebeDbException(rocksException);
+    }
+  }
+
+  protected void putLowWaterMark(long columnFamilyHandle, DbContext context, byte[] lowWaterMark) {
+    ensureInOpenTransaction(
+        context,
+        transaction ->
+            transaction.put(
+                columnFamilyHandle,
+                LOW_WATER_MARK_KEY,
+                LOW_WATER_MARK_KEY.length,
+                lowWaterMark,
+                lowWaterMark.length));
+  }
+
+  /**
+   * Visits the key-value pairs like {@link #whileTrue(long, DbContext, DbKey, DbValue,
+   * KeyValuePairVisitor)}, but starts the iteration at the given low-water mark instead of the
+   * first key. The low-water mark itself is not visited.
+   */
+  protected <KeyType extends DbKey, ValueType extends DbValue> void whileTrueFrom(
+      long columnFamilyHandle,
+      DbContext context,
+      byte[] lowWaterMark,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    ensureInOpenTransaction(
+        context,
+        transaction -> {
+          try (RocksIterator iterator =
+              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+            boolean shouldVisitNext = true;
+            for (seek(iterator, lowWaterMark);
+                iterator.isValid() && shouldVisitNext;
+                iterator.next()) {
+              final byte[] key = iterator.key();
+              if (key.length > 0) {
+                shouldVisitNext =
+                    visit(context, keyInstance, valueInstance, visitor, key, iterator.value());
+              }
+            }
+          }
+        });
+  }
+
+  /**
+   * Deletes the range from the low-water mark until the first committed entry and moves the
+   * low-water mark to the first entry, in one write batch. This is done outside of a transaction.
+   * Entries which are inserted by a running transaction are not affected, since they are written
+   * after the range deletion.
+   *
+   * <p>The deleted range is not compacted here, since a compaction can block for a long time. It is
+   * compacted by {@link #compactDeletedRanges()} instead.
+   *
+   * @return the new low-water mark, which is the key of the first entry, or the given low-water
+   *     mark if the column family has no entries
+   */
+  protected byte[] deleteUntilFirstEntry(long columnFamilyHandle, byte[] lowWaterMark) {
+    final ColumnFamilyHandle handle = handelToEnumMap.get(columnFamilyHandle);
+    final byte[] begin = lowWaterMark != null ? lowWaterMark : LOW_WATER_MARK_KEY;
+
+    try {
+      byte[] firstKey = null;
+      try (RocksIterator iterator =
+          optimisticTransactionDB.newIterator(handle, defaultReadOptions)) {
+        for (seek(iterator, begin); iterator.isValid() && firstKey == null; iterator.next()) {
+          final byte[] key = iterator.key();
+          if (key.length > 0) {
+            firstKey = key;
+          }
+        }
+      }
+
+      if (firstKey == null) {
+        // no entries - compact the remaining range, but keep the low-water mark
+        deletedRanges.add(new DeletedRange(handle, begin, null));
+        return lowWaterMark;
+      }
+
+      if (compare(begin, firstKey) < 0) {
+        // a crash between the range deletion and the low-water mark must not leave a stale mark
+        try (WriteBatch batch = new WriteBatch()) {
+          batch.deleteRange(handle, begin, firstKey);
+          batch.put(handle, LOW_WATER_MARK_KEY, firstKey);
+          optimisticTransactionDB.write(defaultWriteOptions, batch);
+        }
+        deletedRanges.add(new DeletedRange(handle, begin, firstKey));
+      }
+      return firstKey;
+
+    } catch (RocksDBException rocksException) {
+      throw new ZeebeDbException(rocksException);
+    }
+  }
+
+  @Override
+  public boolean hasDeletedRanges() {
+    return !deletedRanges.isEmpty();
+  }
+
+  @Override
+  public void compactDeletedRanges() {
+    synchronized (closeLock) {
+      DeletedRange range;
+      while (!isClosed && (range = deletedRanges.poll()) != null) {
+        try {
+          optimisticTransactionDB.compactRange(range.handle, range.begin, range.end);
+        } catch (RocksDBException rocksException) {
+          throw new ZeebeDbException(rocksException);
+        }
+      }
+    }
+  }
+
+  private void seek(RocksIterator iterator, byte[] target) {
+    if (target != null) {
+      RocksDbInternal.seek(iterator, getNativeHandle(iterator), target, target.length);
+    } else {
+      iterator.seekToFirst();
+    }
+  }
+
+  /** Compares the keys in the order of RocksDB, i.e. lexicographically by the unsigned bytes. */
+  static int compare(byte[] key, int keyLength, byte[] otherKey, int otherKeyLength) {
+    final int length = Math.min(keyLength, otherKeyLength);
+    for (int i = 0; i < length; i++) {
+      final int result = Integer.compare(key[i] & 0xFF, otherKey[i] & 0xFF);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(keyLength, otherKeyLength);
+  }
+
+  private static int compare(byte[] key, byte[] otherKey) {
+    return compare(key, key.length, otherKey, otherKey.length);
+  }
+
   @Override
   public void createSnapshot(File snapshotDir) {
     try (Checkpoint checkpoint = Checkpoint.create(optimisticTransactionDB)) {
@@ -401,6 +584,14 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   @Override
   public void close() {
+    // wait until a running compaction is done
+    synchronized (closeLock) {
+      isClosed = true;
+      closeResources();
+    }
+  }
+
+  private void closeResources() {
     // Correct order of closing
     // 1. transaction
     // 2. options
@@ -420,6 +611,18 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         });
   }
 
+  private static final class DeletedRange {
+    private final ColumnFamilyHandle handle;
+    private final byte[] begin;
+    private final byte[] end;
+
+    DeletedRange(ColumnFamilyHandle handle, byte[] begin, byte[] end) {
+      this.handle = handle;
+      this.begin = begin;
+      this.end = end;
+    }
+  }
+
   @FunctionalInterface
   interface TransactionConsumer {
     void run(ZeebeTransaction transaction) throws Exception;
@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.QueueColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DefaultColumnFamily;
+import io.zeebe.db.impl.DefaultZeebeDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class QueueColumnFamilyTest {
+
+  private static final int THRESHOLD = TransactionalQueueColumnFamily.COMPACTION_THRESHOLD;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+      DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
+
+  private File pathName;
+  private ZeebeDb<DefaultColumnFamily> zeebeDb;
+  private QueueColumnFamily<DbLong, DbLong> columnFamily;
+  private DbLong key;
+  private DbLong value;
+
+  @Before
+  public void setup() throws Exception {
+    pathName = temporaryFolder.newFolder();
+    openDb();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  private void openDb() {
+    zeebeDb = dbFactory.createDb(pathName);
+
+    key = new DbLong();
+    value = new DbLong();
+    columnFamily =
+        zeebeDb.createQueueColumnFamily(
+            DefaultColumnFamily.DEFAULT, zeebeDb.createContext(), key, value);
+  }
+
+  private void reopenDb() throws Exception {
+    zeebeDb.close();
+    openDb();
+  }
+
+  private void putEntries(final long from, final long to) {
+    for (long i = from; i < to; i++) {
+      key.wrapLong(i);
+      value.wrapLong(i);
+      columnFamily.put(key, value);
+    }
+  }
+
+  private void deleteEntries(final long from, final long to) {
+    for (long i = from; i < to; i++) {
+      key.wrapLong(i);
+      columnFamily.delete(key);
+    }
+  }
+
+  private List<Long> getKeys() {
+    final List<Long> keys = new ArrayList<>();
+    columnFamily.forEach((k, v) -> keys.add(k.getValue()));
+    return keys;
+  }
+
+  @Test
+  public void shouldNotCompactHeadBelowThreshold() {
+    // given
+    putEntries(0, 10);
+    deleteEntries(0, 5);
+
+    // when
+    final boolean compacted = columnFamily.compactHead();
+
+    // then
+    assertThat(compacted).isFalse();
+    assertThat(getKeys()).containsExactly(5L, 6L, 7L, 8L, 9L);
+  }
+
+  @Test
+  public void shouldCompactHead() {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+
+    // when
+    final boolean compacted = columnFamily.compactHead();
+
+    // then
+    assertThat(compacted).isTrue();
+    assertThat(getKeys()).containsExactly((long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+    assertThat(columnFamily.isEmpty()).isFalse();
+  }
+
+  @Test
+  public void shouldCompactDeletedRangeLater() {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+    columnFamily.compactHead();
+    assertThat(zeebeDb.hasDeletedRanges()).isTrue();
+
+    // when
+    zeebeDb.compactDeletedRanges();
+
+    // then
+    assertThat(zeebeDb.hasDeletedRanges()).isFalse();
+    assertThat(getKeys()).containsExactly((long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+  }
+
+  @Test
+  public void shouldNotCompactDeletedRangeAfterClose() throws Exception {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+    columnFamily.compactHead();
+    final ZeebeDb<DefaultColumnFamily> closedDb = zeebeDb;
+
+    // when
+    reopenDb();
+    closedDb.compactDeletedRanges();
+
+    // then
+    assertThat(closedDb.hasDeletedRanges()).isTrue();
+    assertThat(getKeys()).containsExactly((long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+  }
+
+  @Test
+  public void shouldVisitEntriesAfterReopen() throws Exception {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+    columnFamily.compactHead();
+
+    // when
+    reopenDb();
+
+    // then
+    assertThat(getKeys()).containsExactly((long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+  }
+
+  @Test
+  public void shouldVisitEntryBeforeLowWaterMark() throws Exception {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+    columnFamily.compactHead();
+
+    // when
+    putEntries(5, 6);
+    reopenDb();
+
+    // then
+    assertThat(getKeys()).containsExactly(5L, (long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+  }
+
+  @Test
+  public void shouldCompactHeadIfAllEntriesAreDeleted() throws Exception {
+    // given
+    putEntries(0, THRESHOLD);
+    deleteEntries(0, THRESHOLD);
+
+    // when
+    final boolean compacted = columnFamily.compactHead();
+
+    // then
+    assertThat(compacted).isTrue();
+    assertThat(columnFamily.isEmpty()).isTrue();
+
+    putEntries(0, 1);
+    assertThat(getKeys()).containsExactly(0L);
+  }
+
+  @Test
+  public void shouldVisitEntriesFromKey() {
+    // given
+    putEntries(0, 10);
+    deleteEntries(0, 3);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    key.wrapLong(5);
+    columnFamily.whileTrueFrom(
+        key,
+        (k, v) -> {
+          keys.add(k.getValue());
+          return k.getValue() < 7;
+        });
+
+    // then
+    assertThat(keys).containsExactly(5L, 6L, 7L);
+  }
+
+  @Test
+  public void shouldVisitEntriesFromLowWaterMarkIfKeyIsBefore() {
+    // given
+    putEntries(0, THRESHOLD + 3);
+    deleteEntries(0, THRESHOLD);
+    columnFamily.compactHead();
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    key.wrapLong(1);
+    columnFamily.whileTrueFrom(
+        key,
+        (k, v) -> {
+          keys.add(k.getValue());
+          return true;
+        });
+
+    // then
+    assertThat(keys).containsExactly((long) THRESHOLD, THRESHOLD + 1L, THRESHOLD + 2L);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.benchmarks;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.QueueColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbNil;
+import io.zeebe.db.impl.DefaultColumnFamily;
+import io.zeebe.db.impl.DefaultZeebeDbFactory;
+import io.zeebe.util.FileUtil;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a sweep over the head of a column family which is used as a queue, after many entries
+ * were inserted at the tail and deleted from the head. The sweep of a plain column family has to
+ * skip the tombstones of all consumed entries, while the sweep of a queue column family starts at
+ * its low-water mark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class QueueColumnFamilyBenchmark {
+
+  private static final int QUEUE_SIZE = 100;
+
+  @Param({"100000", "1000000", "5000000"})
+  private int cycles;
+
+  @Param({"true", "false"})
+  private boolean isQueue;
+
+  private File dbDirectory;
+  private ZeebeDb<DefaultColumnFamily> db;
+  private ColumnFamily<DbLong, DbNil> columnFamily;
+  private QueueColumnFamily<DbLong, DbNil> queueColumnFamily;
+
+  private final DbLong key = new DbLong();
+  private long head;
+  private long tail;
+
+  @Setup
+  public void setUp() throws Exception {
+    dbDirectory = Files.createTempDirectory("queue-benchmark").toFile();
+    db = DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class).createDb(dbDirectory);
+
+    if (isQueue) {
+      queueColumnFamily =
+          db.createQueueColumnFamily(
+              DefaultColumnFamily.DEFAULT, db.createContext(), key, DbNil.INSTANCE);
+      columnFamily = queueColumnFamily;
+    } else {
+      columnFamily =
+          db.createColumnFamily(
+              DefaultColumnFamily.DEFAULT, db.createContext(), key, DbNil.INSTANCE);
+    }
+
+    for (int i = 0; i < QUEUE_SIZE; i++) {
+      insertAtTail();
+    }
+    for (int i = 0; i < cycles; i++) {
+      insertAtTail();
+      deleteHead();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    db.close();
+    FileUtil.deleteFolder(dbDirectory.getAbsolutePath());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long sweepHead() {
+    insertAtTail();
+
+    final long[] first = {-1L};
+    columnFamily.whileTrue(
+        (key, nil) -> {
+          first[0] = key.getValue();
+          return false;
+        });
+
+    deleteHead();
+    return first[0];
+  }
+
+  private void insertAtTail() {
+    key.wrapLong(tail++);
+    columnFamily.put(key, DbNil.INSTANCE);
+  }
+
+  private void deleteHead() {
+    key.wrapLong(head++);
+    columnFamily.delete(key);
+
+    if (queueColumnFamily != null) {
+      queueColumnFamily.compactHead();
+    }
+  }
+}